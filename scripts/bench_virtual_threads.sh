@@ -0,0 +1,60 @@
+#!/usr/bin/env bash
+# Compara vazão e latência: pool de threads de plataforma (padrão) x profile virtual-threads
+# Uso: mvn -Pjava21 -DskipTests package && scripts/bench_virtual_threads.sh [duração] [conexões]
+# Requer Java 21, Postgres em localhost:5432 e o gerador de carga hey (https://github.com/rakyll/hey)
+set -euo pipefail
+
+DURATION=${1:-30s}
+CONCURRENCY=${2:-400}
+PORT=${PORT:-8080}
+BASE_URL="http://localhost:${PORT}"
+JAR=$(ls target/pix-wallet-*.jar | grep -v plain | head -n 1)
+
+command -v hey >/dev/null || { echo "hey não encontrado no PATH" >&2; exit 1; }
+
+start_app() {
+  local profile=$1
+  java -jar "$JAR" --server.port="$PORT" --spring.profiles.active="$profile" \
+       --pix-wallet.pinning-monitor.enabled=false > "target/bench-${profile}.log" 2>&1 &
+  APP_PID=$!
+  until curl -sf "${BASE_URL}/actuator/health" >/dev/null; do sleep 1; done
+}
+
+stop_app() {
+  kill "$APP_PID"
+  wait "$APP_PID" 2>/dev/null || true
+}
+
+wallet() {
+  curl -sf -X POST "${BASE_URL}/wallets" | sed -E 's/.*"id":([0-9]+).*/\1/'
+}
+
+run() {
+  local label=$1
+  start_app "$2"
+
+  local from to
+  from=$(wallet)
+  to=$(wallet)
+  curl -sf -X POST -H 'Content-Type: application/json' -d '{"amount": 100000000.00}' \
+       "${BASE_URL}/wallets/${from}/credit"
+
+  echo "== ${label}: GET /wallets/{id}"
+  hey -z "$DURATION" -c "$CONCURRENCY" "${BASE_URL}/wallets/${from}" \
+      | grep -E 'Requests/sec|99%|Status code|\[[0-9]{3}\]'
+
+  echo "== ${label}: POST /wallets/transfer"
+  hey -z "$DURATION" -c "$CONCURRENCY" -m POST -T 'application/json' \
+      -d "{\"fromWalletId\": ${from}, \"toWalletId\": ${to}, \"amount\": 0.01}" \
+      "${BASE_URL}/wallets/transfer" \
+      | grep -E 'Requests/sec|99%|Status code|\[[0-9]{3}\]'
+
+  echo "== ${label}: pix_wallet.db_admission.rejected"
+  curl -sf "${BASE_URL}/actuator/metrics/pix_wallet.db_admission.rejected" || echo "(admissão desabilitada)"
+  echo
+
+  stop_app
+}
+
+run "platform threads" default
+run "virtual threads" virtual-threads
@@ -0,0 +1,44 @@
+-- Compara tamanho de índice e latência de busca: endToEndId em texto ("E2E-<uuid>") x uuid nativo
+-- Uso: psql -h localhost -U postgres -d pix_wallet -f scripts/compare_identifier_indexes.sql
+-- Tudo em tabelas temporárias; nada do schema da aplicação é alterado
+
+\set rows 1000000
+\timing off
+
+CREATE TEMP TABLE e2e_text (id BIGINT PRIMARY KEY, end_to_end_id VARCHAR(255) NOT NULL);
+CREATE TEMP TABLE e2e_uuid (id BIGINT PRIMARY KEY, end_to_end_id UUID NOT NULL);
+
+INSERT INTO e2e_uuid
+SELECT i, gen_random_uuid() FROM generate_series(1, :rows) AS i;
+
+INSERT INTO e2e_text
+SELECT id, 'E2E-' || end_to_end_id FROM e2e_uuid;
+
+CREATE UNIQUE INDEX e2e_text_idx ON e2e_text (end_to_end_id);
+CREATE UNIQUE INDEX e2e_uuid_idx ON e2e_uuid (end_to_end_id);
+ANALYZE e2e_text;
+ANALYZE e2e_uuid;
+
+\echo '== Tamanho dos índices'
+SELECT 'varchar' AS representation, pg_size_pretty(pg_relation_size('e2e_text_idx')) AS index_size
+UNION ALL
+SELECT 'uuid', pg_size_pretty(pg_relation_size('e2e_uuid_idx'));
+
+-- Mesmas chaves nas duas tabelas, em ordem aleatória
+CREATE TEMP TABLE probe AS
+SELECT end_to_end_id FROM e2e_uuid ORDER BY random() LIMIT 100000;
+
+\echo '== 100k buscas pontuais (Index Only Scan / Nested Loop)'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF, SUMMARY ON)
+SELECT count(*) FROM probe p JOIN e2e_text t ON t.end_to_end_id = 'E2E-' || p.end_to_end_id;
+
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF, SUMMARY ON)
+SELECT count(*) FROM probe p JOIN e2e_uuid u ON u.end_to_end_id = p.end_to_end_id;
+
+\echo '== Uma busca pontual (como findByEndToEndIdWithLock)'
+SELECT end_to_end_id AS sample FROM probe LIMIT 1 \gset
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF, SUMMARY ON)
+SELECT id FROM e2e_text WHERE end_to_end_id = 'E2E-' || :'sample';
+
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF, SUMMARY ON)
+SELECT id FROM e2e_uuid WHERE end_to_end_id = :'sample';
@@ -0,0 +1,54 @@
+#!/usr/bin/env bash
+# Polling de saldo em massa: GET /wallets/{id}/balance (JDBC, bloqueante) x GET /reactive/wallets/{id}/balance (R2DBC)
+# Mede vazão/p99 (hey) e o pico de threads da JVM e de conexões em uso em cada pool durante a carga
+# Uso: scripts/load_reactive_reads.sh [duração] [conexões]   (aplicação rodando em localhost:8080)
+set -euo pipefail
+
+DURATION=${1:-30s}
+CONCURRENCY=${2:-5000}
+BASE_URL=${BASE_URL:-http://localhost:8080}
+
+command -v hey >/dev/null || { echo "hey não encontrado no PATH (https://github.com/rakyll/hey)" >&2; exit 1; }
+command -v jq >/dev/null || { echo "jq não encontrado no PATH" >&2; exit 1; }
+
+metric() {
+  curl -sf "${BASE_URL}/actuator/metrics/$1${2:+?tag=$2}" | jq '.measurements[0].value' 2>/dev/null || echo 0
+}
+
+# Amostra as métricas a cada segundo e imprime o pico ao final
+sample() {
+  local threads=0 hikari=0 r2dbc=0 t h r
+  while [ -f "$SAMPLING" ]; do
+    t=$(metric jvm.threads.live)
+    h=$(metric hikaricp.connections.active)
+    r=$(metric pix_wallet.reactive_reads.connections state:acquired)
+    threads=$(echo "$t $threads" | awk '{print ($1 > $2) ? $1 : $2}')
+    hikari=$(echo "$h $hikari" | awk '{print ($1 > $2) ? $1 : $2}')
+    r2dbc=$(echo "$r $r2dbc" | awk '{print ($1 > $2) ? $1 : $2}')
+    sleep 1
+  done
+  echo "   pico: threads=${threads} hikari.active=${hikari} r2dbc.acquired=${r2dbc}"
+}
+
+run() {
+  local label=$1 path=$2
+  echo "== ${label}: ${path}"
+
+  SAMPLING=$(mktemp)
+  sample > "${SAMPLING}.out" &
+  local sampler=$!
+
+  hey -z "$DURATION" -c "$CONCURRENCY" "${BASE_URL}${path}" \
+      | grep -E 'Requests/sec|99%|\[[0-9]{3}\]'
+
+  rm -f "$SAMPLING"
+  wait "$sampler"
+  cat "${SAMPLING}.out"
+  rm -f "${SAMPLING}.out"
+}
+
+WALLET=$(curl -sf -X POST "${BASE_URL}/wallets" | jq '.id')
+curl -sf -X POST -H 'Content-Type: application/json' -d '{"amount": 100.00}' "${BASE_URL}/wallets/${WALLET}/credit"
+
+run "blocking (JDBC)" "/wallets/${WALLET}/balance"
+run "reactive (R2DBC)" "/reactive/wallets/${WALLET}/balance"
@@ -0,0 +1,67 @@
+package com.example.pix_wallet.benchmark;
+
+import com.example.pix_wallet.domain.model.Wallet;
+import com.example.pix_wallet.domain.repository.WalletBalanceSlotRepository;
+import com.example.pix_wallet.domain.repository.WalletRepository;
+import com.example.pix_wallet.domain.repository.WalletTransactionRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Substitutos em memória dos repositórios Spring Data, só com os métodos usados nos caminhos medidos.
+ * Qualquer outro método lança {@link UnsupportedOperationException}.
+ */
+final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    static WalletRepository wallets(List<Wallet> wallets) {
+        Map<Long, Wallet> byId = new HashMap<>();
+        wallets.forEach(wallet -> byId.put(wallet.getId(), wallet));
+
+        return stub(WalletRepository.class, (method, args) -> switch (method) {
+            case "findById", "findByIdForUpdate" -> Optional.ofNullable(byId.get((Long) args[0]));
+            case "save" -> args[0];
+            default -> throw new UnsupportedOperationException(method);
+        });
+    }
+
+    /**
+     * Descarta os lançamentos: o custo de persistir não faz parte do que é medido aqui.
+     */
+    static WalletTransactionRepository transactions() {
+        return stub(WalletTransactionRepository.class, (method, args) -> switch (method) {
+            case "save", "saveAll" -> args[0];
+            default -> throw new UnsupportedOperationException(method);
+        });
+    }
+
+    static WalletBalanceSlotRepository slots() {
+        return stub(WalletBalanceSlotRepository.class, (method, args) -> {
+            throw new UnsupportedOperationException(method);
+        });
+    }
+
+    private interface Handler {
+        Object handle(String method, Object[] args);
+    }
+
+    private static <T> T stub(Class<T> type, Handler handler) {
+        Object proxy = Proxy.newProxyInstance(
+                type.getClassLoader(),
+                new Class<?>[]{type},
+                (self, method, args) -> switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(self);
+                    case "equals" -> self == args[0];
+                    case "toString" -> "InMemory" + type.getSimpleName();
+                    default -> handler.handle(method.getName(), args);
+                }
+        );
+        return type.cast(proxy);
+    }
+}
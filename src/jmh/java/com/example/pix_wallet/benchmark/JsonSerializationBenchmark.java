@@ -0,0 +1,74 @@
+package com.example.pix_wallet.benchmark;
+
+import com.example.pix_wallet.domain.model.PixTransferStatus;
+import com.example.pix_wallet.web.dto.PixTransferResponse;
+import com.example.pix_wallet.web.dto.PixWebhookEventRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização JSON dos payloads PIX com um ObjectMapper configurado como o do Spring Boot
+ * (JavaTimeModule, datas ISO-8601).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private ObjectWriter transferResponseWriter;
+    private ObjectWriter webhookEventWriter;
+    private ObjectReader webhookEventReader;
+
+    private PixTransferResponse transferResponse;
+    private PixWebhookEventRequest webhookEvent;
+    private byte[] webhookEventJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        transferResponseWriter = objectMapper.writerFor(PixTransferResponse.class);
+        webhookEventWriter = objectMapper.writerFor(PixWebhookEventRequest.class);
+        webhookEventReader = objectMapper.readerFor(PixWebhookEventRequest.class);
+
+        Instant createdAt = Instant.parse("2024-01-01T12:00:00Z");
+        transferResponse = new PixTransferResponse(
+                "E2E-7f0c1f5e-2d6b-4c47-9a51-3f6a8f2b1c9d",
+                new BigDecimal("150.75"),
+                42L,
+                PixTransferStatus.PENDING,
+                createdAt
+        );
+        webhookEvent = new PixWebhookEventRequest(
+                "E2E-7f0c1f5e-2d6b-4c47-9a51-3f6a8f2b1c9d",
+                PixTransferStatus.CONFIRMED,
+                createdAt.plusSeconds(5)
+        );
+        webhookEventJson = webhookEventWriter.writeValueAsBytes(webhookEvent);
+    }
+
+    @Benchmark
+    public byte[] writeTransferResponse() throws IOException {
+        return transferResponseWriter.writeValueAsBytes(transferResponse);
+    }
+
+    @Benchmark
+    public byte[] writeWebhookEvent() throws IOException {
+        return webhookEventWriter.writeValueAsBytes(webhookEvent);
+    }
+
+    @Benchmark
+    public PixWebhookEventRequest readWebhookEvent() throws IOException {
+        return webhookEventReader.readValue(webhookEventJson);
+    }
+}
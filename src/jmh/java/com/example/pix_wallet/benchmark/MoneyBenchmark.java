@@ -0,0 +1,45 @@
+package com.example.pix_wallet.benchmark;
+
+import com.example.pix_wallet.domain.model.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a aritmética de {@link Money} com a de {@link BigDecimal} usada antes.
+ * Para medir alocação por operação, rode com {@code -prof gc} (veja o README).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    private Money moneyBalance;
+    private Money moneyAmount;
+    private BigDecimal decimalBalance;
+    private BigDecimal decimalAmount;
+
+    @Setup
+    public void setUp() {
+        moneyBalance = Money.of("1000.00");
+        moneyAmount = Money.of("10.25");
+        decimalBalance = new BigDecimal("1000.00");
+        decimalAmount = new BigDecimal("10.25");
+    }
+
+    @Benchmark
+    public boolean moneyDebitCheck() {
+        return !moneyBalance.isLessThan(moneyAmount)
+                && moneyBalance.minus(moneyAmount).plus(moneyAmount).equals(moneyBalance);
+    }
+
+    @Benchmark
+    public boolean bigDecimalDebitCheck() {
+        return decimalBalance.compareTo(decimalAmount) >= 0
+                && decimalBalance.subtract(decimalAmount).add(decimalAmount).compareTo(decimalBalance) == 0;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.pix_wallet.benchmark;
+
+import com.example.pix_wallet.domain.model.PixKey;
+import com.example.pix_wallet.domain.model.Wallet;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PixKeyBenchmark {
+
+    private final Wallet wallet = Wallet.create();
+
+    @Benchmark
+    public PixKey createEmail() {
+        return PixKey.createEmail("cliente@example.com", wallet);
+    }
+
+    @Benchmark
+    public PixKey createPhone() {
+        return PixKey.createPhone("+5511999998888", wallet);
+    }
+
+    @Benchmark
+    public PixKey createFormattedCpf() {
+        return PixKey.createCpf("529.982.247-25", wallet);
+    }
+
+    @Benchmark
+    public void rejectInvalidEmail(Blackhole blackhole) {
+        try {
+            blackhole.consume(PixKey.createEmail("cliente.example.com", wallet));
+        } catch (IllegalArgumentException e) {
+            blackhole.consume(e);
+        }
+    }
+}
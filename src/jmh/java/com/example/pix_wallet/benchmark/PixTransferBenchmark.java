@@ -0,0 +1,72 @@
+package com.example.pix_wallet.benchmark;
+
+import com.example.pix_wallet.domain.model.Money;
+import com.example.pix_wallet.domain.model.PixKey;
+import com.example.pix_wallet.domain.model.PixTransfer;
+import com.example.pix_wallet.domain.model.PixTransferStatus;
+import com.example.pix_wallet.domain.model.Wallet;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PixTransferBenchmark {
+
+    private static final VarHandle STATUS;
+
+    static {
+        try {
+            STATUS = MethodHandles.privateLookupIn(PixTransfer.class, MethodHandles.lookup())
+                    .findVarHandle(PixTransfer.class, "status", PixTransferStatus.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private PixTransfer pending;
+    private PixTransfer confirmed;
+    private Instant past;
+    private Instant future;
+
+    @Setup
+    public void setUp() {
+        Wallet from = Wallet.create();
+        Wallet to = Wallet.create();
+        PixKey pixKey = PixKey.createEVP(to);
+
+        pending = PixTransfer.create(from, to, pixKey, Money.of("10.00"));
+        confirmed = PixTransfer.create(from, to, pixKey, Money.of("10.00"));
+        confirmed.updateStatus(PixTransferStatus.CONFIRMED, Instant.now());
+
+        past = Instant.EPOCH;
+        future = Instant.now().plusSeconds(3600);
+    }
+
+    /**
+     * Transição PENDING -> CONFIRMED. O status volta a PENDING com uma escrita direta no campo,
+     * então o custo medido inclui esse reset.
+     */
+    @Benchmark
+    public boolean confirmPending() {
+        STATUS.set(pending, PixTransferStatus.PENDING);
+        return pending.updateStatus(PixTransferStatus.CONFIRMED, future);
+    }
+
+    @Benchmark
+    public boolean ignoreOutdatedEvent() {
+        return confirmed.updateStatus(PixTransferStatus.REJECTED, past);
+    }
+
+    @Benchmark
+    public boolean ignoreFinalStatus() {
+        return confirmed.updateStatus(PixTransferStatus.REJECTED, future);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.pix_wallet.benchmark;
+
+import com.example.pix_wallet.domain.model.PixTransferStatus;
+import com.example.pix_wallet.web.converter.PixProtobufCodec;
+import com.example.pix_wallet.web.dto.PixTransferResponse;
+import com.example.pix_wallet.web.dto.PixWebhookEventRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de codificar/decodificar os payloads do PSP em cada formato negociável (JSON, CBOR e Protobuf).
+ * O tamanho de cada payload é impresso no setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationFormatBenchmark {
+
+    @Param({"json", "cbor", "protobuf"})
+    private String format;
+
+    private ObjectWriter transferResponseWriter;
+    private ObjectReader webhookEventReader;
+
+    private PixTransferResponse transferResponse;
+    private byte[] webhookEventPayload;
+
+    @Setup
+    public void setUp() throws IOException {
+        Instant createdAt = Instant.parse("2024-01-01T12:00:00Z");
+        transferResponse = new PixTransferResponse(
+                "E2E-7f0c1f5e-2d6b-4c47-9a51-3f6a8f2b1c9d",
+                new BigDecimal("150.75"),
+                42L,
+                PixTransferStatus.PENDING,
+                createdAt
+        );
+        PixWebhookEventRequest webhookEvent = new PixWebhookEventRequest(
+                "E2E-7f0c1f5e-2d6b-4c47-9a51-3f6a8f2b1c9d",
+                PixTransferStatus.CONFIRMED,
+                createdAt.plusSeconds(5)
+        );
+
+        if (!format.equals("protobuf")) {
+            // Mesma configuração do Spring Boot (JavaTimeModule, datas ISO-8601) nos dois formatos Jackson
+            Jackson2ObjectMapperBuilder builder = format.equals("cbor")
+                    ? Jackson2ObjectMapperBuilder.cbor()
+                    : Jackson2ObjectMapperBuilder.json();
+            ObjectMapper objectMapper = builder
+                    .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                    .build();
+            transferResponseWriter = objectMapper.writerFor(PixTransferResponse.class);
+            webhookEventReader = objectMapper.readerFor(PixWebhookEventRequest.class);
+            webhookEventPayload = objectMapper.writeValueAsBytes(webhookEvent);
+        } else {
+            webhookEventPayload = protobuf(webhookEvent);
+        }
+
+        System.out.printf("%n%s payload bytes: PixTransferResponse=%d, PixWebhookEventRequest=%d%n",
+                format, writeTransferResponse().length, webhookEventPayload.length);
+    }
+
+    @Benchmark
+    public byte[] writeTransferResponse() throws IOException {
+        if (transferResponseWriter == null) {
+            return protobuf(transferResponse);
+        }
+        return transferResponseWriter.writeValueAsBytes(transferResponse);
+    }
+
+    @Benchmark
+    public PixWebhookEventRequest readWebhookEvent() throws IOException {
+        if (webhookEventReader == null) {
+            return (PixWebhookEventRequest) PixProtobufCodec.read(
+                    PixWebhookEventRequest.class, CodedInputStream.newInstance(webhookEventPayload));
+        }
+        return webhookEventReader.readValue(webhookEventPayload);
+    }
+
+    private static byte[] protobuf(Object value) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(64);
+        CodedOutputStream out = CodedOutputStream.newInstance(buffer);
+        PixProtobufCodec.write(value, out);
+        out.flush();
+        return buffer.toByteArray();
+    }
+}
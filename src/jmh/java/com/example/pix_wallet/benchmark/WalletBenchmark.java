@@ -0,0 +1,37 @@
+package com.example.pix_wallet.benchmark;
+
+import com.example.pix_wallet.domain.model.Money;
+import com.example.pix_wallet.domain.model.Wallet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WalletBenchmark {
+
+    private static final Money AMOUNT = Money.of("10.00");
+
+    private Wallet wallet;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        // Saldo alto o bastante para nenhum débito da iteração falhar
+        wallet = Wallet.create();
+        wallet.credit(Money.ofCents(Long.MAX_VALUE / 2));
+    }
+
+    @Benchmark
+    public Money credit() {
+        return wallet.credit(AMOUNT);
+    }
+
+    @Benchmark
+    public Money debit() {
+        return wallet.debit(AMOUNT);
+    }
+}
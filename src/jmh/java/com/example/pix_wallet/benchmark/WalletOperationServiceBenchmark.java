@@ -0,0 +1,95 @@
+package com.example.pix_wallet.benchmark;
+
+import com.example.pix_wallet.domain.engine.BalanceEngine;
+import com.example.pix_wallet.domain.engine.BalanceEngineProperties;
+import com.example.pix_wallet.domain.model.Money;
+import com.example.pix_wallet.domain.model.Wallet;
+import com.example.pix_wallet.domain.repository.WalletRepository;
+import com.example.pix_wallet.domain.repository.WalletTransactionRepository;
+import com.example.pix_wallet.domain.service.StripedBalanceService;
+import com.example.pix_wallet.domain.service.WalletOperationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link WalletOperationService} sem Spring nem banco: repositórios em memória e balance engine desligado.
+ * Mede as regras de domínio, a criação do lançamento e o despacho do serviço, não o custo de I/O.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WalletOperationServiceBenchmark {
+
+    private static final Long WALLET_ID = 1L;
+    private static final Money AMOUNT = Money.of("10.00");
+
+    private WalletOperationService walletOperationService;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        Wallet wallet = Wallet.create();
+        ReflectionTestUtils.setField(wallet, "id", WALLET_ID);
+        wallet.credit(Money.ofCents(Long.MAX_VALUE / 2));
+
+        WalletRepository walletRepository = InMemoryRepositories.wallets(List.of(wallet));
+        WalletTransactionRepository transactionRepository = InMemoryRepositories.transactions();
+        BalanceEngine balanceEngine = new BalanceEngine(
+                new BalanceEngineProperties(
+                        false, 1, Path.of("target/jmh-journal.log"), 1, DataSize.ofMegabytes(1), Duration.ofSeconds(1), 1
+                ),
+                walletRepository,
+                transactionRepository,
+                new NoOpTransactionManager()
+        );
+
+        walletOperationService = new WalletOperationService(
+                walletRepository,
+                transactionRepository,
+                balanceEngine,
+                new StripedBalanceService(walletRepository, InMemoryRepositories.slots(), transactionRepository, balanceEngine)
+        );
+    }
+
+    @Benchmark
+    public Money credit() {
+        return walletOperationService.credit(WALLET_ID, AMOUNT);
+    }
+
+    @Benchmark
+    public Money debit() {
+        return walletOperationService.debit(WALLET_ID, AMOUNT);
+    }
+
+    // O engine desligado nunca abre transação; só precisa de uma instância para ser construído
+    private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
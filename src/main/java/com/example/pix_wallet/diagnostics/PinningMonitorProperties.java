@@ -0,0 +1,18 @@
+package com.example.pix_wallet.diagnostics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "pix-wallet.pinning-monitor")
+public record PinningMonitorProperties(
+        // Modo de diagnóstico: só faz sentido com threads virtuais (Java 21+)
+        @DefaultValue("false")
+        boolean enabled,
+
+        // Pinning mais curto que isso não é reportado
+        @DefaultValue("20ms")
+        Duration threshold
+) {
+}
@@ -0,0 +1,111 @@
+package com.example.pix_wallet.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Escuta o evento JFR {@code jdk.VirtualThreadPinned} dentro da própria JVM e reporta em que camada a thread
+ * virtual ficou presa à carrier (driver JDBC, pool, Hibernate ou código da aplicação).
+ * Publica {@code pix_wallet.virtual_threads.pinned{path}}. Em JVMs sem threads virtuais o evento nunca ocorre.
+ */
+@Component
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    // Do mais interno para o mais externo: o primeiro prefixo encontrado no topo da pilha define a camada
+    private static final List<String[]> PATHS = List.of(
+            new String[]{"org.postgresql.", "jdbc"},
+            new String[]{"com.zaxxer.hikari.", "pool"},
+            new String[]{"org.hibernate.", "hibernate"},
+            new String[]{"com.example.pix_wallet.", "application"}
+    );
+
+    private final PinningMonitorProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private RecordingStream stream;
+    private volatile boolean running;
+
+    public VirtualThreadPinningMonitor(PinningMonitorProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(properties.threshold()).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::record);
+        stream.startAsync();
+        running = true;
+        logger.info("Virtual thread pinning monitor started (threshold {} ms)", properties.threshold().toMillis());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void record(RecordedEvent event) {
+        List<String> frames = frames(event.getStackTrace());
+        String path = classify(frames);
+
+        Timer.builder("pix_wallet.virtual_threads.pinned")
+                .description("Time virtual threads spent pinned to their carrier thread")
+                .tag("path", path)
+                .register(meterRegistry)
+                .record(event.getDuration());
+
+        logger.warn("Virtual thread pinned for {} ms in {} path: {}",
+                event.getDuration().toMillis(), path, frames.subList(0, Math.min(frames.size(), 8)));
+    }
+
+    /**
+     * Camada em que ocorreu o pinning, a partir das classes da pilha (topo primeiro).
+     */
+    static String classify(List<String> frames) {
+        for (String frame : frames) {
+            for (String[] path : PATHS) {
+                if (frame.startsWith(path[0])) {
+                    return path[1];
+                }
+            }
+        }
+        return "other";
+    }
+
+    private static List<String> frames(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return List.of();
+        }
+        return stackTrace.getFrames().stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName())
+                .toList();
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.pix_wallet.domain.dto;
+
+import com.example.pix_wallet.domain.model.Money;
+
+public record BalanceAggregate(Long walletId, Money minBalance, Money maxBalance, long transactionCount) {
+}
@@ -0,0 +1,8 @@
+package com.example.pix_wallet.domain.dto;
+
+import com.example.pix_wallet.domain.model.Money;
+
+import java.time.Instant;
+
+public record BalanceSample(Instant createdAt, Money balanceAfter) {
+}
@@ -0,0 +1,14 @@
+package com.example.pix_wallet.domain.dto;
+
+import com.example.pix_wallet.domain.model.Money;
+
+import java.time.Instant;
+
+public record BalanceSeriesPoint(
+        Instant start,
+        Instant end,
+        Money open,
+        Money close,
+        Money min,
+        Money max
+) {}
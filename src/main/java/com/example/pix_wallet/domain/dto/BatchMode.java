@@ -0,0 +1,8 @@
+package com.example.pix_wallet.domain.dto;
+
+public enum BatchMode {
+    // Qualquer linha rejeitada cancela o lote inteiro
+    ALL_OR_NOTHING,
+    // Linhas rejeitadas são ignoradas, as demais são aplicadas
+    BEST_EFFORT
+}
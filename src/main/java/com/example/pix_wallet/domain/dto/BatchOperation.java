@@ -0,0 +1,21 @@
+package com.example.pix_wallet.domain.dto;
+
+import com.example.pix_wallet.domain.model.TransactionType;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+
+public record BatchOperation(
+        @NotNull
+        Long walletId,
+
+        @NotNull
+        TransactionType type,
+
+        @NotNull
+        @Positive
+        @Digits(integer = 17, fraction = 2)
+        BigDecimal amount
+) {}
@@ -0,0 +1,17 @@
+package com.example.pix_wallet.domain.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BatchOperationRequest(
+        @NotNull
+        BatchMode mode,
+
+        @NotEmpty
+        @Size(max = 50000)
+        List<@Valid @NotNull BatchOperation> operations
+) {}
@@ -0,0 +1,11 @@
+package com.example.pix_wallet.domain.dto;
+
+import java.util.List;
+
+public record BatchOperationResponse(
+        BatchMode mode,
+        boolean committed,
+        int applied,
+        int rejected,
+        List<BatchOperationResult> results
+) {}
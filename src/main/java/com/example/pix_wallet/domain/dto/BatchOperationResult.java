@@ -0,0 +1,24 @@
+package com.example.pix_wallet.domain.dto;
+
+import com.example.pix_wallet.domain.model.Money;
+
+public record BatchOperationResult(
+        int index,
+        Long walletId,
+        BatchOperationStatus status,
+        Money balanceAfter,
+        String error
+) {
+
+    public static BatchOperationResult applied(int index, Long walletId, Money balanceAfter) {
+        return new BatchOperationResult(index, walletId, BatchOperationStatus.APPLIED, balanceAfter, null);
+    }
+
+    public static BatchOperationResult rejected(int index, Long walletId, String error) {
+        return new BatchOperationResult(index, walletId, BatchOperationStatus.REJECTED, null, error);
+    }
+
+    public BatchOperationResult skipped() {
+        return new BatchOperationResult(index, walletId, BatchOperationStatus.SKIPPED, null, null);
+    }
+}
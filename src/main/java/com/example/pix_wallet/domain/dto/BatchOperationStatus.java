@@ -0,0 +1,8 @@
+package com.example.pix_wallet.domain.dto;
+
+public enum BatchOperationStatus {
+    APPLIED,
+    REJECTED,
+    // Linha válida, mas não aplicada porque outra linha do lote ALL_OR_NOTHING foi rejeitada
+    SKIPPED
+}
@@ -0,0 +1,9 @@
+package com.example.pix_wallet.domain.dto;
+
+import com.example.pix_wallet.domain.model.Money;
+
+/**
+ * Valor reservado na carteira de origem por uma transferência pendente.
+ */
+public record HeldFunds(Long walletId, Money amount) {
+}
@@ -0,0 +1,19 @@
+package com.example.pix_wallet.domain.dto;
+
+import com.example.pix_wallet.domain.model.Money;
+import com.example.pix_wallet.domain.model.PixTransferStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Projeção de leitura de uma transferência PIX, sem carregar a entidade e suas associações.
+ */
+public record PixTransferSummary(
+        UUID endToEndId,
+        Money amount,
+        Long toWalletId,
+        PixTransferStatus status,
+        Instant createdAt
+) {
+}
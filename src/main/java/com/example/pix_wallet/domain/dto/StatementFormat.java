@@ -0,0 +1,35 @@
+package com.example.pix_wallet.domain.dto;
+
+import java.util.Locale;
+
+/**
+ * Formatos do extrato exportado por {@code GET /wallets/{id}/transactions/export}.
+ */
+public enum StatementFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    StatementFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public static StatementFormat fromParameter(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported statement format: " + value + " (use ndjson or csv)");
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.pix_wallet.domain.dto;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Posição na paginação do histórico: o último {@code (createdAt, id)} entregue.
+ * Para o cliente é um token opaco (Base64 URL-safe de 20 bytes: segundos, nanos e id).
+ */
+public record TransactionCursor(Instant createdAt, Long id) {
+
+    private static final int ENCODED_BYTES = Long.BYTES + Integer.BYTES + Long.BYTES;
+
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(ENCODED_BYTES)
+                .putLong(createdAt.getEpochSecond())
+                .putInt(createdAt.getNano())
+                .putLong(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    public static TransactionCursor decode(String value) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (bytes.length != ENCODED_BYTES) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long seconds = buffer.getLong();
+        int nanos = buffer.getInt();
+        long id = buffer.getLong();
+        if (nanos < 0 || nanos > 999_999_999) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return new TransactionCursor(Instant.ofEpochSecond(seconds, nanos), id);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.pix_wallet.domain.dto;
+
+import com.example.pix_wallet.domain.model.Money;
+import com.example.pix_wallet.domain.model.TransactionType;
+
+import java.time.Instant;
+
+public record TransactionHistoryItem(
+        Long id,
+        TransactionType type,
+        Money amount,
+        Money balanceAfter,
+        Instant createdAt
+) {
+}
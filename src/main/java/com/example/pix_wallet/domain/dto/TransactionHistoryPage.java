@@ -0,0 +1,10 @@
+package com.example.pix_wallet.domain.dto;
+
+import java.util.List;
+
+/**
+ * Página do histórico, do lançamento mais recente para o mais antigo.
+ * {@code nextCursor} é {@code null} quando não há mais páginas.
+ */
+public record TransactionHistoryPage(List<TransactionHistoryItem> items, String nextCursor) {
+}
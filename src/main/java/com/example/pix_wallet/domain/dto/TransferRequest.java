@@ -1,5 +1,6 @@
 package com.example.pix_wallet.domain.dto;
 
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 
@@ -14,5 +15,6 @@ public record TransferRequest(
 
         @NotNull
         @Positive
+        @Digits(integer = 17, fraction = 2)
         BigDecimal amount
 ) {}
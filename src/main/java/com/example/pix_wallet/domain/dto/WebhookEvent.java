@@ -0,0 +1,18 @@
+package com.example.pix_wallet.domain.dto;
+
+import com.example.pix_wallet.domain.model.PixTransferStatus;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.Instant;
+
+public record WebhookEvent(
+        @NotBlank
+        String endToEndId,
+
+        @NotNull
+        PixTransferStatus status,
+
+        @NotNull
+        Instant timestamp
+) {}
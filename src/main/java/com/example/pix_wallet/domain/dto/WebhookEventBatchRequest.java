@@ -0,0 +1,14 @@
+package com.example.pix_wallet.domain.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record WebhookEventBatchRequest(
+        @NotEmpty
+        @Size(max = 1000)
+        List<@Valid @NotNull WebhookEvent> events
+) {}
@@ -0,0 +1,8 @@
+package com.example.pix_wallet.domain.dto;
+
+import java.util.List;
+
+public record WebhookEventBatchResponse(
+        int applied,
+        List<WebhookEventResult> results
+) {}
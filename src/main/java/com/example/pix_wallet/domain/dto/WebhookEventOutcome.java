@@ -0,0 +1,10 @@
+package com.example.pix_wallet.domain.dto;
+
+public enum WebhookEventOutcome {
+    APPLIED,
+    DUPLICATE,
+    OUTDATED,
+    NOT_FOUND,
+    // Status válido, mas a liquidação não pôde ser feita (ex.: saldo insuficiente na origem)
+    FAILED
+}
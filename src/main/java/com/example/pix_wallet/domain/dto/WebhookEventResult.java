@@ -0,0 +1,17 @@
+package com.example.pix_wallet.domain.dto;
+
+public record WebhookEventResult(
+        int index,
+        String endToEndId,
+        WebhookEventOutcome outcome,
+        String error
+) {
+
+    public static WebhookEventResult of(int index, String endToEndId, WebhookEventOutcome outcome) {
+        return new WebhookEventResult(index, endToEndId, outcome, null);
+    }
+
+    public static WebhookEventResult failed(int index, String endToEndId, String error) {
+        return new WebhookEventResult(index, endToEndId, WebhookEventOutcome.FAILED, error);
+    }
+}
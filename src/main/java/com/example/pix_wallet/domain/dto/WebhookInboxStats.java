@@ -0,0 +1,9 @@
+package com.example.pix_wallet.domain.dto;
+
+import java.time.Instant;
+
+/**
+ * Eventos pendentes no inbox e o recebimento mais antigo entre eles ({@code null} se vazio).
+ */
+public record WebhookInboxStats(long depth, Instant oldestReceivedAt) {
+}
@@ -0,0 +1,241 @@
+package com.example.pix_wallet.domain.engine;
+
+import com.example.pix_wallet.domain.exception.WalletNotFoundException;
+import com.example.pix_wallet.domain.model.Money;
+import com.example.pix_wallet.domain.model.TransactionType;
+import com.example.pix_wallet.domain.model.Wallet;
+import com.example.pix_wallet.domain.repository.WalletRepository;
+import com.example.pix_wallet.domain.repository.WalletTransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+
+/**
+ * Modo opcional em que os saldos ficam em memória, particionados por walletId em shards de escritor único.
+ * Cada mutação só é confirmada ao chamador depois de durável no journal local; a gravação nas tabelas
+ * wallet/wallet_transaction acontece de forma assíncrona.
+ */
+@Component
+public class BalanceEngine implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceEngine.class);
+
+    private final BalanceEngineProperties properties;
+    private final WalletRepository walletRepository;
+    private final WalletTransactionRepository transactionRepository;
+    private final BalanceFlusher flusher;
+
+    private BalanceJournal journal;
+    private Shard[] shards;
+    private ScheduledExecutorService flushScheduler;
+    private volatile boolean running;
+
+    public BalanceEngine(
+            BalanceEngineProperties properties,
+            WalletRepository walletRepository,
+            WalletTransactionRepository transactionRepository,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.properties = properties;
+        this.walletRepository = walletRepository;
+        this.transactionRepository = transactionRepository;
+        this.flusher = new BalanceFlusher(
+                walletRepository,
+                transactionRepository,
+                new TransactionTemplate(transactionManager),
+                properties.flushBatchSize()
+        );
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    public Money credit(Long walletId, Money amount) {
+        return apply(walletId, TransactionType.CREDIT, amount);
+    }
+
+    public Money debit(Long walletId, Money amount) {
+        return apply(walletId, TransactionType.DEBIT, amount);
+    }
+
+    public Optional<Money> balanceOf(Long walletId) {
+        ensureRunning();
+        Shard shard = shardFor(walletId);
+        return await(CompletableFuture.supplyAsync(() -> shard.balanceOf(walletId), shard.executor));
+    }
+
+    private Money apply(Long walletId, TransactionType type, Money amount) {
+        ensureRunning();
+        Shard shard = shardFor(walletId);
+
+        CompletableFuture<JournalRecord> durable = CompletableFuture
+                .supplyAsync(() -> shard.apply(walletId, type, amount), shard.executor)
+                .thenCompose(record -> record);
+
+        return await(durable).balanceAfter();
+    }
+
+    private Shard shardFor(Long walletId) {
+        return shards[Math.floorMod(Long.hashCode(walletId), shards.length)];
+    }
+
+    private void ensureRunning() {
+        if (!running) {
+            throw new IllegalStateException("Balance engine is not running");
+        }
+        if (journal.isFailed()) {
+            throw new IllegalStateException("Balance journal unavailable");
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!isEnabled()) {
+            return;
+        }
+
+        // As carteiras em cache não acompanham held_balance (reservas ficam só no banco): o engine só liga
+        // depois que todas as transferências com reserva forem confirmadas, rejeitadas ou expiradas
+        if (walletRepository.existsByHeldBalanceGreaterThan(Money.ZERO)) {
+            throw new IllegalStateException(
+                    "Balance engine cannot start while wallets have held funds; settle or expire pending Pix transfers first");
+        }
+
+        try {
+            long lastSequence = recover();
+            journal = new BalanceJournal(
+                    properties.journalPath(),
+                    properties.groupCommitMaxRecords(),
+                    properties.journalMaxSize().toBytes(),
+                    flusher::enqueue,
+                    flusher::flushedSequence
+            );
+            journal.open(lastSequence);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open balance journal " + properties.journalPath(), e);
+        }
+
+        shards = new Shard[properties.shards()];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard(i);
+        }
+
+        long interval = properties.flushInterval().toMillis();
+        flushScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "balance-flusher"));
+        flushScheduler.scheduleWithFixedDelay(flusher::flush, interval, interval, TimeUnit.MILLISECONDS);
+
+        running = true;
+        logger.info("Balance engine started with {} shards, journal at {}", shards.length, properties.journalPath());
+    }
+
+    /**
+     * Reaplica no banco os registros do journal que ainda não foram gravados.
+     * O maior journal_sequence persistido em wallet_transaction é a marca d'água do que já foi gravado.
+     */
+    private long recover() throws IOException {
+        List<JournalRecord> records = BalanceJournal.readAll(properties.journalPath());
+        long persisted = transactionRepository.findMaxJournalSequence().orElse(0L);
+
+        List<JournalRecord> unflushed = records.stream()
+                .filter(record -> record.sequence() > persisted)
+                .toList();
+
+        if (!unflushed.isEmpty()) {
+            logger.info("Replaying {} balance journal records after sequence {}", unflushed.size(), persisted);
+            flusher.persist(unflushed);
+        }
+
+        long lastSequence = records.isEmpty()
+                ? persisted
+                : Math.max(persisted, records.get(records.size() - 1).sequence());
+        flusher.markFlushed(lastSequence);
+        return lastSequence;
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+
+        for (Shard shard : shards) {
+            shard.executor.shutdown();
+        }
+        try {
+            for (Shard shard : shards) {
+                shard.executor.awaitTermination(10, TimeUnit.SECONDS);
+            }
+            journal.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            logger.warn("Could not close balance journal", e);
+        }
+
+        flushScheduler.shutdown();
+        flusher.flush();
+        logger.info("Balance engine stopped at flushed sequence {}", flusher.flushedSequence());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private final class Shard {
+
+        private final ExecutorService executor;
+        // Acessado apenas pela thread do shard
+        private final Map<Long, Wallet> wallets = new HashMap<>();
+
+        private Shard(int index) {
+            this.executor = Executors.newSingleThreadExecutor(
+                    runnable -> new Thread(runnable, "balance-shard-" + index)
+            );
+        }
+
+        private CompletableFuture<JournalRecord> apply(Long walletId, TransactionType type, Money amount) {
+            Wallet wallet = wallets.computeIfAbsent(walletId, this::load);
+
+            // Mesmas regras de Wallet.credit/debit (valor positivo, saldo suficiente)
+            Money balanceAfter = type == TransactionType.CREDIT
+                    ? wallet.credit(amount)
+                    : wallet.debit(amount);
+
+            return journal.append(walletId, type, amount, balanceAfter);
+        }
+
+        private Optional<Money> balanceOf(Long walletId) {
+            return Optional.ofNullable(wallets.get(walletId)).map(Wallet::getBalance);
+        }
+
+        private Wallet load(Long walletId) {
+            return walletRepository.findById(walletId)
+                    .orElseThrow(() -> new WalletNotFoundException(walletId));
+        }
+    }
+}
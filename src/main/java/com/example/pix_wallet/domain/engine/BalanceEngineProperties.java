@@ -0,0 +1,33 @@
+package com.example.pix_wallet.domain.engine;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "pix-wallet.balance-engine")
+public record BalanceEngineProperties(
+        @DefaultValue("false")
+        boolean enabled,
+
+        @DefaultValue("8")
+        int shards,
+
+        @DefaultValue("data/balance-journal.log")
+        Path journalPath,
+
+        @DefaultValue("512")
+        int groupCommitMaxRecords,
+
+        @DefaultValue("64MB")
+        DataSize journalMaxSize,
+
+        @DefaultValue("200ms")
+        Duration flushInterval,
+
+        @DefaultValue("1000")
+        int flushBatchSize
+) {
+}
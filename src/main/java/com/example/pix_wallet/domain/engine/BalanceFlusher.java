@@ -0,0 +1,122 @@
+package com.example.pix_wallet.domain.engine;
+
+import com.example.pix_wallet.domain.model.Money;
+import com.example.pix_wallet.domain.model.Wallet;
+import com.example.pix_wallet.domain.model.WalletTransaction;
+import com.example.pix_wallet.domain.repository.WalletRepository;
+import com.example.pix_wallet.domain.repository.WalletTransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Grava de forma assíncrona nas tabelas wallet/wallet_transaction os registros já duráveis no journal.
+ */
+class BalanceFlusher {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceFlusher.class);
+
+    private final WalletRepository walletRepository;
+    private final WalletTransactionRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    private final Queue<JournalRecord> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicLong flushedSequence = new AtomicLong();
+    private final List<JournalRecord> retry = new ArrayList<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    BalanceFlusher(
+            WalletRepository walletRepository,
+            WalletTransactionRepository transactionRepository,
+            TransactionTemplate transactionTemplate,
+            int batchSize
+    ) {
+        this.walletRepository = walletRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    void enqueue(List<JournalRecord> records) {
+        pending.addAll(records);
+    }
+
+    long flushedSequence() {
+        return flushedSequence.get();
+    }
+
+    void markFlushed(long sequence) {
+        flushedSequence.set(sequence);
+    }
+
+    /**
+     * Chamado sempre pela mesma thread (agendador do engine ou shutdown).
+     * Usa ReentrantLock em vez de synchronized: o flush faz JDBC e, em thread virtual, um monitor a prenderia à carrier.
+     */
+    void flush() {
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushPending() {
+        while (true) {
+            List<JournalRecord> batch = new ArrayList<>(retry);
+            retry.clear();
+
+            JournalRecord next;
+            while (batch.size() < batchSize && (next = pending.poll()) != null) {
+                batch.add(next);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            try {
+                persist(batch);
+            } catch (RuntimeException e) {
+                logger.warn("Balance flush of {} records failed, will retry", batch.size(), e);
+                retry.addAll(batch);
+                return;
+            }
+
+            if (batch.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    void persist(List<JournalRecord> records) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<Long, Money> finalBalances = new LinkedHashMap<>();
+            List<WalletTransaction> ledger = new ArrayList<>(records.size());
+
+            for (JournalRecord record : records) {
+                Wallet wallet = walletRepository.getReferenceById(record.walletId());
+                finalBalances.put(record.walletId(), record.balanceAfter());
+                ledger.add(WalletTransaction.fromJournal(
+                        wallet,
+                        record.type(),
+                        record.amount(),
+                        record.balanceAfter(),
+                        record.createdAt(),
+                        record.sequence()
+                ));
+            }
+
+            finalBalances.forEach(walletRepository::overwriteBalance);
+            transactionRepository.saveAll(ledger);
+        });
+
+        flushedSequence.accumulateAndGet(records.get(records.size() - 1).sequence(), Math::max);
+    }
+}
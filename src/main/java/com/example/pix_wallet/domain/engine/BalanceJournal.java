@@ -0,0 +1,277 @@
+package com.example.pix_wallet.domain.engine;
+
+import com.example.pix_wallet.domain.model.Money;
+import com.example.pix_wallet.domain.model.TransactionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.zip.CRC32;
+
+/**
+ * Journal append-only das mutações de saldo.
+ * Uma única thread escritora agrupa os registros pendentes e faz um fsync por lote (group commit).
+ */
+class BalanceJournal implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceJournal.class);
+
+    private final Path path;
+    private final int groupCommitMaxRecords;
+    private final long maxBytes;
+    private final Consumer<List<JournalRecord>> onDurable;
+    private final LongSupplier flushedSequence;
+
+    private final BlockingQueue<PendingRecord> queue = new LinkedBlockingQueue<>();
+    private FileChannel channel;
+    private Thread writer;
+    private volatile boolean running;
+    private volatile IOException failure;
+    private long lastSequence;
+
+    BalanceJournal(
+            Path path,
+            int groupCommitMaxRecords,
+            long maxBytes,
+            Consumer<List<JournalRecord>> onDurable,
+            LongSupplier flushedSequence
+    ) {
+        this.path = path;
+        this.groupCommitMaxRecords = groupCommitMaxRecords;
+        this.maxBytes = maxBytes;
+        this.onDurable = onDurable;
+        this.flushedSequence = flushedSequence;
+    }
+
+    static List<JournalRecord> readAll(Path path) throws IOException {
+        List<JournalRecord> records = new ArrayList<>();
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+
+                byte[] payload = new byte[length];
+                int checksum;
+                try {
+                    in.readFully(payload);
+                    checksum = in.readInt();
+                } catch (EOFException e) {
+                    logger.warn("Discarding torn record at the end of balance journal {}", path);
+                    break;
+                }
+
+                if (checksum != checksum(payload)) {
+                    logger.warn("Discarding corrupted record at the end of balance journal {}", path);
+                    break;
+                }
+                records.add(decode(payload));
+            }
+        } catch (NoSuchFileException e) {
+            return records;
+        }
+
+        return records;
+    }
+
+    /**
+     * Abre o journal vazio (o conteúdo anterior já deve ter sido recuperado) e inicia a thread escritora.
+     */
+    void open(long lastSequence) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.channel = FileChannel.open(
+                path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING
+        );
+        this.lastSequence = lastSequence;
+        this.running = true;
+        this.writer = new Thread(this::writeLoop, "balance-journal-writer");
+        this.writer.start();
+    }
+
+    CompletableFuture<JournalRecord> append(
+            Long walletId,
+            TransactionType type,
+            Money amount,
+            Money balanceAfter
+    ) {
+        if (failure != null) {
+            return CompletableFuture.failedFuture(journalUnavailable());
+        }
+        PendingRecord pending = new PendingRecord(walletId, type, amount, balanceAfter, Instant.now());
+        queue.add(pending);
+        return pending.durable;
+    }
+
+    boolean isFailed() {
+        return failure != null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        if (writer != null) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingRecord> batch = new ArrayList<>(groupCommitMaxRecords);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingRecord first = queue.poll(50, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, groupCommitMaxRecords - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<PendingRecord> batch) {
+        if (failure != null) {
+            batch.forEach(pending -> pending.durable.completeExceptionally(journalUnavailable()));
+            return;
+        }
+
+        List<JournalRecord> records = new ArrayList<>(batch.size());
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(batch.size() * 64);
+
+        try {
+            DataOutputStream out = new DataOutputStream(buffer);
+            long sequence = lastSequence;
+            for (PendingRecord pending : batch) {
+                JournalRecord record = pending.toRecord(++sequence);
+                byte[] payload = encode(record);
+                out.writeInt(payload.length);
+                out.write(payload);
+                out.writeInt(checksum(payload));
+                records.add(record);
+            }
+
+            ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(false);
+            lastSequence = sequence;
+        } catch (IOException e) {
+            // Fail-stop: o estado em memória não pode mais ser considerado durável
+            logger.error("Balance journal write failed, rejecting further mutations", e);
+            failure = e;
+            batch.forEach(pending -> pending.durable.completeExceptionally(journalUnavailable()));
+            return;
+        }
+
+        onDurable.accept(records);
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).durable.complete(records.get(i));
+        }
+
+        rotateIfFlushed();
+    }
+
+    private void rotateIfFlushed() {
+        try {
+            if (channel.size() >= maxBytes && flushedSequence.getAsLong() >= lastSequence) {
+                channel.truncate(0);
+                channel.position(0);
+                channel.force(true);
+                logger.info("Balance journal rotated at sequence {}", lastSequence);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not rotate balance journal {}", path, e);
+        }
+    }
+
+    private IllegalStateException journalUnavailable() {
+        return new IllegalStateException("Balance journal unavailable", failure);
+    }
+
+    private static byte[] encode(JournalRecord record) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeLong(record.sequence());
+        out.writeLong(record.walletId());
+        out.writeByte(record.type().ordinal());
+        // Valores em texto decimal: mantém o formato do arquivo independente da representação em memória
+        out.writeUTF(record.amount().toString());
+        out.writeUTF(record.balanceAfter().toString());
+        out.writeLong(record.createdAt().getEpochSecond());
+        out.writeInt(record.createdAt().getNano());
+        return bytes.toByteArray();
+    }
+
+    private static JournalRecord decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        return new JournalRecord(
+                in.readLong(),
+                in.readLong(),
+                TransactionType.values()[in.readByte()],
+                Money.of(in.readUTF()),
+                Money.of(in.readUTF()),
+                Instant.ofEpochSecond(in.readLong(), in.readInt())
+        );
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private record PendingRecord(
+            Long walletId,
+            TransactionType type,
+            Money amount,
+            Money balanceAfter,
+            Instant createdAt,
+            CompletableFuture<JournalRecord> durable
+    ) {
+        PendingRecord(Long walletId, TransactionType type, Money amount, Money balanceAfter, Instant createdAt) {
+            this(walletId, type, amount, balanceAfter, createdAt, new CompletableFuture<>());
+        }
+
+        JournalRecord toRecord(long sequence) {
+            return new JournalRecord(sequence, walletId, type, amount, balanceAfter, createdAt);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.pix_wallet.domain.engine;
+
+import com.example.pix_wallet.domain.model.Money;
+import com.example.pix_wallet.domain.model.TransactionType;
+
+import java.time.Instant;
+
+public record JournalRecord(
+        long sequence,
+        Long walletId,
+        TransactionType type,
+        Money amount,
+        Money balanceAfter,
+        Instant createdAt
+) {
+}
@@ -1,10 +1,10 @@
 package com.example.pix_wallet.domain.exception;
 
-import java.math.BigDecimal;
+import com.example.pix_wallet.domain.model.Money;
 
 public class InsufficientBalanceException extends RuntimeException {
 
-    public InsufficientBalanceException(BigDecimal balance, BigDecimal amount) {
-        super("Insufficient balance. Balance: " + balance + ", amount: " + amount);
+    public InsufficientBalanceException(Money balance, Money amount) {
+        super("Insufficient balance. Balance: " + balance + ", amount: " + amount, null, false, false);
     }
 }
@@ -0,0 +1,7 @@
+package com.example.pix_wallet.domain.exception;
+
+public class InvalidBalanceSeriesException extends RuntimeException {
+    public InvalidBalanceSeriesException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -2,6 +2,6 @@ package com.example.pix_wallet.domain.exception;
 
 public class InvalidTransferException extends RuntimeException {
     public InvalidTransferException() {
-        super("Source and destination wallets must be different");
+        super("Source and destination wallets must be different", null, false, false);
     }
 }
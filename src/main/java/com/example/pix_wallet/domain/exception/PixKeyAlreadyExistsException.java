@@ -8,7 +8,7 @@ public class PixKeyAlreadyExistsException extends RuntimeException {
     private final String value;
 
     public PixKeyAlreadyExistsException(String value) {
-        super("Pix key already exists: " + value);
+        super("Pix key already exists: " + value, null, false, false);
         this.value = value;
     }
 
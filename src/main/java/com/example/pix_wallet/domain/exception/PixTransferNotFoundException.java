@@ -0,0 +1,8 @@
+package com.example.pix_wallet.domain.exception;
+
+public class PixTransferNotFoundException extends RuntimeException {
+
+    public PixTransferNotFoundException(String endToEndId) {
+        super("Transfer not found for endToEndId: " + endToEndId, null, false, false);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.pix_wallet.domain.exception;
+
+public class TransferConflictException extends RuntimeException {
+    public TransferConflictException(Long fromId, Long toId, int attempts, Throwable cause) {
+        super("Transfer from wallet " + fromId + " to wallet " + toId
+                + " kept conflicting with concurrent updates after " + attempts + " attempts", cause, false, false);
+    }
+}
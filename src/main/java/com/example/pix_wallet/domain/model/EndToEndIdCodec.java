@@ -0,0 +1,37 @@
+package com.example.pix_wallet.domain.model;
+
+import java.util.UUID;
+
+/**
+ * O endToEndId é gravado como uuid nativo (16 bytes); o formato externo {@code E2E-<uuid>} só existe na API.
+ */
+public final class EndToEndIdCodec {
+
+    private static final String PREFIX = "E2E-";
+    private static final int UUID_LENGTH = 36;
+
+    private EndToEndIdCodec() {
+    }
+
+    public static String format(UUID endToEndId) {
+        return PREFIX + endToEndId;
+    }
+
+    /**
+     * UUID do endToEndId externo, ou {@code null} se o valor não estiver no formato {@code E2E-<uuid>}
+     * (e portanto não pode existir no banco).
+     */
+    public static UUID parseOrNull(String endToEndId) {
+        if (endToEndId == null
+                || endToEndId.length() != PREFIX.length() + UUID_LENGTH
+                || !endToEndId.startsWith(PREFIX)) {
+            return null;
+        }
+
+        String uuid = endToEndId.substring(PREFIX.length());
+        if (PixKeyNormalizer.normalizeOrNull(PixKeyType.EVP, uuid) == null) {
+            return null;
+        }
+        return UUID.fromString(uuid);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.pix_wallet.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Valor monetário em centavos. Toda a aritmética é feita em long com checagem de overflow;
+ * BigDecimal aparece apenas na borda (JSON e coluna NUMERIC(19,2), via {@link MoneyConverter}).
+ */
+public record Money(long cents) implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(0);
+
+    private static final int SCALE = 2;
+
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    @JsonCreator
+    public static Money of(BigDecimal amount) {
+        if (amount == null) {
+            throw new IllegalArgumentException("Amount must not be null");
+        }
+        try {
+            return ofCents(amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount must fit in centavos: " + amount.toPlainString());
+        }
+    }
+
+    public static Money of(String amount) {
+        return of(new BigDecimal(amount));
+    }
+
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    public Money plus(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+
+    public Money minus(Money other) {
+        return ofCents(Math.subtractExact(cents, other.cents));
+    }
+
+    public Money negate() {
+        return ofCents(Math.negateExact(cents));
+    }
+
+    public int signum() {
+        return Long.signum(cents);
+    }
+
+    public boolean isPositive() {
+        return cents > 0;
+    }
+
+    public boolean isLessThan(Money other) {
+        return cents < other.cents;
+    }
+
+    public Money min(Money other) {
+        return cents <= other.cents ? this : other;
+    }
+
+    public Money max(Money other) {
+        return cents >= other.cents ? this : other;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.pix_wallet.domain.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Check;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -13,21 +15,30 @@ import java.util.UUID;
         name = "pix_key",
         uniqueConstraints = @UniqueConstraint(columnNames = "value")
 )
+// Mesmo CHECK da migration V11, para valer também no schema do ddl-auto
+@Check(name = "ck_pix_key_value_or_evp", constraints = "(type = 'EVP' AND evp IS NOT NULL AND value IS NULL)"
+        + " OR (type <> 'EVP' AND evp IS NULL AND value IS NOT NULL)")
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class PixKey {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pix_key_seq")
+    @SequenceGenerator(name = "pix_key_seq", sequenceName = "pix_key_seq", allocationSize = 50)
     private Long id;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private PixKeyType type;
 
-    @Column(nullable = false, unique = true)
+    // Nulo para EVP, que fica em uuid nativo na coluna evp; use getValue()
+    @Column(unique = true)
     private String value;
 
+    @JsonIgnore
+    @Column(unique = true)
+    private UUID evp;
+
     @ManyToOne(optional = false)
     @JoinColumn(name = "wallet_id")
     private Wallet wallet;
@@ -45,33 +56,47 @@ public class PixKey {
         this.createdAt = Instant.now();
     }
 
+    private PixKey(UUID evp, Wallet wallet) {
+        this.type = PixKeyType.EVP;
+        this.evp = evp;
+        this.wallet = wallet;
+        this.createdAt = Instant.now();
+    }
+
     public static PixKey create(PixKeyType type, String value, Wallet wallet) {
         return switch (type) {
             case EMAIL -> createEmail(value, wallet);
             case PHONE -> createPhone(value, wallet);
+            case CPF -> createCpf(value, wallet);
+            case CNPJ -> createCnpj(value, wallet);
             case EVP -> createEVP(wallet);
         };
     }
 
     public static PixKey createEmail(String email, Wallet wallet) {
-        if (!email.matches("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$")) {
-            throw new IllegalArgumentException("Invalid email Pix key");
-        }
-        return new PixKey(PixKeyType.EMAIL, email, wallet);
+        return new PixKey(PixKeyType.EMAIL, PixKeyNormalizer.normalize(PixKeyType.EMAIL, email), wallet);
     }
 
     public static PixKey createPhone(String phone, Wallet wallet) {
-        if (!phone.matches("^\\+?[1-9]\\d{10,14}$")) {
-            throw new IllegalArgumentException("Invalid phone Pix key");
-        }
-        return new PixKey(PixKeyType.PHONE, phone, wallet);
+        return new PixKey(PixKeyType.PHONE, PixKeyNormalizer.normalize(PixKeyType.PHONE, phone), wallet);
+    }
+
+    public static PixKey createCpf(String cpf, Wallet wallet) {
+        return new PixKey(PixKeyType.CPF, PixKeyNormalizer.normalize(PixKeyType.CPF, cpf), wallet);
+    }
+
+    public static PixKey createCnpj(String cnpj, Wallet wallet) {
+        return new PixKey(PixKeyType.CNPJ, PixKeyNormalizer.normalize(PixKeyType.CNPJ, cnpj), wallet);
     }
 
     public static PixKey createEVP(Wallet wallet) {
-        return new PixKey(
-                PixKeyType.EVP,
-                UUID.randomUUID().toString(),
-                wallet
-        );
+        return new PixKey(UUID.randomUUID(), wallet);
+    }
+
+    /**
+     * Valor canônico da chave; EVPs são renderizadas a partir do uuid.
+     */
+    public String getValue() {
+        return evp != null ? evp.toString() : value;
     }
 }
@@ -0,0 +1,282 @@
+package com.example.pix_wallet.domain.model;
+
+/**
+ * Valida e normaliza chaves PIX percorrendo os caracteres uma única vez, sem regex.
+ * Quando a entrada já está na forma canônica ela é devolvida como está (nenhuma alocação);
+ * caso contrário é escrita uma única String nova.
+ *
+ * <ul>
+ *     <li>EMAIL: minúsculas, até 77 caracteres</li>
+ *     <li>PHONE: E.164 ({@code +5511999998888}); aceita espaços, hífens e parênteses na entrada.
+ *     Sem {@code +}, 10 ou 11 dígitos são número nacional (DDD + número) e recebem o código 55</li>
+ *     <li>CPF/CNPJ: apenas dígitos, com dígitos verificadores; aceita {@code . - /} na entrada</li>
+ *     <li>EVP: UUID em minúsculas</li>
+ * </ul>
+ */
+public final class PixKeyNormalizer {
+
+    private static final int EMAIL_MAX_LENGTH = 77;
+    private static final int PHONE_MIN_DIGITS = 11;
+    private static final int PHONE_MAX_DIGITS = 15;
+    private static final int NATIONAL_PHONE_MIN_DIGITS = 10;
+    private static final int NATIONAL_PHONE_MAX_DIGITS = 11;
+    private static final String BRAZIL_COUNTRY_CODE = "55";
+    private static final int CPF_DIGITS = 11;
+    private static final int CNPJ_DIGITS = 14;
+    private static final int EVP_LENGTH = 36;
+
+    private PixKeyNormalizer() {
+    }
+
+    public static String normalize(PixKeyType type, String value) {
+        String normalized = normalizeOrNull(type, value);
+        if (normalized == null) {
+            throw new IllegalArgumentException("Invalid " + type.name().toLowerCase() + " Pix key");
+        }
+        return normalized;
+    }
+
+    /**
+     * Forma canônica da chave, ou {@code null} se o valor não for válido para o tipo.
+     */
+    public static String normalizeOrNull(PixKeyType type, String value) {
+        if (type == null || value == null) {
+            return null;
+        }
+        return switch (type) {
+            case EMAIL -> email(value);
+            case PHONE -> phone(value);
+            case CPF -> cpf(value);
+            case CNPJ -> cnpj(value);
+            case EVP -> evp(value);
+        };
+    }
+
+    private static String email(String value) {
+        int length = value.length();
+        if (length == 0 || length > EMAIL_MAX_LENGTH) {
+            return null;
+        }
+
+        int at = -1;
+        int lastDot = -1;
+        boolean lowercase = true;
+
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (Character.isWhitespace(c)) {
+                return null;
+            }
+            if (c == '@') {
+                if (at >= 0) {
+                    return null;
+                }
+                at = i;
+            } else if (c == '.' && at >= 0) {
+                lastDot = i;
+            } else if (Character.toLowerCase(c) != c) {
+                lowercase = false;
+            }
+        }
+
+        // Parte local não vazia; domínio com um ponto que não seja o primeiro nem o último caractere
+        if (at <= 0 || lastDot <= at + 1 || lastDot == length - 1) {
+            return null;
+        }
+        if (lowercase) {
+            return value;
+        }
+
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = Character.toLowerCase(value.charAt(i));
+        }
+        return new String(chars);
+    }
+
+    private static String phone(String value) {
+        int length = value.length();
+        int digits = 0;
+        boolean plus = false;
+        boolean canonical = length > 0 && value.charAt(0) == '+';
+
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (digits == 0 && c == '0') {
+                    return null;
+                }
+                digits++;
+            } else if (c == '+') {
+                if (plus || digits > 0) {
+                    return null;
+                }
+                plus = true;
+            } else if (c == ' ' || c == '-' || c == '(' || c == ')') {
+                canonical = false;
+            } else {
+                return null;
+            }
+        }
+
+        // "11987654321" é um celular de São Paulo, não um número +1: sem '+', DDD + número ganha o código do Brasil
+        boolean national = !plus && digits >= NATIONAL_PHONE_MIN_DIGITS && digits <= NATIONAL_PHONE_MAX_DIGITS;
+        if (!national && (digits < PHONE_MIN_DIGITS || digits > PHONE_MAX_DIGITS)) {
+            return null;
+        }
+        if (canonical) {
+            return value;
+        }
+
+        int prefix = national ? 1 + BRAZIL_COUNTRY_CODE.length() : 1;
+        char[] chars = new char[prefix + digits];
+        chars[0] = '+';
+        if (national) {
+            BRAZIL_COUNTRY_CODE.getChars(0, BRAZIL_COUNTRY_CODE.length(), chars, 1);
+        }
+        int position = prefix;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                chars[position++] = c;
+            }
+        }
+        return new String(chars);
+    }
+
+    private static String cpf(String value) {
+        int length = value.length();
+        int digits = 0;
+        int first = -1;
+        boolean repeated = true;
+        int sum = 0;
+        int sumWithFirstCheck = 0;
+        int firstCheck = -1;
+        int secondCheck = -1;
+
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '.' || c == '-') {
+                continue;
+            }
+            if (c < '0' || c > '9' || digits == CPF_DIGITS) {
+                return null;
+            }
+
+            int digit = c - '0';
+            if (first < 0) {
+                first = digit;
+            } else if (digit != first) {
+                repeated = false;
+            }
+
+            if (digits < 9) {
+                sum += digit * (10 - digits);
+                sumWithFirstCheck += digit * (11 - digits);
+            } else if (digits == 9) {
+                firstCheck = digit;
+                sumWithFirstCheck += digit * 2;
+            } else {
+                secondCheck = digit;
+            }
+            digits++;
+        }
+
+        // 000.000.000-00, 111.111.111-11 etc. passam no cálculo mas não são CPFs válidos
+        if (digits != CPF_DIGITS || repeated
+                || checkDigit(sum) != firstCheck
+                || checkDigit(sumWithFirstCheck) != secondCheck) {
+            return null;
+        }
+        return digitsOnly(value, length, CPF_DIGITS);
+    }
+
+    private static String cnpj(String value) {
+        int length = value.length();
+        int digits = 0;
+        int first = -1;
+        boolean repeated = true;
+        int sum = 0;
+        int sumWithFirstCheck = 0;
+        int firstCheck = -1;
+        int secondCheck = -1;
+
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '.' || c == '-' || c == '/') {
+                continue;
+            }
+            if (c < '0' || c > '9' || digits == CNPJ_DIGITS) {
+                return null;
+            }
+
+            int digit = c - '0';
+            if (first < 0) {
+                first = digit;
+            } else if (digit != first) {
+                repeated = false;
+            }
+
+            // Pesos 5,4,3,2,9,8,...,2 para o 1º verificador e 6,5,4,3,2,9,...,2 para o 2º
+            if (digits < 12) {
+                sum += digit * (digits < 4 ? 5 - digits : 13 - digits);
+                sumWithFirstCheck += digit * (digits < 5 ? 6 - digits : 14 - digits);
+            } else if (digits == 12) {
+                firstCheck = digit;
+                sumWithFirstCheck += digit * 2;
+            } else {
+                secondCheck = digit;
+            }
+            digits++;
+        }
+
+        if (digits != CNPJ_DIGITS || repeated
+                || checkDigit(sum) != firstCheck
+                || checkDigit(sumWithFirstCheck) != secondCheck) {
+            return null;
+        }
+        return digitsOnly(value, length, CNPJ_DIGITS);
+    }
+
+    private static String evp(String value) {
+        if (value.length() != EVP_LENGTH) {
+            return null;
+        }
+
+        boolean lowercase = true;
+        for (int i = 0; i < EVP_LENGTH; i++) {
+            char c = value.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return null;
+                }
+            } else if (c >= 'A' && c <= 'F') {
+                lowercase = false;
+            } else if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'))) {
+                return null;
+            }
+        }
+        return lowercase ? value : value.toLowerCase();
+    }
+
+    private static int checkDigit(int sum) {
+        int remainder = sum % 11;
+        return remainder < 2 ? 0 : 11 - remainder;
+    }
+
+    private static String digitsOnly(String value, int length, int digits) {
+        if (length == digits) {
+            return value;
+        }
+
+        char[] chars = new char[digits];
+        int position = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                chars[position++] = c;
+            }
+        }
+        return new String(chars);
+    }
+}
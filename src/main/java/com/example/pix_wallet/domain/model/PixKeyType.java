@@ -3,5 +3,7 @@ package com.example.pix_wallet.domain.model;
 public enum PixKeyType {
     EVP,
     EMAIL,
-    PHONE
+    PHONE,
+    CPF,
+    CNPJ
 }
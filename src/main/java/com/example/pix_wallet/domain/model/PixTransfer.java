@@ -5,7 +5,6 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.UUID;
 
@@ -16,7 +15,8 @@ import java.util.UUID;
 public class PixTransfer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pix_transfer_seq")
+    @SequenceGenerator(name = "pix_transfer_seq", sequenceName = "pix_transfer_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(optional = false)
@@ -32,10 +32,11 @@ public class PixTransfer {
     private PixKey pixKey;
 
     @Column(nullable = false, precision = 19, scale = 2)
-    private BigDecimal amount;
+    private Money amount;
 
+    // uuid nativo; o formato externo "E2E-<uuid>" fica em EndToEndIdCodec
     @Column(nullable = false, unique = true)
-    private String endToEndId;
+    private UUID endToEndId;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -46,17 +47,21 @@ public class PixTransfer {
 
     private Instant lastStatusUpdate;
 
+    // true = valor reservado no saldo da origem na iniciação; a confirmação só baixa a reserva e a rejeição a libera
+    @Column(name = "funds_held", nullable = false)
+    private boolean fundsHeld;
+
     private PixTransfer(
             Wallet fromWallet,
             Wallet toWallet,
             PixKey pixKey,
-            BigDecimal amount
+            Money amount
     ) {
         this.fromWallet = fromWallet;
         this.toWallet = toWallet;
         this.pixKey = pixKey;
         this.amount = amount;
-        this.endToEndId = generateEndToEndId();
+        this.endToEndId = UUID.randomUUID();
         this.status = PixTransferStatus.PENDING;
         this.createdAt = Instant.now();
         this.lastStatusUpdate = Instant.now();
@@ -66,39 +71,58 @@ public class PixTransfer {
             Wallet fromWallet,
             Wallet toWallet,
             PixKey pixKey,
-            BigDecimal amount
+            Money amount
     ) {
-        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+        if (amount == null || !amount.isPositive()) {
             throw new IllegalArgumentException("Transfer amount must be positive");
         }
         return new PixTransfer(fromWallet, toWallet, pixKey, amount);
     }
 
-    private static String generateEndToEndId() {
-        return "E2E-" + UUID.randomUUID();
+    public void markFundsHeld() {
+        this.fundsHeld = true;
     }
 
     public boolean updateStatus(PixTransferStatus newStatus, Instant eventTimestamp) {
+        if (evaluateStatus(newStatus, eventTimestamp) != StatusTransition.ALLOWED) {
+            return false;
+        }
+        applyStatus(newStatus, eventTimestamp);
+        return true;
+    }
+
+    /**
+     * Classifica o evento sem alterar a transferência; {@link #updateStatus} aplica as mesmas regras.
+     */
+    public StatusTransition evaluateStatus(PixTransferStatus newStatus, Instant eventTimestamp) {
         // Ignora eventos duplicados ou mais antigos
         if (this.lastStatusUpdate != null &&
             eventTimestamp.isBefore(this.lastStatusUpdate)) {
-            return false;
+            return StatusTransition.OUTDATED;
         }
 
         // Ignora se o status já é o mesmo
         if (this.status == newStatus) {
-            return false;
+            return StatusTransition.DUPLICATE;
         }
 
-        // Não permite mudar de CONFIRMED ou REJECTED para outro status
+        // Não permite mudar de CONFIRMED, REJECTED ou EXPIRED para outro status
         if (this.status == PixTransferStatus.CONFIRMED ||
-            this.status == PixTransferStatus.REJECTED) {
-            return false;
+            this.status == PixTransferStatus.REJECTED ||
+            this.status == PixTransferStatus.EXPIRED) {
+            return StatusTransition.OUTDATED;
         }
 
+        return StatusTransition.ALLOWED;
+    }
+
+    public void applyStatus(PixTransferStatus newStatus, Instant eventTimestamp) {
+        StatusTransition transition = evaluateStatus(newStatus, eventTimestamp);
+        if (transition != StatusTransition.ALLOWED) {
+            throw new IllegalStateException("Cannot move transfer " + EndToEndIdCodec.format(endToEndId) + " to " + newStatus + ": " + transition);
+        }
         this.status = newStatus;
         this.lastStatusUpdate = eventTimestamp;
-        return true;
     }
 
     public boolean isPending() {
@@ -112,6 +136,10 @@ public class PixTransfer {
     public boolean isRejected() {
         return this.status == PixTransferStatus.REJECTED;
     }
+
+    public boolean isExpired() {
+        return this.status == PixTransferStatus.EXPIRED;
+    }
 }
 
 
@@ -3,5 +3,7 @@ package com.example.pix_wallet.domain.model;
 public enum PixTransferStatus {
     PENDING,
     CONFIRMED,
-    REJECTED
+    REJECTED,
+    // Ficou PENDING além do prazo sem retorno do PSP; encerrada pelo PixTransferExpiryJob
+    EXPIRED
 }
@@ -0,0 +1,12 @@
+package com.example.pix_wallet.domain.model;
+
+/**
+ * Resultado de {@link PixTransfer#evaluateStatus}: se um evento de status pode ser aplicado e, se não, por quê.
+ */
+public enum StatusTransition {
+    ALLOWED,
+    // Mesmo status que a transferência já tem
+    DUPLICATE,
+    // Evento mais antigo que a última atualização, ou transferência já em status final
+    OUTDATED
+}
@@ -1,25 +1,35 @@
 package com.example.pix_wallet.domain.model;
 
 import com.example.pix_wallet.domain.exception.InsufficientBalanceException;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Check;
 
-import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
 @Table(name = "wallet")
+// Mesmo CHECK da migration V13, para valer também no schema do ddl-auto
+@Check(name = "chk_wallet_held_balance", constraints = "held_balance >= 0 AND held_balance <= balance")
 @Getter
 public class Wallet {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "wallet_seq")
+    @SequenceGenerator(name = "wallet_seq", sequenceName = "wallet_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, precision = 19, scale = 2)
-    private BigDecimal balance;
+    private Money balance;
+
+    // Parte do saldo reservada por transferências PIX pendentes; disponível = saldo - reservado
+    @Column(name = "held_balance", nullable = false, precision = 19, scale = 2)
+    private Money heldBalance;
 
     @Version
     private Long version;
@@ -27,8 +37,19 @@ public class Wallet {
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
+    // 0 = carteira comum; N > 0 = carteira quente com N slots de saldo
+    @JsonIgnore
+    @Column(name = "balance_slot_count", nullable = false)
+    private int balanceSlotCount;
+
+    @JsonIgnore
+    @OneToMany(mappedBy = "wallet")
+    @OrderBy("slotIndex ASC")
+    private List<WalletBalanceSlot> balanceSlots = new ArrayList<>();
+
     protected Wallet() {
-        this.balance = BigDecimal.ZERO;
+        this.balance = Money.ZERO;
+        this.heldBalance = Money.ZERO;
         this.createdAt = Instant.now();
     }
 
@@ -36,28 +57,119 @@ public class Wallet {
         return new Wallet();
     }
 
-    public BigDecimal credit(BigDecimal amount) {
+    public Money credit(Money amount) {
+        validateAmount(amount);
+        this.balance = this.balance.plus(amount);
+
+        return this.balance;
+    }
+
+    public Money debit(Money amount) {
         validateAmount(amount);
-        this.balance = this.balance.add(amount);
+        Money available = this.balance.minus(this.heldBalance);
+        if (available.isLessThan(amount)) {
+            throw new InsufficientBalanceException(available, amount);
+        }
+        this.balance = this.balance.minus(amount);
 
         return this.balance;
     }
 
-    public BigDecimal debit(BigDecimal amount) {
+    /**
+     * Baixa uma reserva já feita: saldo e reservado diminuem juntos, sem nova verificação de saldo.
+     */
+    public Money finalizeHold(Money amount) {
         validateAmount(amount);
-        if (this.balance.compareTo(amount) < 0) {
-            throw new InsufficientBalanceException(this.balance, amount);
+        if (this.heldBalance.isLessThan(amount)) {
+            throw new IllegalStateException("Held balance " + this.heldBalance + " does not cover " + amount);
         }
-        this.balance = this.balance.subtract(amount);
+        this.heldBalance = this.heldBalance.minus(amount);
+        this.balance = this.balance.minus(amount);
 
         return this.balance;
     }
 
-    private void validateAmount(BigDecimal amount) {
+    public void releaseHold(Money amount) {
+        validateAmount(amount);
+        if (this.heldBalance.isLessThan(amount)) {
+            throw new IllegalStateException("Held balance " + this.heldBalance + " does not cover " + amount);
+        }
+        this.heldBalance = this.heldBalance.minus(amount);
+    }
+
+    @JsonIgnore
+    public boolean isStriped() {
+        return this.balanceSlotCount > 0;
+    }
+
+    /**
+     * Altera a quantidade de slots ativos e devolve os slots que precisaram ser criados.
+     * Slots acima da nova quantidade são mantidos (zerados pela consolidação), apenas deixam de receber créditos.
+     */
+    public List<WalletBalanceSlot> changeBalanceSlotCount(int slotCount) {
+        if (slotCount < 0) {
+            throw new IllegalArgumentException("Balance slot count must not be negative");
+        }
+        this.balanceSlotCount = slotCount;
+
+        List<WalletBalanceSlot> created = new ArrayList<>();
+        for (int index = balanceSlots.size(); index < slotCount; index++) {
+            WalletBalanceSlot slot = WalletBalanceSlot.create(this, index);
+            balanceSlots.add(slot);
+            created.add(slot);
+        }
+        return created;
+    }
+
+    /**
+     * Saldo principal somado aos slots ainda não consolidados.
+     */
+    @JsonIgnore
+    public Money getTotalBalance() {
+        if (!isStriped()) {
+            return this.balance;
+        }
+        Money total = this.balance;
+        for (WalletBalanceSlot slot : balanceSlots) {
+            total = total.plus(slot.getBalance());
+        }
+        return total;
+    }
+
+    /**
+     * Saldo total menos o que está reservado por transferências pendentes.
+     */
+    @JsonIgnore
+    public Money getAvailableBalance() {
+        return getTotalBalance().minus(this.heldBalance);
+    }
+
+    /**
+     * Move o saldo dos slots (na ordem recebida) para o saldo principal até cobrir o valor pedido.
+     */
+    public void drainSlots(List<WalletBalanceSlot> slots, Money required) {
+        for (WalletBalanceSlot slot : slots) {
+            Money missing = required.minus(this.balance);
+            if (missing.signum() <= 0) {
+                return;
+            }
+            consolidate(slot, missing.min(slot.getBalance()));
+        }
+    }
+
+    public void consolidate(WalletBalanceSlot slot, Money amount) {
+        if (!amount.isPositive()) {
+            return;
+        }
+        slot.withdraw(amount);
+        this.balance = this.balance.plus(amount);
+    }
+
+    private void validateAmount(Money amount) {
         if (amount == null) {
             throw new IllegalArgumentException("Amount must not be null");
         }
-        if (amount.signum() <= 0) {
+        if (!amount.isPositive()) {
             throw new IllegalArgumentException("Amount must be positive");
         }
     }
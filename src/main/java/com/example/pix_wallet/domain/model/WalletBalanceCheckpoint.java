@@ -0,0 +1,90 @@
+package com.example.pix_wallet.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Resumo do saldo de uma carteira em um período fechado [periodStart, periodEnd).
+ * Só existe para períodos com ao menos um lançamento; min/max consideram apenas o balance_after dos lançamentos.
+ */
+@Entity
+@Table(
+        name = "wallet_balance_checkpoint",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"wallet_id", "period_start"})
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class WalletBalanceCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "wallet_balance_checkpoint_seq")
+    @SequenceGenerator(name = "wallet_balance_checkpoint_seq", sequenceName = "wallet_balance_checkpoint_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "wallet_id")
+    private Wallet wallet;
+
+    @Column(name = "period_start", nullable = false, updatable = false)
+    private Instant periodStart;
+
+    @Column(name = "period_end", nullable = false, updatable = false)
+    private Instant periodEnd;
+
+    @Column(name = "open_balance", nullable = false, precision = 19, scale = 2)
+    private Money openBalance;
+
+    @Column(name = "close_balance", nullable = false, precision = 19, scale = 2)
+    private Money closeBalance;
+
+    @Column(name = "min_balance", nullable = false, precision = 19, scale = 2)
+    private Money minBalance;
+
+    @Column(name = "max_balance", nullable = false, precision = 19, scale = 2)
+    private Money maxBalance;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    private WalletBalanceCheckpoint(
+            Wallet wallet,
+            Instant periodStart,
+            Instant periodEnd,
+            Money openBalance,
+            Money closeBalance,
+            Money minBalance,
+            Money maxBalance,
+            long transactionCount
+    ) {
+        this.wallet = wallet;
+        this.periodStart = periodStart;
+        this.periodEnd = periodEnd;
+        this.openBalance = openBalance;
+        this.closeBalance = closeBalance;
+        this.minBalance = minBalance;
+        this.maxBalance = maxBalance;
+        this.transactionCount = transactionCount;
+    }
+
+    public static WalletBalanceCheckpoint of(
+            Wallet wallet,
+            Instant periodStart,
+            Instant periodEnd,
+            Money openBalance,
+            Money closeBalance,
+            Money minBalance,
+            Money maxBalance,
+            long transactionCount
+    ) {
+        if (!periodStart.isBefore(periodEnd)) {
+            throw new IllegalArgumentException("Checkpoint period start must be before its end");
+        }
+        return new WalletBalanceCheckpoint(
+                wallet, periodStart, periodEnd, openBalance, closeBalance, minBalance, maxBalance, transactionCount
+        );
+    }
+}
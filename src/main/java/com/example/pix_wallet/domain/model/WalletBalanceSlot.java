@@ -0,0 +1,63 @@
+package com.example.pix_wallet.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(
+        name = "wallet_balance_slot",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"wallet_id", "slot_index"})
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class WalletBalanceSlot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "wallet_balance_slot_seq")
+    @SequenceGenerator(name = "wallet_balance_slot_seq", sequenceName = "wallet_balance_slot_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "wallet_id")
+    private Wallet wallet;
+
+    @Column(name = "slot_index", nullable = false, updatable = false)
+    private int slotIndex;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private Money balance;
+
+    @Version
+    private Long version;
+
+    private WalletBalanceSlot(Wallet wallet, int slotIndex) {
+        this.wallet = wallet;
+        this.slotIndex = slotIndex;
+        this.balance = Money.ZERO;
+    }
+
+    public static WalletBalanceSlot create(Wallet wallet, int slotIndex) {
+        return new WalletBalanceSlot(wallet, slotIndex);
+    }
+
+    public Money credit(Money amount) {
+        if (amount == null) {
+            throw new IllegalArgumentException("Amount must not be null");
+        }
+        if (!amount.isPositive()) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
+        this.balance = this.balance.plus(amount);
+
+        return this.balance;
+    }
+
+    void withdraw(Money amount) {
+        if (this.balance.isLessThan(amount)) {
+            throw new IllegalStateException("Cannot withdraw more than the slot balance");
+        }
+        this.balance = this.balance.minus(amount);
+    }
+}
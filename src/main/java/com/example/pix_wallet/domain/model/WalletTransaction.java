@@ -5,17 +5,21 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 
 @Entity
-@Table(name = "wallet_transaction")
+// JPA não expressa colunas incluídas: o INCLUDE (type, amount, balance_after) vem da V14 e de PostgresSchemaContributor
+@Table(
+        name = "wallet_transaction",
+        indexes = @Index(name = "idx_wallet_transaction_wallet_created_id", columnList = "wallet_id, created_at, id")
+)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class WalletTransaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "wallet_transaction_seq")
+    @SequenceGenerator(name = "wallet_transaction_seq", sequenceName = "wallet_transaction_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(optional = false)
@@ -27,31 +31,47 @@ public class WalletTransaction {
     private TransactionType type;
 
     @Column(nullable = false, precision = 19, scale = 2)
-    private BigDecimal amount;
+    private Money amount;
 
-    @Column(name = "balance_after", nullable = false, precision = 19, scale = 2)
-    private BigDecimal balanceAfter;
+    // Nulo enquanto um crédito em slot (carteira quente) aguarda a consolidação, que grava o valor definitivo
+    @Column(name = "balance_after", precision = 19, scale = 2)
+    private Money balanceAfter;
 
     @Column(nullable = false, updatable = false)
     private Instant createdAt;
 
+    @Column(name = "journal_sequence", unique = true, updatable = false)
+    private Long journalSequence;
+
+    private WalletTransaction(
+            Wallet wallet,
+            TransactionType type,
+            Money amount,
+            Money balanceAfter
+    ) {
+        this(wallet, type, amount, balanceAfter, Instant.now(), null);
+    }
+
     private WalletTransaction(
             Wallet wallet,
             TransactionType type,
-            BigDecimal amount,
-            BigDecimal balanceAfter
+            Money amount,
+            Money balanceAfter,
+            Instant createdAt,
+            Long journalSequence
     ) {
         this.wallet = wallet;
         this.type = type;
         this.amount = amount;
         this.balanceAfter = balanceAfter;
-        this.createdAt = Instant.now();
+        this.createdAt = createdAt;
+        this.journalSequence = journalSequence;
     }
 
     public static WalletTransaction credit(
             Wallet wallet,
-            BigDecimal amount,
-            BigDecimal balanceAfter
+            Money amount,
+            Money balanceAfter
     ) {
         return new WalletTransaction(
                 wallet,
@@ -61,10 +81,25 @@ public class WalletTransaction {
         );
     }
 
+    /**
+     * Crédito em slot de carteira quente: sem saldo corrente, que só é conhecido sob os locks da consolidação.
+     */
+    public static WalletTransaction slotCredit(
+            Wallet wallet,
+            Money amount
+    ) {
+        return new WalletTransaction(
+                wallet,
+                TransactionType.CREDIT,
+                amount,
+                null
+        );
+    }
+
     public static WalletTransaction debit(
             Wallet wallet,
-            BigDecimal amount,
-            BigDecimal balanceAfter
+            Money amount,
+            Money balanceAfter
     ) {
         return new WalletTransaction(
                 wallet,
@@ -73,5 +108,26 @@ public class WalletTransaction {
                 balanceAfter
         );
     }
-}
 
+    public static WalletTransaction fromJournal(
+            Wallet wallet,
+            TransactionType type,
+            Money amount,
+            Money balanceAfter,
+            Instant createdAt,
+            long journalSequence
+    ) {
+        return new WalletTransaction(
+                wallet,
+                type,
+                amount,
+                balanceAfter,
+                createdAt,
+                journalSequence
+        );
+    }
+
+    public void assignBalanceAfter(Money balanceAfter) {
+        this.balanceAfter = balanceAfter;
+    }
+}
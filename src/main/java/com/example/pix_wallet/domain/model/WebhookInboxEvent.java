@@ -0,0 +1,95 @@
+package com.example.pix_wallet.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Evento de webhook recebido e ainda não (ou já) aplicado. {@code availableAt} funciona como lease:
+ * o worker que reivindica o evento o empurra para frente, e só volta a ser elegível se o worker morrer.
+ */
+@Entity
+@Table(name = "webhook_inbox")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class WebhookInboxEvent {
+
+    private static final int ERROR_MAX_LENGTH = 500;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "webhook_inbox_seq")
+    @SequenceGenerator(name = "webhook_inbox_seq", sequenceName = "webhook_inbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "end_to_end_id", nullable = false)
+    private String endToEndId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PixTransferStatus status;
+
+    @Column(name = "event_timestamp", nullable = false)
+    private Instant eventTimestamp;
+
+    @Column(name = "received_at", nullable = false, updatable = false)
+    private Instant receivedAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private WebhookInboxState state;
+
+    @Column(name = "available_at", nullable = false)
+    private Instant availableAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "processed_at")
+    private Instant processedAt;
+
+    @Column(name = "last_error", length = ERROR_MAX_LENGTH)
+    private String lastError;
+
+    private WebhookInboxEvent(String endToEndId, PixTransferStatus status, Instant eventTimestamp, Instant receivedAt) {
+        this.endToEndId = endToEndId;
+        this.status = status;
+        this.eventTimestamp = eventTimestamp;
+        this.receivedAt = receivedAt;
+        this.state = WebhookInboxState.PENDING;
+        this.availableAt = receivedAt;
+    }
+
+    public static WebhookInboxEvent receive(String endToEndId, PixTransferStatus status, Instant eventTimestamp) {
+        return new WebhookInboxEvent(endToEndId, status, eventTimestamp, Instant.now());
+    }
+
+    public void claim(Instant leaseUntil) {
+        this.attempts++;
+        this.availableAt = leaseUntil;
+    }
+
+    public void complete(WebhookInboxState state, String detail, Instant now) {
+        if (state == WebhookInboxState.PENDING) {
+            throw new IllegalArgumentException("Completed inbox event needs a final state");
+        }
+        this.state = state;
+        this.lastError = truncate(detail);
+        this.processedAt = now;
+    }
+
+    public void retryAt(Instant availableAt, String error) {
+        this.availableAt = availableAt;
+        this.lastError = truncate(error);
+    }
+
+    public boolean isPending() {
+        return this.state == WebhookInboxState.PENDING;
+    }
+
+    private static String truncate(String value) {
+        return value == null || value.length() <= ERROR_MAX_LENGTH ? value : value.substring(0, ERROR_MAX_LENGTH);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.pix_wallet.domain.model;
+
+public enum WebhookInboxState {
+    // Aguardando (ou em lease com) um worker
+    PENDING,
+    APPLIED,
+    // Duplicado ou fora de ordem: as mesmas regras de PixTransfer.updateStatus
+    IGNORED,
+    NOT_FOUND,
+    // Esgotou as tentativas
+    FAILED
+}
@@ -0,0 +1,13 @@
+package com.example.pix_wallet.domain.repository;
+
+/**
+ * Monta, a partir de um UPDATE em wallet, o statement que também devolve o saldo resultante (um único round trip).
+ * Em produção é o {@code RETURNING} do PostgreSQL; um bean deste tipo substitui o padrão.
+ */
+@FunctionalInterface
+public interface BalanceReturningStatement {
+
+    BalanceReturningStatement POSTGRES = update -> update + " RETURNING balance";
+
+    String of(String update);
+}
@@ -1,10 +1,18 @@
 package com.example.pix_wallet.domain.repository;
 
 import com.example.pix_wallet.domain.model.PixKey;
+import com.example.pix_wallet.domain.model.PixKeyNormalizer;
 import com.example.pix_wallet.domain.model.PixKeyType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface PixKeyRepository extends JpaRepository<PixKey, Long> {
 
@@ -12,5 +20,28 @@ public interface PixKeyRepository extends JpaRepository<PixKey, Long> {
 
     boolean existsByValue(String value);
 
-    Optional<PixKey> findByTypeAndValue(PixKeyType type, String value);
+    /**
+     * Busca sempre pela forma canônica da chave; um valor inválido para o tipo simplesmente não é encontrado.
+     */
+    default Optional<PixKey> findByTypeAndValue(PixKeyType type, String value) {
+        String normalized = PixKeyNormalizer.normalizeOrNull(type, value);
+        if (normalized == null) {
+            return Optional.empty();
+        }
+        return type == PixKeyType.EVP
+                ? findByEvp(UUID.fromString(normalized))
+                : findByTypeAndNormalizedValue(type, normalized);
+    }
+
+    Optional<PixKey> findByEvp(UUID evp);
+
+    @Query("SELECT k FROM PixKey k WHERE k.type = :type AND k.value = :value")
+    Optional<PixKey> findByTypeAndNormalizedValue(@Param("type") PixKeyType type, @Param("value") String value);
+
+    /**
+     * Todos os valores cadastrados, lidos em lotes pelo cursor do driver. Exige transação aberta.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT k.value FROM PixKey k WHERE k.value IS NOT NULL")
+    Stream<String> streamAllValues();
 }
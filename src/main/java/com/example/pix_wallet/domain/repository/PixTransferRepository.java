@@ -1,20 +1,60 @@
 package com.example.pix_wallet.domain.repository;
 
+import com.example.pix_wallet.domain.dto.HeldFunds;
 import com.example.pix_wallet.domain.model.PixTransfer;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 public interface PixTransferRepository
         extends JpaRepository<PixTransfer, Long> {
 
-    Optional<PixTransfer> findByEndToEndId(String endToEndId);
+    Optional<PixTransfer> findByEndToEndId(UUID endToEndId);
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT pt FROM PixTransfer pt WHERE pt.endToEndId = :endToEndId")
-    Optional<PixTransfer> findByEndToEndIdWithLock(@Param("endToEndId") String endToEndId);
+    Optional<PixTransfer> findByEndToEndIdWithLock(@Param("endToEndId") UUID endToEndId);
+
+    // Ordem crescente de id: lotes concorrentes travam as transferências sempre na mesma sequência
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT pt FROM PixTransfer pt WHERE pt.endToEndId IN :endToEndIds ORDER BY pt.id")
+    List<PixTransfer> findAllByEndToEndIdInForUpdate(@Param("endToEndIds") Collection<UUID> endToEndIds);
+
+    /**
+     * FOR UPDATE SKIP LOCKED só na pix_transfer: transferências travadas por um webhook em andamento ficam para a
+     * próxima rodada e as carteiras nunca são travadas pela varredura.
+     */
+    @Query(value = """
+            SELECT id FROM pix_transfer
+            WHERE status = 'PENDING' AND created_at < :cutoff
+            ORDER BY created_at, id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<Long> claimExpirable(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+
+    // Uma linha por transferência: SUM não se aplica ao Money convertido, a soma por carteira fica no serviço
+    @Query("""
+            SELECT new com.example.pix_wallet.domain.dto.HeldFunds(pt.fromWallet.id, pt.amount)
+            FROM PixTransfer pt
+            WHERE pt.id IN :ids AND pt.fundsHeld = true
+            """)
+    List<HeldFunds> findHeldFunds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("""
+            UPDATE PixTransfer pt
+            SET pt.status = com.example.pix_wallet.domain.model.PixTransferStatus.EXPIRED, pt.lastStatusUpdate = :now
+            WHERE pt.id IN :ids AND pt.status = com.example.pix_wallet.domain.model.PixTransferStatus.PENDING
+            """)
+    int expireAll(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
 }
@@ -0,0 +1,90 @@
+package com.example.pix_wallet.domain.repository;
+
+import org.hibernate.boot.ResourceStreamLocator;
+import org.hibernate.boot.model.relational.AuxiliaryDatabaseObject;
+import org.hibernate.boot.model.relational.SqlStringGenerationContext;
+import org.hibernate.boot.spi.AdditionalMappingContributions;
+import org.hibernate.boot.spi.AdditionalMappingContributor;
+import org.hibernate.boot.spi.InFlightMetadataCollector;
+import org.hibernate.boot.spi.MetadataBuildingContext;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+
+/**
+ * DDL que o mapeamento JPA não expressa. O schema da aplicação vem do {@code ddl-auto: create} (Flyway desligado),
+ * então o que existe só nas migrations de db/migration nunca chegaria ao banco. Cada objeto aqui repete a migration
+ * correspondente e é criado pelo Hibernate logo depois das tabelas e índices, apenas no PostgreSQL
+ * (o H2 dos testes não tem essa sintaxe).
+ * Registrado em {@code META-INF/services/org.hibernate.boot.spi.AdditionalMappingContributor}.
+ */
+public class PostgresSchemaContributor implements AdditionalMappingContributor {
+
+    @Override
+    public String getContributorName() {
+        return "pix-wallet-postgres-schema";
+    }
+
+    @Override
+    public void contribute(
+            AdditionalMappingContributions contributions,
+            InFlightMetadataCollector metadata,
+            ResourceStreamLocator resourceStreamLocator,
+            MetadataBuildingContext buildingContext
+    ) {
+        // V14: o @Index de WalletTransaction é recriado com INCLUDE, para o histórico paginado fazer Index Only Scan
+        contributions.contributeAuxiliaryDatabaseObject(new PostgresDdl(
+                "idx_wallet_transaction_wallet_created_id",
+                "DROP INDEX IF EXISTS idx_wallet_transaction_wallet_created_id",
+                "CREATE INDEX idx_wallet_transaction_wallet_created_id"
+                        + " ON wallet_transaction (wallet_id, created_at, id) INCLUDE (type, amount, balance_after)"
+        ));
+        // V12: índice parcial só com as PENDING, na ordem em que PixTransferExpiryJob as reivindica
+        contributions.contributeAuxiliaryDatabaseObject(new PostgresDdl(
+                "idx_pix_transfer_pending",
+                "CREATE INDEX idx_pix_transfer_pending ON pix_transfer (created_at, id) WHERE status = 'PENDING'"
+        ));
+        // V15: créditos em slot aguardando a consolidação
+        contributions.contributeAuxiliaryDatabaseObject(new PostgresDdl(
+                "idx_wallet_transaction_pending_balance",
+                "CREATE INDEX idx_wallet_transaction_pending_balance"
+                        + " ON wallet_transaction (wallet_id) WHERE balance_after IS NULL"
+        ));
+    }
+
+    static final class PostgresDdl implements AuxiliaryDatabaseObject {
+
+        private final String name;
+        private final String[] create;
+
+        PostgresDdl(String name, String... create) {
+            this.name = name;
+            this.create = create;
+        }
+
+        @Override
+        public String getExportIdentifier() {
+            return name;
+        }
+
+        @Override
+        public boolean appliesToDialect(Dialect dialect) {
+            return dialect instanceof PostgreSQLDialect;
+        }
+
+        @Override
+        public boolean beforeTablesOnCreation() {
+            return false;
+        }
+
+        @Override
+        public String[] sqlCreateStrings(SqlStringGenerationContext context) {
+            return create.clone();
+        }
+
+        @Override
+        public String[] sqlDropStrings(SqlStringGenerationContext context) {
+            // Índices e constraints caem junto com as tabelas
+            return new String[0];
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.pix_wallet.domain.repository;
+
+import com.example.pix_wallet.domain.model.WalletBalanceCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+public interface WalletBalanceCheckpointRepository extends JpaRepository<WalletBalanceCheckpoint, Long> {
+
+    @Query("""
+            SELECT c FROM WalletBalanceCheckpoint c
+            WHERE c.wallet.id = :walletId AND c.periodStart >= :from AND c.periodEnd <= :to
+            ORDER BY c.periodStart
+            """)
+    List<WalletBalanceCheckpoint> findWithin(
+            @Param("walletId") Long walletId,
+            @Param("from") Instant from,
+            @Param("to") Instant to
+    );
+
+    @Query("SELECT c.wallet.id FROM WalletBalanceCheckpoint c WHERE c.periodStart = :periodStart")
+    Set<Long> findWalletIdsByPeriodStart(@Param("periodStart") Instant periodStart);
+}
@@ -0,0 +1,37 @@
+package com.example.pix_wallet.domain.repository;
+
+import com.example.pix_wallet.domain.model.Money;
+
+import java.util.Optional;
+
+/**
+ * Mutações de saldo em um único statement: o UPDATE condicional aplica o delta e devolve o saldo resultante,
+ * sem SELECT prévio nem read-modify-write na sessão.
+ */
+public interface WalletBalanceRepository {
+
+    /**
+     * Debita apenas se houver saldo disponível (fora das reservas); vazio quando não há ou a carteira não existe.
+     */
+    Optional<Money> debitIfSufficient(Long walletId, Money amount);
+
+    /**
+     * Credita e devolve o novo saldo; vazio quando a carteira não existe.
+     */
+    Optional<Money> creditReturning(Long walletId, Money amount);
+
+    /**
+     * Move o valor do saldo disponível para o reservado; false quando o disponível não cobre o valor.
+     */
+    boolean holdIfAvailable(Long walletId, Money amount);
+
+    /**
+     * Baixa uma reserva (saldo e reservado juntos) e devolve o novo saldo; vazio se a reserva não cobre o valor.
+     */
+    Optional<Money> finalizeHold(Long walletId, Money amount);
+
+    /**
+     * Devolve uma reserva ao saldo disponível; false se a reserva não cobre o valor.
+     */
+    boolean releaseHold(Long walletId, Money amount);
+}
@@ -0,0 +1,81 @@
+package com.example.pix_wallet.domain.repository;
+
+import com.example.pix_wallet.domain.model.Money;
+import com.example.pix_wallet.domain.model.Wallet;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * O saldo resultante volta no próprio UPDATE, via {@code RETURNING} ({@link BalanceReturningStatement}).
+ */
+class WalletBalanceRepositoryImpl implements WalletBalanceRepository {
+
+    private static final String DEBIT = "UPDATE wallet SET balance = balance - :amount, version = version + 1"
+            + " WHERE id = :id AND balance - held_balance >= :amount";
+    private static final String CREDIT =
+            "UPDATE wallet SET balance = balance + :amount, version = version + 1 WHERE id = :id";
+    private static final String HOLD = "UPDATE wallet SET held_balance = held_balance + :amount, version = version + 1"
+            + " WHERE id = :id AND balance - held_balance >= :amount";
+    private static final String FINALIZE_HOLD = "UPDATE wallet SET balance = balance - :amount,"
+            + " held_balance = held_balance - :amount, version = version + 1 WHERE id = :id AND held_balance >= :amount";
+    private static final String RELEASE_HOLD = "UPDATE wallet SET held_balance = held_balance - :amount,"
+            + " version = version + 1 WHERE id = :id AND held_balance >= :amount";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final BalanceReturningStatement returningStatement;
+
+    WalletBalanceRepositoryImpl(ObjectProvider<BalanceReturningStatement> returningStatement) {
+        this.returningStatement = returningStatement.getIfAvailable(() -> BalanceReturningStatement.POSTGRES);
+    }
+
+    @Override
+    public Optional<Money> debitIfSufficient(Long walletId, Money amount) {
+        return updateReturningBalance(DEBIT, walletId, amount);
+    }
+
+    @Override
+    public Optional<Money> creditReturning(Long walletId, Money amount) {
+        return updateReturningBalance(CREDIT, walletId, amount);
+    }
+
+    @Override
+    public boolean holdIfAvailable(Long walletId, Money amount) {
+        return update(HOLD, walletId, amount) == 1;
+    }
+
+    @Override
+    public Optional<Money> finalizeHold(Long walletId, Money amount) {
+        return updateReturningBalance(FINALIZE_HOLD, walletId, amount);
+    }
+
+    @Override
+    public boolean releaseHold(Long walletId, Money amount) {
+        return update(RELEASE_HOLD, walletId, amount) == 1;
+    }
+
+    private int update(String update, Long walletId, Money amount) {
+        return walletQuery(update, walletId, amount).executeUpdate();
+    }
+
+    private Optional<Money> updateReturningBalance(String update, Long walletId, Money amount) {
+        List<?> rows = walletQuery(returningStatement.of(update), walletId, amount).getResultList();
+        return rows.isEmpty() ? Optional.empty() : Optional.of(Money.of((BigDecimal) rows.get(0)));
+    }
+
+    private NativeQuery<?> walletQuery(String sql, Long walletId, Money amount) {
+        // Declarar a tabela afetada evita que o Hibernate faça flush da sessão inteira antes do statement
+        return entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(Wallet.class)
+                .setParameter("id", walletId)
+                .setParameter("amount", amount.toBigDecimal());
+    }
+}
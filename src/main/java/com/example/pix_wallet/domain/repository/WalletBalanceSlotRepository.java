@@ -0,0 +1,23 @@
+package com.example.pix_wallet.domain.repository;
+
+import com.example.pix_wallet.domain.model.WalletBalanceSlot;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface WalletBalanceSlotRepository extends JpaRepository<WalletBalanceSlot, Long> {
+
+    Optional<WalletBalanceSlot> findByWalletIdAndSlotIndex(Long walletId, int slotIndex);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM WalletBalanceSlot s WHERE s.wallet.id = :walletId ORDER BY s.slotIndex")
+    List<WalletBalanceSlot> findAllByWalletIdForUpdate(@Param("walletId") Long walletId);
+
+    @Query("SELECT DISTINCT s.wallet.id FROM WalletBalanceSlot s WHERE s.balance > 0")
+    List<Long> findWalletIdsWithSlotBalance();
+}
@@ -1,7 +1,32 @@
 package com.example.pix_wallet.domain.repository;
 
+import com.example.pix_wallet.domain.model.Money;
 import com.example.pix_wallet.domain.model.Wallet;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface WalletRepository extends JpaRepository<Wallet, Long> {
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface WalletRepository extends JpaRepository<Wallet, Long>, WalletBalanceRepository {
+
+    @Modifying
+    @Query("UPDATE Wallet w SET w.balance = :balance, w.version = w.version + 1 WHERE w.id = :id")
+    int overwriteBalance(@Param("id") Long id, @Param("balance") Money balance);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM Wallet w WHERE w.id = :id")
+    Optional<Wallet> findByIdForUpdate(@Param("id") Long id);
+
+    // Ordem crescente de id: lotes concorrentes travam as carteiras sempre na mesma sequência
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM Wallet w WHERE w.id IN :ids ORDER BY w.id")
+    List<Wallet> findAllByIdInForUpdate(@Param("ids") Collection<Long> ids);
+
+    boolean existsByHeldBalanceGreaterThan(Money amount);
 }
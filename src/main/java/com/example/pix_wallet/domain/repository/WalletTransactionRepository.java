@@ -1,16 +1,92 @@
 package com.example.pix_wallet.domain.repository;
 
+import com.example.pix_wallet.domain.dto.BalanceAggregate;
+import com.example.pix_wallet.domain.dto.BalanceSample;
+import com.example.pix_wallet.domain.dto.TransactionHistoryItem;
 import com.example.pix_wallet.domain.model.WalletTransaction;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 public interface WalletTransactionRepository
         extends JpaRepository<WalletTransaction, Long> {
 
-    Optional<WalletTransaction> findFirstByWalletIdAndCreatedAtLessThanEqualOrderByCreatedAtDesc(
+    // Leituras de saldo ignoram créditos em slot ainda não consolidados (balance_after nulo)
+    Optional<WalletTransaction> findFirstByWalletIdAndBalanceAfterIsNotNullAndCreatedAtLessThanEqualOrderByCreatedAtDesc(
             Long walletId,
             Instant createdAt
     );
+
+    // Saldo imediatamente antes do instante (exclusivo), via índice (wallet_id, created_at, id)
+    Optional<WalletTransaction> findFirstByWalletIdAndBalanceAfterIsNotNullAndCreatedAtLessThanOrderByCreatedAtDescIdDesc(
+            Long walletId,
+            Instant createdAt
+    );
+
+    Optional<WalletTransaction> findFirstByWalletIdAndBalanceAfterIsNullOrderByCreatedAtAscIdAsc(Long walletId);
+
+    List<WalletTransaction> findAllByWalletIdAndCreatedAtGreaterThanEqualOrderByCreatedAtDescIdDesc(
+            Long walletId,
+            Instant createdAt
+    );
+
+    @Query("SELECT DISTINCT t.wallet.id FROM WalletTransaction t WHERE t.balanceAfter IS NULL")
+    List<Long> findWalletIdsWithPendingBalance();
+
+    @Query("""
+            SELECT new com.example.pix_wallet.domain.dto.BalanceSample(t.createdAt, t.balanceAfter)
+            FROM WalletTransaction t
+            WHERE t.wallet.id = :walletId AND t.createdAt >= :from AND t.createdAt < :to
+                AND t.balanceAfter IS NOT NULL
+            ORDER BY t.createdAt, t.id
+            """)
+    List<BalanceSample> findSamples(
+            @Param("walletId") Long walletId,
+            @Param("from") Instant from,
+            @Param("to") Instant to
+    );
+
+    @Query("""
+            SELECT new com.example.pix_wallet.domain.dto.BalanceAggregate(
+                t.wallet.id, MIN(t.balanceAfter), MAX(t.balanceAfter), COUNT(t))
+            FROM WalletTransaction t
+            WHERE t.createdAt >= :from AND t.createdAt < :to
+            GROUP BY t.wallet.id
+            HAVING COUNT(t.balanceAfter) = COUNT(t)
+            """)
+    // Carteiras com crédito ainda não consolidado no período ficam para a próxima execução
+    List<BalanceAggregate> aggregateByWallet(@Param("from") Instant from, @Param("to") Instant to);
+
+    // Histórico paginado por keyset, servido pelo índice coberto (wallet_id, created_at, id) INCLUDE (...)
+    @Query("""
+            SELECT new com.example.pix_wallet.domain.dto.TransactionHistoryItem(
+                t.id, t.type, t.amount, t.balanceAfter, t.createdAt)
+            FROM WalletTransaction t
+            WHERE t.wallet.id = :walletId
+            ORDER BY t.createdAt DESC, t.id DESC
+            """)
+    List<TransactionHistoryItem> findHistory(@Param("walletId") Long walletId, Limit limit);
+
+    // Continua a partir do cursor: a comparação por tupla vira um único limite no índice, sem OFFSET
+    @Query("""
+            SELECT new com.example.pix_wallet.domain.dto.TransactionHistoryItem(
+                t.id, t.type, t.amount, t.balanceAfter, t.createdAt)
+            FROM WalletTransaction t
+            WHERE t.wallet.id = :walletId AND (t.createdAt, t.id) < (:createdAt, :id)
+            ORDER BY t.createdAt DESC, t.id DESC
+            """)
+    List<TransactionHistoryItem> findHistoryBefore(
+            @Param("walletId") Long walletId,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    @Query("SELECT MAX(t.journalSequence) FROM WalletTransaction t")
+    Optional<Long> findMaxJournalSequence();
 }
@@ -0,0 +1,38 @@
+package com.example.pix_wallet.domain.repository;
+
+import com.example.pix_wallet.domain.dto.WebhookInboxStats;
+import com.example.pix_wallet.domain.model.WebhookInboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface WebhookInboxRepository extends JpaRepository<WebhookInboxEvent, Long> {
+
+    /**
+     * FOR UPDATE SKIP LOCKED (lock timeout -2): workers concorrentes pegam lotes disjuntos sem esperar uns pelos outros.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+            SELECT e FROM WebhookInboxEvent e
+            WHERE e.state = com.example.pix_wallet.domain.model.WebhookInboxState.PENDING
+              AND e.availableAt <= :now
+            ORDER BY e.id
+            """)
+    List<WebhookInboxEvent> findClaimable(@Param("now") Instant now, Pageable page);
+
+    @Query("""
+            SELECT new com.example.pix_wallet.domain.dto.WebhookInboxStats(COUNT(e), MIN(e.receivedAt))
+            FROM WebhookInboxEvent e
+            WHERE e.state = com.example.pix_wallet.domain.model.WebhookInboxState.PENDING
+            """)
+    WebhookInboxStats pendingStats();
+}
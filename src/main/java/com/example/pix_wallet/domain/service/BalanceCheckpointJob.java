@@ -0,0 +1,40 @@
+package com.example.pix_wallet.domain.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+@Component
+public class BalanceCheckpointJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceCheckpointJob.class);
+
+    private final BalanceCheckpointService balanceCheckpointService;
+    private final BalanceCheckpointProperties properties;
+
+    public BalanceCheckpointJob(BalanceCheckpointService balanceCheckpointService,
+                                BalanceCheckpointProperties properties) {
+        this.balanceCheckpointService = balanceCheckpointService;
+        this.properties = properties;
+    }
+
+    @Scheduled(cron = "${pix-wallet.balance-checkpoints.cron:0 15 0 * * *}", zone = "UTC")
+    public void run() {
+        if (!properties.enabled()) {
+            return;
+        }
+
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        for (int daysAgo = properties.catchUpDays(); daysAgo >= 1; daysAgo--) {
+            LocalDate day = today.minusDays(daysAgo);
+            int created = balanceCheckpointService.checkpointDay(day);
+            if (created > 0) {
+                logger.info("Created {} balance checkpoints for {}", created, day);
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.pix_wallet.domain.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "pix-wallet.balance-checkpoints")
+public record BalanceCheckpointProperties(
+        @DefaultValue("true")
+        boolean enabled,
+
+        // Dias fechados (UTC) revisitados a cada execução, para cobrir execuções perdidas
+        @DefaultValue("3")
+        int catchUpDays,
+
+        // Limite de buckets por consulta de série
+        @DefaultValue("1000")
+        int maxSeriesPoints
+) {
+}
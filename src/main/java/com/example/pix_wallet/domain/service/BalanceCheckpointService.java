@@ -0,0 +1,82 @@
+package com.example.pix_wallet.domain.service;
+
+import com.example.pix_wallet.domain.dto.BalanceAggregate;
+import com.example.pix_wallet.domain.model.Money;
+import com.example.pix_wallet.domain.model.WalletBalanceCheckpoint;
+import com.example.pix_wallet.domain.model.WalletTransaction;
+import com.example.pix_wallet.domain.repository.WalletBalanceCheckpointRepository;
+import com.example.pix_wallet.domain.repository.WalletRepository;
+import com.example.pix_wallet.domain.repository.WalletTransactionRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Gera os checkpoints diários (UTC) de saldo a partir do ledger.
+ */
+@Service
+public class BalanceCheckpointService {
+
+    private final WalletRepository walletRepository;
+    private final WalletTransactionRepository transactionRepository;
+    private final WalletBalanceCheckpointRepository checkpointRepository;
+
+    public BalanceCheckpointService(
+            WalletRepository walletRepository,
+            WalletTransactionRepository transactionRepository,
+            WalletBalanceCheckpointRepository checkpointRepository
+    ) {
+        this.walletRepository = walletRepository;
+        this.transactionRepository = transactionRepository;
+        this.checkpointRepository = checkpointRepository;
+    }
+
+    /**
+     * Cria os checkpoints do dia para as carteiras com lançamentos que ainda não têm um. Idempotente.
+     */
+    @Transactional
+    public int checkpointDay(LocalDate day) {
+        Instant from = day.atStartOfDay(ZoneOffset.UTC).toInstant();
+        Instant to = day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+
+        Set<Long> existing = checkpointRepository.findWalletIdsByPeriodStart(from);
+        List<WalletBalanceCheckpoint> checkpoints = new ArrayList<>();
+
+        for (BalanceAggregate aggregate : transactionRepository.aggregateByWallet(from, to)) {
+            Long walletId = aggregate.walletId();
+            if (existing.contains(walletId)) {
+                continue;
+            }
+
+            Money open = balanceBefore(walletId, from);
+            Money close = balanceBefore(walletId, to);
+
+            checkpoints.add(WalletBalanceCheckpoint.of(
+                    walletRepository.getReferenceById(walletId),
+                    from,
+                    to,
+                    open,
+                    close,
+                    aggregate.minBalance(),
+                    aggregate.maxBalance(),
+                    aggregate.transactionCount()
+            ));
+        }
+
+        checkpointRepository.saveAll(checkpoints);
+        return checkpoints.size();
+    }
+
+    private Money balanceBefore(Long walletId, Instant instant) {
+        return transactionRepository
+                .findFirstByWalletIdAndBalanceAfterIsNotNullAndCreatedAtLessThanOrderByCreatedAtDescIdDesc(walletId, instant)
+                .map(WalletTransaction::getBalanceAfter)
+                .orElse(Money.ZERO);
+    }
+}
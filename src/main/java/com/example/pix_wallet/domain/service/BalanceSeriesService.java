@@ -0,0 +1,177 @@
+package com.example.pix_wallet.domain.service;
+
+import com.example.pix_wallet.domain.dto.BalanceSample;
+import com.example.pix_wallet.domain.dto.BalanceSeriesPoint;
+import com.example.pix_wallet.domain.exception.InvalidBalanceSeriesException;
+import com.example.pix_wallet.domain.exception.WalletNotFoundException;
+import com.example.pix_wallet.domain.model.Money;
+import com.example.pix_wallet.domain.model.WalletBalanceCheckpoint;
+import com.example.pix_wallet.domain.model.WalletTransaction;
+import com.example.pix_wallet.domain.repository.WalletBalanceCheckpointRepository;
+import com.example.pix_wallet.domain.repository.WalletRepository;
+import com.example.pix_wallet.domain.repository.WalletTransactionRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Série de saldo (open/close/min/max por bucket). Períodos cobertos por checkpoints são lidos do resumo;
+ * apenas os trechos restantes (bordas e dias sem checkpoint) varrem o ledger, sempre por faixa do índice
+ * (wallet_id, created_at, id).
+ */
+@Service
+@Transactional(readOnly = true)
+public class BalanceSeriesService {
+
+    private final WalletRepository walletRepository;
+    private final WalletTransactionRepository transactionRepository;
+    private final WalletBalanceCheckpointRepository checkpointRepository;
+    private final BalanceCheckpointProperties properties;
+
+    public BalanceSeriesService(
+            WalletRepository walletRepository,
+            WalletTransactionRepository transactionRepository,
+            WalletBalanceCheckpointRepository checkpointRepository,
+            BalanceCheckpointProperties properties
+    ) {
+        this.walletRepository = walletRepository;
+        this.transactionRepository = transactionRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.properties = properties;
+    }
+
+    public List<BalanceSeriesPoint> getSeries(Long walletId, Instant from, Instant to, Duration step) {
+        Buckets buckets = buckets(from, to, step);
+
+        if (!walletRepository.existsById(walletId)) {
+            throw new WalletNotFoundException(walletId);
+        }
+
+        Money carry = transactionRepository
+                .findFirstByWalletIdAndBalanceAfterIsNotNullAndCreatedAtLessThanOrderByCreatedAtDescIdDesc(walletId, from)
+                .map(WalletTransaction::getBalanceAfter)
+                .orElse(Money.ZERO);
+
+        // Apenas checkpoints inteiros dentro de um único bucket podem substituir os lançamentos
+        Instant cursor = from;
+        for (WalletBalanceCheckpoint checkpoint : checkpointRepository.findWithin(walletId, from, to)) {
+            int bucket = buckets.indexOf(checkpoint.getPeriodStart());
+            if (bucket != buckets.indexOf(checkpoint.getPeriodEnd().minusNanos(1))
+                    || checkpoint.getPeriodStart().isBefore(cursor)) {
+                continue;
+            }
+
+            addSamples(buckets, walletId, cursor, checkpoint.getPeriodStart());
+            buckets.get(bucket).add(checkpoint.getMinBalance(), checkpoint.getMaxBalance(), checkpoint.getCloseBalance());
+            cursor = checkpoint.getPeriodEnd();
+        }
+        addSamples(buckets, walletId, cursor, to);
+
+        List<BalanceSeriesPoint> points = new ArrayList<>(buckets.size());
+        for (int index = 0; index < buckets.size(); index++) {
+            BalanceSeriesPoint point = buckets.get(index).toPoint(buckets.start(index), buckets.end(index), carry);
+            points.add(point);
+            carry = point.close();
+        }
+        return points;
+    }
+
+    private void addSamples(Buckets buckets, Long walletId, Instant from, Instant to) {
+        if (!from.isBefore(to)) {
+            return;
+        }
+        for (BalanceSample sample : transactionRepository.findSamples(walletId, from, to)) {
+            Money balance = sample.balanceAfter();
+            buckets.get(buckets.indexOf(sample.createdAt())).add(balance, balance, balance);
+        }
+    }
+
+    private Buckets buckets(Instant from, Instant to, Duration step) {
+        if (from == null || to == null || step == null) {
+            throw new InvalidBalanceSeriesException("from, to and step are required");
+        }
+        if (!from.isBefore(to)) {
+            throw new InvalidBalanceSeriesException("from must be before to");
+        }
+        if (step.isNegative() || step.isZero()) {
+            throw new InvalidBalanceSeriesException("step must be positive");
+        }
+
+        long count;
+        try {
+            long span = Duration.between(from, to).toNanos();
+            long stepNanos = step.toNanos();
+            count = (span + stepNanos - 1) / stepNanos;
+        } catch (ArithmeticException e) {
+            throw new InvalidBalanceSeriesException("Range between from and to is too large");
+        }
+        if (count > properties.maxSeriesPoints()) {
+            throw new InvalidBalanceSeriesException(
+                    "Series would have " + count + " points, maximum is " + properties.maxSeriesPoints());
+        }
+        return new Buckets(from, to, step, (int) count);
+    }
+
+    private static final class Buckets {
+
+        private final Instant from;
+        private final Instant to;
+        private final Duration step;
+        private final Bucket[] values;
+
+        private Buckets(Instant from, Instant to, Duration step, int count) {
+            this.from = from;
+            this.to = to;
+            this.step = step;
+            this.values = new Bucket[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = new Bucket();
+            }
+        }
+
+        private int size() {
+            return values.length;
+        }
+
+        private Bucket get(int index) {
+            return values[index];
+        }
+
+        private int indexOf(Instant instant) {
+            return (int) (Duration.between(from, instant).toNanos() / step.toNanos());
+        }
+
+        private Instant start(int index) {
+            return from.plus(step.multipliedBy(index));
+        }
+
+        private Instant end(int index) {
+            Instant end = start(index).plus(step);
+            return end.isAfter(to) ? to : end;
+        }
+    }
+
+    private static final class Bucket {
+
+        private Money min;
+        private Money max;
+        private Money close;
+
+        private void add(Money minBalance, Money maxBalance, Money closeBalance) {
+            min = min == null ? minBalance : min.min(minBalance);
+            max = max == null ? maxBalance : max.max(maxBalance);
+            close = closeBalance;
+        }
+
+        private BalanceSeriesPoint toPoint(Instant start, Instant end, Money open) {
+            if (close == null) {
+                return new BalanceSeriesPoint(start, end, open, open, open, open);
+            }
+            return new BalanceSeriesPoint(start, end, open, close, open.min(min), open.max(max));
+        }
+    }
+}
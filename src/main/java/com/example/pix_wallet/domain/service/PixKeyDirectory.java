@@ -0,0 +1,119 @@
+package com.example.pix_wallet.domain.service;
+
+import com.example.pix_wallet.domain.model.PixKeyNormalizer;
+import com.example.pix_wallet.domain.model.PixKeyType;
+import com.example.pix_wallet.domain.repository.PixKeyRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+/**
+ * Cache limitado (tamanho + TTL) de chave PIX -> (pixKeyId, walletId) na frente de {@link PixKeyRepository}.
+ * Chaves inexistentes também são guardadas, com TTL curto. Métricas em {@code cache.*{cache=pix_key_directory}}.
+ */
+@Component
+public class PixKeyDirectory {
+
+    private static final Entry NOT_FOUND = new Entry(null, null);
+
+    private final PixKeyRepository pixKeyRepository;
+    private final PixKeyDirectoryProperties properties;
+    private final Cache<Key, Entry> cache;
+
+    public PixKeyDirectory(
+            PixKeyRepository pixKeyRepository,
+            PixKeyDirectoryProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.pixKeyRepository = pixKeyRepository;
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfter(new EntryExpiry(properties))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "pix_key_directory");
+    }
+
+    public Optional<Entry> resolve(PixKeyType type, String value) {
+        String normalized = PixKeyNormalizer.normalizeOrNull(type, value);
+        if (normalized == null) {
+            // Valor inválido para o tipo nunca existe no banco: não ocupa espaço no cache
+            return Optional.empty();
+        }
+
+        if (!properties.enabled()) {
+            return load(type, normalized);
+        }
+
+        Entry entry = cache.get(new Key(type, normalized), key -> load(key.type(), key.value()).orElse(NOT_FOUND));
+        return entry.isFound() ? Optional.of(entry) : Optional.empty();
+    }
+
+    /**
+     * Remove a chave (normalizada) do cache agora e de novo após o commit, para que uma busca concorrente
+     * não deixe uma entrada negativa obsoleta enquanto o cadastro ainda não é visível.
+     */
+    public void invalidate(PixKeyType type, String normalizedValue) {
+        Key key = new Key(type, normalizedValue);
+        cache.invalidate(key);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(key);
+                }
+            });
+        }
+    }
+
+    private Optional<Entry> load(PixKeyType type, String normalized) {
+        return pixKeyRepository.findByTypeAndValue(type, normalized)
+                .map(pixKey -> new Entry(pixKey.getId(), pixKey.getWallet().getId()));
+    }
+
+    public record Entry(Long pixKeyId, Long walletId) {
+
+        boolean isFound() {
+            return this != NOT_FOUND;
+        }
+    }
+
+    private record Key(PixKeyType type, String value) {
+    }
+
+    private static final class EntryExpiry implements Expiry<Key, Entry> {
+
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        private EntryExpiry(PixKeyDirectoryProperties properties) {
+            this.ttlNanos = properties.ttl().toNanos();
+            this.negativeTtlNanos = properties.negativeTtl().toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(Key key, Entry entry, long currentTime) {
+            return entry.isFound() ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Key key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Key key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
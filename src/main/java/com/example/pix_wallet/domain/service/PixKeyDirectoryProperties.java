@@ -0,0 +1,24 @@
+package com.example.pix_wallet.domain.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "pix-wallet.pix-key-directory")
+public record PixKeyDirectoryProperties(
+        @DefaultValue("true")
+        boolean enabled,
+
+        @DefaultValue("10000")
+        long maximumSize,
+
+        @DefaultValue("10m")
+        Duration ttl,
+
+        // Chaves inexistentes ficam pouco tempo em cache: absorve enumeração/erros de digitação
+        // sem atrasar muito a visibilidade de uma chave recém-cadastrada em outra instância
+        @DefaultValue("5s")
+        Duration negativeTtl
+) {
+}
@@ -0,0 +1,186 @@
+package com.example.pix_wallet.domain.service;
+
+import com.example.pix_wallet.domain.repository.PixKeyRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter em memória com os valores das chaves PIX cadastradas (forma canônica).
+ * Uma resposta negativa permite pular o {@code exists} no banco; a constraint única de {@code pix_key.value}
+ * continua sendo a garantia final. Até a reconstrução inicial terminar, tudo é respondido como "talvez".
+ */
+@Component
+public class PixKeyFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PixKeyFilter.class);
+
+    private final PixKeyFilterProperties properties;
+    private final PixKeyRepository pixKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final AtomicLong insertions = new AtomicLong();
+    private final Counter skippedChecks;
+    private final Timer rebuildTimer;
+    private volatile boolean ready;
+
+    public PixKeyFilter(
+            PixKeyFilterProperties properties,
+            PixKeyRepository pixKeyRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
+        this.properties = properties;
+        this.pixKeyRepository = pixKeyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+
+        // m = -n ln(p) / ln(2)^2 (arredondado para palavras de 64 bits), k = m/n ln(2)
+        long expected = Math.max(1, properties.expectedKeys());
+        double ln2 = Math.log(2);
+        long words = (long) Math.ceil(-expected * Math.log(properties.falsePositiveRate()) / (ln2 * ln2) / 64);
+        if (words > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Pix key filter too large for " + expected + " keys");
+        }
+        this.bits = new AtomicLongArray(properties.enabled() ? (int) Math.max(1, words) : 1);
+        this.bitCount = (long) bits.length() * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expected * ln2));
+
+        Gauge.builder("pix_wallet.pix_key_filter.bits", this, filter -> filter.bitCount)
+                .description("Pix key Bloom filter size in bits")
+                .register(meterRegistry);
+        Gauge.builder("pix_wallet.pix_key_filter.keys", insertions, AtomicLong::get)
+                .description("Pix key values added to the Bloom filter")
+                .register(meterRegistry);
+        Gauge.builder("pix_wallet.pix_key_filter.false_positive_rate", this, PixKeyFilter::estimatedFalsePositiveRate)
+                .description("Estimated false positive rate for the current number of keys")
+                .register(meterRegistry);
+        Gauge.builder("pix_wallet.pix_key_filter.ready", this, filter -> filter.ready ? 1 : 0)
+                .description("1 once the startup rebuild has finished")
+                .register(meterRegistry);
+        this.skippedChecks = Counter.builder("pix_wallet.pix_key_filter.skipped_checks")
+                .description("Uniqueness checks answered by the filter without querying the database")
+                .register(meterRegistry);
+        this.rebuildTimer = Timer.builder("pix_wallet.pix_key_filter.rebuild")
+                .description("Time to rebuild the filter from pix_key")
+                .register(meterRegistry);
+    }
+
+    /**
+     * {@code false} garante que o valor não está cadastrado; {@code true} significa "talvez".
+     */
+    public boolean mightContain(String value) {
+        if (!ready) {
+            return true;
+        }
+
+        long h1 = hash(value);
+        long h2 = Long.rotateLeft(h1, 32);
+        for (int i = 1; i <= hashCount; i++) {
+            if (!isSet(index(h1, h2, i))) {
+                skippedChecks.increment();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void put(String value) {
+        if (!properties.enabled()) {
+            return;
+        }
+
+        long h1 = hash(value);
+        long h2 = Long.rotateLeft(h1, 32);
+        for (int i = 1; i <= hashCount; i++) {
+            set(index(h1, h2, i));
+        }
+        insertions.incrementAndGet();
+    }
+
+    /**
+     * Percorre {@code pix_key} em streaming. Inserções concorrentes chamam {@link #put} normalmente,
+     * então nenhum valor se perde entre o início da leitura e o fim da reconstrução.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!properties.enabled()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<String> values = pixKeyRepository.streamAllValues()) {
+                values.forEach(this::put);
+            }
+        });
+        long elapsed = System.nanoTime() - start;
+        rebuildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        ready = true;
+
+        logger.info("Pix key filter rebuilt with {} keys in {} ms ({} bits, {} hashes, estimated fpp {})",
+                insertions.get(), elapsed / 1_000_000, bitCount, hashCount,
+                String.format("%.5f", estimatedFalsePositiveRate()));
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * (1 - e^(-k n / m))^k para o número atual de inserções.
+     */
+    public double estimatedFalsePositiveRate() {
+        double exponent = -(double) hashCount * insertions.get() / bitCount;
+        return Math.pow(1 - Math.exp(exponent), hashCount);
+    }
+
+    // Double hashing (Kirsch-Mitzenmacher): g_i = h1 + i * h2
+    private long index(long h1, long h2, int i) {
+        return ((h1 + i * h2) & Long.MAX_VALUE) % bitCount;
+    }
+
+    private boolean isSet(long index) {
+        return (bits.get((int) (index >>> 6)) & (1L << index)) != 0;
+    }
+
+    private void set(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+    }
+
+    // FNV-1a de 64 bits sobre os chars, seguido do finalizador do SplitMix64 para espalhar os bits
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+}
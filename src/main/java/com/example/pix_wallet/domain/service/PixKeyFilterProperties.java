@@ -0,0 +1,18 @@
+package com.example.pix_wallet.domain.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "pix-wallet.pix-key-filter")
+public record PixKeyFilterProperties(
+        @DefaultValue("true")
+        boolean enabled,
+
+        // Dimensionamento do Bloom filter: acima disso a taxa de falso positivo real passa da configurada
+        @DefaultValue("1000000")
+        long expectedKeys,
+
+        @DefaultValue("0.01")
+        double falsePositiveRate
+) {
+}
@@ -3,6 +3,7 @@ package com.example.pix_wallet.domain.service;
 import com.example.pix_wallet.domain.exception.PixKeyAlreadyExistsException;
 import com.example.pix_wallet.domain.exception.WalletNotFoundException;
 import com.example.pix_wallet.domain.model.PixKey;
+import com.example.pix_wallet.domain.model.PixKeyNormalizer;
 import com.example.pix_wallet.domain.model.PixKeyType;
 import com.example.pix_wallet.domain.model.Wallet;
 import com.example.pix_wallet.domain.repository.PixKeyRepository;
@@ -15,13 +16,19 @@ public class PixKeyRegistrationService {
 
     private final WalletRepository walletRepository;
     private final PixKeyRepository pixKeyRepository;
+    private final PixKeyFilter pixKeyFilter;
+    private final PixKeyWriter pixKeyWriter;
 
     public PixKeyRegistrationService(
             WalletRepository walletRepository,
-            PixKeyRepository pixKeyRepository
+            PixKeyRepository pixKeyRepository,
+            PixKeyFilter pixKeyFilter,
+            PixKeyWriter pixKeyWriter
     ) {
         this.walletRepository = walletRepository;
         this.pixKeyRepository = pixKeyRepository;
+        this.pixKeyFilter = pixKeyFilter;
+        this.pixKeyWriter = pixKeyWriter;
     }
 
     @Transactional
@@ -30,15 +37,17 @@ public class PixKeyRegistrationService {
         Wallet wallet = walletRepository.findById(walletId)
                 .orElseThrow(() -> new WalletNotFoundException(walletId));
 
-        if (type != PixKeyType.EVP && pixKeyRepository.existsByValue(value)) {
-            throw new PixKeyAlreadyExistsException(value);
+        if (type == PixKeyType.EVP) {
+            return pixKeyWriter.insert(PixKey.createEVP(wallet));
         }
 
-        PixKey pixKey = switch (type) {
-            case EVP -> PixKey.createEVP(wallet);
-            default -> PixKey.create(type, value, wallet);
-        };
+        String normalized = PixKeyNormalizer.normalize(type, value);
+        if (pixKeyFilter.mightContain(normalized) && pixKeyRepository.existsByValue(normalized)) {
+            throw new PixKeyAlreadyExistsException(normalized);
+        }
+
+        PixKey pixKey = PixKey.create(type, normalized, wallet);
 
-        return pixKeyRepository.save(pixKey);
+        return pixKeyWriter.insert(pixKey);
     }
 }
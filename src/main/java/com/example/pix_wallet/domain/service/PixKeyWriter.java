@@ -0,0 +1,47 @@
+package com.example.pix_wallet.domain.service;
+
+import com.example.pix_wallet.domain.exception.PixKeyAlreadyExistsException;
+import com.example.pix_wallet.domain.model.PixKey;
+import com.example.pix_wallet.domain.repository.PixKeyRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Grava uma chave PIX nova e mantém {@link PixKeyFilter} e {@link PixKeyDirectory} em dia.
+ * Usado pelos dois fluxos de cadastro, que chegam aqui já na transação deles.
+ */
+@Component
+public class PixKeyWriter {
+
+    private final PixKeyRepository pixKeyRepository;
+    private final PixKeyFilter pixKeyFilter;
+    private final PixKeyDirectory pixKeyDirectory;
+
+    public PixKeyWriter(
+            PixKeyRepository pixKeyRepository,
+            PixKeyFilter pixKeyFilter,
+            PixKeyDirectory pixKeyDirectory
+    ) {
+        this.pixKeyRepository = pixKeyRepository;
+        this.pixKeyFilter = pixKeyFilter;
+        this.pixKeyDirectory = pixKeyDirectory;
+    }
+
+    /**
+     * O flush faz a constraint única valer aqui: quando o filtro dispensou o exists (ex.: chave cadastrada
+     * por outra instância), a violação vira {@link PixKeyAlreadyExistsException}.
+     */
+    public PixKey insert(PixKey pixKey) {
+        PixKey saved;
+        try {
+            saved = pixKeyRepository.saveAndFlush(pixKey);
+        } catch (DataIntegrityViolationException e) {
+            throw new PixKeyAlreadyExistsException(pixKey.getValue());
+        }
+
+        pixKeyFilter.put(pixKey.getValue());
+        // Uma busca anterior pode ter deixado a chave em cache como inexistente
+        pixKeyDirectory.invalidate(pixKey.getType(), pixKey.getValue());
+        return saved;
+    }
+}
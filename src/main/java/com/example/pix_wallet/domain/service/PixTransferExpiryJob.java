@@ -0,0 +1,56 @@
+package com.example.pix_wallet.domain.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Varredura periódica das transferências PENDING sem retorno do PSP.
+ * Várias instâncias podem rodar ao mesmo tempo: cada lote reivindica linhas disjuntas.
+ */
+@Component
+public class PixTransferExpiryJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(PixTransferExpiryJob.class);
+
+    private final PixTransferExpiryService expiryService;
+    private final PixTransferExpiryProperties properties;
+    private final Counter expired;
+
+    public PixTransferExpiryJob(PixTransferExpiryService expiryService,
+                                PixTransferExpiryProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.expiryService = expiryService;
+        this.properties = properties;
+        this.expired = Counter.builder("pix_wallet.transfer_expiry.expired")
+                .description("Pending Pix transfers moved to EXPIRED")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${pix-wallet.transfer-expiry.interval-ms:60000}")
+    public void run() {
+        if (!properties.enabled()) {
+            return;
+        }
+
+        Instant cutoff = Instant.now().minus(properties.pendingTimeout());
+        int total = 0;
+        for (int batch = 0; batch < properties.maxBatchesPerRun(); batch++) {
+            int count = expiryService.expireBatch(cutoff, properties.batchSize());
+            total += count;
+            if (count < properties.batchSize()) {
+                break;
+            }
+        }
+
+        if (total > 0) {
+            expired.increment(total);
+            logger.info("Expired {} pending Pix transfers created before {}", total, cutoff);
+        }
+    }
+}
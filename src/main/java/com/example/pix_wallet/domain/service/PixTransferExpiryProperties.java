@@ -0,0 +1,25 @@
+package com.example.pix_wallet.domain.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "pix-wallet.transfer-expiry")
+public record PixTransferExpiryProperties(
+        @DefaultValue("true")
+        boolean enabled,
+
+        // Idade a partir da qual uma transferência PENDING é encerrada como EXPIRED
+        @DefaultValue("30m")
+        Duration pendingTimeout,
+
+        // Transferências reivindicadas por transação
+        @DefaultValue("500")
+        int batchSize,
+
+        // Limite de lotes por execução; o restante fica para a próxima
+        @DefaultValue("20")
+        int maxBatchesPerRun
+) {
+}
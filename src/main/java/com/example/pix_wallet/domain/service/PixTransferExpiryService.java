@@ -0,0 +1,53 @@
+package com.example.pix_wallet.domain.service;
+
+import com.example.pix_wallet.domain.dto.HeldFunds;
+import com.example.pix_wallet.domain.model.Money;
+import com.example.pix_wallet.domain.repository.PixTransferRepository;
+import com.example.pix_wallet.domain.repository.WalletRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Encerra como EXPIRED as transferências que ficaram PENDING além do prazo.
+ * Cada lote é uma transação curta: reivindica com SKIP LOCKED, devolve as reservas das carteiras de origem
+ * e atualiza as transferências com um único UPDATE.
+ */
+@Service
+public class PixTransferExpiryService {
+
+    private final PixTransferRepository pixTransferRepository;
+    private final WalletRepository walletRepository;
+
+    public PixTransferExpiryService(PixTransferRepository pixTransferRepository, WalletRepository walletRepository) {
+        this.pixTransferRepository = pixTransferRepository;
+        this.walletRepository = walletRepository;
+    }
+
+    /**
+     * Expira até {@code limit} transferências criadas antes de {@code cutoff}; devolve quantas foram expiradas.
+     */
+    @Transactional
+    public int expireBatch(Instant cutoff, int limit) {
+        List<Long> ids = pixTransferRepository.claimExpirable(cutoff, limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        // Um UPDATE por carteira de origem, em ordem crescente de id (a mesma das liquidações)
+        SortedMap<Long, Money> holds = new TreeMap<>();
+        for (HeldFunds held : pixTransferRepository.findHeldFunds(ids)) {
+            holds.merge(held.walletId(), held.amount(), Money::plus);
+        }
+        holds.forEach((walletId, amount) -> {
+            if (!walletRepository.releaseHold(walletId, amount)) {
+                throw new IllegalStateException("Wallet " + walletId + " has no held funds for " + amount);
+            }
+        });
+        return pixTransferRepository.expireAll(ids, Instant.now());
+    }
+}
@@ -3,6 +3,7 @@ package com.example.pix_wallet.domain.service;
 import com.example.pix_wallet.domain.exception.InvalidTransferException;
 import com.example.pix_wallet.domain.exception.PixKeyNotFoundException;
 import com.example.pix_wallet.domain.exception.WalletNotFoundException;
+import com.example.pix_wallet.domain.model.Money;
 import com.example.pix_wallet.domain.model.PixKey;
 import com.example.pix_wallet.domain.model.PixKeyType;
 import com.example.pix_wallet.domain.model.PixTransfer;
@@ -13,8 +14,6 @@ import com.example.pix_wallet.domain.repository.WalletRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-
 @Service
 public class PixTransferService {
 
@@ -22,17 +21,20 @@ public class PixTransferService {
     private final PixKeyRepository pixKeyRepository;
     private final PixTransferRepository pixTransferRepository;
     private final WalletOperationService walletOperationService;
+    private final PixKeyDirectory pixKeyDirectory;
 
     public PixTransferService(
             WalletRepository walletRepository,
             PixKeyRepository pixKeyRepository,
             PixTransferRepository pixTransferRepository,
-            WalletOperationService walletOperationService
+            WalletOperationService walletOperationService,
+            PixKeyDirectory pixKeyDirectory
     ) {
         this.walletRepository = walletRepository;
         this.pixKeyRepository = pixKeyRepository;
         this.pixTransferRepository = pixTransferRepository;
         this.walletOperationService = walletOperationService;
+        this.pixKeyDirectory = pixKeyDirectory;
     }
 
     @Transactional
@@ -40,30 +42,31 @@ public class PixTransferService {
             Long fromWalletId,
             PixKeyType type,
             String value,
-            BigDecimal amount
+            Money amount
     ) {
         Wallet fromWallet = walletRepository.findById(fromWalletId)
                 .orElseThrow(() -> new WalletNotFoundException(fromWalletId));
 
-        PixKey pixKey = pixKeyRepository
-                .findByTypeAndValue(type, value)
+        PixKeyDirectory.Entry destination = pixKeyDirectory
+                .resolve(type, value)
                 .orElseThrow(() -> new PixKeyNotFoundException(type, value));
 
-        Wallet toWallet = pixKey.getWallet();
-
-        if (fromWallet.getId() != null
-                && fromWallet.getId().equals(toWallet.getId())) {
-            throw new IllegalStateException("Cannot transfer Pix to the same wallet");
-        }
-
-        if (fromWallet == toWallet) {
+        if (fromWallet.getId().equals(destination.walletId())) {
             throw new InvalidTransferException();
         }
 
-        // Validar se há saldo suficiente (sem debitar ainda)
-        if (fromWallet.getBalance().compareTo(amount) < 0) {
-            throw new IllegalStateException("Insufficient balance. Balance: " +
-                fromWallet.getBalance() + ", amount: " + amount);
+        // Referências sem SELECT: a transferência só grava as FKs, o destino é lido no webhook
+        Wallet toWallet = walletRepository.getReferenceById(destination.walletId());
+        PixKey pixKey = pixKeyRepository.getReferenceById(destination.pixKeyId());
+
+        // Reserva o valor (sem debitar ainda); carteiras sem reserva só têm o saldo verificado
+        boolean fundsHeld = walletOperationService.supportsHolds(fromWallet);
+        boolean covered = fundsHeld
+                ? walletOperationService.hold(fromWallet, amount)
+                : !fromWallet.getTotalBalance().isLessThan(amount);
+        if (!covered) {
+            throw new IllegalStateException("Insufficient balance. Available: " +
+                fromWallet.getAvailableBalance() + ", amount: " + amount);
         }
 
         PixTransfer pixTransfer = PixTransfer.create(
@@ -72,6 +75,9 @@ public class PixTransferService {
                 pixKey,
                 amount
         );
+        if (fundsHeld) {
+            pixTransfer.markFundsHeld();
+        }
 
         return pixTransferRepository.save(pixTransfer);
     }
@@ -0,0 +1,261 @@
+package com.example.pix_wallet.domain.service;
+
+import com.example.pix_wallet.domain.dto.WebhookEvent;
+import com.example.pix_wallet.domain.dto.WebhookEventBatchRequest;
+import com.example.pix_wallet.domain.dto.WebhookEventBatchResponse;
+import com.example.pix_wallet.domain.dto.WebhookEventOutcome;
+import com.example.pix_wallet.domain.dto.WebhookEventResult;
+import com.example.pix_wallet.domain.engine.BalanceEngine;
+import com.example.pix_wallet.domain.model.EndToEndIdCodec;
+import com.example.pix_wallet.domain.model.Money;
+import com.example.pix_wallet.domain.model.PixTransfer;
+import com.example.pix_wallet.domain.model.PixTransferStatus;
+import com.example.pix_wallet.domain.model.StatusTransition;
+import com.example.pix_wallet.domain.model.Wallet;
+import com.example.pix_wallet.domain.model.WalletTransaction;
+import com.example.pix_wallet.domain.repository.PixTransferRepository;
+import com.example.pix_wallet.domain.repository.WalletRepository;
+import com.example.pix_wallet.domain.repository.WalletTransactionRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Aplica um lote de eventos de webhook em uma única transação: as transferências são travadas com um único
+ * SELECT ... FOR UPDATE ordenado, e as confirmadas são liquidadas com um UPDATE líquido por carteira e
+ * um único saveAll do ledger. Cada evento recebe seu próprio resultado; nenhum derruba o lote.
+ */
+@Service
+public class PixWebhookBatchService {
+
+    private final PixTransferRepository pixTransferRepository;
+    private final WalletRepository walletRepository;
+    private final WalletTransactionRepository transactionRepository;
+    private final WalletOperationService walletOperationService;
+    private final StripedBalanceService stripedBalanceService;
+    private final BalanceEngine balanceEngine;
+
+    public PixWebhookBatchService(
+            PixTransferRepository pixTransferRepository,
+            WalletRepository walletRepository,
+            WalletTransactionRepository transactionRepository,
+            WalletOperationService walletOperationService,
+            StripedBalanceService stripedBalanceService,
+            BalanceEngine balanceEngine
+    ) {
+        this.pixTransferRepository = pixTransferRepository;
+        this.walletRepository = walletRepository;
+        this.transactionRepository = transactionRepository;
+        this.walletOperationService = walletOperationService;
+        this.stripedBalanceService = stripedBalanceService;
+        this.balanceEngine = balanceEngine;
+    }
+
+    @Transactional
+    public WebhookEventBatchResponse process(WebhookEventBatchRequest request) {
+        List<WebhookEvent> events = request.events();
+
+        // endToEndIds fora do formato E2E-<uuid> ficam nulos e viram NOT_FOUND
+        List<UUID> ids = events.stream()
+                .map(event -> EndToEndIdCodec.parseOrNull(event.endToEndId()))
+                .toList();
+        Map<UUID, PixTransfer> transfers = lockTransfers(ids);
+
+        Settlement settlement = balanceEngine.isEnabled() ? null : new Settlement(lockWallets(events, ids, transfers));
+
+        List<WebhookEventResult> results = new ArrayList<>(events.size());
+        int applied = 0;
+
+        // Ordem do pedido: eventos da mesma transferência são avaliados um após o outro
+        for (int index = 0; index < events.size(); index++) {
+            WebhookEvent event = events.get(index);
+            PixTransfer transfer = ids.get(index) == null ? null : transfers.get(ids.get(index));
+
+            if (transfer == null) {
+                results.add(WebhookEventResult.of(index, event.endToEndId(), WebhookEventOutcome.NOT_FOUND));
+                continue;
+            }
+
+            StatusTransition transition = transfer.evaluateStatus(event.status(), event.timestamp());
+            if (transition != StatusTransition.ALLOWED) {
+                results.add(WebhookEventResult.of(index, event.endToEndId(), transition == StatusTransition.DUPLICATE
+                        ? WebhookEventOutcome.DUPLICATE
+                        : WebhookEventOutcome.OUTDATED));
+                continue;
+            }
+
+            if (event.status() == PixTransferStatus.CONFIRMED) {
+                String error = settlement != null ? settlement.add(transfer) : settleInEngine(transfer);
+                if (error != null) {
+                    results.add(WebhookEventResult.failed(index, event.endToEndId(), error));
+                    continue;
+                }
+            } else if (transfer.isFundsHeld()) {
+                // REJECTED/EXPIRED: nada foi movimentado, só a reserva da iniciação volta ao disponível
+                if (settlement != null) {
+                    settlement.release(transfer);
+                } else {
+                    walletOperationService.releaseHold(transfer.getFromWallet(), transfer.getAmount());
+                }
+            }
+
+            transfer.applyStatus(event.status(), event.timestamp());
+            results.add(WebhookEventResult.of(index, event.endToEndId(), WebhookEventOutcome.APPLIED));
+            applied++;
+        }
+
+        if (settlement != null) {
+            settlement.flush();
+        }
+
+        return new WebhookEventBatchResponse(applied, results);
+    }
+
+    private Map<UUID, PixTransfer> lockTransfers(List<UUID> ids) {
+        Set<UUID> endToEndIds = ids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (endToEndIds.isEmpty()) {
+            return Map.of();
+        }
+        return pixTransferRepository.findAllByEndToEndIdInForUpdate(endToEndIds).stream()
+                .collect(Collectors.toMap(PixTransfer::getEndToEndId, Function.identity()));
+    }
+
+    /**
+     * Trava, em ordem crescente de id, as carteiras das transferências que podem ser confirmadas no lote
+     * e as de origem das que podem ter a reserva liberada.
+     */
+    private Map<Long, Wallet> lockWallets(List<WebhookEvent> events, List<UUID> ids, Map<UUID, PixTransfer> transfers) {
+        SortedSet<Long> walletIds = new TreeSet<>();
+        for (int index = 0; index < events.size(); index++) {
+            WebhookEvent event = events.get(index);
+            PixTransfer transfer = ids.get(index) == null ? null : transfers.get(ids.get(index));
+            if (transfer == null || !transfer.isPending()) {
+                continue;
+            }
+            if (event.status() == PixTransferStatus.CONFIRMED) {
+                walletIds.add(transfer.getFromWallet().getId());
+                walletIds.add(transfer.getToWallet().getId());
+            } else if (transfer.isFundsHeld()) {
+                walletIds.add(transfer.getFromWallet().getId());
+            }
+        }
+        if (walletIds.isEmpty()) {
+            return Map.of();
+        }
+        return walletRepository.findAllByIdInForUpdate(walletIds).stream()
+                .collect(Collectors.toMap(Wallet::getId, Function.identity()));
+    }
+
+    /**
+     * No balance engine cada mutação é durável isoladamente, então as confirmações passam uma a uma pelo engine.
+     * As chamadas vão direto ao engine: uma exceção atravessando o proxy transacional de WalletOperationService
+     * marcaria a transação do lote inteiro como rollback-only, mesmo tratada aqui.
+     */
+    private String settleInEngine(PixTransfer transfer) {
+        Long fromId = transfer.getFromWallet().getId();
+        Long toId = transfer.getToWallet().getId();
+        Money amount = transfer.getAmount();
+
+        // Reservas não existem com o engine ligado (ele não inicia com held_balance pendente)
+        if (transfer.isFundsHeld()) {
+            return "Held transfer cannot be settled while the balance engine is enabled";
+        }
+
+        try {
+            balanceEngine.debit(fromId, amount);
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+        try {
+            balanceEngine.credit(toId, amount);
+        } catch (RuntimeException e) {
+            // O rollback do lote não desfaz o débito já durável no journal: estorna para o evento poder ser reenviado
+            balanceEngine.credit(fromId, amount);
+            return e.getMessage();
+        }
+        return null;
+    }
+
+    /**
+     * Saldo corrente e delta líquido por carteira, com os lançamentos do ledger acumulados para um único saveAll.
+     */
+    private final class Settlement {
+
+        private final Map<Long, Wallet> wallets;
+        private final Map<Long, Money> running = new HashMap<>();
+        private final Map<Long, Money> held = new HashMap<>();
+        private final Map<Long, Money> netDeltas = new TreeMap<>();
+        private final Map<Long, Money> finalizedHolds = new TreeMap<>();
+        private final Map<Long, Money> releasedHolds = new TreeMap<>();
+        private final List<WalletTransaction> ledger = new ArrayList<>();
+
+        private Settlement(Map<Long, Wallet> wallets) {
+            this.wallets = wallets;
+        }
+
+        /**
+         * Registra débito e crédito da transferência; devolve o motivo se não puder ser liquidada.
+         */
+        private String add(PixTransfer transfer) {
+            Wallet from = wallets.get(transfer.getFromWallet().getId());
+            Wallet to = wallets.get(transfer.getToWallet().getId());
+            Money amount = transfer.getAmount();
+
+            Money fromBalance = running.computeIfAbsent(from.getId(), id -> from.getTotalBalance());
+            Money fromHeld = held.computeIfAbsent(from.getId(), id -> from.getHeldBalance());
+
+            if (transfer.isFundsHeld()) {
+                // Valor reservado na iniciação: baixa a reserva, sem verificar saldo
+                held.put(from.getId(), fromHeld.minus(amount));
+                finalizedHolds.merge(from.getId(), amount, Money::plus);
+            } else {
+                Money available = fromBalance.minus(fromHeld);
+                if (available.isLessThan(amount)) {
+                    return "Insufficient balance. Balance: " + available + ", amount: " + amount;
+                }
+                netDeltas.merge(from.getId(), amount.negate(), Money::plus);
+            }
+
+            Money fromAfter = fromBalance.minus(amount);
+            running.put(from.getId(), fromAfter);
+            ledger.add(WalletTransaction.debit(from, amount, fromAfter));
+
+            Money toAfter = running.computeIfAbsent(to.getId(), id -> to.getTotalBalance()).plus(amount);
+            running.put(to.getId(), toAfter);
+            netDeltas.merge(to.getId(), amount, Money::plus);
+            ledger.add(WalletTransaction.credit(to, amount, toAfter));
+            return null;
+        }
+
+        private void release(PixTransfer transfer) {
+            Wallet from = wallets.get(transfer.getFromWallet().getId());
+            Money fromHeld = held.computeIfAbsent(from.getId(), id -> from.getHeldBalance());
+            held.put(from.getId(), fromHeld.minus(transfer.getAmount()));
+            releasedHolds.merge(from.getId(), transfer.getAmount(), Money::plus);
+        }
+
+        private void flush() {
+            // Reservas primeiro: o débito líquido abaixo confere o saldo disponível já sem elas
+            finalizedHolds.forEach((walletId, amount) -> wallets.get(walletId).finalizeHold(amount));
+            releasedHolds.forEach((walletId, amount) -> wallets.get(walletId).releaseHold(amount));
+            netDeltas.forEach((walletId, net) -> {
+                Wallet wallet = wallets.get(walletId);
+                if (net.signum() > 0) {
+                    wallet.credit(net);
+                } else if (net.signum() < 0) {
+                    Money amount = net.negate();
+                    stripedBalanceService.drainFor(wallet, amount);
+                    wallet.debit(amount);
+                }
+            });
+            if (!ledger.isEmpty()) {
+                transactionRepository.saveAll(ledger);
+            }
+        }
+    }
+}
@@ -1,17 +1,21 @@
 package com.example.pix_wallet.domain.service;
 
-import com.example.pix_wallet.domain.exception.TransferNotFoundException;
-import com.example.pix_wallet.domain.exception.WebhookEventIgnoredException;
+import com.example.pix_wallet.domain.dto.WebhookEventOutcome;
+import com.example.pix_wallet.domain.model.EndToEndIdCodec;
 import com.example.pix_wallet.domain.model.PixTransfer;
 import com.example.pix_wallet.domain.model.PixTransferStatus;
+import com.example.pix_wallet.domain.model.StatusTransition;
 import com.example.pix_wallet.domain.repository.PixTransferRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
 import java.util.Optional;
+import java.util.UUID;
 
 @Service
 public class PixWebhookService {
@@ -20,64 +24,111 @@ public class PixWebhookService {
 
     private final PixTransferRepository pixTransferRepository;
     private final WalletOperationService walletOperationService;
+    private final WebhookDedupWindow dedupWindow;
+    private final WebhookSequencer sequencer;
+    private final TransactionTemplate transactionTemplate;
 
     public PixWebhookService(
             PixTransferRepository pixTransferRepository,
-            WalletOperationService walletOperationService
+            WalletOperationService walletOperationService,
+            WebhookDedupWindow dedupWindow,
+            WebhookSequencer sequencer,
+            PlatformTransactionManager transactionManager
     ) {
         this.pixTransferRepository = pixTransferRepository;
         this.walletOperationService = walletOperationService;
+        this.dedupWindow = dedupWindow;
+        this.sequencer = sequencer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
-    @Transactional
-    public void processWebhookEvent(String endToEndId, PixTransferStatus status, Instant timestamp) {
+    /**
+     * Duplicados, eventos fora de ordem e endToEndIds desconhecidos não são erros: viram um resultado tipado,
+     * sem exceção e sem rollback. Nesses casos a entidade não é alterada e o commit não emite nenhum UPDATE.
+     * Reenvios idênticos de um evento aplicado há pouco são respondidos por {@link WebhookDedupWindow}
+     * antes de abrir a transação. Os demais passam por {@link WebhookSequencer}, que enfileira os eventos
+     * da mesma transferência na mesma thread; assim o lock de linha quase nunca espera.
+     */
+    public WebhookEventOutcome processWebhookEvent(String endToEndId, PixTransferStatus status, Instant timestamp) {
+        if (isRecentlyApplied(endToEndId, status, timestamp)) {
+            return WebhookEventOutcome.DUPLICATE;
+        }
+
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Chamado dentro da transação de outro serviço (inbox): precisa rodar nela, na thread atual
+            return apply(endToEndId, status, timestamp);
+        }
+
+        return sequencer.execute(endToEndId, () -> dedupWindow.isStillRecentlyApplied(endToEndId, status, timestamp)
+                // Reenvio que esperou na fila atrás do evento original
+                ? WebhookEventOutcome.DUPLICATE
+                : transactionTemplate.execute(tx -> apply(endToEndId, status, timestamp)));
+    }
+
+    private boolean isRecentlyApplied(String endToEndId, PixTransferStatus status, Instant timestamp) {
+        if (dedupWindow.isRecentlyApplied(endToEndId, status, timestamp)) {
+            logger.debug("Duplicate webhook event for endToEndId {} answered from dedup window", endToEndId);
+            return true;
+        }
+        return false;
+    }
+
+    private WebhookEventOutcome apply(String endToEndId, PixTransferStatus status, Instant timestamp) {
         logger.info("Processing webhook event for endToEndId: {}, status: {}, timestamp: {}",
                    endToEndId, status, timestamp);
 
-        Optional<PixTransfer> transferOpt = pixTransferRepository.findByEndToEndIdWithLock(endToEndId);
+        // endToEndId fora do formato E2E-<uuid> não pode existir: nem chega ao banco
+        UUID id = EndToEndIdCodec.parseOrNull(endToEndId);
+        Optional<PixTransfer> transferOpt = id == null
+                ? Optional.empty()
+                : pixTransferRepository.findByEndToEndIdWithLock(id);
 
         if (transferOpt.isEmpty()) {
             logger.warn("Transfer not found for endToEndId: {}", endToEndId);
-            logger.error("🚨 THROWING TransferNotFoundException for endToEndId: {}", endToEndId);
-            throw new TransferNotFoundException(endToEndId);
+            return WebhookEventOutcome.NOT_FOUND;
         }
 
         PixTransfer transfer = transferOpt.get();
-        boolean statusUpdated = transfer.updateStatus(status, timestamp);
+        StatusTransition transition = transfer.evaluateStatus(status, timestamp);
 
-        if (!statusUpdated) {
-            String reason = "Duplicate or outdated event for transfer " + transfer.getId();
-            logger.info(reason);
-            logger.error("🚨 THROWING WebhookEventIgnoredException: {}", reason);
-            throw new WebhookEventIgnoredException(reason);
+        if (transition != StatusTransition.ALLOWED) {
+            logger.info("Ignoring {} event for transfer {}", transition, transfer.getId());
+            return transition == StatusTransition.DUPLICATE
+                    ? WebhookEventOutcome.DUPLICATE
+                    : WebhookEventOutcome.OUTDATED;
         }
 
+        transfer.applyStatus(status, timestamp);
+
         // Processa as ações baseadas no novo status
         if (status == PixTransferStatus.CONFIRMED && transfer.isConfirmed()) {
             processConfirmedTransfer(transfer);
         } else if (status == PixTransferStatus.REJECTED && transfer.isRejected()) {
             processRejectedTransfer(transfer);
+        } else if (status == PixTransferStatus.EXPIRED && transfer.isExpired()) {
+            releaseHeldFunds(transfer);
         }
 
         pixTransferRepository.save(transfer);
+        dedupWindow.recordApplied(endToEndId, status, timestamp);
 
         logger.info("Successfully processed webhook event for transfer {}, new status: {}",
                    transfer.getId(), status);
+        return WebhookEventOutcome.APPLIED;
     }
 
     private void processConfirmedTransfer(PixTransfer transfer) {
         logger.info("Processing confirmed transfer {} - executing payment", transfer.getId());
 
         try {
-            // Verifica saldo antes de debitar
-            if (transfer.getFromWallet().getBalance().compareTo(transfer.getAmount()) < 0) {
-                throw new IllegalStateException("Insufficient balance for confirmed transfer");
+            if (transfer.isFundsHeld()) {
+                // Valor reservado na iniciação: só baixa a reserva, sem verificar saldo de novo
+                walletOperationService.settleHeld(transfer.getFromWallet(), transfer.getToWallet(), transfer.getAmount());
+            } else {
+                // O débito condicional já verifica o saldo no próprio UPDATE
+                walletOperationService.settle(transfer.getFromWallet(), transfer.getToWallet(), transfer.getAmount());
             }
 
-            // Executa a transferência
-            walletOperationService.debit(transfer.getFromWallet().getId(), transfer.getAmount());
-            walletOperationService.credit(transfer.getToWallet().getId(), transfer.getAmount());
-
             logger.info("Successfully executed confirmed transfer {}", transfer.getId());
         } catch (Exception e) {
             logger.error("Error executing confirmed transfer {}: {}", transfer.getId(), e.getMessage(), e);
@@ -86,10 +137,17 @@ public class PixWebhookService {
     }
 
     private void processRejectedTransfer(PixTransfer transfer) {
-        logger.info("Processing rejected transfer {} - no action needed (transfer was never executed)", transfer.getId());
+        logger.info("Processing rejected transfer {} - no reversal needed (transfer was never executed)", transfer.getId());
 
-        // Como a transferência nunca foi executada (status era PENDING),
-        // não há necessidade de reverter nada
-        logger.info("Transfer {} rejected - no reversal needed as it was never executed", transfer.getId());
+        // Como a transferência nunca foi executada (status era PENDING), não há o que reverter;
+        // só a reserva feita na iniciação volta para o saldo disponível
+        releaseHeldFunds(transfer);
+    }
+
+    private void releaseHeldFunds(PixTransfer transfer) {
+        if (transfer.isFundsHeld()) {
+            walletOperationService.releaseHold(transfer.getFromWallet(), transfer.getAmount());
+            logger.info("Released held funds of transfer {}", transfer.getId());
+        }
     }
 }
@@ -0,0 +1,31 @@
+package com.example.pix_wallet.domain.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "pix-wallet.reactive-reads")
+public record ReactiveReadProperties(
+        // Pool R2DBC próprio, separado do Hikari usado pela escrita (JPA)
+        @DefaultValue("r2dbc:postgresql://localhost:5432/pix_wallet")
+        String url,
+
+        @DefaultValue("postgres")
+        String username,
+
+        @DefaultValue("postgres")
+        String password,
+
+        @DefaultValue("2")
+        int initialSize,
+
+        // Poucas conexões atendem milhares de leituras simultâneas: nenhuma fica presa esperando a resposta HTTP
+        @DefaultValue("10")
+        int maxSize,
+
+        // Espera máxima por uma conexão antes de falhar a leitura
+        @DefaultValue("2s")
+        Duration maxAcquireTime
+) {
+}
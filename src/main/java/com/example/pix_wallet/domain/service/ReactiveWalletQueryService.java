@@ -0,0 +1,143 @@
+package com.example.pix_wallet.domain.service;
+
+import com.example.pix_wallet.domain.dto.PixTransferSummary;
+import com.example.pix_wallet.domain.engine.BalanceEngine;
+import com.example.pix_wallet.domain.exception.PixTransferNotFoundException;
+import com.example.pix_wallet.domain.exception.WalletNotFoundException;
+import com.example.pix_wallet.domain.model.EndToEndIdCodec;
+import com.example.pix_wallet.domain.model.Money;
+import com.example.pix_wallet.domain.model.PixTransferStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Leituras de alto volume (polling de saldo e de status de transferência) via R2DBC.
+ * Nenhuma thread fica bloqueada durante a ida ao banco e poucas conexões atendem milhares de requisições.
+ *
+ * <p>O pool R2DBC não é exposto como bean: um {@link ConnectionFactory} no contexto faria o Spring Boot
+ * desligar o DataSource JDBC usado pelo JPA.
+ */
+@Service
+public class ReactiveWalletQueryService implements DisposableBean {
+
+    // Saldo total = saldo principal + slots (carteiras quentes), como Wallet.getTotalBalance()
+    private static final String BALANCE_SQL = """
+            SELECT w.balance + COALESCE(
+                (SELECT SUM(s.balance) FROM wallet_balance_slot s WHERE s.wallet_id = w.id), 0) AS total
+            FROM wallet w
+            WHERE w.id = :id
+            """;
+
+    private static final String TRANSFER_SQL = """
+            SELECT end_to_end_id, amount, to_wallet_id, status, created_at
+            FROM pix_transfer
+            WHERE end_to_end_id = :endToEndId
+            """;
+
+    private final ConnectionPool pool;
+    private final DatabaseClient databaseClient;
+    private final BalanceEngine balanceEngine;
+
+    @Autowired
+    public ReactiveWalletQueryService(
+            ReactiveReadProperties properties,
+            BalanceEngine balanceEngine,
+            MeterRegistry meterRegistry
+    ) {
+        this(ConnectionFactories.get(ConnectionFactoryOptions.parse(properties.url()).mutate()
+                        .option(ConnectionFactoryOptions.USER, properties.username())
+                        .option(ConnectionFactoryOptions.PASSWORD, properties.password())
+                        .build()),
+                properties, balanceEngine, meterRegistry);
+    }
+
+    ReactiveWalletQueryService(
+            ConnectionFactory connectionFactory,
+            ReactiveReadProperties properties,
+            BalanceEngine balanceEngine,
+            MeterRegistry meterRegistry
+    ) {
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .name("reactive-reads")
+                .initialSize(properties.initialSize())
+                .maxSize(properties.maxSize())
+                .maxAcquireTime(properties.maxAcquireTime())
+                .build());
+        this.databaseClient = DatabaseClient.create(pool);
+        this.balanceEngine = balanceEngine;
+
+        pool.getMetrics().ifPresent(metrics -> {
+            poolGauge(meterRegistry, "acquired", metrics, PoolMetrics::acquiredSize);
+            poolGauge(meterRegistry, "idle", metrics, PoolMetrics::idleSize);
+            poolGauge(meterRegistry, "pending", metrics, PoolMetrics::pendingAcquireSize);
+        });
+    }
+
+    public Mono<Money> getBalance(Long walletId) {
+        if (balanceEngine.isEnabled()) {
+            // balanceOf espera o executor do shard: fora da thread do request, e carteira fora do cache vai ao banco
+            return Mono.fromCallable(() -> balanceEngine.balanceOf(walletId).orElse(null))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .switchIfEmpty(databaseBalance(walletId));
+        }
+
+        return databaseBalance(walletId);
+    }
+
+    private Mono<Money> databaseBalance(Long walletId) {
+        return databaseClient.sql(BALANCE_SQL)
+                .bind("id", walletId)
+                .map(row -> Money.of(row.get("total", BigDecimal.class)))
+                .one()
+                .switchIfEmpty(Mono.error(() -> new WalletNotFoundException(walletId)));
+    }
+
+    public Mono<PixTransferSummary> getTransfer(String endToEndId) {
+        UUID id = EndToEndIdCodec.parseOrNull(endToEndId);
+        if (id == null) {
+            return Mono.error(new PixTransferNotFoundException(endToEndId));
+        }
+
+        return databaseClient.sql(TRANSFER_SQL)
+                .bind("endToEndId", id)
+                .map(row -> new PixTransferSummary(
+                        row.get("end_to_end_id", UUID.class),
+                        Money.of(row.get("amount", BigDecimal.class)),
+                        row.get("to_wallet_id", Long.class),
+                        PixTransferStatus.valueOf(row.get("status", String.class)),
+                        row.get("created_at", OffsetDateTime.class).toInstant()
+                ))
+                .one()
+                .switchIfEmpty(Mono.error(() -> new PixTransferNotFoundException(endToEndId)));
+    }
+
+    @Override
+    public void destroy() {
+        pool.dispose();
+    }
+
+    private static void poolGauge(MeterRegistry registry, String state, PoolMetrics metrics,
+                                  ToDoubleFunction<PoolMetrics> value) {
+        Gauge.builder("pix_wallet.reactive_reads.connections", metrics, value)
+                .description("R2DBC read pool connections")
+                .tag("state", state)
+                .register(registry);
+    }
+}
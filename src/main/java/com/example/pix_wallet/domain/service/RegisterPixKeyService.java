@@ -3,6 +3,7 @@ package com.example.pix_wallet.domain.service;
 import com.example.pix_wallet.domain.exception.PixKeyAlreadyExistsException;
 import com.example.pix_wallet.domain.exception.WalletNotFoundException;
 import com.example.pix_wallet.domain.model.PixKey;
+import com.example.pix_wallet.domain.model.PixKeyNormalizer;
 import com.example.pix_wallet.domain.model.PixKeyType;
 import com.example.pix_wallet.domain.model.Wallet;
 import com.example.pix_wallet.domain.repository.PixKeyRepository;
@@ -15,13 +16,19 @@ public class RegisterPixKeyService {
 
     private final WalletRepository walletRepository;
     private final PixKeyRepository pixKeyRepository;
+    private final PixKeyFilter pixKeyFilter;
+    private final PixKeyWriter pixKeyWriter;
 
     public RegisterPixKeyService(
             WalletRepository walletRepository,
-            PixKeyRepository pixKeyRepository
+            PixKeyRepository pixKeyRepository,
+            PixKeyFilter pixKeyFilter,
+            PixKeyWriter pixKeyWriter
     ) {
         this.walletRepository = walletRepository;
         this.pixKeyRepository = pixKeyRepository;
+        this.pixKeyFilter = pixKeyFilter;
+        this.pixKeyWriter = pixKeyWriter;
     }
 
     @Transactional
@@ -30,33 +37,44 @@ public class RegisterPixKeyService {
                 .orElseThrow(() -> new WalletNotFoundException(walletId));
 
         PixKey pixKey = PixKey.createEVP(wallet);
-        return pixKeyRepository.save(pixKey);
+        return pixKeyWriter.insert(pixKey);
     }
 
     @Transactional
     public PixKey registerEmail(Long walletId, String email) {
-        validateUnique(PixKeyType.EMAIL, email);
+        return register(walletId, PixKeyType.EMAIL, email);
+    }
 
-        Wallet wallet = walletRepository.findById(walletId)
-                .orElseThrow(() -> new WalletNotFoundException(walletId));
+    @Transactional
+    public PixKey registerPhone(Long walletId, String phone) {
+        return register(walletId, PixKeyType.PHONE, phone);
+    }
 
-        PixKey pixKey = PixKey.createEmail(email, wallet);
-        return pixKeyRepository.save(pixKey);
+    @Transactional
+    public PixKey registerCpf(Long walletId, String cpf) {
+        return register(walletId, PixKeyType.CPF, cpf);
     }
 
     @Transactional
-    public PixKey registerPhone(Long walletId, String phone) {
-        validateUnique(PixKeyType.PHONE, phone);
+    public PixKey registerCnpj(Long walletId, String cnpj) {
+        return register(walletId, PixKeyType.CNPJ, cnpj);
+    }
+
+    private PixKey register(Long walletId, PixKeyType type, String value) {
+        // Unicidade verificada pela forma canônica: Foo@x.com e foo@x.com são a mesma chave
+        String normalized = PixKeyNormalizer.normalize(type, value);
+        validateUnique(type, normalized);
 
         Wallet wallet = walletRepository.findById(walletId)
                 .orElseThrow(() -> new WalletNotFoundException(walletId));
 
-        PixKey pixKey = PixKey.createPhone(phone, wallet);
-        return pixKeyRepository.save(pixKey);
+        PixKey pixKey = PixKey.create(type, normalized, wallet);
+        return pixKeyWriter.insert(pixKey);
     }
 
     private void validateUnique(PixKeyType type, String value) {
-        if (pixKeyRepository.existsByTypeAndValue(type, value)) {
+        // Negativo do filtro é definitivo: não precisa consultar o banco
+        if (pixKeyFilter.mightContain(value) && pixKeyRepository.existsByTypeAndValue(type, value)) {
             throw new PixKeyAlreadyExistsException(value);
         }
     }
@@ -0,0 +1,12 @@
+package com.example.pix_wallet.domain.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "pix-wallet.statement-export")
+public record StatementExportProperties(
+        // Linhas por ida ao banco; a memória usada pelo export não depende do tamanho do extrato
+        @DefaultValue("1000")
+        int fetchSize
+) {
+}
@@ -0,0 +1,31 @@
+package com.example.pix_wallet.domain.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class StripedBalanceConsolidator {
+
+    private static final Logger logger = LoggerFactory.getLogger(StripedBalanceConsolidator.class);
+
+    private final StripedBalanceService stripedBalanceService;
+
+    public StripedBalanceConsolidator(StripedBalanceService stripedBalanceService) {
+        this.stripedBalanceService = stripedBalanceService;
+    }
+
+    @Scheduled(fixedDelayString = "${pix-wallet.balance-slots.consolidation-interval-ms:5000}")
+    public void consolidate() {
+        for (Long walletId : stripedBalanceService.findWalletsToConsolidate()) {
+            try {
+                stripedBalanceService.consolidate(walletId);
+            } catch (OptimisticLockingFailureException e) {
+                // Um débito concorrente já drenou os slots; tenta de novo na próxima rodada
+                logger.debug("Skipping consolidation of wallet {} after version conflict", walletId);
+            }
+        }
+    }
+}
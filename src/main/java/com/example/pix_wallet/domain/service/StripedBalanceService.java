@@ -0,0 +1,137 @@
+package com.example.pix_wallet.domain.service;
+
+import com.example.pix_wallet.domain.engine.BalanceEngine;
+import com.example.pix_wallet.domain.exception.WalletNotFoundException;
+import com.example.pix_wallet.domain.model.Money;
+import com.example.pix_wallet.domain.model.TransactionType;
+import com.example.pix_wallet.domain.model.Wallet;
+import com.example.pix_wallet.domain.model.WalletBalanceSlot;
+import com.example.pix_wallet.domain.model.WalletTransaction;
+import com.example.pix_wallet.domain.repository.WalletBalanceSlotRepository;
+import com.example.pix_wallet.domain.repository.WalletRepository;
+import com.example.pix_wallet.domain.repository.WalletTransactionRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Carteiras quentes: créditos vão para um slot aleatório (sem tocar a linha/versão de wallet),
+ * débitos drenam os slots em ordem para o saldo principal.
+ * O crédito em slot entra no ledger sem balance_after; a consolidação, com a carteira e os slots travados,
+ * grava o saldo corrente definitivo desses lançamentos.
+ */
+@Service
+public class StripedBalanceService {
+
+    private final WalletRepository walletRepository;
+    private final WalletBalanceSlotRepository slotRepository;
+    private final WalletTransactionRepository transactionRepository;
+    private final BalanceEngine balanceEngine;
+
+    public StripedBalanceService(
+            WalletRepository walletRepository,
+            WalletBalanceSlotRepository slotRepository,
+            WalletTransactionRepository transactionRepository,
+            BalanceEngine balanceEngine
+    ) {
+        this.walletRepository = walletRepository;
+        this.slotRepository = slotRepository;
+        this.transactionRepository = transactionRepository;
+        this.balanceEngine = balanceEngine;
+    }
+
+    @Transactional
+    public void changeSlotCount(Long walletId, int slotCount) {
+        if (balanceEngine.isEnabled()) {
+            throw new IllegalStateException("Balance slots are not supported while the balance engine is enabled");
+        }
+
+        Wallet wallet = walletRepository.findByIdForUpdate(walletId)
+                .orElseThrow(() -> new WalletNotFoundException(walletId));
+
+        // Consolida tudo antes de mudar a quantidade de slots
+        consolidate(wallet, slotRepository.findAllByWalletIdForUpdate(walletId));
+        slotRepository.saveAll(wallet.changeBalanceSlotCount(slotCount));
+    }
+
+    /**
+     * Devolve o saldo total visto por esta transação: créditos concorrentes em outros slots podem não estar nele.
+     */
+    @Transactional
+    public Money credit(Wallet wallet, Money amount) {
+        int index = ThreadLocalRandom.current().nextInt(wallet.getBalanceSlotCount());
+
+        WalletBalanceSlot slot = slotRepository.findByWalletIdAndSlotIndex(wallet.getId(), index)
+                .orElseThrow(() -> new IllegalStateException(
+                        "Balance slot " + index + " missing for wallet " + wallet.getId()));
+
+        slot.credit(amount);
+
+        transactionRepository.save(
+                WalletTransaction.slotCredit(wallet, amount)
+        );
+        return wallet.getTotalBalance();
+    }
+
+    /**
+     * Garante que o saldo principal cubra o débito, drenando os slots em ordem quando necessário.
+     */
+    @Transactional
+    public void drainFor(Wallet wallet, Money amount) {
+        if (!wallet.isStriped() || amount == null || !wallet.getBalance().isLessThan(amount)) {
+            return;
+        }
+        wallet.drainSlots(slotRepository.findAllByWalletIdForUpdate(wallet.getId()), amount);
+    }
+
+    @Transactional
+    public void consolidate(Long walletId) {
+        Wallet wallet = walletRepository.findByIdForUpdate(walletId)
+                .orElseThrow(() -> new WalletNotFoundException(walletId));
+
+        consolidate(wallet, slotRepository.findAllByWalletIdForUpdate(walletId));
+    }
+
+    public List<Long> findWalletsToConsolidate() {
+        Set<Long> walletIds = new LinkedHashSet<>(slotRepository.findWalletIdsWithSlotBalance());
+        walletIds.addAll(transactionRepository.findWalletIdsWithPendingBalance());
+        return List.copyOf(walletIds);
+    }
+
+    /**
+     * Exige a carteira e todos os slots travados: nenhum crédito ou débito concorrente confirma no meio.
+     */
+    private void consolidate(Wallet wallet, List<WalletBalanceSlot> slots) {
+        for (WalletBalanceSlot slot : slots) {
+            wallet.consolidate(slot, slot.getBalance());
+        }
+        assignPendingBalances(wallet);
+    }
+
+    /**
+     * Parte do saldo total travado e volta pelo ledger até o crédito pendente mais antigo,
+     * regravando o saldo corrente de cada lançamento no caminho.
+     */
+    private void assignPendingBalances(Wallet wallet) {
+        Optional<WalletTransaction> oldestPending =
+                transactionRepository.findFirstByWalletIdAndBalanceAfterIsNullOrderByCreatedAtAscIdAsc(wallet.getId());
+        if (oldestPending.isEmpty()) {
+            return;
+        }
+
+        Money balance = wallet.getTotalBalance();
+        for (WalletTransaction transaction : transactionRepository
+                .findAllByWalletIdAndCreatedAtGreaterThanEqualOrderByCreatedAtDescIdDesc(
+                        wallet.getId(), oldestPending.get().getCreatedAt())) {
+            transaction.assignBalanceAfter(balance);
+            balance = transaction.getType() == TransactionType.CREDIT
+                    ? balance.minus(transaction.getAmount())
+                    : balance.plus(transaction.getAmount());
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.pix_wallet.domain.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "pix-wallet.transaction-history")
+public record TransactionHistoryProperties(
+        // Tamanho da página quando o cliente não informa limit
+        @DefaultValue("50")
+        int defaultLimit,
+
+        // Acima disso a requisição é rejeitada com 400
+        @DefaultValue("200")
+        int maxLimit
+) {
+}
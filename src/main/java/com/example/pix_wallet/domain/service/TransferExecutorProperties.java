@@ -0,0 +1,31 @@
+package com.example.pix_wallet.domain.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "pix-wallet.transfer-executor")
+public record TransferExecutorProperties(
+        // Tentativas totais (inclui a primeira) para conflitos de versão/lock
+        @DefaultValue("5")
+        int maxAttempts,
+
+        @DefaultValue("10ms")
+        Duration initialBackoff,
+
+        @DefaultValue("200ms")
+        Duration maxBackoff,
+
+        // Orçamento total de tempo gasto em retries de uma transferência
+        @DefaultValue("1s")
+        Duration retryBudget,
+
+        // Enfileira em memória as transferências que tocam a mesma carteira
+        @DefaultValue("false")
+        boolean walletQueueing,
+
+        @DefaultValue("256")
+        int queueStripes
+) {
+}
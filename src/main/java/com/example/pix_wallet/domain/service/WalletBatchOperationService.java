@@ -0,0 +1,162 @@
+package com.example.pix_wallet.domain.service;
+
+import com.example.pix_wallet.domain.dto.BatchMode;
+import com.example.pix_wallet.domain.dto.BatchOperation;
+import com.example.pix_wallet.domain.dto.BatchOperationRequest;
+import com.example.pix_wallet.domain.dto.BatchOperationResponse;
+import com.example.pix_wallet.domain.dto.BatchOperationResult;
+import com.example.pix_wallet.domain.dto.BatchOperationStatus;
+import com.example.pix_wallet.domain.engine.BalanceEngine;
+import com.example.pix_wallet.domain.model.Money;
+import com.example.pix_wallet.domain.model.TransactionType;
+import com.example.pix_wallet.domain.model.Wallet;
+import com.example.pix_wallet.domain.model.WalletTransaction;
+import com.example.pix_wallet.domain.repository.WalletRepository;
+import com.example.pix_wallet.domain.repository.WalletTransactionRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Aplica um lote de créditos/débitos em uma única transação.
+ * As carteiras são travadas em ordem crescente de id e cada uma recebe um único UPDATE com o saldo líquido.
+ */
+@Service
+public class WalletBatchOperationService {
+
+    private final WalletRepository walletRepository;
+    private final WalletTransactionRepository transactionRepository;
+    private final BalanceEngine balanceEngine;
+    private final StripedBalanceService stripedBalanceService;
+
+    public WalletBatchOperationService(
+            WalletRepository walletRepository,
+            WalletTransactionRepository transactionRepository,
+            BalanceEngine balanceEngine,
+            StripedBalanceService stripedBalanceService
+    ) {
+        this.walletRepository = walletRepository;
+        this.transactionRepository = transactionRepository;
+        this.balanceEngine = balanceEngine;
+        this.stripedBalanceService = stripedBalanceService;
+    }
+
+    @Transactional
+    public BatchOperationResponse execute(BatchOperationRequest request) {
+        if (balanceEngine.isEnabled()) {
+            return executeInEngine(request);
+        }
+
+        List<BatchOperation> operations = request.operations();
+
+        // Linhas agrupadas por carteira, preservando a ordem original dentro de cada carteira
+        SortedMap<Long, List<Integer>> linesByWallet = new TreeMap<>();
+        for (int index = 0; index < operations.size(); index++) {
+            linesByWallet.computeIfAbsent(operations.get(index).walletId(), id -> new ArrayList<>()).add(index);
+        }
+
+        Map<Long, Wallet> wallets = walletRepository.findAllByIdInForUpdate(linesByWallet.keySet()).stream()
+                .collect(Collectors.toMap(Wallet::getId, Function.identity()));
+
+        BatchOperationResult[] results = new BatchOperationResult[operations.size()];
+        Map<Long, Money> netDeltas = new LinkedHashMap<>();
+        List<WalletTransaction> ledger = new ArrayList<>(operations.size());
+        int rejected = 0;
+
+        for (Map.Entry<Long, List<Integer>> entry : linesByWallet.entrySet()) {
+            Long walletId = entry.getKey();
+            Wallet wallet = wallets.get(walletId);
+
+            if (wallet == null) {
+                for (int index : entry.getValue()) {
+                    results[index] = BatchOperationResult.rejected(index, walletId, "Wallet not found: " + walletId);
+                    rejected++;
+                }
+                continue;
+            }
+
+            Money running = wallet.getTotalBalance();
+            Money net = Money.ZERO;
+
+            for (int index : entry.getValue()) {
+                BatchOperation operation = operations.get(index);
+                Money amount = Money.of(operation.amount());
+
+                // Valores reservados por transferências PIX pendentes não podem ser debitados
+                Money available = running.minus(wallet.getHeldBalance());
+                if (operation.type() == TransactionType.DEBIT && available.isLessThan(amount)) {
+                    results[index] = BatchOperationResult.rejected(index, walletId,
+                            "Insufficient balance. Balance: " + available + ", amount: " + amount);
+                    rejected++;
+                    continue;
+                }
+
+                Money delta = operation.type() == TransactionType.CREDIT ? amount : amount.negate();
+                running = running.plus(delta);
+                net = net.plus(delta);
+
+                results[index] = BatchOperationResult.applied(index, walletId, running);
+                ledger.add(operation.type() == TransactionType.CREDIT
+                        ? WalletTransaction.credit(wallet, amount, running)
+                        : WalletTransaction.debit(wallet, amount, running));
+            }
+
+            netDeltas.put(walletId, net);
+        }
+
+        if (rejected > 0 && request.mode() == BatchMode.ALL_OR_NOTHING) {
+            // Nada foi alterado ainda: basta devolver o motivo de cada linha rejeitada
+            List<BatchOperationResult> skipped = Arrays.stream(results)
+                    .map(result -> result.status() == BatchOperationStatus.APPLIED ? result.skipped() : result)
+                    .toList();
+            return new BatchOperationResponse(request.mode(), false, 0, rejected, skipped);
+        }
+
+        netDeltas.forEach((walletId, net) -> applyNetDelta(wallets.get(walletId), net));
+        transactionRepository.saveAll(ledger);
+
+        return new BatchOperationResponse(request.mode(), true, ledger.size(), rejected, List.of(results));
+    }
+
+    private void applyNetDelta(Wallet wallet, Money net) {
+        if (net.signum() > 0) {
+            wallet.credit(net);
+        } else if (net.signum() < 0) {
+            Money amount = net.negate();
+            stripedBalanceService.drainFor(wallet, amount);
+            wallet.debit(amount);
+        }
+    }
+
+    /**
+     * No balance engine cada mutação é durável isoladamente no journal, então não há como desfazer o lote.
+     */
+    private BatchOperationResponse executeInEngine(BatchOperationRequest request) {
+        if (request.mode() == BatchMode.ALL_OR_NOTHING) {
+            throw new IllegalStateException("ALL_OR_NOTHING batches are not supported while the balance engine is enabled");
+        }
+
+        List<BatchOperation> operations = request.operations();
+        List<BatchOperationResult> results = new ArrayList<>(operations.size());
+        int rejected = 0;
+
+        for (int index = 0; index < operations.size(); index++) {
+            BatchOperation operation = operations.get(index);
+            try {
+                Money amount = Money.of(operation.amount());
+                Money balanceAfter = operation.type() == TransactionType.CREDIT
+                        ? balanceEngine.credit(operation.walletId(), amount)
+                        : balanceEngine.debit(operation.walletId(), amount);
+                results.add(BatchOperationResult.applied(index, operation.walletId(), balanceAfter));
+            } catch (RuntimeException e) {
+                results.add(BatchOperationResult.rejected(index, operation.walletId(), e.getMessage()));
+                rejected++;
+            }
+        }
+
+        return new BatchOperationResponse(request.mode(), true, operations.size() - rejected, rejected, results);
+    }
+}
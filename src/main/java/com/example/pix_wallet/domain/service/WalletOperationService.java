@@ -1,7 +1,9 @@
 package com.example.pix_wallet.domain.service;
 
+import com.example.pix_wallet.domain.engine.BalanceEngine;
 import com.example.pix_wallet.domain.exception.InsufficientBalanceException;
 import com.example.pix_wallet.domain.exception.WalletNotFoundException;
+import com.example.pix_wallet.domain.model.Money;
 import com.example.pix_wallet.domain.model.Wallet;
 import com.example.pix_wallet.domain.model.WalletTransaction;
 import com.example.pix_wallet.domain.repository.WalletRepository;
@@ -9,29 +11,43 @@ import com.example.pix_wallet.domain.repository.WalletTransactionRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.BiFunction;
 
 @Service
 public class WalletOperationService {
 
     private final WalletRepository walletRepository;
     private final WalletTransactionRepository transactionRepository;
+    private final BalanceEngine balanceEngine;
+    private final StripedBalanceService stripedBalanceService;
 
     public WalletOperationService(
             WalletRepository walletRepository,
-            WalletTransactionRepository transactionRepository
+            WalletTransactionRepository transactionRepository,
+            BalanceEngine balanceEngine,
+            StripedBalanceService stripedBalanceService
             ) {
         this.walletRepository = walletRepository;
         this.transactionRepository = transactionRepository;
+        this.balanceEngine = balanceEngine;
+        this.stripedBalanceService = stripedBalanceService;
     }
 
     @Transactional
-    public BigDecimal credit(Long walletId, BigDecimal amount) {
+    public Money credit(Long walletId, Money amount) {
+        if (balanceEngine.isEnabled()) {
+            return balanceEngine.credit(walletId, amount);
+        }
+
         Wallet wallet = walletRepository.findById(walletId)
                 .orElseThrow(() -> new WalletNotFoundException(walletId));
 
-        BigDecimal newBalance = wallet.credit(amount);
+        if (wallet.isStriped()) {
+            return stripedBalanceService.credit(wallet, amount);
+        }
 
+        Money newBalance = wallet.credit(amount);
 
         transactionRepository.save(
                 WalletTransaction.credit(wallet, amount, newBalance)
@@ -40,23 +56,131 @@ public class WalletOperationService {
     }
 
     @Transactional
-    public BigDecimal debit(Long walletId, BigDecimal amount) {
+    public Money debit(Long walletId, Money amount) {
+        if (balanceEngine.isEnabled()) {
+            return balanceEngine.debit(walletId, amount);
+        }
+
         Wallet wallet = walletRepository.findById(walletId)
                 .orElseThrow(() -> new WalletNotFoundException(walletId));
 
-        if (wallet.getBalance().compareTo(amount) < 0) {
+        stripedBalanceService.drainFor(wallet, amount);
+
+        Money available = wallet.getBalance().minus(wallet.getHeldBalance());
+        if (available.isLessThan(amount)) {
             throw new InsufficientBalanceException(
-                    wallet.getBalance(),
+                    available,
                     amount
             );
         }
 
-        BigDecimal newBalance = wallet.debit(amount);
-
+        wallet.debit(amount);
+        Money newBalance = wallet.getTotalBalance();
 
         transactionRepository.save(
                 WalletTransaction.debit(wallet, amount, newBalance)
         );
         return newBalance;
     }
+
+    /**
+     * Reservas só valem para carteiras comuns fora do balance engine: ali o saldo do banco é a fonte da verdade
+     * e fica em uma única linha.
+     */
+    public boolean supportsHolds(Wallet wallet) {
+        return !balanceEngine.isEnabled() && !wallet.isStriped();
+    }
+
+    /**
+     * Reserva o valor com um único UPDATE condicional; false quando o saldo disponível não cobre.
+     */
+    @Transactional
+    public boolean hold(Wallet wallet, Money amount) {
+        return walletRepository.holdIfAvailable(wallet.getId(), amount);
+    }
+
+    @Transactional
+    public void releaseHold(Wallet wallet, Money amount) {
+        if (!walletRepository.releaseHold(wallet.getId(), amount)) {
+            throw new IllegalStateException("Wallet " + wallet.getId() + " has no held funds for " + amount);
+        }
+    }
+
+    /**
+     * Liquida uma transferência entre carteiras com UPDATEs condicionais que já devolvem o saldo
+     * e o ledger das duas pernas em um único lote: três round trips, sem SELECT das carteiras.
+     * Os UPDATEs seguem a ordem crescente de id, a mesma dos lotes, para não criar deadlock entre liquidações cruzadas.
+     * Balance engine e carteiras quentes (saldo distribuído em slots) continuam pelo caminho débito/crédito.
+     */
+    @Transactional
+    public void settle(Wallet from, Wallet to, Money amount) {
+        if (balanceEngine.isEnabled()) {
+            settleInEngine(from.getId(), to.getId(), amount);
+            return;
+        }
+        if (from.isStriped() || to.isStriped()) {
+            debit(from.getId(), amount);
+            credit(to.getId(), amount);
+            return;
+        }
+        settle(from, to, amount, this::debitIfSufficient);
+    }
+
+    /**
+     * Liquida uma transferência cujo valor foi reservado na iniciação: o débito só baixa a reserva,
+     * sem verificar saldo de novo.
+     */
+    @Transactional
+    public void settleHeld(Wallet from, Wallet to, Money amount) {
+        // O engine não inicia com reservas pendentes; baixar uma aqui divergiria do saldo em cache
+        if (balanceEngine.isEnabled()) {
+            throw new IllegalStateException("Held transfer cannot be settled while the balance engine is enabled");
+        }
+        settle(from, to, amount, this::finalizeHold);
+    }
+
+    private void settle(Wallet from, Wallet to, Money amount, BiFunction<Wallet, Money, Money> debit) {
+        Money fromBalance;
+        Money toBalance;
+        if (from.getId() < to.getId()) {
+            fromBalance = debit.apply(from, amount);
+            toBalance = creditReturning(to, amount);
+        } else {
+            toBalance = creditReturning(to, amount);
+            fromBalance = debit.apply(from, amount);
+        }
+
+        transactionRepository.saveAll(List.of(
+                WalletTransaction.debit(from, amount, fromBalance),
+                WalletTransaction.credit(to, amount, toBalance)
+        ));
+    }
+
+    private void settleInEngine(Long fromId, Long toId, Money amount) {
+        balanceEngine.debit(fromId, amount);
+        try {
+            balanceEngine.credit(toId, amount);
+        } catch (RuntimeException e) {
+            // O rollback não desfaz o débito já durável no journal: estorna antes de a transferência voltar a PENDING
+            balanceEngine.credit(fromId, amount);
+            throw e;
+        }
+    }
+
+    private Money debitIfSufficient(Wallet wallet, Money amount) {
+        // Nenhuma linha afetada: o saldo não cobre o valor (ou a carteira sumiu); o rollback desfaz o crédito já aplicado
+        return walletRepository.debitIfSufficient(wallet.getId(), amount)
+                .orElseThrow(() -> new InsufficientBalanceException(wallet.getAvailableBalance(), amount));
+    }
+
+    private Money finalizeHold(Wallet wallet, Money amount) {
+        return walletRepository.finalizeHold(wallet.getId(), amount)
+                .orElseThrow(() -> new IllegalStateException(
+                        "Wallet " + wallet.getId() + " has no held funds for " + amount));
+    }
+
+    private Money creditReturning(Wallet wallet, Money amount) {
+        return walletRepository.creditReturning(wallet.getId(), amount)
+                .orElseThrow(() -> new WalletNotFoundException(wallet.getId()));
+    }
 }
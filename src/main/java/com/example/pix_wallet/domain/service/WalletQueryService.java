@@ -1,6 +1,8 @@
 package com.example.pix_wallet.domain.service;
 
+import com.example.pix_wallet.domain.engine.BalanceEngine;
 import com.example.pix_wallet.domain.exception.WalletNotFoundException;
+import com.example.pix_wallet.domain.model.Money;
 import com.example.pix_wallet.domain.model.Wallet;
 import com.example.pix_wallet.domain.repository.WalletRepository;
 import com.example.pix_wallet.domain.repository.WalletTransactionRepository;
@@ -8,8 +10,8 @@ import com.example.pix_wallet.domain.model.WalletTransaction;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Optional;
 
 @Service
 @Transactional(readOnly = true)
@@ -17,10 +19,13 @@ public class WalletQueryService {
 
     private final WalletRepository walletRepository;
     private final WalletTransactionRepository transactionRepository;
+    private final BalanceEngine balanceEngine;
 
-    public WalletQueryService(WalletRepository walletRepository, WalletTransactionRepository transactionRepository) {
+    public WalletQueryService(WalletRepository walletRepository, WalletTransactionRepository transactionRepository,
+                              BalanceEngine balanceEngine) {
         this.walletRepository = walletRepository;
         this.transactionRepository = transactionRepository;
+        this.balanceEngine = balanceEngine;
     }
 
     @Transactional(readOnly = true)
@@ -30,25 +35,36 @@ public class WalletQueryService {
     }
 
     @Transactional(readOnly = true)
-    public BigDecimal getCurrentBalance(Long walletId) {
-        return walletRepository.findById(walletId)
+    public Money getCurrentBalance(Long walletId) {
+        return inMemoryBalance(walletId).orElseGet(() -> walletRepository.findById(walletId)
                 .orElseThrow(() -> new WalletNotFoundException(walletId))
-                .getBalance();
+                .getTotalBalance());
     }
 
     @Transactional(readOnly = true)
-    public BigDecimal getBalance(Long walletId) {
+    public Money getBalance(Long walletId) {
+        Optional<Money> inMemory = inMemoryBalance(walletId);
+        if (inMemory.isPresent()) {
+            return inMemory.get();
+        }
+
         Wallet wallet = walletRepository.findById(walletId)
                 .orElseThrow(() -> new WalletNotFoundException(walletId));
 
-        return wallet.getBalance();
+        return wallet.getTotalBalance();
     }
 
     @Transactional(readOnly = true)
-    public BigDecimal getBalanceAt(Long walletId, Instant at) {
+    public Money getBalanceAt(Long walletId, Instant at) {
         return transactionRepository
-                .findFirstByWalletIdAndCreatedAtLessThanEqualOrderByCreatedAtDesc(walletId, at)
+                .findFirstByWalletIdAndBalanceAfterIsNotNullAndCreatedAtLessThanEqualOrderByCreatedAtDesc(walletId, at)
                 .map(WalletTransaction::getBalanceAfter)
-                .orElse(BigDecimal.ZERO);
+                .orElse(Money.ZERO);
+    }
+
+    private Optional<Money> inMemoryBalance(Long walletId) {
+        return balanceEngine.isEnabled()
+                ? balanceEngine.balanceOf(walletId)
+                : Optional.empty();
     }
 }
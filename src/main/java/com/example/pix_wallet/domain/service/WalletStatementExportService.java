@@ -0,0 +1,142 @@
+package com.example.pix_wallet.domain.service;
+
+import com.example.pix_wallet.domain.dto.StatementFormat;
+import com.example.pix_wallet.domain.exception.WalletNotFoundException;
+import com.example.pix_wallet.domain.repository.WalletRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Exporta o extrato de uma carteira direto do cursor JDBC para a resposta, linha a linha.
+ * Nenhuma entidade é carregada no persistence context: a memória fica constante para qualquer volume.
+ * No PostgreSQL o fetch size só vira cursor dentro de uma transação (autocommit desligado), daí o
+ * {@code @Transactional(readOnly = true)}.
+ */
+@Service
+public class WalletStatementExportService {
+
+    private static final String STATEMENT_SQL = """
+            SELECT id, type, amount, balance_after, created_at
+            FROM wallet_transaction
+            WHERE wallet_id = ? AND created_at >= ? AND created_at < ?
+            ORDER BY created_at, id
+            """;
+
+    private static final String CSV_HEADER = "id,type,amount,balance_after,created_at\n";
+
+    private final WalletRepository walletRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public WalletStatementExportService(
+            WalletRepository walletRepository,
+            DataSource dataSource,
+            StatementExportProperties properties
+    ) {
+        this.walletRepository = walletRepository;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(properties.fetchSize());
+    }
+
+    /**
+     * Valida a requisição antes de qualquer byte ser escrito (depois disso o status HTTP não muda mais).
+     */
+    @Transactional(readOnly = true)
+    public void checkExportable(Long walletId, Instant from, Instant to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        if (!walletRepository.existsById(walletId)) {
+            throw new WalletNotFoundException(walletId);
+        }
+    }
+
+    /**
+     * Escreve os lançamentos de {@code [from, to)} em ordem cronológica. Sem {@code from}, desde o início;
+     * sem {@code to}, até o momento da chamada. Retorna o número de linhas exportadas.
+     */
+    @Transactional(readOnly = true)
+    public long export(Long walletId, Instant from, Instant to, StatementFormat format, OutputStream out)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == StatementFormat.CSV) {
+            writer.write(CSV_HEADER);
+        }
+
+        RowWriter rowWriter = new RowWriter(writer, format);
+        try {
+            jdbcTemplate.query(STATEMENT_SQL, rowWriter,
+                    walletId,
+                    OffsetDateTime.ofInstant(from != null ? from : Instant.EPOCH, ZoneOffset.UTC),
+                    OffsetDateTime.ofInstant(to != null ? to : Instant.now(), ZoneOffset.UTC));
+        } catch (UncheckedIOException e) {
+            // Cliente desconectou no meio do download
+            throw e.getCause();
+        }
+
+        writer.flush();
+        return rowWriter.rows;
+    }
+
+    private static final class RowWriter implements RowCallbackHandler {
+
+        private final Writer writer;
+        private final StatementFormat format;
+        private final StringBuilder line = new StringBuilder(128);
+        private long rows;
+
+        private RowWriter(Writer writer, StatementFormat format) {
+            this.writer = writer;
+            this.format = format;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            line.setLength(0);
+            long id = rs.getLong("id");
+            String type = rs.getString("type");
+            String amount = rs.getBigDecimal("amount").toPlainString();
+            // Crédito em slot ainda não consolidado: sem saldo corrente
+            BigDecimal balance = rs.getBigDecimal("balance_after");
+            String balanceAfter = balance == null ? null : balance.toPlainString();
+            String createdAt = rs.getObject("created_at", OffsetDateTime.class).toInstant().toString();
+
+            if (format == StatementFormat.CSV) {
+                line.append(id).append(',').append(type).append(',').append(amount).append(',')
+                        .append(balanceAfter == null ? "" : balanceAfter).append(',').append(createdAt).append('\n');
+            } else {
+                line.append("{\"id\":").append(id)
+                        .append(",\"type\":\"").append(type)
+                        .append("\",\"amount\":").append(amount)
+                        .append(",\"balanceAfter\":").append(balanceAfter)
+                        .append(",\"createdAt\":\"").append(createdAt).append("\"}\n");
+            }
+
+            try {
+                writer.append(line);
+                // Primeira linha sai imediatamente; as demais seguem o buffer do writer
+                if (++rows == 1) {
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.pix_wallet.domain.service;
+
+import com.example.pix_wallet.domain.dto.TransactionCursor;
+import com.example.pix_wallet.domain.dto.TransactionHistoryItem;
+import com.example.pix_wallet.domain.dto.TransactionHistoryPage;
+import com.example.pix_wallet.domain.exception.WalletNotFoundException;
+import com.example.pix_wallet.domain.repository.WalletRepository;
+import com.example.pix_wallet.domain.repository.WalletTransactionRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Histórico de lançamentos paginado por keyset em {@code (created_at, id)}, do mais recente para o mais antigo.
+ * Cada página parte do último item entregue em vez de pular linhas com OFFSET: a página 1000 custa o
+ * mesmo que a primeira.
+ */
+@Service
+public class WalletTransactionHistoryService {
+
+    private final WalletRepository walletRepository;
+    private final WalletTransactionRepository transactionRepository;
+    private final TransactionHistoryProperties properties;
+
+    public WalletTransactionHistoryService(
+            WalletRepository walletRepository,
+            WalletTransactionRepository transactionRepository,
+            TransactionHistoryProperties properties
+    ) {
+        this.walletRepository = walletRepository;
+        this.transactionRepository = transactionRepository;
+        this.properties = properties;
+    }
+
+    @Transactional(readOnly = true)
+    public TransactionHistoryPage getPage(Long walletId, String after, Integer limit) {
+        int pageSize = limit != null ? limit : properties.defaultLimit();
+        if (pageSize < 1 || pageSize > properties.maxLimit()) {
+            throw new IllegalArgumentException("'limit' must be between 1 and " + properties.maxLimit());
+        }
+
+        // Uma linha a mais indica se existe próxima página sem precisar de COUNT
+        Limit fetch = Limit.of(pageSize + 1);
+        List<TransactionHistoryItem> rows;
+        if (after == null || after.isEmpty()) {
+            rows = transactionRepository.findHistory(walletId, fetch);
+        } else {
+            TransactionCursor cursor = TransactionCursor.decode(after);
+            rows = transactionRepository.findHistoryBefore(walletId, cursor.createdAt(), cursor.id(), fetch);
+        }
+
+        // Página vazia é o único caso em que vale a ida extra ao banco para distinguir carteira inexistente
+        if (rows.isEmpty() && !walletRepository.existsById(walletId)) {
+            throw new WalletNotFoundException(walletId);
+        }
+
+        if (rows.size() <= pageSize) {
+            return new TransactionHistoryPage(rows, null);
+        }
+
+        List<TransactionHistoryItem> items = rows.subList(0, pageSize);
+        TransactionHistoryItem last = items.get(pageSize - 1);
+        return new TransactionHistoryPage(
+                List.copyOf(items),
+                new TransactionCursor(last.createdAt(), last.id()).encode()
+        );
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.pix_wallet.domain.service;
+
+import com.example.pix_wallet.domain.exception.TransferConflictException;
+import com.example.pix_wallet.domain.model.Money;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Executa transferências fora da transação de {@link WalletTransferService}, repetindo conflitos de
+ * versão/lock com backoff exponencial e jitter até esgotar o orçamento de tentativas ou de tempo.
+ */
+@Component
+public class WalletTransferExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(WalletTransferExecutor.class);
+
+    private final WalletTransferService walletTransferService;
+    private final TransferExecutorProperties properties;
+    private final Counter retries;
+    private final Counter giveUps;
+    private final ReentrantLock[] walletQueues;
+
+    public WalletTransferExecutor(
+            WalletTransferService walletTransferService,
+            TransferExecutorProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.walletTransferService = walletTransferService;
+        this.properties = properties;
+        this.retries = Counter.builder("pix_wallet.transfer.retries")
+                .description("Transfers retried after a version or lock conflict")
+                .register(meterRegistry);
+        this.giveUps = Counter.builder("pix_wallet.transfer.give_ups")
+                .description("Transfers abandoned after exhausting the retry budget")
+                .register(meterRegistry);
+
+        this.walletQueues = new ReentrantLock[properties.walletQueueing() ? properties.queueStripes() : 0];
+        for (int i = 0; i < walletQueues.length; i++) {
+            // Lock justo: transferências da mesma carteira são atendidas em ordem de chegada
+            walletQueues[i] = new ReentrantLock(true);
+        }
+    }
+
+    public void transfer(Long fromId, Long toId, Money amount) {
+        if (walletQueues.length == 0 || fromId.equals(toId)) {
+            transferWithRetry(fromId, toId, amount);
+            return;
+        }
+
+        // Stripes adquiridos em ordem crescente, como as linhas no banco
+        int a = Math.floorMod(Long.hashCode(fromId), walletQueues.length);
+        int b = Math.floorMod(Long.hashCode(toId), walletQueues.length);
+        ReentrantLock first = walletQueues[Math.min(a, b)];
+        ReentrantLock second = walletQueues[Math.max(a, b)];
+
+        first.lock();
+        try {
+            second.lock();
+            try {
+                transferWithRetry(fromId, toId, amount);
+            } finally {
+                second.unlock();
+            }
+        } finally {
+            first.unlock();
+        }
+    }
+
+    private void transferWithRetry(Long fromId, Long toId, Money amount) {
+        long deadline = System.nanoTime() + properties.retryBudget().toNanos();
+        int attempt = 1;
+
+        while (true) {
+            try {
+                walletTransferService.transfer(fromId, toId, amount);
+                return;
+            } catch (ConcurrencyFailureException e) {
+                long backoff = backoffMillis(attempt);
+
+                if (attempt >= properties.maxAttempts()
+                        || System.nanoTime() + backoff * 1_000_000 > deadline) {
+                    giveUps.increment();
+                    throw new TransferConflictException(fromId, toId, attempt, e);
+                }
+
+                retries.increment();
+                logger.debug("Transfer {} -> {} conflicted on attempt {}, retrying in {} ms",
+                        fromId, toId, attempt, backoff);
+                sleep(backoff);
+                attempt++;
+            }
+        }
+    }
+
+    /**
+     * Full jitter: valor aleatório entre 0 e min(maxBackoff, initialBackoff * 2^(attempt-1)).
+     */
+    private long backoffMillis(int attempt) {
+        long initial = properties.initialBackoff().toMillis();
+        long ceiling = Math.min(
+                properties.maxBackoff().toMillis(),
+                initial << Math.min(attempt - 1, 20)
+        );
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry transfer", e);
+        }
+    }
+}
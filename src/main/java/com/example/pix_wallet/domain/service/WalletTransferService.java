@@ -1,7 +1,9 @@
 package com.example.pix_wallet.domain.service;
 
+import com.example.pix_wallet.domain.engine.BalanceEngine;
 import com.example.pix_wallet.domain.exception.InvalidTransferException;
 import com.example.pix_wallet.domain.exception.WalletNotFoundException;
+import com.example.pix_wallet.domain.model.Money;
 import com.example.pix_wallet.domain.model.Wallet;
 import com.example.pix_wallet.domain.model.WalletTransaction;
 import com.example.pix_wallet.domain.repository.WalletRepository;
@@ -9,36 +11,64 @@ import com.example.pix_wallet.domain.repository.WalletTransactionRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-
 @Service
 public class WalletTransferService {
 
     private final WalletRepository walletRepository;
     private final WalletTransactionRepository transactionRepository;
+    private final BalanceEngine balanceEngine;
+    private final StripedBalanceService stripedBalanceService;
 
-    public WalletTransferService(WalletRepository walletRepository, WalletTransactionRepository transactionRepository) {
+    public WalletTransferService(WalletRepository walletRepository, WalletTransactionRepository transactionRepository,
+                                 BalanceEngine balanceEngine, StripedBalanceService stripedBalanceService) {
         this.walletRepository = walletRepository;
         this.transactionRepository = transactionRepository;
+        this.balanceEngine = balanceEngine;
+        this.stripedBalanceService = stripedBalanceService;
     }
 
     @Transactional
-    public void transfer(Long fromId, Long toId, BigDecimal amount) {
+    public void transfer(Long fromId, Long toId, Money amount) {
 
         if (fromId.equals(toId)) {
             throw new InvalidTransferException();
         }
 
-        Wallet from = walletRepository.findById(fromId)
-                .orElseThrow(() -> new WalletNotFoundException(fromId));
+        if (balanceEngine.isEnabled()) {
+            transferInEngine(fromId, toId, amount);
+            return;
+        }
+
+        // Ordem canônica (menor id primeiro): A→B e B→A concorrentes travam as linhas na mesma sequência
+        Long firstId = Math.min(fromId, toId);
+        Long secondId = Math.max(fromId, toId);
+        Wallet first = lockWallet(firstId);
+        Wallet second = lockWallet(secondId);
 
-        Wallet to = walletRepository.findById(toId)
-                .orElseThrow(() -> new WalletNotFoundException(toId));
+        Wallet from = fromId.equals(firstId) ? first : second;
+        Wallet to = toId.equals(firstId) ? first : second;
 
+        stripedBalanceService.drainFor(from, amount);
         from.debit(amount);
         to.credit(amount);
 
-        transactionRepository.save(WalletTransaction.debit(from, amount, from.getBalance()));
-        transactionRepository.save(WalletTransaction.credit(to, amount, to.getBalance()));
+        transactionRepository.save(WalletTransaction.debit(from, amount, from.getTotalBalance()));
+        transactionRepository.save(WalletTransaction.credit(to, amount, to.getTotalBalance()));
+    }
+
+    private Wallet lockWallet(Long walletId) {
+        return walletRepository.findByIdForUpdate(walletId)
+                .orElseThrow(() -> new WalletNotFoundException(walletId));
+    }
+
+    private void transferInEngine(Long fromId, Long toId, Money amount) {
+        balanceEngine.debit(fromId, amount);
+        try {
+            balanceEngine.credit(toId, amount);
+        } catch (RuntimeException e) {
+            // Sem transação de banco no modo engine: estorna o débito já durável
+            balanceEngine.credit(fromId, amount);
+            throw e;
+        }
     }
 }
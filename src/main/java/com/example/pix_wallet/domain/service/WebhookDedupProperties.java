@@ -0,0 +1,20 @@
+package com.example.pix_wallet.domain.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "pix-wallet.webhook-dedup")
+public record WebhookDedupProperties(
+        @DefaultValue("true")
+        boolean enabled,
+
+        @DefaultValue("100000")
+        long maximumSize,
+
+        // Retentativas do PSP chegam em segundos/minutos; depois disso o lock no banco resolve
+        @DefaultValue("10m")
+        Duration window
+) {
+}
@@ -0,0 +1,76 @@
+package com.example.pix_wallet.domain.service;
+
+import com.example.pix_wallet.domain.model.PixTransferStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+
+/**
+ * Janela (tamanho + tempo) dos eventos de webhook aplicados recentemente, identificados por
+ * (endToEndId, status, timestamp). Uma retentativa idêntica do PSP é respondida sem tocar no banco.
+ * É só um atalho: sem a entrada, o lock e {@code PixTransfer.evaluateStatus} continuam decidindo.
+ * Métricas em {@code cache.*{cache=webhook_dedup}} e {@code pix_wallet.webhook_dedup.hit_ratio}.
+ */
+@Component
+public class WebhookDedupWindow {
+
+    private final WebhookDedupProperties properties;
+    private final Cache<Fingerprint, Boolean> applied;
+
+    public WebhookDedupWindow(WebhookDedupProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.applied = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.window())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, applied, "webhook_dedup");
+        Gauge.builder("pix_wallet.webhook_dedup.hit_ratio", applied, cache -> cache.stats().hitRate())
+                .description("Fraction of webhook deliveries answered from the dedup window")
+                .register(meterRegistry);
+    }
+
+    public boolean isRecentlyApplied(String endToEndId, PixTransferStatus status, Instant timestamp) {
+        return properties.enabled() && applied.getIfPresent(new Fingerprint(endToEndId, status, timestamp)) != null;
+    }
+
+    /**
+     * Mesma consulta fora das estatísticas, para verificar de novo uma entrega já contada:
+     * o hit ratio fica em uma consulta por entrega.
+     */
+    public boolean isStillRecentlyApplied(String endToEndId, PixTransferStatus status, Instant timestamp) {
+        return properties.enabled() && applied.asMap().containsKey(new Fingerprint(endToEndId, status, timestamp));
+    }
+
+    /**
+     * Registra o evento só depois do commit: um rollback não pode deixar uma entrada que esconda o reenvio.
+     */
+    public void recordApplied(String endToEndId, PixTransferStatus status, Instant timestamp) {
+        if (!properties.enabled()) {
+            return;
+        }
+
+        Fingerprint fingerprint = new Fingerprint(endToEndId, status, timestamp);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applied.put(fingerprint, Boolean.TRUE);
+                }
+            });
+        } else {
+            applied.put(fingerprint, Boolean.TRUE);
+        }
+    }
+
+    private record Fingerprint(String endToEndId, PixTransferStatus status, Instant timestamp) {
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.pix_wallet.domain.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "pix-wallet.webhook-inbox")
+public record WebhookInboxProperties(
+        // false = webhook aplicado de forma síncrona na requisição (comportamento original)
+        @DefaultValue("false")
+        boolean enabled,
+
+        @DefaultValue("2")
+        int workers,
+
+        @DefaultValue("50")
+        int batchSize,
+
+        // Espera de um worker quando o inbox está vazio
+        @DefaultValue("100ms")
+        Duration pollInterval,
+
+        // Tempo que um lote reivindicado fica invisível para os outros workers
+        @DefaultValue("30s")
+        Duration lease,
+
+        @DefaultValue("5")
+        int maxAttempts,
+
+        @DefaultValue("1s")
+        Duration retryBackoff
+) {
+}
@@ -0,0 +1,115 @@
+package com.example.pix_wallet.domain.service;
+
+import com.example.pix_wallet.domain.dto.WebhookEventOutcome;
+import com.example.pix_wallet.domain.dto.WebhookInboxStats;
+import com.example.pix_wallet.domain.model.PixTransferStatus;
+import com.example.pix_wallet.domain.model.WebhookInboxEvent;
+import com.example.pix_wallet.domain.model.WebhookInboxState;
+import com.example.pix_wallet.domain.repository.WebhookInboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Modo assíncrono do webhook: {@link #enqueue} só grava o evento; {@link #claim} e {@link #process}
+ * são usados pelos workers de {@link WebhookInboxWorker}.
+ */
+@Service
+public class WebhookInboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebhookInboxService.class);
+
+    private final WebhookInboxRepository inboxRepository;
+    private final PixWebhookService pixWebhookService;
+    private final WebhookInboxProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    public WebhookInboxService(
+            WebhookInboxRepository inboxRepository,
+            PixWebhookService pixWebhookService,
+            WebhookInboxProperties properties,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.inboxRepository = inboxRepository;
+        this.pixWebhookService = pixWebhookService;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    @Transactional
+    public WebhookInboxEvent enqueue(String endToEndId, PixTransferStatus status, Instant timestamp) {
+        return inboxRepository.save(WebhookInboxEvent.receive(endToEndId, status, timestamp));
+    }
+
+    /**
+     * Reivindica até {@code batchSize} eventos pendentes (SKIP LOCKED) e os esconde dos outros workers pelo lease.
+     */
+    @Transactional
+    public List<WebhookInboxEvent> claim(int batchSize) {
+        Instant now = Instant.now();
+        List<WebhookInboxEvent> batch = inboxRepository.findClaimable(now, PageRequest.ofSize(batchSize));
+
+        Instant leaseUntil = now.plus(properties.lease());
+        batch.forEach(event -> event.claim(leaseUntil));
+        return batch;
+    }
+
+    /**
+     * Aplica o evento e marca o inbox na mesma transação; em caso de erro, registra o resultado em outra.
+     */
+    public WebhookInboxState process(WebhookInboxEvent event) {
+        try {
+            return transactionTemplate.execute(status -> {
+                WebhookEventOutcome outcome = pixWebhookService.processWebhookEvent(
+                        event.getEndToEndId(), event.getStatus(), event.getEventTimestamp());
+                WebhookInboxState state = toState(outcome);
+                complete(event.getId(), state, state == WebhookInboxState.APPLIED ? null : outcome.name());
+                return state;
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Webhook inbox event {} failed on attempt {}: {}", event.getId(), event.getAttempts(), e.getMessage());
+
+            if (event.getAttempts() >= properties.maxAttempts()) {
+                return completeInNewTransaction(event, WebhookInboxState.FAILED, e.getMessage());
+            }
+            transactionTemplate.executeWithoutResult(status -> inboxRepository.findById(event.getId())
+                    .ifPresent(stored -> stored.retryAt(Instant.now().plus(properties.retryBackoff()), e.getMessage())));
+            return WebhookInboxState.PENDING;
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public WebhookInboxStats stats() {
+        return inboxRepository.pendingStats();
+    }
+
+    private static WebhookInboxState toState(WebhookEventOutcome outcome) {
+        return switch (outcome) {
+            case APPLIED -> WebhookInboxState.APPLIED;
+            case DUPLICATE, OUTDATED -> WebhookInboxState.IGNORED;
+            case NOT_FOUND -> WebhookInboxState.NOT_FOUND;
+            case FAILED -> WebhookInboxState.FAILED;
+        };
+    }
+
+    private WebhookInboxState completeInNewTransaction(WebhookInboxEvent event, WebhookInboxState state, String detail) {
+        transactionTemplate.executeWithoutResult(status -> complete(event.getId(), state, detail));
+        return state;
+    }
+
+    private void complete(Long eventId, WebhookInboxState state, String detail) {
+        inboxRepository.findById(eventId)
+                .ifPresent(stored -> stored.complete(state, detail, Instant.now()));
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.pix_wallet.domain.service;
+
+import com.example.pix_wallet.domain.dto.WebhookInboxStats;
+import com.example.pix_wallet.domain.model.WebhookInboxEvent;
+import com.example.pix_wallet.domain.model.WebhookInboxState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Threads que drenam o {@code webhook_inbox} em lotes enquanto o modo assíncrono estiver ligado.
+ * Publica profundidade e atraso da fila ({@code pix_wallet.webhook_inbox.*}).
+ */
+@Component
+public class WebhookInboxWorker implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebhookInboxWorker.class);
+
+    private final WebhookInboxService inboxService;
+    private final WebhookInboxProperties properties;
+    private final Map<WebhookInboxState, Counter> processed = new EnumMap<>(WebhookInboxState.class);
+    private final Timer delivery;
+    private final AtomicLong depth = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    private ExecutorService executor;
+    private volatile boolean running;
+
+    public WebhookInboxWorker(
+            WebhookInboxService inboxService,
+            WebhookInboxProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.inboxService = inboxService;
+        this.properties = properties;
+
+        for (WebhookInboxState state : WebhookInboxState.values()) {
+            processed.put(state, Counter.builder("pix_wallet.webhook_inbox.processed")
+                    .description("Inbox events processed by outcome (PENDING = scheduled for retry)")
+                    .tag("outcome", state.name())
+                    .register(meterRegistry));
+        }
+        this.delivery = Timer.builder("pix_wallet.webhook_inbox.delivery")
+                .description("Time from receiving a webhook event to its final outcome")
+                .register(meterRegistry);
+        Gauge.builder("pix_wallet.webhook_inbox.depth", depth, AtomicLong::get)
+                .description("Pending webhook inbox events")
+                .register(meterRegistry);
+        Gauge.builder("pix_wallet.webhook_inbox.lag", lagMillis, value -> value.get() / 1000.0)
+                .description("Age in seconds of the oldest pending webhook inbox event")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+
+        AtomicInteger threadIds = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(properties.workers(), runnable -> {
+            Thread thread = new Thread(runnable, "webhook-inbox-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        for (int i = 0; i < properties.workers(); i++) {
+            executor.submit(this::drainLoop);
+        }
+        logger.info("Webhook inbox started with {} workers", properties.workers());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            // O lote em andamento termina; o que não for processado volta a ficar visível ao fim do lease
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Processa um lote; devolve quantos eventos foram reivindicados.
+     */
+    int drainOnce() {
+        List<WebhookInboxEvent> batch = inboxService.claim(properties.batchSize());
+        for (WebhookInboxEvent event : batch) {
+            WebhookInboxState outcome = inboxService.process(event);
+            processed.get(outcome).increment();
+            if (outcome != WebhookInboxState.PENDING) {
+                delivery.record(Duration.between(event.getReceivedAt(), Instant.now()));
+            }
+        }
+        return batch.size();
+    }
+
+    @Scheduled(fixedDelayString = "${pix-wallet.webhook-inbox.stats-interval-ms:5000}")
+    public void refreshStats() {
+        if (!properties.enabled()) {
+            return;
+        }
+
+        WebhookInboxStats stats = inboxService.stats();
+        depth.set(stats.depth());
+        lagMillis.set(stats.oldestReceivedAt() == null
+                ? 0
+                : Math.max(0, Duration.between(stats.oldestReceivedAt(), Instant.now()).toMillis()));
+    }
+
+    private void drainLoop() {
+        while (running) {
+            try {
+                if (drainOnce() == 0) {
+                    Thread.sleep(properties.pollInterval().toMillis());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Webhook inbox worker failed to drain a batch", e);
+                sleepQuietly();
+            }
+        }
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(properties.pollInterval().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.pix_wallet.domain.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Serializa na JVM os eventos de webhook de uma mesma transferência: o endToEndId escolhe uma partição
+ * de thread única, então eventos da mesma transferência rodam em fila e transferências diferentes em paralelo.
+ * O lock de linha em {@code findByEndToEndIdWithLock} continua como rede de segurança (outras instâncias,
+ * fila cheia). Profundidade de cada fila em {@code pix_wallet.webhook_sequencer.queue_depth{partition}}.
+ */
+@Component
+public class WebhookSequencer implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebhookSequencer.class);
+
+    private final WebhookSequencerProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Counter overflows;
+
+    private ThreadPoolExecutor[] partitions;
+    private volatile boolean running;
+
+    public WebhookSequencer(WebhookSequencerProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.overflows = Counter.builder("pix_wallet.webhook_sequencer.overflows")
+                .description("Webhook events run on the caller thread because their partition queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Executa a tarefa na partição do endToEndId e espera o resultado. Sem o sequenciador rodando,
+     * executa na thread atual.
+     */
+    public <T> T execute(String endToEndId, Supplier<T> task) {
+        if (!running) {
+            return task.get();
+        }
+
+        ThreadPoolExecutor partition = partitions[partitionOf(endToEndId, partitions.length)];
+        try {
+            return CompletableFuture.supplyAsync(task, partition).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    static int partitionOf(String endToEndId, int partitionCount) {
+        int hash = endToEndId.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), partitionCount);
+    }
+
+    @Override
+    public void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+
+        partitions = new ThreadPoolExecutor[properties.partitions()];
+        for (int i = 0; i < partitions.length; i++) {
+            int index = i;
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                    1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(properties.queueCapacity()),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "webhook-sequencer-" + index);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    // Fila cheia (ou desligando): roda na thread do chamador e o lock de linha garante a ordem
+                    (runnable, pool) -> {
+                        overflows.increment();
+                        runnable.run();
+                    }
+            );
+            partitions[i] = executor;
+
+            Gauge.builder("pix_wallet.webhook_sequencer.queue_depth", executor, pool -> pool.getQueue().size())
+                    .description("Webhook events waiting in a sequencer partition")
+                    .tag("partition", String.valueOf(i))
+                    .register(meterRegistry);
+        }
+
+        running = true;
+        logger.info("Webhook sequencer started with {} partitions", partitions.length);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+
+        for (ThreadPoolExecutor partition : partitions) {
+            partition.shutdown();
+        }
+        try {
+            for (ThreadPoolExecutor partition : partitions) {
+                partition.awaitTermination(10, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
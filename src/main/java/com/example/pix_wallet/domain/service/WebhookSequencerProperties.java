@@ -0,0 +1,18 @@
+package com.example.pix_wallet.domain.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "pix-wallet.webhook-sequencer")
+public record WebhookSequencerProperties(
+        @DefaultValue("true")
+        boolean enabled,
+
+        // Cada partição segura no máximo uma conexão do pool por vez
+        @DefaultValue("8")
+        int partitions,
+
+        @DefaultValue("1000")
+        int queueCapacity
+) {
+}
@@ -40,4 +40,22 @@ public class PixKeyController {
     ) {
         return registerPixKeyService.registerPhone(walletId, body.get("phone"));
     }
+
+    @PostMapping("/cpf")
+    @ResponseStatus(HttpStatus.CREATED)
+    public PixKey registerCpf(
+            @PathVariable Long walletId,
+            @RequestBody Map<String, String> body
+    ) {
+        return registerPixKeyService.registerCpf(walletId, body.get("cpf"));
+    }
+
+    @PostMapping("/cnpj")
+    @ResponseStatus(HttpStatus.CREATED)
+    public PixKey registerCnpj(
+            @PathVariable Long walletId,
+            @RequestBody Map<String, String> body
+    ) {
+        return registerPixKeyService.registerCnpj(walletId, body.get("cnpj"));
+    }
 }
@@ -1,5 +1,6 @@
 package com.example.pix_wallet.web.controller;
 
+import com.example.pix_wallet.domain.model.Money;
 import com.example.pix_wallet.domain.model.PixTransfer;
 import com.example.pix_wallet.domain.service.PixTransferService;
 import com.example.pix_wallet.web.dto.PixTransferRequest;
@@ -30,7 +31,7 @@ public class PixTransferController {
                 request.fromWalletId(),
                 request.pixKeyType(),
                 request.pixKeyValue(),
-                request.amount()
+                Money.of(request.amount())
         );
 
         return ResponseEntity
@@ -1,13 +1,25 @@
 package com.example.pix_wallet.web.controller;
 
+import com.example.pix_wallet.domain.dto.WebhookEventBatchRequest;
+import com.example.pix_wallet.domain.dto.WebhookEventBatchResponse;
+import com.example.pix_wallet.domain.dto.WebhookEventOutcome;
+import com.example.pix_wallet.domain.service.PixWebhookBatchService;
 import com.example.pix_wallet.domain.service.PixWebhookService;
+import com.example.pix_wallet.domain.service.WebhookInboxService;
+import com.example.pix_wallet.web.converter.ProtobufErrorFallback;
 import com.example.pix_wallet.web.dto.PixWebhookEventRequest;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/pix/webhook")
 public class PixWebhookController {
@@ -15,23 +27,77 @@ public class PixWebhookController {
     private static final Logger logger = LoggerFactory.getLogger(PixWebhookController.class);
 
     private final PixWebhookService pixWebhookService;
+    private final WebhookInboxService webhookInboxService;
+    private final PixWebhookBatchService pixWebhookBatchService;
 
-    public PixWebhookController(PixWebhookService pixWebhookService) {
+    public PixWebhookController(
+            PixWebhookService pixWebhookService,
+            WebhookInboxService webhookInboxService,
+            PixWebhookBatchService pixWebhookBatchService
+    ) {
         this.pixWebhookService = pixWebhookService;
+        this.webhookInboxService = webhookInboxService;
+        this.pixWebhookBatchService = pixWebhookBatchService;
     }
 
     @PostMapping("/events")
-    public ResponseEntity<Void> receiveWebhookEvent(
-            @RequestBody @Valid PixWebhookEventRequest request
+    public ResponseEntity<Map<String, Object>> receiveWebhookEvent(
+            @RequestBody @Valid PixWebhookEventRequest request,
+            HttpServletRequest httpRequest,
+            HttpServletResponse httpResponse
     ) {
         logger.info("Received webhook event: {}", request);
 
-        pixWebhookService.processWebhookEvent(
+        if (webhookInboxService.isEnabled()) {
+            // Só grava no inbox; duplicados/fora de ordem são resolvidos pelos workers
+            webhookInboxService.enqueue(request.endToEndId(), request.status(), request.timestamp());
+            return ResponseEntity.accepted().build();
+        }
+
+        WebhookEventOutcome outcome = pixWebhookService.processWebhookEvent(
                 request.endToEndId(),
                 request.status(),
                 request.timestamp()
         );
 
-        return ResponseEntity.ok().build();
+        if (outcome != WebhookEventOutcome.APPLIED) {
+            ProtobufErrorFallback.useJsonIfOnlyProtobufAccepted(httpRequest, httpResponse);
+        }
+
+        return switch (outcome) {
+            case APPLIED -> ResponseEntity.ok().build();
+            case NOT_FOUND -> error(HttpStatus.NOT_FOUND, "Transfer Not Found",
+                    "Transfer not found for endToEndId: " + request.endToEndId(), httpRequest);
+            case DUPLICATE, OUTDATED -> error(HttpStatus.CONFLICT, "Webhook Event Ignored",
+                    "Webhook event ignored: " + outcome.name().toLowerCase() + " event for endToEndId: "
+                            + request.endToEndId(), httpRequest);
+            case FAILED -> error(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error",
+                    "Webhook event failed for endToEndId: " + request.endToEndId(), httpRequest);
+        };
+    }
+
+    @PostMapping("/events:batch")
+    public WebhookEventBatchResponse receiveWebhookEvents(
+            @RequestBody @Valid WebhookEventBatchRequest request
+    ) {
+        logger.info("Received webhook batch with {} events", request.events().size());
+        return pixWebhookBatchService.process(request);
+    }
+
+    private static ResponseEntity<Map<String, Object>> error(
+            HttpStatus status,
+            String error,
+            String message,
+            HttpServletRequest request
+    ) {
+        return ResponseEntity.status(status).body(
+                Map.of(
+                        "timestamp", Instant.now(),
+                        "status", status.value(),
+                        "error", error,
+                        "message", message,
+                        "path", request.getRequestURI()
+                )
+        );
     }
 }
@@ -0,0 +1,39 @@
+package com.example.pix_wallet.web.controller;
+
+import com.example.pix_wallet.domain.service.ReactiveWalletQueryService;
+import com.example.pix_wallet.web.dto.PixTransferResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Versão não bloqueante das consultas mais frequentes. O Spring MVC trata o {@link Mono} como requisição
+ * assíncrona: a thread do Tomcat volta ao pool enquanto a consulta R2DBC está em andamento.
+ */
+@RestController
+@RequestMapping("/reactive")
+public class ReactiveReadController {
+
+    private final ReactiveWalletQueryService reactiveWalletQueryService;
+
+    public ReactiveReadController(ReactiveWalletQueryService reactiveWalletQueryService) {
+        this.reactiveWalletQueryService = reactiveWalletQueryService;
+    }
+
+    @GetMapping("/wallets/{id}/balance")
+    public Mono<Map<String, BigDecimal>> getCurrentBalance(@PathVariable Long id) {
+        return reactiveWalletQueryService.getBalance(id)
+                .map(balance -> Map.of("balance", balance.toBigDecimal()));
+    }
+
+    @GetMapping("/pix/transfers/{endToEndId}")
+    public Mono<PixTransferResponse> getTransfer(@PathVariable String endToEndId) {
+        return reactiveWalletQueryService.getTransfer(endToEndId)
+                .map(PixTransferResponse::from);
+    }
+}
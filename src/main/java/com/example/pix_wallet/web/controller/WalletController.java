@@ -1,19 +1,35 @@
 package com.example.pix_wallet.web.controller;
 
+import com.example.pix_wallet.domain.dto.BatchOperationRequest;
+import com.example.pix_wallet.domain.dto.BatchOperationResponse;
+import com.example.pix_wallet.domain.dto.StatementFormat;
+import com.example.pix_wallet.domain.dto.TransactionHistoryPage;
 import com.example.pix_wallet.domain.dto.TransferRequest;
+import com.example.pix_wallet.domain.model.Money;
 import com.example.pix_wallet.domain.model.Wallet;
+import com.example.pix_wallet.domain.service.BalanceSeriesService;
 import com.example.pix_wallet.domain.service.CreateWalletService;
+import com.example.pix_wallet.domain.service.StripedBalanceService;
+import com.example.pix_wallet.domain.service.WalletBatchOperationService;
 import com.example.pix_wallet.domain.service.WalletOperationService;
 import com.example.pix_wallet.domain.service.WalletQueryService;
-import com.example.pix_wallet.domain.service.WalletTransferService;
+import com.example.pix_wallet.domain.service.WalletStatementExportService;
+import com.example.pix_wallet.domain.service.WalletTransactionHistoryService;
+import com.example.pix_wallet.domain.service.WalletTransferExecutor;
 import com.example.pix_wallet.web.dto.AmountRequest;
+import com.example.pix_wallet.web.dto.BalanceSeriesResponse;
+import com.example.pix_wallet.web.dto.BalanceSlotsRequest;
 import com.example.pix_wallet.web.dto.WalletBalanceResponse;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Map;
 
@@ -24,14 +40,27 @@ public class WalletController {
     private final CreateWalletService createWalletService;
     private final WalletOperationService walletOperationService;
     private final WalletQueryService walletQueryService;
-    private final WalletTransferService walletTransferService;
+    private final WalletTransferExecutor walletTransferExecutor;
+    private final StripedBalanceService stripedBalanceService;
+    private final WalletBatchOperationService walletBatchOperationService;
+    private final BalanceSeriesService balanceSeriesService;
+    private final WalletStatementExportService walletStatementExportService;
+    private final WalletTransactionHistoryService walletTransactionHistoryService;
 
     public WalletController(CreateWalletService createWalletService,
-                            WalletOperationService walletOperationService, WalletQueryService walletQueryService, WalletTransferService walletTransferService) {
+                            WalletOperationService walletOperationService, WalletQueryService walletQueryService, WalletTransferExecutor walletTransferExecutor,
+                            StripedBalanceService stripedBalanceService, WalletBatchOperationService walletBatchOperationService,
+                            BalanceSeriesService balanceSeriesService, WalletStatementExportService walletStatementExportService,
+                            WalletTransactionHistoryService walletTransactionHistoryService) {
         this.createWalletService = createWalletService;
         this.walletOperationService = walletOperationService;
         this.walletQueryService = walletQueryService;
-        this.walletTransferService = walletTransferService;
+        this.walletTransferExecutor = walletTransferExecutor;
+        this.stripedBalanceService = stripedBalanceService;
+        this.walletBatchOperationService = walletBatchOperationService;
+        this.balanceSeriesService = balanceSeriesService;
+        this.walletStatementExportService = walletStatementExportService;
+        this.walletTransactionHistoryService = walletTransactionHistoryService;
     }
 
     @PostMapping
@@ -43,13 +72,21 @@ public class WalletController {
     @PostMapping("/{id}/credit")
     public void credit(@PathVariable Long id,
                          @RequestBody AmountRequest request) {
-        walletOperationService.credit(id, request.amount());
+        walletOperationService.credit(id, Money.of(request.amount()));
     }
 
     @PostMapping("/{id}/debit")
     public void debit(@PathVariable Long id,
                         @RequestBody AmountRequest request) {
-        walletOperationService.debit(id, request.amount());
+        walletOperationService.debit(id, Money.of(request.amount()));
+    }
+
+    @PostMapping("/operations:batch")
+    public ResponseEntity<BatchOperationResponse> batch(@Valid @RequestBody BatchOperationRequest request) {
+        BatchOperationResponse response = walletBatchOperationService.execute(request);
+        // ALL_OR_NOTHING com alguma linha rejeitada: nada foi gravado
+        HttpStatus status = response.committed() ? HttpStatus.OK : HttpStatus.UNPROCESSABLE_ENTITY;
+        return ResponseEntity.status(status).body(response);
     }
 
     @GetMapping("/{id}")
@@ -60,18 +97,25 @@ public class WalletController {
     @PostMapping("/transfer")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void transfer(@Valid @RequestBody TransferRequest request) {
-        walletTransferService.transfer(
+        walletTransferExecutor.transfer(
                 request.fromWalletId(),
                 request.toWalletId(),
-                request.amount()
+                Money.of(request.amount())
         );
     }
 
+    @PutMapping("/{id}/balance-slots")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void changeBalanceSlots(@PathVariable Long id,
+                                   @Valid @RequestBody BalanceSlotsRequest request) {
+        stripedBalanceService.changeSlotCount(id, request.slots());
+    }
+
     @GetMapping("/{id}/balance")
     public ResponseEntity<Map<String, BigDecimal>> getCurrentBalance(
             @PathVariable Long id
     ) {
-        BigDecimal balance = walletQueryService.getBalance(id);
+        BigDecimal balance = walletQueryService.getBalance(id).toBigDecimal();
         return ResponseEntity.ok(Map.of("balance", balance));
     }
 
@@ -80,8 +124,51 @@ public class WalletController {
             @PathVariable Long id,
             @RequestParam Instant at
     ) {
-        BigDecimal balance = walletQueryService.getBalanceAt(id, at);
+        BigDecimal balance = walletQueryService.getBalanceAt(id, at).toBigDecimal();
         return ResponseEntity.ok(new WalletBalanceResponse(balance));
     }
-}
 
+    @GetMapping("/{id}/balance/series")
+    public ResponseEntity<BalanceSeriesResponse> getBalanceSeries(
+            @PathVariable Long id,
+            @RequestParam Instant from,
+            @RequestParam Instant to,
+            @RequestParam Duration step
+    ) {
+        return ResponseEntity.ok(new BalanceSeriesResponse(
+                id, from, to, step,
+                balanceSeriesService.getSeries(id, from, to, step)
+        ));
+    }
+
+    @GetMapping("/{id}/transactions")
+    public ResponseEntity<TransactionHistoryPage> getTransactions(
+            @PathVariable Long id,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(walletTransactionHistoryService.getPage(id, after, limit));
+    }
+
+    /**
+     * Extrato completo em streaming: as linhas vão do cursor JDBC direto para o corpo da resposta.
+     * Roda na própria thread da requisição (sem o timeout de requisições assíncronas).
+     */
+    @GetMapping("/{id}/transactions/export")
+    public void exportTransactions(
+            @PathVariable Long id,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response
+    ) throws IOException {
+        StatementFormat statementFormat = StatementFormat.fromParameter(format);
+        walletStatementExportService.checkExportable(id, from, to);
+
+        response.setContentType(statementFormat.contentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"wallet-" + id + "-transactions." + statementFormat.extension() + "\"");
+        walletStatementExportService.export(id, from, to, statementFormat, response.getOutputStream());
+    }
+}
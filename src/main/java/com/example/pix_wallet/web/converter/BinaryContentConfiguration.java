@@ -0,0 +1,40 @@
+package com.example.pix_wallet.web.converter;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * CBOR e Protobuf negociados por {@code Accept}/{@code Content-Type}. Os conversores entram no fim da lista:
+ * sem {@code Accept} específico a resposta continua em JSON. Erros para clientes só-Protobuf saem em JSON
+ * ({@link ProtobufErrorFallback}).
+ */
+@Configuration
+public class BinaryContentConfiguration implements WebMvcConfigurer {
+
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    public BinaryContentConfiguration(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Troca o CBOR padrão do Spring por um com a mesma configuração Jackson do JSON (Spring Boot)
+        converters.removeIf(MappingJackson2CborHttpMessageConverter.class::isInstance);
+        converters.add(new MappingJackson2CborHttpMessageConverter(
+                objectMapperBuilder.factory(new CBORFactory()).build()));
+        converters.add(new PixProtobufHttpMessageConverter());
+    }
+
+    @Override
+    public void extendHandlerExceptionResolvers(List<HandlerExceptionResolver> resolvers) {
+        resolvers.add(0, new ProtobufErrorFallback());
+    }
+}
@@ -0,0 +1,257 @@
+package com.example.pix_wallet.web.converter;
+
+import com.example.pix_wallet.domain.model.Money;
+import com.example.pix_wallet.domain.model.PixKeyType;
+import com.example.pix_wallet.domain.model.PixTransferStatus;
+import com.example.pix_wallet.web.dto.PixTransferRequest;
+import com.example.pix_wallet.web.dto.PixTransferResponse;
+import com.example.pix_wallet.web.dto.PixWebhookEventRequest;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Codifica os DTOs do PSP no formato binário do Protobuf, conforme {@code src/main/proto/pix_wallet.proto}.
+ * Escrito sobre {@link CodedInputStream}/{@link CodedOutputStream}: os próprios records da API são lidos e
+ * escritos, sem classes geradas nem cópia intermediária. Campos desconhecidos são ignorados e campos ausentes
+ * viram {@code null} (a validação do controller continua valendo).
+ */
+public final class PixProtobufCodec {
+
+    private static final int VARINT = 0;
+    private static final int LENGTH_DELIMITED = 2;
+
+    private PixProtobufCodec() {
+    }
+
+    public static boolean supports(Class<?> type) {
+        return type == PixWebhookEventRequest.class
+                || type == PixTransferRequest.class
+                || type == PixTransferResponse.class;
+    }
+
+    public static Object read(Class<?> type, CodedInputStream in) throws IOException {
+        if (type == PixWebhookEventRequest.class) {
+            return readWebhookEvent(in);
+        }
+        if (type == PixTransferRequest.class) {
+            return readTransferRequest(in);
+        }
+        if (type == PixTransferResponse.class) {
+            return readTransferResponse(in);
+        }
+        throw new IllegalArgumentException("Unsupported protobuf type: " + type.getName());
+    }
+
+    public static void write(Object value, CodedOutputStream out) throws IOException {
+        if (value instanceof PixWebhookEventRequest event) {
+            writeWebhookEvent(event, out);
+        } else if (value instanceof PixTransferRequest request) {
+            writeTransferRequest(request, out);
+        } else if (value instanceof PixTransferResponse response) {
+            writeTransferResponse(response, out);
+        } else {
+            throw new IllegalArgumentException("Unsupported protobuf type: " + value.getClass().getName());
+        }
+    }
+
+    // message PixWebhookEvent { end_to_end_id = 1; status = 2; timestamp = 3; }
+
+    static void writeWebhookEvent(PixWebhookEventRequest event, CodedOutputStream out) throws IOException {
+        writeString(out, 1, event.endToEndId());
+        writeEnum(out, 2, statusNumber(event.status()));
+        writeTimestamp(out, 3, event.timestamp());
+    }
+
+    static PixWebhookEventRequest readWebhookEvent(CodedInputStream in) throws IOException {
+        String endToEndId = null;
+        PixTransferStatus status = null;
+        Instant timestamp = null;
+
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            switch (tag) {
+                case (1 << 3) | LENGTH_DELIMITED -> endToEndId = in.readStringRequireUtf8();
+                case (2 << 3) | VARINT -> status = status(in.readEnum());
+                case (3 << 3) | LENGTH_DELIMITED -> timestamp = readTimestamp(in);
+                default -> skip(in, tag);
+            }
+        }
+        return new PixWebhookEventRequest(endToEndId, status, timestamp);
+    }
+
+    // message PixTransferRequest { from_wallet_id = 1; pix_key_type = 2; pix_key_value = 3; amount_cents = 4; }
+
+    static void writeTransferRequest(PixTransferRequest request, CodedOutputStream out) throws IOException {
+        writeInt64(out, 1, request.fromWalletId());
+        writeEnum(out, 2, keyTypeNumber(request.pixKeyType()));
+        writeString(out, 3, request.pixKeyValue());
+        writeInt64(out, 4, request.amount() == null ? null : Money.of(request.amount()).cents());
+    }
+
+    static PixTransferRequest readTransferRequest(CodedInputStream in) throws IOException {
+        Long fromWalletId = null;
+        PixKeyType pixKeyType = null;
+        String pixKeyValue = null;
+        BigDecimal amount = null;
+
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            switch (tag) {
+                case (1 << 3) | VARINT -> fromWalletId = in.readInt64();
+                case (2 << 3) | VARINT -> pixKeyType = keyType(in.readEnum());
+                case (3 << 3) | LENGTH_DELIMITED -> pixKeyValue = in.readStringRequireUtf8();
+                case (4 << 3) | VARINT -> amount = Money.ofCents(in.readInt64()).toBigDecimal();
+                default -> skip(in, tag);
+            }
+        }
+        return new PixTransferRequest(fromWalletId, pixKeyType, pixKeyValue, amount);
+    }
+
+    // message PixTransferResponse { end_to_end_id = 1; amount_cents = 2; to_wallet_id = 3; status = 4; created_at = 5; }
+
+    static void writeTransferResponse(PixTransferResponse response, CodedOutputStream out) throws IOException {
+        writeString(out, 1, response.endToEndId());
+        writeInt64(out, 2, response.amount() == null ? null : Money.of(response.amount()).cents());
+        writeInt64(out, 3, response.toWalletId());
+        writeEnum(out, 4, statusNumber(response.status()));
+        writeTimestamp(out, 5, response.createdAt());
+    }
+
+    static PixTransferResponse readTransferResponse(CodedInputStream in) throws IOException {
+        String endToEndId = null;
+        BigDecimal amount = null;
+        Long toWalletId = null;
+        PixTransferStatus status = null;
+        Instant createdAt = null;
+
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            switch (tag) {
+                case (1 << 3) | LENGTH_DELIMITED -> endToEndId = in.readStringRequireUtf8();
+                case (2 << 3) | VARINT -> amount = Money.ofCents(in.readInt64()).toBigDecimal();
+                case (3 << 3) | VARINT -> toWalletId = in.readInt64();
+                case (4 << 3) | VARINT -> status = status(in.readEnum());
+                case (5 << 3) | LENGTH_DELIMITED -> createdAt = readTimestamp(in);
+                default -> skip(in, tag);
+            }
+        }
+        return new PixTransferResponse(endToEndId, amount, toWalletId, status, createdAt);
+    }
+
+    // google.protobuf.Timestamp { int64 seconds = 1; int32 nanos = 2; }
+
+    private static void writeTimestamp(CodedOutputStream out, int field, Instant instant) throws IOException {
+        if (instant == null) {
+            return;
+        }
+        long seconds = instant.getEpochSecond();
+        int nanos = instant.getNano();
+
+        int size = (seconds != 0 ? CodedOutputStream.computeInt64Size(1, seconds) : 0)
+                + (nanos != 0 ? CodedOutputStream.computeInt32Size(2, nanos) : 0);
+        out.writeTag(field, LENGTH_DELIMITED);
+        out.writeUInt32NoTag(size);
+        if (seconds != 0) {
+            out.writeInt64(1, seconds);
+        }
+        if (nanos != 0) {
+            out.writeInt32(2, nanos);
+        }
+    }
+
+    private static Instant readTimestamp(CodedInputStream in) throws IOException {
+        int limit = in.pushLimit(in.readRawVarint32());
+        long seconds = 0;
+        int nanos = 0;
+
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            switch (tag) {
+                case (1 << 3) | VARINT -> seconds = in.readInt64();
+                case (2 << 3) | VARINT -> nanos = in.readInt32();
+                default -> skip(in, tag);
+            }
+        }
+        in.popLimit(limit);
+        return Instant.ofEpochSecond(seconds, nanos);
+    }
+
+    // proto3: valores padrão (vazio/zero) não são escritos
+
+    private static void writeString(CodedOutputStream out, int field, String value) throws IOException {
+        if (value != null && !value.isEmpty()) {
+            out.writeString(field, value);
+        }
+    }
+
+    private static void writeInt64(CodedOutputStream out, int field, Long value) throws IOException {
+        if (value != null && value != 0) {
+            out.writeInt64(field, value);
+        }
+    }
+
+    private static void writeEnum(CodedOutputStream out, int field, int number) throws IOException {
+        if (number != 0) {
+            out.writeEnum(field, number);
+        }
+    }
+
+    private static void skip(CodedInputStream in, int tag) throws IOException {
+        if (!in.skipField(tag)) {
+            throw new InvalidProtocolBufferException("Unexpected end-group tag");
+        }
+    }
+
+    // Números dos enums fixados no .proto; não dependem da ordem das constantes Java
+
+    private static int statusNumber(PixTransferStatus status) {
+        if (status == null) {
+            return 0;
+        }
+        return switch (status) {
+            case PENDING -> 1;
+            case CONFIRMED -> 2;
+            case REJECTED -> 3;
+            case EXPIRED -> 4;
+        };
+    }
+
+    private static PixTransferStatus status(int number) {
+        return switch (number) {
+            case 1 -> PixTransferStatus.PENDING;
+            case 2 -> PixTransferStatus.CONFIRMED;
+            case 3 -> PixTransferStatus.REJECTED;
+            case 4 -> PixTransferStatus.EXPIRED;
+            default -> null;
+        };
+    }
+
+    private static int keyTypeNumber(PixKeyType type) {
+        if (type == null) {
+            return 0;
+        }
+        return switch (type) {
+            case EVP -> 1;
+            case EMAIL -> 2;
+            case PHONE -> 3;
+            case CPF -> 4;
+            case CNPJ -> 5;
+        };
+    }
+
+    private static PixKeyType keyType(int number) {
+        return switch (number) {
+            case 1 -> PixKeyType.EVP;
+            case 2 -> PixKeyType.EMAIL;
+            case 3 -> PixKeyType.PHONE;
+            case 4 -> PixKeyType.CPF;
+            case 5 -> PixKeyType.CNPJ;
+            default -> null;
+        };
+    }
+}
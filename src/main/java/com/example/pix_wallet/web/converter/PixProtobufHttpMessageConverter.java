@@ -0,0 +1,44 @@
+package com.example.pix_wallet.web.converter;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * {@code application/x-protobuf} para os DTOs do PSP, via {@link PixProtobufCodec}.
+ */
+public class PixProtobufHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "x-protobuf");
+
+    public PixProtobufHttpMessageConverter() {
+        super(APPLICATION_PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return PixProtobufCodec.supports(clazz);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        try {
+            return PixProtobufCodec.read(clazz, CodedInputStream.newInstance(inputMessage.getBody()));
+        } catch (IOException | RuntimeException e) {
+            throw new HttpMessageNotReadableException("Invalid protobuf payload: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object value, HttpOutputMessage outputMessage) throws IOException {
+        CodedOutputStream out = CodedOutputStream.newInstance(outputMessage.getBody());
+        PixProtobufCodec.write(value, out);
+        out.flush();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.pix_wallet.web.converter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Corpos de erro ({@code Map}/{@code ErrorResponse}) não têm representação Protobuf. Para um cliente que aceita
+ * apenas {@code application/x-protobuf}, o Content-Type JSON é definido antes da escrita: o Spring usa o tipo já
+ * presente na resposta em vez de negociar, e o PSP recebe o 404/409/422/500 com corpo JSON em vez de um 406.
+ * Roda antes dos demais resolvers e devolve {@code null}: quem trata a exceção continua sendo o GlobalExceptionHandler.
+ */
+public class ProtobufErrorFallback implements HandlerExceptionResolver {
+
+    @Override
+    public ModelAndView resolveException(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            Object handler,
+            Exception ex
+    ) {
+        // Resposta de sucesso sem representação Protobuf continua sendo 406
+        if (!(ex instanceof HttpMediaTypeNotAcceptableException)) {
+            useJsonIfOnlyProtobufAccepted(request, response);
+        }
+        return null;
+    }
+
+    public static void useJsonIfOnlyProtobufAccepted(HttpServletRequest request, HttpServletResponse response) {
+        if (acceptsOnlyProtobuf(request)) {
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        }
+    }
+
+    static boolean acceptsOnlyProtobuf(HttpServletRequest request) {
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(Collections.list(request.getHeaders(HttpHeaders.ACCEPT)));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+
+        boolean protobuf = false;
+        for (MediaType type : accepted) {
+            // */*, application/json, application/cbor...: a negociação normal já encontra um conversor
+            if (type.isCompatibleWith(MediaType.APPLICATION_JSON) || type.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                return false;
+            }
+            protobuf |= type.isCompatibleWith(PixProtobufHttpMessageConverter.APPLICATION_PROTOBUF);
+        }
+        return protobuf;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.pix_wallet.web.dto;
+
+import com.example.pix_wallet.domain.dto.BalanceSeriesPoint;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+public record BalanceSeriesResponse(
+        Long walletId,
+        Instant from,
+        Instant to,
+        Duration step,
+        List<BalanceSeriesPoint> points
+) {}
@@ -0,0 +1,7 @@
+package com.example.pix_wallet.web.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+public record BalanceSlotsRequest(@Min(0) @Max(64) int slots) {
+}
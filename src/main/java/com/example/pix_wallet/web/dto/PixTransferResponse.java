@@ -1,5 +1,7 @@
 package com.example.pix_wallet.web.dto;
 
+import com.example.pix_wallet.domain.dto.PixTransferSummary;
+import com.example.pix_wallet.domain.model.EndToEndIdCodec;
 import com.example.pix_wallet.domain.model.PixTransfer;
 import com.example.pix_wallet.domain.model.PixTransferStatus;
 
@@ -15,12 +17,21 @@ public record PixTransferResponse(
 ) {
     public static PixTransferResponse from(PixTransfer transfer) {
         return new PixTransferResponse(
-                transfer.getEndToEndId(),
-                transfer.getAmount(),
+                EndToEndIdCodec.format(transfer.getEndToEndId()),
+                transfer.getAmount().toBigDecimal(),
                 transfer.getToWallet().getId(),
                 transfer.getStatus(),
                 transfer.getCreatedAt()
         );
     }
-}
 
+    public static PixTransferResponse from(PixTransferSummary transfer) {
+        return new PixTransferResponse(
+                EndToEndIdCodec.format(transfer.endToEndId()),
+                transfer.amount().toBigDecimal(),
+                transfer.toWalletId(),
+                transfer.status(),
+                transfer.createdAt()
+        );
+    }
+}
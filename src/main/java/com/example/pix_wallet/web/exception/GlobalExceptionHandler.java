@@ -5,7 +5,9 @@ import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.time.Instant;
 import java.util.Map;
@@ -44,6 +46,26 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(TransferConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Map<String, Object> handleTransferConflict(TransferConflictException ex) {
+        return Map.of(
+                "timestamp", Instant.now(),
+                "status", HttpStatus.CONFLICT.value(),
+                "error", ex.getMessage()
+        );
+    }
+
+    @ExceptionHandler(InvalidBalanceSeriesException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, Object> handleInvalidBalanceSeries(InvalidBalanceSeriesException ex) {
+        return Map.of(
+                "timestamp", Instant.now(),
+                "status", HttpStatus.BAD_REQUEST.value(),
+                "error", ex.getMessage()
+        );
+    }
+
     @ExceptionHandler(PixKeyAlreadyExistsException.class)
     @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
     public Map<String, Object> handlePixKeyAlreadyExists(PixKeyAlreadyExistsException ex) {
@@ -67,56 +89,64 @@ public class GlobalExceptionHandler {
         );
     }
 
-    @ExceptionHandler(TransferNotFoundException.class)
-    public ResponseEntity<Map<String, Object>> handleTransferNotFound(
-            TransferNotFoundException ex,
+    @ExceptionHandler(PixTransferNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public Map<String, Object> handlePixTransferNotFound(PixTransferNotFoundException ex) {
+        return Map.of(
+                "timestamp", Instant.now(),
+                "status", HttpStatus.NOT_FOUND.value(),
+                "error", ex.getMessage()
+        );
+    }
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<Map<String, Object>> handleValidationException(
+            MethodArgumentNotValidException ex,
             HttpServletRequest request
     ) {
-        System.out.println("🔴 GlobalExceptionHandler.handleTransferNotFound() CALLED!");
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(
+        String message = ex.getBindingResult().getFieldErrors().stream()
+                .map(error -> error.getField() + ": " + error.getDefaultMessage())
+                .reduce((msg1, msg2) -> msg1 + ", " + msg2)
+                .orElse("Validation failed");
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
                 Map.of(
                         "timestamp", Instant.now(),
-                        "status", 404,
-                        "error", "Transfer Not Found",
-                        "message", ex.getMessage(),
+                        "status", 400,
+                        "error", "Validation Error",
+                        "message", message,
                         "path", request.getRequestURI()
                 )
         );
     }
 
-    @ExceptionHandler(WebhookEventIgnoredException.class)
-    public ResponseEntity<Map<String, Object>> handleWebhookEventIgnored(
-            WebhookEventIgnoredException ex,
+    @ExceptionHandler({MissingServletRequestParameterException.class, MethodArgumentTypeMismatchException.class})
+    public ResponseEntity<Map<String, Object>> handleInvalidRequestParameter(
+            Exception ex,
             HttpServletRequest request
     ) {
-        System.out.println("🟡 GlobalExceptionHandler.handleWebhookEventIgnored() CALLED!");
-        return ResponseEntity.status(HttpStatus.CONFLICT).body(
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
                 Map.of(
                         "timestamp", Instant.now(),
-                        "status", 409,
-                        "error", "Webhook Event Ignored",
+                        "status", 400,
+                        "error", "Invalid Request Parameter",
                         "message", ex.getMessage(),
                         "path", request.getRequestURI()
                 )
         );
     }
 
-    @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Map<String, Object>> handleValidationException(
-            MethodArgumentNotValidException ex,
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, Object>> handleIllegalArgument(
+            IllegalArgumentException ex,
             HttpServletRequest request
     ) {
-        String message = ex.getBindingResult().getFieldErrors().stream()
-                .map(error -> error.getField() + ": " + error.getDefaultMessage())
-                .reduce((msg1, msg2) -> msg1 + ", " + msg2)
-                .orElse("Validation failed");
-
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
                 Map.of(
                         "timestamp", Instant.now(),
                         "status", 400,
-                        "error", "Validation Error",
-                        "message", message,
+                        "error", "Invalid Argument",
+                        "message", String.valueOf(ex.getMessage()),
                         "path", request.getRequestURI()
                 )
         );
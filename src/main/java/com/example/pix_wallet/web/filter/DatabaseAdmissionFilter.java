@@ -0,0 +1,106 @@
+package com.example.pix_wallet.web.filter;
+
+import com.example.pix_wallet.web.dto.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limita quantas requisições chegam ao banco ao mesmo tempo. Com threads virtuais não há mais o pool do Tomcat
+ * segurando a fila: sem este limite, milhares de requisições esperariam por conexão dentro do Hikari
+ * (até o connection-timeout) segurando locks e memória. Acima do limite a requisição espera no máximo
+ * {@code max-wait} e recebe 503 com Retry-After. Só é registrado com {@code pix-wallet.db-admission.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "pix-wallet.db-admission", name = "enabled", havingValue = "true")
+public class DatabaseAdmissionFilter extends OncePerRequestFilter {
+
+    private final DatabaseAdmissionProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Semaphore permits;
+    private final Counter rejected;
+    private final Timer wait;
+
+    public DatabaseAdmissionFilter(
+            DatabaseAdmissionProperties properties,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry
+    ) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.permits = new Semaphore(properties.maxConcurrent(), true);
+
+        this.rejected = Counter.builder("pix_wallet.db_admission.rejected")
+                .description("Requests answered with 503 because the admission limit was reached")
+                .register(meterRegistry);
+        this.wait = Timer.builder("pix_wallet.db_admission.wait")
+                .description("Time spent waiting for an admission permit")
+                .register(meterRegistry);
+        Gauge.builder("pix_wallet.db_admission.in_flight", permits,
+                        semaphore -> properties.maxConcurrent() - semaphore.availablePermits())
+                .description("Requests currently admitted")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean admitted;
+        try {
+            admitted = permits.tryAcquire(properties.maxWait().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        wait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (!admitted) {
+            reject(request, response);
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        rejected.increment();
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ErrorResponse.create(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                "Too many concurrent requests, retry shortly",
+                request.getRequestURI()
+        ));
+    }
+}
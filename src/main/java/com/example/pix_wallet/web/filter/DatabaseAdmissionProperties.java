@@ -0,0 +1,22 @@
+package com.example.pix_wallet.web.filter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "pix-wallet.db-admission")
+public record DatabaseAdmissionProperties(
+        // false = filtro não registrado (threads de plataforma já limitam pelo tamanho do pool do Tomcat)
+        @DefaultValue("false")
+        boolean enabled,
+
+        // Requisições simultâneas admitidas; mantenha igual ao maximum-pool-size do Hikari
+        @DefaultValue("10")
+        int maxConcurrent,
+
+        // Espera por uma vaga antes de responder 503
+        @DefaultValue("200ms")
+        Duration maxWait
+) {
+}
@@ -0,0 +1,19 @@
+-- Inbox de eventos de webhook: a API só grava o evento e responde 202; workers aplicam em lotes
+CREATE SEQUENCE IF NOT EXISTS webhook_inbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE webhook_inbox (
+    id BIGINT PRIMARY KEY,
+    end_to_end_id VARCHAR(255) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    event_timestamp TIMESTAMP NOT NULL,
+    received_at TIMESTAMP NOT NULL,
+    state VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    available_at TIMESTAMP NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    processed_at TIMESTAMP,
+    last_error VARCHAR(500)
+);
+
+-- Fila de trabalho: só os pendentes, na ordem de chegada
+CREATE INDEX idx_webhook_inbox_pending
+ON webhook_inbox (available_at, id) WHERE state = 'PENDING';
@@ -0,0 +1,22 @@
+-- endToEndId e chaves EVP passam a ser uuid nativo (16 bytes) em vez de texto (40/36 caracteres)
+-- O formato externo "E2E-<uuid>" é montado só na API (EndToEndIdCodec)
+
+-- pix_transfer.end_to_end_id: "E2E-<uuid>" -> uuid; o índice único e o de V4 são reconstruídos pelo ALTER
+ALTER TABLE pix_transfer
+    ALTER COLUMN end_to_end_id TYPE UUID USING CAST(SUBSTRING(end_to_end_id FROM 5) AS UUID);
+
+-- pix_key: EVPs saem de value (texto) para a nova coluna evp (uuid)
+ALTER TABLE pix_key ADD COLUMN evp UUID;
+ALTER TABLE pix_key ALTER COLUMN value DROP NOT NULL;
+
+UPDATE pix_key
+SET evp = CAST(value AS UUID),
+    value = NULL
+WHERE type = 'EVP';
+
+ALTER TABLE pix_key ADD CONSTRAINT uk_pix_key_evp UNIQUE (evp);
+
+-- Exatamente uma das colunas preenchida, conforme o tipo
+ALTER TABLE pix_key ADD CONSTRAINT ck_pix_key_value_or_evp
+    CHECK ((type = 'EVP' AND evp IS NOT NULL AND value IS NULL)
+        OR (type <> 'EVP' AND evp IS NULL AND value IS NOT NULL));
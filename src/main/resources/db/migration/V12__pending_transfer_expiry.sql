@@ -0,0 +1,5 @@
+-- Transferências PENDING sem retorno do PSP passam a EXPIRED (PixTransferExpiryJob)
+
+-- Índice parcial: só as pendentes, na ordem em que a varredura as reivindica; o restante da tabela não entra
+CREATE INDEX idx_pix_transfer_pending
+ON pix_transfer (created_at, id) WHERE status = 'PENDING';
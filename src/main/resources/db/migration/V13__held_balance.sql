@@ -0,0 +1,10 @@
+-- Reserva de saldo na iniciação da transferência PIX: disponível = balance - held_balance
+ALTER TABLE wallet
+ADD COLUMN held_balance NUMERIC(19, 2) NOT NULL DEFAULT 0;
+
+ALTER TABLE wallet
+ADD CONSTRAINT chk_wallet_held_balance CHECK (held_balance >= 0 AND held_balance <= balance);
+
+-- Transferências já existentes não têm reserva: a confirmação verifica o saldo como antes
+ALTER TABLE pix_transfer
+ADD COLUMN funds_held BOOLEAN NOT NULL DEFAULT FALSE;
@@ -0,0 +1,8 @@
+-- Histórico paginado por keyset em (created_at, id): o índice cobre filtro, ordenação e colunas da página,
+-- permitindo Index Only Scan (as páginas do heap só são visitadas enquanto o visibility map não estiver em dia)
+CREATE INDEX IF NOT EXISTS idx_wallet_transaction_wallet_created_id
+ON wallet_transaction (wallet_id, created_at, id)
+INCLUDE (type, amount, balance_after);
+
+-- O novo índice tem (wallet_id, created_at) como prefixo e atende as consultas de saldo histórico
+DROP INDEX IF EXISTS idx_wallet_transaction_wallet_created_at;
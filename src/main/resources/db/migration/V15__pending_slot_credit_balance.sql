@@ -0,0 +1,7 @@
+-- Créditos em slot (carteiras quentes) entram no ledger sem saldo corrente; a consolidação grava o valor definitivo
+ALTER TABLE wallet_transaction
+ALTER COLUMN balance_after DROP NOT NULL;
+
+-- Só os lançamentos pendentes, para a consolidação achar as carteiras sem varrer o ledger
+CREATE INDEX idx_wallet_transaction_pending_balance
+ON wallet_transaction (wallet_id) WHERE balance_after IS NULL;
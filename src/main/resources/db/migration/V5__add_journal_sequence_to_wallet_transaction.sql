@@ -0,0 +1,7 @@
+-- Sequência do journal do balance engine em memória
+-- O maior valor persistido é a marca d'água usada na recuperação após crash
+ALTER TABLE wallet_transaction
+ADD COLUMN journal_sequence BIGINT;
+
+CREATE UNIQUE INDEX idx_wallet_transaction_journal_sequence
+ON wallet_transaction (journal_sequence);
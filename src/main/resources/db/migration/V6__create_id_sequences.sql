@@ -0,0 +1,18 @@
+-- Sequências para geração de IDs em bloco (pooled optimizer do Hibernate, allocationSize = 50)
+-- Sem IDENTITY o Hibernate consegue agrupar os INSERTs em lotes JDBC
+CREATE SEQUENCE IF NOT EXISTS wallet_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS wallet_transaction_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS pix_key_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS pix_transfer_seq START WITH 1 INCREMENT BY 50;
+
+-- Posiciona as sequências após os IDs já existentes
+SELECT setval('wallet_seq', COALESCE((SELECT MAX(id) FROM wallet), 0) + 1, false);
+SELECT setval('wallet_transaction_seq', COALESCE((SELECT MAX(id) FROM wallet_transaction), 0) + 1, false);
+SELECT setval('pix_key_seq', COALESCE((SELECT MAX(id) FROM pix_key), 0) + 1, false);
+SELECT setval('pix_transfer_seq', COALESCE((SELECT MAX(id) FROM pix_transfer), 0) + 1, false);
+
+-- As colunas id deixam de depender do default IDENTITY/serial
+ALTER TABLE wallet ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE wallet_transaction ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE pix_key ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE pix_transfer ALTER COLUMN id DROP IDENTITY IF EXISTS;
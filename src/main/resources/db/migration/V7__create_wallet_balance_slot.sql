@@ -0,0 +1,21 @@
+-- Carteiras quentes: o saldo é dividido em N slots para espalhar a contenção dos créditos
+-- 0 = carteira comum (todo o saldo em wallet.balance)
+ALTER TABLE wallet
+ADD COLUMN balance_slot_count INTEGER NOT NULL DEFAULT 0;
+
+CREATE SEQUENCE IF NOT EXISTS wallet_balance_slot_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE wallet_balance_slot (
+    id BIGINT PRIMARY KEY,
+    wallet_id BIGINT NOT NULL REFERENCES wallet(id),
+    slot_index INTEGER NOT NULL,
+    balance NUMERIC(19,2) NOT NULL DEFAULT 0,
+    version BIGINT
+);
+
+CREATE UNIQUE INDEX idx_wallet_balance_slot_wallet_slot
+ON wallet_balance_slot (wallet_id, slot_index);
+
+-- Consolidação procura apenas slots com saldo pendente
+CREATE INDEX idx_wallet_balance_slot_pending
+ON wallet_balance_slot (wallet_id) WHERE balance > 0;
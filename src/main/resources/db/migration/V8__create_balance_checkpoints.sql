@@ -0,0 +1,21 @@
+-- Índice de suporte às consultas de saldo histórico (último lançamento antes de um instante e faixas de tempo)
+CREATE INDEX IF NOT EXISTS idx_wallet_transaction_wallet_created_at
+ON wallet_transaction (wallet_id, created_at);
+
+-- Checkpoints diários (UTC) de saldo por carteira
+CREATE SEQUENCE IF NOT EXISTS wallet_balance_checkpoint_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE wallet_balance_checkpoint (
+    id BIGINT PRIMARY KEY,
+    wallet_id BIGINT NOT NULL REFERENCES wallet(id),
+    period_start TIMESTAMP NOT NULL,
+    period_end TIMESTAMP NOT NULL,
+    open_balance NUMERIC(19,2) NOT NULL,
+    close_balance NUMERIC(19,2) NOT NULL,
+    min_balance NUMERIC(19,2) NOT NULL,
+    max_balance NUMERIC(19,2) NOT NULL,
+    transaction_count BIGINT NOT NULL
+);
+
+CREATE UNIQUE INDEX idx_wallet_balance_checkpoint_wallet_period
+ON wallet_balance_checkpoint (wallet_id, period_start);
@@ -0,0 +1,24 @@
+-- Chaves PIX passam a ser gravadas na forma canônica (ver PixKeyNormalizer)
+-- Email em minúsculas; ignora linhas cuja forma canônica já pertence a outra chave (resolver manualmente)
+UPDATE pix_key k
+SET value = LOWER(k.value)
+WHERE k.type = 'EMAIL'
+  AND k.value <> LOWER(k.value)
+  AND NOT EXISTS (SELECT 1 FROM pix_key o WHERE o.value = LOWER(k.value));
+
+-- Telefone em E.164, sempre com '+'. Sem '+', 10 ou 11 dígitos são número nacional (DDD + número):
+-- recebem o código do Brasil, não viram um número +1
+UPDATE pix_key k
+SET value = '+55' || k.value
+WHERE k.type = 'PHONE'
+  AND k.value NOT LIKE '+%'
+  AND LENGTH(k.value) IN (10, 11)
+  AND NOT EXISTS (SELECT 1 FROM pix_key o WHERE o.value = '+55' || k.value);
+
+-- Os demais já trazem o código do país
+UPDATE pix_key k
+SET value = '+' || k.value
+WHERE k.type = 'PHONE'
+  AND k.value NOT LIKE '+%'
+  AND LENGTH(k.value) > 11
+  AND NOT EXISTS (SELECT 1 FROM pix_key o WHERE o.value = '+' || k.value);
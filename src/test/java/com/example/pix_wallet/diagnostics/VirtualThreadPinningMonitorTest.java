@@ -0,0 +1,46 @@
+package com.example.pix_wallet.diagnostics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadPinningMonitorTest {
+
+    @Test
+    void shouldClassifyByInnermostKnownFrame() {
+        assertEquals("jdbc", VirtualThreadPinningMonitor.classify(List.of(
+                "java.net.Socket.read",
+                "org.postgresql.core.PGStream.receiveChar",
+                "org.hibernate.engine.jdbc.internal.ResultSetReturnImpl.executeQuery",
+                "com.example.pix_wallet.domain.service.WalletQueryService.getById"
+        )));
+        assertEquals("pool", VirtualThreadPinningMonitor.classify(List.of(
+                "com.zaxxer.hikari.pool.HikariPool.getConnection",
+                "org.hibernate.resource.jdbc.internal.LogicalConnectionManagedImpl.getPhysicalConnection"
+        )));
+        assertEquals("hibernate", VirtualThreadPinningMonitor.classify(List.of(
+                "org.hibernate.internal.SessionImpl.flush",
+                "com.example.pix_wallet.domain.service.WalletOperationService.credit"
+        )));
+        assertEquals("application", VirtualThreadPinningMonitor.classify(List.of(
+                "com.example.pix_wallet.domain.engine.BalanceFlusher.flush"
+        )));
+        assertEquals("other", VirtualThreadPinningMonitor.classify(List.of("java.lang.Object.wait")));
+        assertEquals("other", VirtualThreadPinningMonitor.classify(List.of()));
+    }
+
+    @Test
+    void shouldNotStartRecordingWhenDisabled() {
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(
+                new PinningMonitorProperties(false, Duration.ofMillis(20)), new SimpleMeterRegistry());
+
+        monitor.start();
+
+        assertFalse(monitor.isRunning());
+        monitor.stop();
+    }
+}
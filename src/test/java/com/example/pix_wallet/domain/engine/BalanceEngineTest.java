@@ -0,0 +1,182 @@
+package com.example.pix_wallet.domain.engine;
+
+import com.example.pix_wallet.domain.exception.InsufficientBalanceException;
+import com.example.pix_wallet.domain.exception.WalletNotFoundException;
+import com.example.pix_wallet.domain.factory.WalletTestFactory;
+import com.example.pix_wallet.domain.model.Money;
+import com.example.pix_wallet.domain.model.TransactionType;
+import com.example.pix_wallet.domain.model.WalletTransaction;
+import com.example.pix_wallet.domain.repository.WalletRepository;
+import com.example.pix_wallet.domain.repository.WalletTransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceEngineTest {
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @Mock
+    private WalletTransactionRepository transactionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path journalDir;
+
+    private BalanceEngine engine;
+
+    @AfterEach
+    void tearDown() {
+        if (engine != null) {
+            engine.stop();
+        }
+    }
+
+    @Test
+    void shouldCreditAndDebitInMemoryAndFlushOnStop() {
+        when(walletRepository.findById(1L))
+                .thenReturn(Optional.of(WalletTestFactory.validWallet()));
+
+        engine = startEngine();
+
+        assertEquals(Money.of("100.00"), engine.credit(1L, Money.of("100.00")));
+        assertEquals(Money.of("70.00"), engine.debit(1L, Money.of("30.00")));
+        assertEquals(Optional.of(Money.of("70.00")), engine.balanceOf(1L));
+
+        engine.stop();
+        engine = null;
+
+        verify(walletRepository).overwriteBalance(1L, Money.of("70.00"));
+        List<WalletTransaction> ledger = captureLedger();
+        assertEquals(2, ledger.size());
+        assertEquals(TransactionType.CREDIT, ledger.get(0).getType());
+        assertEquals(TransactionType.DEBIT, ledger.get(1).getType());
+        assertEquals(1L, ledger.get(0).getJournalSequence());
+        assertEquals(2L, ledger.get(1).getJournalSequence());
+    }
+
+    @Test
+    void shouldKeepInsufficientBalanceRuleOfWallet() {
+        when(walletRepository.findById(1L))
+                .thenReturn(Optional.of(WalletTestFactory.walletWithBalance(Money.of("20.00"))));
+
+        engine = startEngine();
+
+        assertThrows(
+                InsufficientBalanceException.class,
+                () -> engine.debit(1L, Money.of("50.00"))
+        );
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> engine.credit(1L, Money.of("-1.00"))
+        );
+        assertEquals(Optional.of(Money.of("20.00")), engine.balanceOf(1L));
+    }
+
+    @Test
+    void shouldThrowWhenWalletNotFound() {
+        when(walletRepository.findById(99L)).thenReturn(Optional.empty());
+
+        engine = startEngine();
+
+        assertThrows(
+                WalletNotFoundException.class,
+                () -> engine.credit(99L, Money.of("10.00"))
+        );
+    }
+
+    @Test
+    void shouldReplayUnflushedJournalOnRecovery() {
+        when(walletRepository.findById(1L))
+                .thenReturn(Optional.of(WalletTestFactory.validWallet()));
+        when(walletRepository.overwriteBalance(any(), any()))
+                .thenThrow(new IllegalStateException("database unavailable"));
+
+        BalanceEngine crashed = startEngine();
+        crashed.credit(1L, Money.of("100.00"));
+        crashed.credit(1L, Money.of("5.00"));
+        crashed.stop();
+
+        reset(walletRepository, transactionRepository);
+
+        engine = startEngine();
+
+        verify(walletRepository).overwriteBalance(1L, Money.of("105.00"));
+        List<WalletTransaction> ledger = captureLedger();
+        assertEquals(2, ledger.size());
+        assertEquals(Money.of("105.00"), ledger.get(1).getBalanceAfter());
+    }
+
+    @Test
+    void shouldNotReplayRecordsAlreadyPersisted() {
+        when(walletRepository.findById(1L))
+                .thenReturn(Optional.of(WalletTestFactory.validWallet()));
+
+        BalanceEngine previous = startEngine();
+        previous.credit(1L, Money.of("10.00"));
+        previous.stop();
+
+        reset(walletRepository, transactionRepository);
+        when(transactionRepository.findMaxJournalSequence()).thenReturn(Optional.of(1L));
+
+        engine = startEngine();
+
+        verify(walletRepository, never()).overwriteBalance(any(), any());
+        verify(transactionRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void shouldRefuseToStartWhileWalletsHaveHeldFunds() {
+        when(walletRepository.existsByHeldBalanceGreaterThan(Money.ZERO)).thenReturn(true);
+
+        assertThrows(IllegalStateException.class, this::startEngine);
+        verifyNoInteractions(transactionRepository);
+    }
+
+    private BalanceEngine startEngine() {
+        BalanceEngineProperties properties = new BalanceEngineProperties(
+                true,
+                2,
+                journalDir.resolve("balance-journal.log"),
+                16,
+                DataSize.ofMegabytes(1),
+                Duration.ofHours(1),
+                100
+        );
+        BalanceEngine balanceEngine = new BalanceEngine(
+                properties,
+                walletRepository,
+                transactionRepository,
+                transactionManager
+        );
+        balanceEngine.start();
+        return balanceEngine;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<WalletTransaction> captureLedger() {
+        ArgumentCaptor<List<WalletTransaction>> captor = ArgumentCaptor.forClass(List.class);
+        verify(transactionRepository, atLeastOnce()).saveAll(captor.capture());
+        return captor.getAllValues().stream().flatMap(List::stream).toList();
+    }
+}
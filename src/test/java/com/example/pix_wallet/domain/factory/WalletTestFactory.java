@@ -1,8 +1,8 @@
 package com.example.pix_wallet.domain.factory;
 
+import com.example.pix_wallet.domain.model.Money;
 import com.example.pix_wallet.domain.model.Wallet;
-
-import java.math.BigDecimal;
+import org.springframework.test.util.ReflectionTestUtils;
 
 public class WalletTestFactory {
 
@@ -10,9 +10,18 @@ public class WalletTestFactory {
         return Wallet.create();
     }
 
-    public static Wallet walletWithBalance(BigDecimal balance) {
+    public static Wallet walletWithBalance(Money balance) {
         Wallet wallet = Wallet.create();
         wallet.credit(balance);
         return wallet;
     }
+
+    /**
+     * Carteira com id atribuído, como se já estivesse persistida; saldo zero cria a carteira vazia.
+     */
+    public static Wallet walletWithId(Long id, Money balance) {
+        Wallet wallet = balance.isPositive() ? walletWithBalance(balance) : validWallet();
+        ReflectionTestUtils.setField(wallet, "id", id);
+        return wallet;
+    }
 }
@@ -0,0 +1,29 @@
+package com.example.pix_wallet.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EndToEndIdCodecTest {
+
+    @Test
+    void shouldRoundTripExternalFormat() {
+        UUID id = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+
+        assertEquals("E2E-123e4567-e89b-12d3-a456-426614174000", EndToEndIdCodec.format(id));
+        assertEquals(id, EndToEndIdCodec.parseOrNull("E2E-123e4567-e89b-12d3-a456-426614174000"));
+        assertEquals(id, EndToEndIdCodec.parseOrNull("E2E-123E4567-E89B-12D3-A456-426614174000"));
+    }
+
+    @Test
+    void shouldRejectMalformedValues() {
+        assertNull(EndToEndIdCodec.parseOrNull(null));
+        assertNull(EndToEndIdCodec.parseOrNull("E2E-123456"));
+        assertNull(EndToEndIdCodec.parseOrNull("123e4567-e89b-12d3-a456-426614174000"));
+        assertNull(EndToEndIdCodec.parseOrNull("XYZ-123e4567-e89b-12d3-a456-426614174000"));
+        assertNull(EndToEndIdCodec.parseOrNull("E2E-123e4567-e89b-12d3-a456-42661417400g"));
+        assertNull(EndToEndIdCodec.parseOrNull("E2E-123e4567+e89b-12d3-a456-426614174000"));
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.pix_wallet.domain.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void shouldConvertFromAndToBigDecimal() {
+        Money money = Money.of(new BigDecimal("10.5"));
+
+        assertEquals(1050, money.cents());
+        assertEquals(new BigDecimal("10.50"), money.toBigDecimal());
+    }
+
+    @Test
+    void shouldRejectMoreThanTwoDecimalPlaces() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> Money.of(new BigDecimal("10.001"))
+        );
+    }
+
+    @Test
+    void shouldAddAndSubtractInCents() {
+        Money result = Money.of("100.10").plus(Money.of("0.90")).minus(Money.of("1.00"));
+
+        assertEquals(Money.of("100.00"), result);
+        assertTrue(Money.of("0.01").isPositive());
+        assertTrue(Money.of("0.99").isLessThan(Money.of("1.00")));
+    }
+
+    @Test
+    void shouldThrowOnOverflow() {
+        Money max = Money.ofCents(Long.MAX_VALUE);
+
+        assertThrows(ArithmeticException.class, () -> max.plus(Money.ofCents(1)));
+        assertThrows(ArithmeticException.class, () -> Money.ofCents(Long.MIN_VALUE).negate());
+    }
+
+    @Test
+    void shouldSerializeAsDecimalNumber() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        assertEquals("12.30", objectMapper.writeValueAsString(Money.of("12.3")));
+        assertEquals(Money.of("12.30"), objectMapper.readValue("12.3", Money.class));
+    }
+}
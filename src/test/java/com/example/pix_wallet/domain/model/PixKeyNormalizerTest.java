@@ -0,0 +1,94 @@
+package com.example.pix_wallet.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PixKeyNormalizerTest {
+
+    @Test
+    void shouldLowercaseEmail() {
+        assertEquals("foo@x.com", PixKeyNormalizer.normalize(PixKeyType.EMAIL, "Foo@X.com"));
+    }
+
+    @Test
+    void shouldReturnSameInstanceWhenAlreadyCanonical() {
+        String email = "user@email.com";
+        String phone = "+5511999998888";
+        String cpf = "52998224725";
+
+        assertSame(email, PixKeyNormalizer.normalize(PixKeyType.EMAIL, email));
+        assertSame(phone, PixKeyNormalizer.normalize(PixKeyType.PHONE, phone));
+        assertSame(cpf, PixKeyNormalizer.normalize(PixKeyType.CPF, cpf));
+    }
+
+    @Test
+    void shouldRejectInvalidEmail() {
+        assertNull(PixKeyNormalizer.normalizeOrNull(PixKeyType.EMAIL, "user.email.com"));
+        assertNull(PixKeyNormalizer.normalizeOrNull(PixKeyType.EMAIL, "user@@email.com"));
+        assertNull(PixKeyNormalizer.normalizeOrNull(PixKeyType.EMAIL, "user@email"));
+        assertNull(PixKeyNormalizer.normalizeOrNull(PixKeyType.EMAIL, "us er@email.com"));
+        assertNull(PixKeyNormalizer.normalizeOrNull(PixKeyType.EMAIL, "@email.com"));
+        assertNull(PixKeyNormalizer.normalizeOrNull(PixKeyType.EMAIL, "a".repeat(70) + "@email.com"));
+    }
+
+    @Test
+    void shouldWritePhoneInE164() {
+        assertEquals("+5511999998888", PixKeyNormalizer.normalize(PixKeyType.PHONE, "5511999998888"));
+        assertEquals("+5511999998888", PixKeyNormalizer.normalize(PixKeyType.PHONE, "+55 (11) 99999-8888"));
+    }
+
+    @Test
+    void shouldPrefixBrazilCountryCodeForNationalPhone() {
+        assertEquals("+5511987654321", PixKeyNormalizer.normalize(PixKeyType.PHONE, "11987654321"));
+        assertEquals("+5511987654321", PixKeyNormalizer.normalize(PixKeyType.PHONE, "(11) 98765-4321"));
+        assertEquals("+551133334444", PixKeyNormalizer.normalize(PixKeyType.PHONE, "11 3333-4444"));
+        // Com '+' o número já é internacional: nada é acrescentado
+        assertEquals("+12025550123", PixKeyNormalizer.normalize(PixKeyType.PHONE, "+1 202 555 0123"));
+    }
+
+    @Test
+    void shouldRejectInvalidPhone() {
+        assertNull(PixKeyNormalizer.normalizeOrNull(PixKeyType.PHONE, "119999888"));
+        assertNull(PixKeyNormalizer.normalizeOrNull(PixKeyType.PHONE, "+1199999888"));
+        assertNull(PixKeyNormalizer.normalizeOrNull(PixKeyType.PHONE, "+0511999998888"));
+        assertNull(PixKeyNormalizer.normalizeOrNull(PixKeyType.PHONE, "55+11999998888"));
+        assertNull(PixKeyNormalizer.normalizeOrNull(PixKeyType.PHONE, "+551199999888a"));
+        assertNull(PixKeyNormalizer.normalizeOrNull(PixKeyType.PHONE, "+5511999998888123"));
+    }
+
+    @Test
+    void shouldValidateCpfCheckDigits() {
+        assertEquals("52998224725", PixKeyNormalizer.normalize(PixKeyType.CPF, "529.982.247-25"));
+        assertNull(PixKeyNormalizer.normalizeOrNull(PixKeyType.CPF, "529.982.247-26"));
+        assertNull(PixKeyNormalizer.normalizeOrNull(PixKeyType.CPF, "111.111.111-11"));
+        assertNull(PixKeyNormalizer.normalizeOrNull(PixKeyType.CPF, "5299822472"));
+        assertNull(PixKeyNormalizer.normalizeOrNull(PixKeyType.CPF, "529982247250"));
+    }
+
+    @Test
+    void shouldValidateCnpjCheckDigits() {
+        assertEquals("11222333000181", PixKeyNormalizer.normalize(PixKeyType.CNPJ, "11.222.333/0001-81"));
+        assertNull(PixKeyNormalizer.normalizeOrNull(PixKeyType.CNPJ, "11.222.333/0001-82"));
+        assertNull(PixKeyNormalizer.normalizeOrNull(PixKeyType.CNPJ, "00.000.000/0000-00"));
+        assertNull(PixKeyNormalizer.normalizeOrNull(PixKeyType.CNPJ, "11.222.333/0001-8X"));
+    }
+
+    @Test
+    void shouldLowercaseEvp() {
+        assertEquals(
+                "7f0c1f5e-2d6b-4c47-9a51-3f6a8f2b1c9d",
+                PixKeyNormalizer.normalize(PixKeyType.EVP, "7F0C1F5E-2D6B-4C47-9A51-3F6A8F2B1C9D")
+        );
+        assertNull(PixKeyNormalizer.normalizeOrNull(PixKeyType.EVP, "7f0c1f5e2d6b4c479a513f6a8f2b1c9d"));
+    }
+
+    @Test
+    void shouldThrowWithKeyTypeInMessage() {
+        IllegalArgumentException ex = assertThrows(
+                IllegalArgumentException.class,
+                () -> PixKeyNormalizer.normalize(PixKeyType.CPF, "123")
+        );
+        assertEquals("Invalid cpf Pix key", ex.getMessage());
+    }
+}
@@ -4,6 +4,7 @@ import com.example.pix_wallet.domain.factory.WalletTestFactory;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class PixKeyTest {
 
@@ -16,4 +17,29 @@ class PixKeyTest {
         assertEquals(PixKeyType.EMAIL, pixKey.getType());
         assertEquals("user@email.com", pixKey.getValue());
     }
+
+    @Test
+    void shouldStoreNormalizedEmail() {
+        PixKey pixKey = PixKey.createEmail("User@Email.com", WalletTestFactory.validWallet());
+
+        assertEquals("user@email.com", pixKey.getValue());
+    }
+
+    @Test
+    void shouldCreateCpfAndCnpjPixKeys() {
+        Wallet wallet = WalletTestFactory.validWallet();
+
+        assertEquals("52998224725", PixKey.create(PixKeyType.CPF, "529.982.247-25", wallet).getValue());
+        assertEquals("11222333000181", PixKey.create(PixKeyType.CNPJ, "11.222.333/0001-81", wallet).getValue());
+        assertThrows(IllegalArgumentException.class, () -> PixKey.createCpf("529.982.247-26", wallet));
+    }
+
+    @Test
+    void shouldStoreEvpAsUuidAndRenderItAsValue() {
+        PixKey pixKey = PixKey.createEVP(WalletTestFactory.validWallet());
+
+        assertEquals(PixKeyType.EVP, pixKey.getType());
+        assertEquals(pixKey.getEvp().toString(), pixKey.getValue());
+        assertEquals(pixKey.getValue(), PixKeyNormalizer.normalize(PixKeyType.EVP, pixKey.getValue()));
+    }
 }
@@ -1,9 +1,11 @@
 package com.example.pix_wallet.domain.model;
 
 import com.example.pix_wallet.domain.exception.InsufficientBalanceException;
+import com.example.pix_wallet.domain.model.Money;
 import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
 
-import java.math.BigDecimal;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -13,47 +15,109 @@ class WalletTest {
     void shouldCreateWalletWithZeroBalance() {
         Wallet wallet = Wallet.create();
 
-        assertEquals(BigDecimal.ZERO, wallet.getBalance());
+        assertEquals(Money.ZERO, wallet.getBalance());
     }
 
     @Test
     void shouldCreditAmount() {
         Wallet wallet = Wallet.create();
 
-        wallet.credit(new BigDecimal("100.00"));
+        wallet.credit(Money.of("100.00"));
 
-        assertEquals(new BigDecimal("100.00"), wallet.getBalance());
+        assertEquals(Money.of("100.00"), wallet.getBalance());
     }
 
     @Test
     void shouldDebitAmount() {
         Wallet wallet = Wallet.create();
-        wallet.credit(new BigDecimal("100.00"));
+        wallet.credit(Money.of("100.00"));
 
-        wallet.debit(new BigDecimal("40.00"));
+        wallet.debit(Money.of("40.00"));
 
-        assertEquals(new BigDecimal("60.00"), wallet.getBalance());
+        assertEquals(Money.of("60.00"), wallet.getBalance());
     }
 
     @Test
     void shouldThrowExceptionWhenDebitGreaterThanBalance() {
         Wallet wallet = Wallet.create();
-        wallet.credit(new BigDecimal("50.00"));
+        wallet.credit(Money.of("50.00"));
 
         assertThrows(
                 InsufficientBalanceException.class,
-                () -> wallet.debit(new BigDecimal("100.00"))
+                () -> wallet.debit(Money.of("100.00"))
         );
     }
 
+    @Test
+    void shouldNotDebitHeldBalance() {
+        Wallet wallet = Wallet.create();
+        wallet.credit(Money.of("100.00"));
+        ReflectionTestUtils.setField(wallet, "heldBalance", Money.of("70.00"));
+
+        assertEquals(Money.of("30.00"), wallet.getAvailableBalance());
+        assertThrows(InsufficientBalanceException.class, () -> wallet.debit(Money.of("40.00")));
+    }
+
+    @Test
+    void shouldFinalizeAndReleaseHolds() {
+        Wallet wallet = Wallet.create();
+        wallet.credit(Money.of("100.00"));
+        ReflectionTestUtils.setField(wallet, "heldBalance", Money.of("70.00"));
+
+        assertEquals(Money.of("50.00"), wallet.finalizeHold(Money.of("50.00")));
+        wallet.releaseHold(Money.of("20.00"));
+
+        assertEquals(Money.ZERO, wallet.getHeldBalance());
+        assertEquals(Money.of("50.00"), wallet.getAvailableBalance());
+        assertThrows(IllegalStateException.class, () -> wallet.releaseHold(Money.of("1.00")));
+    }
+
     @Test
     void shouldThrowExceptionWhenCreditWithNegativeAmount() {
         Wallet wallet = Wallet.create();
 
         assertThrows(
                 IllegalArgumentException.class,
-                () -> wallet.credit(new BigDecimal("-10.00"))
+                () -> wallet.credit(Money.of("-10.00"))
         );
     }
-}
 
+    @Test
+    void shouldIncludeSlotBalancesInTotalBalance() {
+        Wallet wallet = Wallet.create();
+        wallet.credit(Money.of("10.00"));
+        List<WalletBalanceSlot> slots = wallet.changeBalanceSlotCount(2);
+
+        slots.get(0).credit(Money.of("5.00"));
+        slots.get(1).credit(Money.of("7.00"));
+
+        assertEquals(Money.of("10.00"), wallet.getBalance());
+        assertEquals(Money.of("22.00"), wallet.getTotalBalance());
+    }
+
+    @Test
+    void shouldDrainSlotsOnlyUntilAmountIsCovered() {
+        Wallet wallet = Wallet.create();
+        wallet.credit(Money.of("10.00"));
+        List<WalletBalanceSlot> slots = wallet.changeBalanceSlotCount(2);
+        slots.get(0).credit(Money.of("5.00"));
+        slots.get(1).credit(Money.of("7.00"));
+
+        wallet.drainSlots(slots, Money.of("18.00"));
+
+        assertEquals(Money.of("18.00"), wallet.getBalance());
+        assertEquals(Money.of("0.00"), slots.get(0).getBalance());
+        assertEquals(Money.of("4.00"), slots.get(1).getBalance());
+        assertEquals(Money.of("22.00"), wallet.getTotalBalance());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenSlotCountIsNegative() {
+        Wallet wallet = Wallet.create();
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> wallet.changeBalanceSlotCount(-1)
+        );
+    }
+}
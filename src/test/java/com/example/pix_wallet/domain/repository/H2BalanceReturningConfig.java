@@ -0,0 +1,17 @@
+package com.example.pix_wallet.domain.repository;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * O H2 dos testes não tem {@code RETURNING}: o mesmo UPDATE vai embrulhado em {@code SELECT ... FROM FINAL TABLE},
+ * também em um único round trip.
+ */
+@TestConfiguration
+public class H2BalanceReturningConfig {
+
+    @Bean
+    BalanceReturningStatement h2BalanceReturningStatement() {
+        return update -> "SELECT balance FROM FINAL TABLE (" + update + ")";
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.pix_wallet.domain.repository;
+
+import com.example.pix_wallet.domain.model.MoneyConverter;
+import com.example.pix_wallet.domain.model.PixKey;
+import com.example.pix_wallet.domain.model.PixTransfer;
+import com.example.pix_wallet.domain.model.Wallet;
+import com.example.pix_wallet.domain.model.WalletBalanceCheckpoint;
+import com.example.pix_wallet.domain.model.WalletBalanceSlot;
+import com.example.pix_wallet.domain.model.WalletTransaction;
+import com.example.pix_wallet.domain.model.WebhookInboxEvent;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Gera, sem banco, o mesmo DDL do {@code ddl-auto: create} para cada dialeto.
+ */
+class PostgresSchemaContributorTest {
+
+    private static final String COVERING_INDEX = "create index idx_wallet_transaction_wallet_created_id"
+            + " on wallet_transaction (wallet_id, created_at, id) include (type, amount, balance_after)";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void shouldCreateCoveringIndexAfterEntityIndexOnPostgres() throws IOException {
+        String ddl = createScript(PostgreSQLDialect.class);
+
+        int entityIndex = ddl.indexOf("create index idx_wallet_transaction_wallet_created_id on wallet_transaction");
+        int covering = ddl.indexOf(COVERING_INDEX);
+        assertTrue(entityIndex >= 0, ddl);
+        assertTrue(covering > entityIndex, ddl);
+        assertTrue(ddl.indexOf("drop index if exists idx_wallet_transaction_wallet_created_id") > entityIndex, ddl);
+    }
+
+    @Test
+    void shouldCreatePartialPendingIndexOnPostgres() throws IOException {
+        String ddl = createScript(PostgreSQLDialect.class);
+
+        assertTrue(ddl.contains("create index idx_pix_transfer_pending on pix_transfer (created_at, id)"
+                + " where status = 'pending'"), ddl);
+    }
+
+    @Test
+    void shouldLeaveOtherDialectsWithEntityMappingOnly() throws IOException {
+        String ddl = createScript(H2Dialect.class);
+
+        assertFalse(ddl.contains(" include ("), ddl);
+        assertFalse(ddl.contains("idx_pix_transfer_pending"), ddl);
+        assertTrue(ddl.contains("create index idx_wallet_transaction_wallet_created_id"), ddl);
+    }
+
+    @Test
+    void shouldDeclareHeldBalanceCheckOnEveryDialect() throws IOException {
+        String check = "constraint chk_wallet_held_balance check (held_balance >= 0 and held_balance <= balance)";
+
+        assertTrue(createScript(PostgreSQLDialect.class).contains(check));
+        assertTrue(createScript(H2Dialect.class).contains(check));
+    }
+
+    @Test
+    void shouldDeclarePixKeyValueOrEvpCheckOnEveryDialect() throws IOException {
+        String check = "constraint ck_pix_key_value_or_evp check ((type = 'evp' and evp is not null and value is null)"
+                + " or (type <> 'evp' and evp is null and value is not null))";
+
+        assertTrue(createScript(PostgreSQLDialect.class).contains(check));
+        assertTrue(createScript(H2Dialect.class).contains(check));
+    }
+
+    private String createScript(Class<? extends Dialect> dialect) throws IOException {
+        Path script = dir.resolve(dialect.getSimpleName() + ".sql");
+        // Só o script é gerado: a conexão H2 nunca recebe DDL
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting("hibernate.dialect", dialect.getName())
+                .applySetting("hibernate.boot.allow_jdbc_metadata_access", "false")
+                .applySetting("hibernate.connection.url", "jdbc:h2:mem:ddl")
+                .applySetting("jakarta.persistence.schema-generation.database.action", "none")
+                .applySetting("jakarta.persistence.schema-generation.scripts.action", "create")
+                .applySetting("jakarta.persistence.schema-generation.scripts.create-target", script.toString())
+                .applySetting("hibernate.hbm2ddl.delimiter", ";")
+                .build();
+        try {
+            Metadata metadata = new MetadataSources(registry)
+                    .addAnnotatedClass(MoneyConverter.class)
+                    .addAnnotatedClass(Wallet.class)
+                    .addAnnotatedClass(WalletTransaction.class)
+                    .addAnnotatedClass(WalletBalanceSlot.class)
+                    .addAnnotatedClass(WalletBalanceCheckpoint.class)
+                    .addAnnotatedClass(PixKey.class)
+                    .addAnnotatedClass(PixTransfer.class)
+                    .addAnnotatedClass(WebhookInboxEvent.class)
+                    .buildMetadata();
+            metadata.buildSessionFactory().close();
+            return Files.readString(script).toLowerCase().replaceAll("\\s+", " ");
+        } finally {
+            StandardServiceRegistryBuilder.destroy(registry);
+        }
+    }
+}
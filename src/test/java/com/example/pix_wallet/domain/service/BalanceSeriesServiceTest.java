@@ -0,0 +1,147 @@
+package com.example.pix_wallet.domain.service;
+
+import com.example.pix_wallet.domain.dto.BalanceSeriesPoint;
+import com.example.pix_wallet.domain.exception.InvalidBalanceSeriesException;
+import com.example.pix_wallet.domain.model.Money;
+import com.example.pix_wallet.domain.model.TransactionType;
+import com.example.pix_wallet.domain.model.Wallet;
+import com.example.pix_wallet.domain.model.WalletTransaction;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:series;MODE=PostgreSQL;NON_KEYWORDS=VALUE")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({BalanceSeriesService.class, BalanceCheckpointService.class, BalanceSeriesServiceTest.Config.class})
+class BalanceSeriesServiceTest {
+
+    private static final Instant DAY_ONE = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Instant DAY_TWO = Instant.parse("2024-01-02T00:00:00Z");
+    private static final Instant DAY_THREE = Instant.parse("2024-01-03T00:00:00Z");
+
+    @TestConfiguration
+    @EnableConfigurationProperties(BalanceCheckpointProperties.class)
+    static class Config {
+    }
+
+    @Autowired
+    private BalanceSeriesService balanceSeriesService;
+
+    @Autowired
+    private BalanceCheckpointService balanceCheckpointService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Wallet wallet;
+    private long sequence;
+
+    @BeforeEach
+    void setUp() {
+        wallet = Wallet.create();
+        entityManager.persist(wallet);
+
+        // Dia 1: 100 -> 40 -> 70 | Dia 2: 70 -> 90 -> 20
+        ledger(TransactionType.CREDIT, "100.00", "100.00", "2024-01-01T08:00:00Z");
+        ledger(TransactionType.DEBIT, "60.00", "40.00", "2024-01-01T12:00:00Z");
+        ledger(TransactionType.CREDIT, "30.00", "70.00", "2024-01-01T18:00:00Z");
+        ledger(TransactionType.CREDIT, "20.00", "90.00", "2024-01-02T09:00:00Z");
+        ledger(TransactionType.DEBIT, "70.00", "20.00", "2024-01-02T15:00:00Z");
+        entityManager.flush();
+    }
+
+    @Test
+    void shouldBuildDailySeriesFromLedger() {
+        List<BalanceSeriesPoint> points = balanceSeriesService.getSeries(
+                wallet.getId(), DAY_ONE, DAY_THREE, Duration.ofDays(1));
+
+        assertPoint(points.get(0), "0.00", "70.00", "0.00", "100.00");
+        assertPoint(points.get(1), "70.00", "20.00", "20.00", "90.00");
+    }
+
+    @Test
+    void shouldGiveSameSeriesWhenCheckpointsExist() {
+        assertEquals(1, balanceCheckpointService.checkpointDay(LocalDate.of(2024, 1, 1)));
+        assertEquals(0, balanceCheckpointService.checkpointDay(LocalDate.of(2024, 1, 1)));
+
+        // Lançamento gravado depois do checkpoint do dia 1 não aparece no resumo: prova que o checkpoint foi usado
+        ledger(TransactionType.CREDIT, "430.00", "500.00", "2024-01-01T23:00:00Z");
+        entityManager.flush();
+
+        List<BalanceSeriesPoint> points = balanceSeriesService.getSeries(
+                wallet.getId(), DAY_ONE, DAY_THREE, Duration.ofDays(1));
+
+        assertPoint(points.get(0), "0.00", "70.00", "0.00", "100.00");
+        assertPoint(points.get(1), "70.00", "20.00", "20.00", "90.00");
+    }
+
+    @Test
+    void shouldSplitPartialDaysFromLedgerTail() {
+        balanceCheckpointService.checkpointDay(LocalDate.of(2024, 1, 1));
+        entityManager.flush();
+
+        List<BalanceSeriesPoint> points = balanceSeriesService.getSeries(
+                wallet.getId(), DAY_ONE, DAY_TWO.plus(Duration.ofHours(12)), Duration.ofHours(12));
+
+        assertEquals(3, points.size());
+        assertPoint(points.get(0), "0.00", "100.00", "0.00", "100.00");
+        assertPoint(points.get(1), "100.00", "70.00", "40.00", "100.00");
+        assertPoint(points.get(2), "70.00", "90.00", "70.00", "90.00");
+    }
+
+    @Test
+    void shouldCarryBalanceThroughEmptyBuckets() {
+        List<BalanceSeriesPoint> points = balanceSeriesService.getSeries(
+                wallet.getId(), DAY_THREE, DAY_THREE.plus(Duration.ofDays(2)), Duration.ofDays(1));
+
+        assertPoint(points.get(0), "20.00", "20.00", "20.00", "20.00");
+        assertPoint(points.get(1), "20.00", "20.00", "20.00", "20.00");
+    }
+
+    @Test
+    void shouldRejectInvalidRange() {
+        assertThrows(
+                InvalidBalanceSeriesException.class,
+                () -> balanceSeriesService.getSeries(wallet.getId(), DAY_TWO, DAY_ONE, Duration.ofDays(1))
+        );
+        assertThrows(
+                InvalidBalanceSeriesException.class,
+                () -> balanceSeriesService.getSeries(wallet.getId(), DAY_ONE, DAY_TWO, Duration.ZERO)
+        );
+        assertThrows(
+                InvalidBalanceSeriesException.class,
+                () -> balanceSeriesService.getSeries(wallet.getId(), DAY_ONE, DAY_THREE, Duration.ofSeconds(1))
+        );
+    }
+
+    private void ledger(TransactionType type, String amount, String balanceAfter, String createdAt) {
+        entityManager.persist(WalletTransaction.fromJournal(
+                wallet,
+                type,
+                Money.of(amount),
+                Money.of(balanceAfter),
+                Instant.parse(createdAt),
+                ++sequence
+        ));
+    }
+
+    private static void assertPoint(BalanceSeriesPoint point, String open, String close, String min, String max) {
+        assertEquals(Money.of(open), point.open(), "open");
+        assertEquals(Money.of(close), point.close(), "close");
+        assertEquals(Money.of(min), point.min(), "min");
+        assertEquals(Money.of(max), point.max(), "max");
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.pix_wallet.domain.service;
+
+import com.example.pix_wallet.domain.model.PixKey;
+import com.example.pix_wallet.domain.model.PixKeyType;
+import com.example.pix_wallet.domain.model.Wallet;
+import com.example.pix_wallet.domain.repository.PixKeyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PixKeyDirectoryTest {
+
+    @Mock
+    private PixKeyRepository pixKeyRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PixKeyDirectory pixKeyDirectory;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        pixKeyDirectory = directory(true);
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromCache() {
+        PixKey pixKey = pixKey(10L, 2L, "loja@email.com");
+        when(pixKeyRepository.findByTypeAndValue(PixKeyType.EMAIL, "loja@email.com"))
+                .thenReturn(Optional.of(pixKey));
+
+        PixKeyDirectory.Entry first = pixKeyDirectory.resolve(PixKeyType.EMAIL, "loja@email.com").orElseThrow();
+        PixKeyDirectory.Entry second = pixKeyDirectory.resolve(PixKeyType.EMAIL, "Loja@Email.com").orElseThrow();
+
+        assertEquals(new PixKeyDirectory.Entry(10L, 2L), first);
+        assertSame(first, second);
+        verify(pixKeyRepository, times(1)).findByTypeAndValue(any(), any());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "pix_key_directory").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void shouldCacheUnknownKeysNegatively() {
+        when(pixKeyRepository.findByTypeAndValue(PixKeyType.EMAIL, "typo@email.com"))
+                .thenReturn(Optional.empty());
+
+        assertTrue(pixKeyDirectory.resolve(PixKeyType.EMAIL, "typo@email.com").isEmpty());
+        assertTrue(pixKeyDirectory.resolve(PixKeyType.EMAIL, "typo@email.com").isEmpty());
+
+        verify(pixKeyRepository, times(1)).findByTypeAndValue(any(), any());
+    }
+
+    @Test
+    void shouldNotQueryRepositoryForInvalidValues() {
+        assertTrue(pixKeyDirectory.resolve(PixKeyType.CPF, "123").isEmpty());
+
+        verifyNoInteractions(pixKeyRepository);
+    }
+
+    @Test
+    void shouldSeeNewKeyAfterInvalidation() {
+        when(pixKeyRepository.findByTypeAndValue(PixKeyType.EMAIL, "nova@email.com"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(pixKey(11L, 3L, "nova@email.com")));
+
+        assertTrue(pixKeyDirectory.resolve(PixKeyType.EMAIL, "nova@email.com").isEmpty());
+        pixKeyDirectory.invalidate(PixKeyType.EMAIL, "nova@email.com");
+
+        assertEquals(
+                Optional.of(new PixKeyDirectory.Entry(11L, 3L)),
+                pixKeyDirectory.resolve(PixKeyType.EMAIL, "nova@email.com")
+        );
+    }
+
+    @Test
+    void shouldGoToRepositoryEveryTimeWhenDisabled() {
+        PixKeyDirectory disabled = directory(false);
+        when(pixKeyRepository.findByTypeAndValue(PixKeyType.EMAIL, "loja@email.com"))
+                .thenReturn(Optional.of(pixKey(10L, 2L, "loja@email.com")));
+
+        disabled.resolve(PixKeyType.EMAIL, "loja@email.com");
+        disabled.resolve(PixKeyType.EMAIL, "loja@email.com");
+
+        verify(pixKeyRepository, times(2)).findByTypeAndValue(any(), any());
+    }
+
+    private PixKeyDirectory directory(boolean enabled) {
+        return new PixKeyDirectory(
+                pixKeyRepository,
+                new PixKeyDirectoryProperties(enabled, 100, Duration.ofMinutes(10), Duration.ofSeconds(5)),
+                meterRegistry
+        );
+    }
+
+    private static PixKey pixKey(Long id, Long walletId, String email) {
+        Wallet wallet = Wallet.create();
+        ReflectionTestUtils.setField(wallet, "id", walletId);
+        PixKey pixKey = PixKey.createEmail(email, wallet);
+        ReflectionTestUtils.setField(pixKey, "id", id);
+        return pixKey;
+    }
+}
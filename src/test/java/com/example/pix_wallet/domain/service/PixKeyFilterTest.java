@@ -0,0 +1,95 @@
+package com.example.pix_wallet.domain.service;
+
+import com.example.pix_wallet.domain.repository.PixKeyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class PixKeyFilterTest {
+
+    private static final int KEYS = 10_000;
+
+    @Mock
+    private PixKeyRepository pixKeyRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void shouldAnswerMaybeUntilRebuilt() {
+        PixKeyFilter filter = filter(true);
+
+        assertFalse(filter.isReady());
+        assertTrue(filter.mightContain("qualquer@email.com"));
+    }
+
+    @Test
+    void shouldNeverGiveFalseNegativesAfterRebuild() {
+        when(pixKeyRepository.streamAllValues())
+                .thenReturn(IntStream.range(0, KEYS).mapToObj(i -> "cliente" + i + "@email.com"));
+        PixKeyFilter filter = filter(true);
+
+        filter.rebuild();
+        filter.put("+5511999998888");
+
+        assertTrue(filter.isReady());
+        for (int i = 0; i < KEYS; i++) {
+            assertTrue(filter.mightContain("cliente" + i + "@email.com"));
+        }
+        assertTrue(filter.mightContain("+5511999998888"));
+        assertEquals(KEYS + 1.0, meterRegistry.get("pix_wallet.pix_key_filter.keys").gauge().value());
+    }
+
+    @Test
+    void shouldKeepFalsePositiveRateNearConfiguredValue() {
+        when(pixKeyRepository.streamAllValues())
+                .thenReturn(IntStream.range(0, KEYS).mapToObj(i -> "cliente" + i + "@email.com"));
+        PixKeyFilter filter = filter(true);
+        filter.rebuild();
+
+        long falsePositives = IntStream.range(0, KEYS)
+                .filter(i -> filter.mightContain("desconhecido" + i + "@email.com"))
+                .count();
+
+        // Configurado 1%; margem para a variação da amostra
+        assertTrue(falsePositives < KEYS * 0.02, "false positives: " + falsePositives);
+        assertEquals(0.01, filter.estimatedFalsePositiveRate(), 0.005);
+    }
+
+    @Test
+    void shouldAlwaysAnswerMaybeWhenDisabled() {
+        PixKeyFilter filter = filter(false);
+
+        filter.rebuild();
+
+        assertFalse(filter.isReady());
+        assertTrue(filter.mightContain("qualquer@email.com"));
+        verifyNoInteractions(pixKeyRepository);
+    }
+
+    private PixKeyFilter filter(boolean enabled) {
+        return new PixKeyFilter(
+                new PixKeyFilterProperties(enabled, KEYS, 0.01),
+                pixKeyRepository,
+                transactionManager,
+                meterRegistry
+        );
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.pix_wallet.domain.service;
+
+import com.example.pix_wallet.domain.model.Money;
+import com.example.pix_wallet.domain.model.PixKey;
+import com.example.pix_wallet.domain.model.PixTransfer;
+import com.example.pix_wallet.domain.model.PixTransferStatus;
+import com.example.pix_wallet.domain.model.StatusTransition;
+import com.example.pix_wallet.domain.model.Wallet;
+import com.example.pix_wallet.domain.repository.PixKeyRepository;
+import com.example.pix_wallet.domain.repository.PixTransferRepository;
+import com.example.pix_wallet.domain.repository.WalletRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sem a transação do teste: a varredura e o "webhook" concorrente precisam de transações próprias
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:expiry;MODE=PostgreSQL;NON_KEYWORDS=VALUE")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PixTransferExpiryService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PixTransferExpiryServiceTest {
+
+    private static final Instant OLD = Instant.now().minus(Duration.ofHours(2));
+
+    @Autowired
+    private PixTransferExpiryService expiryService;
+
+    @Autowired
+    private PixTransferRepository pixTransferRepository;
+
+    @Autowired
+    private PixKeyRepository pixKeyRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Wallet fromWallet;
+    private Wallet toWallet;
+    private PixKey pixKey;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        fromWallet = walletRepository.save(Wallet.create());
+        toWallet = walletRepository.save(Wallet.create());
+        pixKey = pixKeyRepository.save(PixKey.createEmail("expiry@test.com", toWallet));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pixTransferRepository.deleteAll();
+        pixKeyRepository.deleteAll();
+        walletRepository.deleteAll();
+    }
+
+    @Test
+    void shouldExpireOnlyStalePendingTransfers() {
+        PixTransfer stale = transfer(OLD);
+        PixTransfer recent = transfer(Instant.now());
+        PixTransfer confirmed = transfer(OLD);
+        transactionTemplate.executeWithoutResult(status -> {
+            PixTransfer loaded = pixTransferRepository.findById(confirmed.getId()).orElseThrow();
+            loaded.updateStatus(PixTransferStatus.CONFIRMED, Instant.now());
+        });
+
+        assertEquals(1, expiryService.expireBatch(cutoff(), 10));
+
+        assertEquals(PixTransferStatus.EXPIRED, statusOf(stale));
+        assertEquals(PixTransferStatus.PENDING, statusOf(recent));
+        assertEquals(PixTransferStatus.CONFIRMED, statusOf(confirmed));
+        assertEquals(0, expiryService.expireBatch(cutoff(), 10));
+    }
+
+    @Test
+    void shouldClaimAtMostOneBatchPerCall() {
+        for (int i = 0; i < 5; i++) {
+            transfer(OLD);
+        }
+
+        assertEquals(2, expiryService.expireBatch(cutoff(), 2));
+        assertEquals(2, expiryService.expireBatch(cutoff(), 2));
+        assertEquals(1, expiryService.expireBatch(cutoff(), 2));
+    }
+
+    @Test
+    void shouldSkipTransfersLockedByWebhookInsteadOfWaiting() throws Exception {
+        PixTransfer locked = transfer(OLD);
+        PixTransfer free = transfer(OLD);
+
+        CountDownLatch lockHeld = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> webhook = CompletableFuture.runAsync(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    pixTransferRepository.findByEndToEndIdWithLock(locked.getEndToEndId()).orElseThrow();
+                    lockHeld.countDown();
+                    await(release);
+                }));
+
+        assertTrue(lockHeld.await(5, TimeUnit.SECONDS));
+        try {
+            // Não espera o lock do webhook: expira só a outra
+            assertEquals(1, expiryService.expireBatch(cutoff(), 10));
+        } finally {
+            release.countDown();
+        }
+        webhook.get(5, TimeUnit.SECONDS);
+
+        assertEquals(PixTransferStatus.PENDING, statusOf(locked));
+        assertEquals(PixTransferStatus.EXPIRED, statusOf(free));
+        assertEquals(1, expiryService.expireBatch(cutoff(), 10));
+    }
+
+    @Test
+    void shouldIgnoreWebhookForExpiredTransfer() {
+        PixTransfer stale = transfer(OLD);
+        expiryService.expireBatch(cutoff(), 10);
+
+        PixTransfer expired = pixTransferRepository.findById(stale.getId()).orElseThrow();
+        assertTrue(expired.isExpired());
+        assertEquals(StatusTransition.OUTDATED, expired.evaluateStatus(PixTransferStatus.CONFIRMED, Instant.now()));
+    }
+
+    @Test
+    void shouldReleaseHeldFundsOfExpiredTransfers() {
+        transactionTemplate.executeWithoutResult(status -> {
+            walletRepository.findById(fromWallet.getId()).orElseThrow().credit(Money.of("100.00"));
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            assertTrue(walletRepository.holdIfAvailable(fromWallet.getId(), Money.of("10.00")));
+            assertTrue(walletRepository.holdIfAvailable(fromWallet.getId(), Money.of("10.00")));
+        });
+        heldTransfer(OLD);
+        heldTransfer(OLD);
+
+        assertEquals(2, expiryService.expireBatch(cutoff(), 10));
+
+        Wallet wallet = walletRepository.findById(fromWallet.getId()).orElseThrow();
+        assertEquals(Money.ZERO, wallet.getHeldBalance());
+        assertEquals(Money.of("100.00"), wallet.getBalance());
+    }
+
+    private PixTransfer heldTransfer(Instant createdAt) {
+        PixTransfer transfer = PixTransfer.create(fromWallet, toWallet, pixKey, Money.of("10.00"));
+        ReflectionTestUtils.setField(transfer, "createdAt", createdAt);
+        transfer.markFundsHeld();
+        return pixTransferRepository.save(transfer);
+    }
+
+    private PixTransfer transfer(Instant createdAt) {
+        PixTransfer transfer = PixTransfer.create(fromWallet, toWallet, pixKey, Money.of("10.00"));
+        ReflectionTestUtils.setField(transfer, "createdAt", createdAt);
+        return pixTransferRepository.save(transfer);
+    }
+
+    private PixTransferStatus statusOf(PixTransfer transfer) {
+        return pixTransferRepository.findById(transfer.getId()).orElseThrow().getStatus();
+    }
+
+    private static Instant cutoff() {
+        return Instant.now().minus(Duration.ofMinutes(30));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
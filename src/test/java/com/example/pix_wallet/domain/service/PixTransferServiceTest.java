@@ -4,25 +4,26 @@ import com.example.pix_wallet.domain.exception.InsufficientBalanceException;
 import com.example.pix_wallet.domain.exception.InvalidTransferException;
 import com.example.pix_wallet.domain.exception.PixKeyNotFoundException;
 import com.example.pix_wallet.domain.exception.WalletNotFoundException;
+import com.example.pix_wallet.domain.factory.WalletTestFactory;
 import com.example.pix_wallet.domain.model.*;
+import com.example.pix_wallet.domain.model.Money;
 import com.example.pix_wallet.domain.repository.PixKeyRepository;
 import com.example.pix_wallet.domain.repository.PixTransferRepository;
 import com.example.pix_wallet.domain.repository.WalletRepository;
 import com.example.pix_wallet.domain.repository.WalletTransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
 
-import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
-
-
 class PixTransferServiceTest {
 
     @Mock
@@ -40,22 +41,34 @@ class PixTransferServiceTest {
     @Mock
     private WalletOperationService walletOperationService;
 
-    @InjectMocks
     private PixTransferService pixTransferService;
 
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
+
+        PixKeyDirectory pixKeyDirectory = new PixKeyDirectory(
+                pixKeyRepository,
+                new PixKeyDirectoryProperties(true, 100, Duration.ofMinutes(1), Duration.ofSeconds(5)),
+                new SimpleMeterRegistry()
+        );
+        pixTransferService = new PixTransferService(
+                walletRepository,
+                pixKeyRepository,
+                pixTransferRepository,
+                walletOperationService,
+                pixKeyDirectory
+        );
     }
 
     @Test
     void shouldTransferAmountUsingPixKey() {
-        Wallet from = Wallet.create();
-        from.credit(new BigDecimal("200.00"));
+        Wallet from = WalletTestFactory.walletWithId(1L, Money.ZERO);
+        from.credit(Money.of("200.00"));
 
-        Wallet to = Wallet.create();
+        Wallet to = WalletTestFactory.walletWithId(2L, Money.ZERO);
 
-        PixKey pixKey = PixKey.createEmail("user@email.com", to);
+        PixKey pixKey = pixKey(10L, "user@email.com", to);
 
         when(walletRepository.findById(1L))
                 .thenReturn(Optional.of(from));
@@ -63,6 +76,9 @@ class PixTransferServiceTest {
         when(pixKeyRepository.findByTypeAndValue(pixKey.getType(), pixKey.getValue()))
                 .thenReturn(Optional.of(pixKey));
 
+        when(walletRepository.getReferenceById(2L)).thenReturn(to);
+        when(pixKeyRepository.getReferenceById(10L)).thenReturn(pixKey);
+
         when(pixTransferRepository.save(any(PixTransfer.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -70,10 +86,10 @@ class PixTransferServiceTest {
                 1L,
                 pixKey.getType(),
                 pixKey.getValue(),
-                new BigDecimal("50.00")
+                Money.of("50.00")
         );
 
-        assertEquals(new BigDecimal("50.00"), transfer.getAmount());
+        assertEquals(Money.of("50.00"), transfer.getAmount());
         assertNotNull(transfer.getEndToEndId());
         assertEquals(PixTransferStatus.PENDING, transfer.getStatus());
 
@@ -82,16 +98,18 @@ class PixTransferServiceTest {
         verify(walletOperationService, never()).credit(any(), any());
 
         verify(pixTransferRepository).save(any(PixTransfer.class));
+        assertSame(to, transfer.getToWallet());
+        assertSame(pixKey, transfer.getPixKey());
     }
 
     @Test
     void shouldThrowExceptionWhenInsufficientBalance() {
-        Wallet from = Wallet.create();
+        Wallet from = WalletTestFactory.walletWithId(1L, Money.ZERO);
         // Carteira sem saldo suficiente
-        from.credit(new BigDecimal("30.00"));
+        from.credit(Money.of("30.00"));
 
-        Wallet to = Wallet.create();
-        PixKey pixKey = PixKey.createEmail("user@email.com", to);
+        Wallet to = WalletTestFactory.walletWithId(2L, Money.ZERO);
+        PixKey pixKey = pixKey(10L, "user@email.com", to);
 
         when(walletRepository.findById(1L))
                 .thenReturn(Optional.of(from));
@@ -104,7 +122,7 @@ class PixTransferServiceTest {
                     1L,
                     pixKey.getType(),
                     pixKey.getValue(),
-                    new BigDecimal("50.00")
+                    Money.of("50.00")
             );
         });
 
@@ -112,9 +130,56 @@ class PixTransferServiceTest {
         verify(pixTransferRepository, never()).save(any());
     }
 
+    @Test
+    void shouldHoldFundsWhenInitiatingTransfer() {
+        Wallet from = WalletTestFactory.walletWithId(1L, Money.ZERO);
+        Wallet to = WalletTestFactory.walletWithId(2L, Money.ZERO);
+        PixKey pixKey = pixKey(10L, "user@email.com", to);
+
+        when(walletRepository.findById(1L)).thenReturn(Optional.of(from));
+        when(pixKeyRepository.findByTypeAndValue(pixKey.getType(), pixKey.getValue()))
+                .thenReturn(Optional.of(pixKey));
+        when(walletRepository.getReferenceById(2L)).thenReturn(to);
+        when(pixKeyRepository.getReferenceById(10L)).thenReturn(pixKey);
+        when(pixTransferRepository.save(any(PixTransfer.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(walletOperationService.supportsHolds(from)).thenReturn(true);
+        when(walletOperationService.hold(from, Money.of("50.00"))).thenReturn(true);
+
+        PixTransfer transfer = pixTransferService.transfer(1L, pixKey.getType(), pixKey.getValue(), Money.of("50.00"));
+
+        // A verificação de saldo é o próprio UPDATE condicional da reserva
+        assertTrue(transfer.isFundsHeld());
+        verify(walletOperationService).hold(from, Money.of("50.00"));
+        verify(walletOperationService, never()).debit(any(), any());
+    }
+
+    @Test
+    void shouldRejectTransferWhenFundsCannotBeHeld() {
+        Wallet from = WalletTestFactory.walletWithId(1L, Money.ZERO);
+        from.credit(Money.of("100.00"));
+        Wallet to = WalletTestFactory.walletWithId(2L, Money.ZERO);
+        PixKey pixKey = pixKey(10L, "user@email.com", to);
+
+        when(walletRepository.findById(1L)).thenReturn(Optional.of(from));
+        when(pixKeyRepository.findByTypeAndValue(pixKey.getType(), pixKey.getValue()))
+                .thenReturn(Optional.of(pixKey));
+        when(walletOperationService.supportsHolds(from)).thenReturn(true);
+        // Outra transferência concorrente já reservou o saldo
+        when(walletOperationService.hold(from, Money.of("50.00"))).thenReturn(false);
+
+        IllegalStateException exception = assertThrows(
+                IllegalStateException.class,
+                () -> pixTransferService.transfer(1L, pixKey.getType(), pixKey.getValue(), Money.of("50.00"))
+        );
+
+        assertTrue(exception.getMessage().contains("Insufficient balance"));
+        verify(pixTransferRepository, never()).save(any());
+    }
+
     @Test
     void shouldThrowExceptionWhenPixKeyNotFound() {
-        Wallet from = Wallet.create();
+        Wallet from = WalletTestFactory.walletWithId(1L, Money.ZERO);
 
         when(walletRepository.findById(1L))
                 .thenReturn(Optional.of(from));
@@ -128,7 +193,7 @@ class PixTransferServiceTest {
                         1L,
                         PixKeyType.EMAIL,
                         "x@email.com",
-                        new BigDecimal("50.00")
+                        Money.of("50.00")
                 )
         );
 
@@ -140,7 +205,7 @@ class PixTransferServiceTest {
 //    @Test
 //    void shouldThrowExceptionWhenInsufficientBalance() {
 //        Wallet from = Wallet.create();
-//        from.credit(new BigDecimal("10.00"));
+//        from.credit(Money.of("10.00"));
 //
 //        Wallet to = Wallet.create();
 //        PixKey pixKey = PixKey.createEmail("user@email.com", to);
@@ -151,11 +216,11 @@ class PixTransferServiceTest {
 //        when(pixKeyRepository.findByTypeAndValue(pixKey.getType(), pixKey.getValue()))
 //                .thenReturn(Optional.of(pixKey));
 //
-//        when(walletOperationService.debit(any(), eq(new BigDecimal("50.00"))))
+//        when(walletOperationService.debit(any(), eq(Money.of("50.00"))))
 //                .thenThrow(
 //                        new InsufficientBalanceException(
-//                                new BigDecimal("10.00"),
-//                                new BigDecimal("50.00")
+//                                Money.of("10.00"),
+//                                Money.of("50.00")
 //                        )
 //                );
 //
@@ -165,11 +230,11 @@ class PixTransferServiceTest {
 //                        1L,
 //                        pixKey.getType(),
 //                        pixKey.getValue(),
-//                        new BigDecimal("50.00")
+//                        Money.of("50.00")
 //                )
 //        );
 //
-//        verify(walletOperationService).debit(any(), eq(new BigDecimal("50.00")));
+//        verify(walletOperationService).debit(any(), eq(Money.of("50.00")));
 //        verify(walletOperationService, never()).credit(any(), any());
 //        verify(pixTransferRepository, never()).save(any());
 //    }
@@ -182,15 +247,15 @@ class PixTransferServiceTest {
                         1L,
                         PixKeyType.EMAIL,
                         "user@email.com",
-                        BigDecimal.ZERO
+                        Money.ZERO
                 )
         );
     }
 
     @Test
     void shouldNotAllowTransferToSameWallet() {
-        Wallet wallet = Wallet.create();
-        PixKey pixKey = PixKey.createEmail("self@email.com", wallet);
+        Wallet wallet = WalletTestFactory.walletWithId(1L, Money.ZERO);
+        PixKey pixKey = pixKey(10L, "self@email.com", wallet);
 
         when(walletRepository.findById(1L))
                 .thenReturn(Optional.of(wallet));
@@ -204,8 +269,14 @@ class PixTransferServiceTest {
                         1L,
                         pixKey.getType(),
                         pixKey.getValue(),
-                        new BigDecimal("10.00")
+                        Money.of("10.00")
                 )
         );
     }
+
+    private static PixKey pixKey(Long id, String email, Wallet wallet) {
+        PixKey pixKey = PixKey.createEmail(email, wallet);
+        ReflectionTestUtils.setField(pixKey, "id", id);
+        return pixKey;
+    }
 }
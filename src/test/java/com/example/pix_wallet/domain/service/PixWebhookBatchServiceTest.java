@@ -0,0 +1,278 @@
+package com.example.pix_wallet.domain.service;
+
+import com.example.pix_wallet.domain.dto.WebhookEvent;
+import com.example.pix_wallet.domain.dto.WebhookEventBatchRequest;
+import com.example.pix_wallet.domain.dto.WebhookEventBatchResponse;
+import com.example.pix_wallet.domain.dto.WebhookEventOutcome;
+import com.example.pix_wallet.domain.engine.BalanceEngine;
+import com.example.pix_wallet.domain.exception.WalletNotFoundException;
+import com.example.pix_wallet.domain.factory.WalletTestFactory;
+import com.example.pix_wallet.domain.model.EndToEndIdCodec;
+import com.example.pix_wallet.domain.model.Money;
+import com.example.pix_wallet.domain.model.PixTransfer;
+import com.example.pix_wallet.domain.model.PixTransferStatus;
+import com.example.pix_wallet.domain.model.Wallet;
+import com.example.pix_wallet.domain.model.WalletTransaction;
+import com.example.pix_wallet.domain.repository.PixTransferRepository;
+import com.example.pix_wallet.domain.repository.WalletRepository;
+import com.example.pix_wallet.domain.repository.WalletTransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PixWebhookBatchServiceTest {
+
+    @Mock
+    private PixTransferRepository pixTransferRepository;
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @Mock
+    private WalletTransactionRepository transactionRepository;
+
+    @Mock
+    private WalletOperationService walletOperationService;
+
+    @Mock
+    private StripedBalanceService stripedBalanceService;
+
+    @Mock
+    private BalanceEngine balanceEngine;
+
+    @InjectMocks
+    private PixWebhookBatchService pixWebhookBatchService;
+
+    private Wallet walletOne;
+    private Wallet walletTwo;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+
+        walletOne = WalletTestFactory.walletWithId(1L, Money.of("100.00"));
+        walletTwo = WalletTestFactory.walletWithId(2L, Money.of("10.00"));
+        when(walletRepository.findAllByIdInForUpdate(any()))
+                .thenReturn(List.of(walletOne, walletTwo));
+    }
+
+    @Test
+    void shouldSettleConfirmedTransfersWithNetDeltaAndOneLedgerBatch() {
+        PixTransfer first = transfer(walletOne, walletTwo, "30.00");
+        PixTransfer second = transfer(walletTwo, walletOne, "5.00");
+        when(pixTransferRepository.findAllByEndToEndIdInForUpdate(any()))
+                .thenReturn(List.of(first, second));
+
+        WebhookEventBatchResponse response = pixWebhookBatchService.process(request(
+                event(first, PixTransferStatus.CONFIRMED),
+                event(second, PixTransferStatus.CONFIRMED)
+        ));
+
+        assertEquals(2, response.applied());
+        assertTrue(first.isConfirmed());
+        assertTrue(second.isConfirmed());
+        assertEquals(Money.of("75.00"), walletOne.getBalance());
+        assertEquals(Money.of("35.00"), walletTwo.getBalance());
+        assertEquals(4, captureLedger().size());
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldLockTransfersOnceAndWalletsInAscendingIdOrder() {
+        PixTransfer transfer = transfer(walletTwo, walletOne, "1.00");
+        when(pixTransferRepository.findAllByEndToEndIdInForUpdate(any()))
+                .thenReturn(List.of(transfer));
+
+        pixWebhookBatchService.process(request(
+                event(transfer, PixTransferStatus.CONFIRMED),
+                event(transfer, PixTransferStatus.CONFIRMED)
+        ));
+
+        verify(pixTransferRepository, times(1)).findAllByEndToEndIdInForUpdate(any());
+        ArgumentCaptor<Collection<Long>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(walletRepository).findAllByIdInForUpdate(captor.capture());
+        assertEquals(List.of(1L, 2L), List.copyOf(captor.getValue()));
+    }
+
+    @Test
+    void shouldReportOutcomePerEventInsteadOfFailingTheBatch() {
+        PixTransfer confirmed = transfer(walletOne, walletTwo, "10.00");
+        PixTransfer overdrawn = transfer(walletTwo, walletOne, "50.00");
+        PixTransfer rejected = transfer(walletOne, walletTwo, "1.00");
+        when(pixTransferRepository.findAllByEndToEndIdInForUpdate(any()))
+                .thenReturn(List.of(confirmed, overdrawn, rejected));
+
+        Instant old = confirmed.getLastStatusUpdate().minusSeconds(60);
+
+        WebhookEventBatchResponse response = pixWebhookBatchService.process(request(
+                event(confirmed, PixTransferStatus.CONFIRMED),
+                event(confirmed, PixTransferStatus.CONFIRMED),
+                new WebhookEvent(EndToEndIdCodec.format(rejected.getEndToEndId()), PixTransferStatus.REJECTED, old),
+                event(rejected, PixTransferStatus.REJECTED),
+                event(overdrawn, PixTransferStatus.CONFIRMED),
+                new WebhookEvent("E2E-unknown", PixTransferStatus.CONFIRMED, Instant.now())
+        ));
+
+        assertEquals(List.of(
+                WebhookEventOutcome.APPLIED,
+                WebhookEventOutcome.DUPLICATE,
+                WebhookEventOutcome.OUTDATED,
+                WebhookEventOutcome.APPLIED,
+                WebhookEventOutcome.FAILED,
+                WebhookEventOutcome.NOT_FOUND
+        ), response.results().stream().map(result -> result.outcome()).toList());
+        assertEquals(2, response.applied());
+        assertNotNull(response.results().get(4).error());
+
+        assertTrue(rejected.isRejected());
+        assertTrue(overdrawn.isPending());
+        assertEquals(Money.of("90.00"), walletOne.getBalance());
+        assertEquals(Money.of("20.00"), walletTwo.getBalance());
+        assertEquals(2, captureLedger().size());
+    }
+
+    @Test
+    void shouldFinalizeAndReleaseHeldFundsWithoutSpendingThemTwice() {
+        ReflectionTestUtils.setField(walletOne, "heldBalance", Money.of("80.00"));
+        PixTransfer heldConfirmed = heldTransfer(walletOne, walletTwo, "50.00");
+        PixTransfer heldRejected = heldTransfer(walletOne, walletTwo, "30.00");
+        PixTransfer unheld = transfer(walletOne, walletTwo, "30.00");
+        when(pixTransferRepository.findAllByEndToEndIdInForUpdate(any()))
+                .thenReturn(List.of(heldConfirmed, heldRejected, unheld));
+
+        WebhookEventBatchResponse response = pixWebhookBatchService.process(request(
+                event(heldConfirmed, PixTransferStatus.CONFIRMED),
+                event(unheld, PixTransferStatus.CONFIRMED),
+                event(heldRejected, PixTransferStatus.REJECTED)
+        ));
+
+        // Disponível = 100 - 80 reservados: a confirmação sem reserva não pode usar o valor reservado
+        assertEquals(List.of(
+                WebhookEventOutcome.APPLIED,
+                WebhookEventOutcome.FAILED,
+                WebhookEventOutcome.APPLIED
+        ), response.results().stream().map(result -> result.outcome()).toList());
+        assertEquals(Money.of("50.00"), walletOne.getBalance());
+        assertEquals(Money.ZERO, walletOne.getHeldBalance());
+        assertEquals(Money.of("60.00"), walletTwo.getBalance());
+        assertEquals(2, captureLedger().size());
+    }
+
+    @Test
+    void shouldNotLockWalletsWhenNothingIsConfirmed() {
+        PixTransfer transfer = transfer(walletOne, walletTwo, "10.00");
+        when(pixTransferRepository.findAllByEndToEndIdInForUpdate(any()))
+                .thenReturn(List.of(transfer));
+
+        WebhookEventBatchResponse response = pixWebhookBatchService.process(request(
+                event(transfer, PixTransferStatus.REJECTED)
+        ));
+
+        assertEquals(1, response.applied());
+        verify(walletRepository, never()).findAllByIdInForUpdate(any());
+        verify(transactionRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void shouldSettleThroughBalanceEngineWhenEnabled() {
+        when(balanceEngine.isEnabled()).thenReturn(true);
+        PixTransfer transfer = transfer(walletOne, walletTwo, "10.00");
+        when(pixTransferRepository.findAllByEndToEndIdInForUpdate(any()))
+                .thenReturn(List.of(transfer));
+
+        WebhookEventBatchResponse response = pixWebhookBatchService.process(request(
+                event(transfer, PixTransferStatus.CONFIRMED)
+        ));
+
+        assertEquals(1, response.applied());
+        verify(balanceEngine).debit(1L, Money.of("10.00"));
+        verify(balanceEngine).credit(2L, Money.of("10.00"));
+        verify(walletRepository, never()).findAllByIdInForUpdate(any());
+    }
+
+    @Test
+    void shouldCreditSourceBackWhenEngineCreditFails() {
+        when(balanceEngine.isEnabled()).thenReturn(true);
+        PixTransfer failing = transfer(walletOne, walletTwo, "10.00");
+        PixTransfer next = transfer(walletOne, walletTwo, "5.00");
+        when(pixTransferRepository.findAllByEndToEndIdInForUpdate(any()))
+                .thenReturn(List.of(failing, next));
+        when(balanceEngine.credit(2L, Money.of("10.00")))
+                .thenThrow(new WalletNotFoundException(2L));
+
+        WebhookEventBatchResponse response = pixWebhookBatchService.process(request(
+                event(failing, PixTransferStatus.CONFIRMED),
+                event(next, PixTransferStatus.CONFIRMED)
+        ));
+
+        // O evento com falha vira FAILED e fica PENDING; o débito já durável é estornado e o lote segue
+        assertEquals(List.of(
+                WebhookEventOutcome.FAILED,
+                WebhookEventOutcome.APPLIED
+        ), response.results().stream().map(result -> result.outcome()).toList());
+        assertTrue(failing.isPending());
+        assertTrue(next.isConfirmed());
+        verify(balanceEngine).debit(1L, Money.of("10.00"));
+        verify(balanceEngine).credit(1L, Money.of("10.00"));
+        verify(walletOperationService, never()).debit(any(), any());
+        verify(walletOperationService, never()).credit(any(), any());
+    }
+
+    @Test
+    void shouldNotSettleHeldTransferInEngineMode() {
+        when(balanceEngine.isEnabled()).thenReturn(true);
+        ReflectionTestUtils.setField(walletOne, "heldBalance", Money.of("50.00"));
+        PixTransfer held = heldTransfer(walletOne, walletTwo, "50.00");
+        when(pixTransferRepository.findAllByEndToEndIdInForUpdate(any()))
+                .thenReturn(List.of(held));
+
+        WebhookEventBatchResponse response = pixWebhookBatchService.process(request(
+                event(held, PixTransferStatus.CONFIRMED)
+        ));
+
+        // Nem débito no engine (que cobraria a reserva duas vezes) nem baixa só no banco
+        assertEquals(WebhookEventOutcome.FAILED, response.results().get(0).outcome());
+        assertTrue(held.isPending());
+        verify(balanceEngine, never()).debit(any(), any());
+        verify(balanceEngine, never()).credit(any(), any());
+        verify(walletOperationService, never()).releaseHold(any(), any());
+    }
+
+    private static PixTransfer transfer(Wallet from, Wallet to, String amount) {
+        return PixTransfer.create(from, to, null, Money.of(amount));
+    }
+
+    private static PixTransfer heldTransfer(Wallet from, Wallet to, String amount) {
+        PixTransfer transfer = transfer(from, to, amount);
+        transfer.markFundsHeld();
+        return transfer;
+    }
+
+    private static WebhookEvent event(PixTransfer transfer, PixTransferStatus status) {
+        return new WebhookEvent(EndToEndIdCodec.format(transfer.getEndToEndId()), status, transfer.getLastStatusUpdate().plusSeconds(1));
+    }
+
+    private static WebhookEventBatchRequest request(WebhookEvent... events) {
+        return new WebhookEventBatchRequest(List.of(events));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<WalletTransaction> captureLedger() {
+        ArgumentCaptor<List<WalletTransaction>> captor = ArgumentCaptor.forClass(List.class);
+        verify(transactionRepository).saveAll(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -1,17 +1,21 @@
 package com.example.pix_wallet.domain.service;
 
+import com.example.pix_wallet.domain.dto.WebhookEventOutcome;
 import com.example.pix_wallet.domain.model.*;
+import com.example.pix_wallet.domain.model.Money;
 import com.example.pix_wallet.domain.repository.PixTransferRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
-import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -33,7 +37,9 @@ class PixWebhookExactlyOnceTest {
     @Mock
     private WalletOperationService walletOperationService;
 
-    @InjectMocks
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private PixWebhookService pixWebhookService;
 
     private PixTransfer pixTransfer;
@@ -42,22 +48,33 @@ class PixWebhookExactlyOnceTest {
 
     @BeforeEach
     void setUp() {
+        pixWebhookService = new PixWebhookService(
+                pixTransferRepository,
+                walletOperationService,
+                new WebhookDedupWindow(
+                        new WebhookDedupProperties(true, 1000, Duration.ofMinutes(1)),
+                        new SimpleMeterRegistry()
+                ),
+                new WebhookSequencer(new WebhookSequencerProperties(false, 1, 1), new SimpleMeterRegistry()),
+                transactionManager
+        );
+
         fromWallet = Wallet.create();
-        fromWallet.credit(new BigDecimal("500.00"));
+        fromWallet.credit(Money.of("500.00"));
 
         toWallet = Wallet.create();
         PixKey pixKey = PixKey.createEmail("test@test.com", toWallet);
 
-        pixTransfer = PixTransfer.create(fromWallet, toWallet, pixKey, new BigDecimal("100.00"));
+        pixTransfer = PixTransfer.create(fromWallet, toWallet, pixKey, Money.of("100.00"));
     }
 
     @Test
     void shouldProcessWebhookExactlyOnceEvenWithConcurrentRequests() throws InterruptedException {
-        String endToEndId = "E2E-exactly-once-test";
+        String endToEndId = EndToEndIdCodec.format(pixTransfer.getEndToEndId());
         Instant timestamp = Instant.now();
 
         // Mock: transfer encontrado
-        when(pixTransferRepository.findByEndToEndIdWithLock(endToEndId))
+        when(pixTransferRepository.findByEndToEndIdWithLock(pixTransfer.getEndToEndId()))
                 .thenReturn(Optional.of(pixTransfer));
 
         // Contador para verificar quantas vezes a operação foi executada
@@ -66,8 +83,8 @@ class PixWebhookExactlyOnceTest {
 
         doAnswer(invocation -> {
             executionCount.incrementAndGet();
-            return new BigDecimal("400.00"); // saldo após débito
-        }).when(walletOperationService).debit(any(), any());
+            return null;
+        }).when(walletOperationService).settle(any(), any(), any());
 
         doAnswer(invocation -> {
             savedCount.incrementAndGet();
@@ -109,43 +126,39 @@ class PixWebhookExactlyOnceTest {
 
     @Test
     void shouldPreventDuplicateWebhookProcessingWithSameTimestamp() {
-        String endToEndId = "E2E-duplicate-test";
+        String endToEndId = EndToEndIdCodec.format(pixTransfer.getEndToEndId());
         Instant timestamp = Instant.now();
 
-        when(pixTransferRepository.findByEndToEndIdWithLock(endToEndId))
+        when(pixTransferRepository.findByEndToEndIdWithLock(pixTransfer.getEndToEndId()))
                 .thenReturn(Optional.of(pixTransfer));
 
         // Primeiro processamento (deve funcionar)
         pixWebhookService.processWebhookEvent(endToEndId, PixTransferStatus.CONFIRMED, timestamp);
 
-        // Status já foi atualizado, então updateStatus retornará false
         reset(pixTransferRepository, walletOperationService);
-        when(pixTransferRepository.findByEndToEndIdWithLock(endToEndId))
-                .thenReturn(Optional.of(pixTransfer));
 
-        // Segundo processamento com mesmo timestamp (deve ser ignorado)
-        assertThrows(Exception.class, () -> {
-            pixWebhookService.processWebhookEvent(endToEndId, PixTransferStatus.CONFIRMED, timestamp);
-        });
+        // Segundo processamento com mesmo timestamp: respondido pela janela de dedup, sem lock no banco
+        assertEquals(
+                WebhookEventOutcome.DUPLICATE,
+                pixWebhookService.processWebhookEvent(endToEndId, PixTransferStatus.CONFIRMED, timestamp)
+        );
+        verifyNoInteractions(pixTransferRepository);
 
         // Verificar que operações financeiras não foram executadas novamente
-        verify(walletOperationService, never()).debit(any(), any());
-        verify(walletOperationService, never()).credit(any(), any());
+        verify(walletOperationService, never()).settle(any(), any(), any());
     }
 
     @Test
     void shouldEnsureAtomicityInConfirmedTransferProcessing() {
-        String endToEndId = "E2E-atomicity-test";
+        String endToEndId = EndToEndIdCodec.format(pixTransfer.getEndToEndId());
         Instant timestamp = Instant.now();
 
-        when(pixTransferRepository.findByEndToEndIdWithLock(endToEndId))
+        when(pixTransferRepository.findByEndToEndIdWithLock(pixTransfer.getEndToEndId()))
                 .thenReturn(Optional.of(pixTransfer));
 
         // Simular erro no crédito (após débito ter acontecido)
-        when(walletOperationService.debit(any(), any()))
-                .thenReturn(new BigDecimal("400.00"));
-        when(walletOperationService.credit(any(), any()))
-                .thenThrow(new RuntimeException("Credit operation failed"));
+        doThrow(new RuntimeException("Credit operation failed"))
+                .when(walletOperationService).settle(any(), any(), any());
 
         // Deve lançar exceção e fazer rollback de toda a transação
         assertThrows(RuntimeException.class, () -> {
@@ -158,24 +171,24 @@ class PixWebhookExactlyOnceTest {
 
     @Test
     void shouldPreventProcessingWhenTransferIsAlreadyInFinalState() {
-        String endToEndId = "E2E-final-state-test";
+        String endToEndId = EndToEndIdCodec.format(pixTransfer.getEndToEndId());
         Instant timestamp1 = Instant.now();
         Instant timestamp2 = timestamp1.plusSeconds(10);
 
         // Transfer já confirmado anteriormente
         pixTransfer.updateStatus(PixTransferStatus.CONFIRMED, timestamp1);
 
-        when(pixTransferRepository.findByEndToEndIdWithLock(endToEndId))
+        when(pixTransferRepository.findByEndToEndIdWithLock(pixTransfer.getEndToEndId()))
                 .thenReturn(Optional.of(pixTransfer));
 
         // Tentar rejeitar um transfer já confirmado (deve ser ignorado)
-        assertThrows(Exception.class, () -> {
-            pixWebhookService.processWebhookEvent(endToEndId, PixTransferStatus.REJECTED, timestamp2);
-        });
+        assertEquals(
+                WebhookEventOutcome.OUTDATED,
+                pixWebhookService.processWebhookEvent(endToEndId, PixTransferStatus.REJECTED, timestamp2)
+        );
 
         // Verificar que nenhuma operação financeira foi executada
-        verify(walletOperationService, never()).debit(any(), any());
-        verify(walletOperationService, never()).credit(any(), any());
+        verify(walletOperationService, never()).settle(any(), any(), any());
 
         // Status deve permanecer CONFIRMED
         assertTrue(pixTransfer.isConfirmed());
@@ -1,25 +1,27 @@
 package com.example.pix_wallet.domain.service;
 
-import com.example.pix_wallet.domain.exception.TransferNotFoundException;
-import com.example.pix_wallet.domain.exception.WebhookEventIgnoredException;
+import com.example.pix_wallet.domain.dto.WebhookEventOutcome;
 import com.example.pix_wallet.domain.model.*;
+import com.example.pix_wallet.domain.model.Money;
 import com.example.pix_wallet.domain.repository.PixTransferRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
-import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
@@ -32,8 +34,11 @@ class PixWebhookServiceTest {
     @Mock
     private WalletOperationService walletOperationService;
 
-    @InjectMocks
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private PixWebhookService pixWebhookService;
+    private SimpleMeterRegistry meterRegistry;
 
     private PixTransfer pixTransfer;
     private Wallet fromWallet;
@@ -41,96 +46,180 @@ class PixWebhookServiceTest {
 
     @BeforeEach
     void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        pixWebhookService = new PixWebhookService(
+                pixTransferRepository,
+                walletOperationService,
+                new WebhookDedupWindow(
+                        new WebhookDedupProperties(true, 1000, Duration.ofMinutes(1)),
+                        meterRegistry
+                ),
+                new WebhookSequencer(new WebhookSequencerProperties(false, 1, 1), new SimpleMeterRegistry()),
+                transactionManager
+        );
+
         fromWallet = Wallet.create();
         toWallet = Wallet.create();
         PixKey pixKey = PixKey.createEmail("test@test.com", toWallet);
 
-        pixTransfer = PixTransfer.create(fromWallet, toWallet, pixKey, new BigDecimal("100.00"));
+        pixTransfer = PixTransfer.create(fromWallet, toWallet, pixKey, Money.of("100.00"));
     }
 
     @Test
     void shouldProcessConfirmedWebhookEvent() {
-        String endToEndId = "E2E-123456";
+        String endToEndId = EndToEndIdCodec.format(pixTransfer.getEndToEndId());
         Instant timestamp = Instant.now();
 
         // Simula carteira com saldo suficiente
-        fromWallet.credit(new BigDecimal("200.00"));
+        fromWallet.credit(Money.of("200.00"));
 
-        when(pixTransferRepository.findByEndToEndIdWithLock(endToEndId))
+        when(pixTransferRepository.findByEndToEndIdWithLock(pixTransfer.getEndToEndId()))
                 .thenReturn(Optional.of(pixTransfer));
 
         pixWebhookService.processWebhookEvent(endToEndId, PixTransferStatus.CONFIRMED, timestamp);
 
         verify(pixTransferRepository).save(pixTransfer);
         // Agora deve executar a transferência
-        verify(walletOperationService).debit(fromWallet.getId(), new BigDecimal("100.00"));
-        verify(walletOperationService).credit(toWallet.getId(), new BigDecimal("100.00"));
+        verify(walletOperationService).settle(fromWallet, toWallet, Money.of("100.00"));
+    }
+
+    @Test
+    void shouldCountOneDedupLookupPerDelivery() {
+        String endToEndId = EndToEndIdCodec.format(pixTransfer.getEndToEndId());
+        Instant timestamp = Instant.now();
+        when(pixTransferRepository.findByEndToEndIdWithLock(pixTransfer.getEndToEndId()))
+                .thenReturn(Optional.of(pixTransfer));
+
+        pixWebhookService.processWebhookEvent(endToEndId, PixTransferStatus.REJECTED, timestamp);
+        assertEquals(
+                WebhookEventOutcome.DUPLICATE,
+                pixWebhookService.processWebhookEvent(endToEndId, PixTransferStatus.REJECTED, timestamp)
+        );
+
+        // Uma entrega nova (miss) e um reenvio respondido da janela (hit)
+        assertEquals(0.5, meterRegistry.get("pix_wallet.webhook_dedup.hit_ratio").gauge().value());
     }
 
     @Test
     void shouldProcessRejectedWebhookEventWithoutReversal() {
-        String endToEndId = "E2E-123456";
+        String endToEndId = EndToEndIdCodec.format(pixTransfer.getEndToEndId());
         Instant timestamp = Instant.now();
 
-        when(pixTransferRepository.findByEndToEndIdWithLock(endToEndId))
+        when(pixTransferRepository.findByEndToEndIdWithLock(pixTransfer.getEndToEndId()))
                 .thenReturn(Optional.of(pixTransfer));
 
         pixWebhookService.processWebhookEvent(endToEndId, PixTransferStatus.REJECTED, timestamp);
 
         verify(pixTransferRepository).save(pixTransfer);
         // Não deve haver movimentação pois a transferência nunca foi executada
-        verify(walletOperationService, never()).credit(any(), any());
-        verify(walletOperationService, never()).debit(any(), any());
+        verify(walletOperationService, never()).settle(any(), any(), any());
     }
 
     @Test
-    void shouldThrowExceptionForDuplicateWebhookEvent() {
-        String endToEndId = "E2E-123456";
+    void shouldFinalizeHeldFundsOnConfirmation() {
+        pixTransfer.markFundsHeld();
+        when(pixTransferRepository.findByEndToEndIdWithLock(pixTransfer.getEndToEndId()))
+                .thenReturn(Optional.of(pixTransfer));
+
+        pixWebhookService.processWebhookEvent(
+                EndToEndIdCodec.format(pixTransfer.getEndToEndId()), PixTransferStatus.CONFIRMED, Instant.now());
+
+        // Saldo reservado na iniciação: sem nova verificação de saldo
+        verify(walletOperationService).settleHeld(fromWallet, toWallet, Money.of("100.00"));
+        verify(walletOperationService, never()).settle(any(), any(), any());
+    }
+
+    @Test
+    void shouldReleaseHeldFundsOnRejection() {
+        pixTransfer.markFundsHeld();
+        when(pixTransferRepository.findByEndToEndIdWithLock(pixTransfer.getEndToEndId()))
+                .thenReturn(Optional.of(pixTransfer));
+
+        pixWebhookService.processWebhookEvent(
+                EndToEndIdCodec.format(pixTransfer.getEndToEndId()), PixTransferStatus.REJECTED, Instant.now());
+
+        verify(walletOperationService).releaseHold(fromWallet, Money.of("100.00"));
+        verify(walletOperationService, never()).settleHeld(any(), any(), any());
+    }
+
+    @Test
+    void shouldReturnOutdatedForOlderWebhookEvent() {
+        String endToEndId = EndToEndIdCodec.format(pixTransfer.getEndToEndId());
         Instant oldTimestamp = Instant.now().minusSeconds(10);
         Instant newTimestamp = Instant.now();
 
         // Simula que já foi processado um evento mais recente
         pixTransfer.updateStatus(PixTransferStatus.CONFIRMED, newTimestamp);
 
-        when(pixTransferRepository.findByEndToEndIdWithLock(endToEndId))
+        when(pixTransferRepository.findByEndToEndIdWithLock(pixTransfer.getEndToEndId()))
                 .thenReturn(Optional.of(pixTransfer));
 
-        // Tenta processar evento mais antigo - deve lançar exceção
-        assertThrows(WebhookEventIgnoredException.class, () -> {
-            pixWebhookService.processWebhookEvent(endToEndId, PixTransferStatus.REJECTED, oldTimestamp);
-        });
+        // Evento mais antigo é ignorado sem exceção
+        assertEquals(
+                WebhookEventOutcome.OUTDATED,
+                pixWebhookService.processWebhookEvent(endToEndId, PixTransferStatus.REJECTED, oldTimestamp)
+        );
 
         verify(pixTransferRepository, never()).save(pixTransfer);
-        verify(walletOperationService, never()).credit(any(), any());
-        verify(walletOperationService, never()).debit(any(), any());
+        verify(walletOperationService, never()).settle(any(), any(), any());
+    }
+
+    @Test
+    void shouldReturnDuplicateForRepeatedWebhookEvent() {
+        String endToEndId = EndToEndIdCodec.format(pixTransfer.getEndToEndId());
+        Instant timestamp = Instant.now();
+
+        pixTransfer.updateStatus(PixTransferStatus.CONFIRMED, timestamp);
+
+        when(pixTransferRepository.findByEndToEndIdWithLock(pixTransfer.getEndToEndId()))
+                .thenReturn(Optional.of(pixTransfer));
+
+        assertEquals(
+                WebhookEventOutcome.DUPLICATE,
+                pixWebhookService.processWebhookEvent(endToEndId, PixTransferStatus.CONFIRMED, timestamp.plusSeconds(1))
+        );
+
+        verify(pixTransferRepository, never()).save(any());
+        verifyNoInteractions(walletOperationService);
     }
 
     @Test
-    void shouldThrowExceptionForNonExistentTransfer() {
-        String endToEndId = "E2E-NOTFOUND";
+    void shouldReturnNotFoundForNonExistentTransfer() {
+        UUID id = UUID.randomUUID();
+        String endToEndId = EndToEndIdCodec.format(id);
         Instant timestamp = Instant.now();
 
-        when(pixTransferRepository.findByEndToEndIdWithLock(endToEndId))
+        when(pixTransferRepository.findByEndToEndIdWithLock(id))
                 .thenReturn(Optional.empty());
 
-        assertThrows(TransferNotFoundException.class, () -> {
-            pixWebhookService.processWebhookEvent(endToEndId, PixTransferStatus.CONFIRMED, timestamp);
-        });
+        assertEquals(
+                WebhookEventOutcome.NOT_FOUND,
+                pixWebhookService.processWebhookEvent(endToEndId, PixTransferStatus.CONFIRMED, timestamp)
+        );
 
         verify(pixTransferRepository, never()).save(any());
-        verify(walletOperationService, never()).credit(any(), any());
-        verify(walletOperationService, never()).debit(any(), any());
+        verify(walletOperationService, never()).settle(any(), any(), any());
+    }
+
+    @Test
+    void shouldReturnNotFoundWithoutQueryForMalformedEndToEndId() {
+        assertEquals(
+                WebhookEventOutcome.NOT_FOUND,
+                pixWebhookService.processWebhookEvent("E2E-NOTFOUND", PixTransferStatus.CONFIRMED, Instant.now())
+        );
+
+        verifyNoInteractions(pixTransferRepository);
     }
 
     @Test
     void shouldHandleConcurrentWebhookRequestsForSamePix() throws InterruptedException {
-        String endToEndId = "E2E-concurrent-test";
+        String endToEndId = EndToEndIdCodec.format(pixTransfer.getEndToEndId());
         Instant timestamp = Instant.now();
 
         // Simula carteira com saldo suficiente
-        fromWallet.credit(new BigDecimal("200.00"));
+        fromWallet.credit(Money.of("200.00"));
 
-        when(pixTransferRepository.findByEndToEndIdWithLock(endToEndId))
+        when(pixTransferRepository.findByEndToEndIdWithLock(pixTransfer.getEndToEndId()))
                 .thenReturn(Optional.of(pixTransfer));
 
         // Contador para rastrear tentativas de processamento
@@ -142,12 +231,12 @@ class PixWebhookServiceTest {
             int count = processedCount.incrementAndGet();
             if (count == 1) {
                 // Primeira execução: sucesso
-                return new BigDecimal("100.00");
+                return null;
             } else {
                 // Demais execuções: falham devido ao lock/estado
                 throw new IllegalStateException("Transfer já processado");
             }
-        }).when(walletOperationService).debit(any(), any());
+        }).when(walletOperationService).settle(any(), any(), any());
 
         // Simular múltiplas requisições simultâneas do MESMO PIX
         int numberOfThreads = 5;
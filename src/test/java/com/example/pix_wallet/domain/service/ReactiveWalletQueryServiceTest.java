@@ -0,0 +1,159 @@
+package com.example.pix_wallet.domain.service;
+
+import com.example.pix_wallet.domain.dto.PixTransferSummary;
+import com.example.pix_wallet.domain.engine.BalanceEngine;
+import com.example.pix_wallet.domain.exception.PixTransferNotFoundException;
+import com.example.pix_wallet.domain.exception.WalletNotFoundException;
+import com.example.pix_wallet.domain.model.EndToEndIdCodec;
+import com.example.pix_wallet.domain.model.Money;
+import com.example.pix_wallet.domain.model.PixKey;
+import com.example.pix_wallet.domain.model.PixTransfer;
+import com.example.pix_wallet.domain.model.PixTransferStatus;
+import com.example.pix_wallet.domain.model.Wallet;
+import com.example.pix_wallet.domain.repository.PixKeyRepository;
+import com.example.pix_wallet.domain.repository.PixTransferRepository;
+import com.example.pix_wallet.domain.repository.WalletRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.h2.H2ConnectionConfiguration;
+import io.r2dbc.h2.H2ConnectionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Sem a transação do teste: a conexão R2DBC só enxerga dados já commitados pelo JPA
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:reactive;MODE=PostgreSQL;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReactiveWalletQueryServiceTest {
+
+    private static final Instant CREATED_AT = Instant.now().truncatedTo(ChronoUnit.MICROS);
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private PixKeyRepository pixKeyRepository;
+
+    @Autowired
+    private PixTransferRepository pixTransferRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ReactiveWalletQueryService service;
+    private BalanceEngine balanceEngine;
+    private Wallet fromWallet;
+    private Wallet toWallet;
+
+    @BeforeEach
+    void setUp() {
+        H2ConnectionFactory connectionFactory = new H2ConnectionFactory(H2ConnectionConfiguration.builder()
+                .inMemory("reactive")
+                .username("postgres")
+                .password("postgres")
+                .build());
+        ReactiveReadProperties properties = new ReactiveReadProperties(
+                "r2dbc:h2:mem:///reactive", "postgres", "postgres", 1, 2, Duration.ofSeconds(2));
+        balanceEngine = mock(BalanceEngine.class);
+        service = new ReactiveWalletQueryService(
+                connectionFactory, properties, balanceEngine, new SimpleMeterRegistry());
+
+        Wallet wallet = Wallet.create();
+        wallet.credit(Money.of("100.00"));
+        fromWallet = walletRepository.save(wallet);
+        toWallet = walletRepository.save(Wallet.create());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+        jdbcTemplate.update("DELETE FROM wallet_balance_slot");
+        pixTransferRepository.deleteAll();
+        pixKeyRepository.deleteAll();
+        walletRepository.deleteAll();
+    }
+
+    @Test
+    void shouldReadBalanceIncludingSlots() {
+        assertEquals(Money.of("100.00"), service.getBalance(fromWallet.getId()).block());
+
+        jdbcTemplate.update(
+                "INSERT INTO wallet_balance_slot (id, wallet_id, slot_index, balance, version) VALUES (?, ?, ?, ?, 0)",
+                1L, fromWallet.getId(), 0, Money.of("7.50").toBigDecimal());
+
+        assertEquals(Money.of("107.50"), service.getBalance(fromWallet.getId()).block());
+    }
+
+    @Test
+    void shouldFailWithWalletNotFound() {
+        assertThrows(WalletNotFoundException.class, () -> service.getBalance(-1L).block());
+    }
+
+    @Test
+    void shouldReadEngineBalanceOnlyOnSubscribe() {
+        when(balanceEngine.isEnabled()).thenReturn(true);
+        when(balanceEngine.balanceOf(fromWallet.getId())).thenReturn(Optional.of(Money.of("42.00")));
+
+        Mono<Money> balance = service.getBalance(fromWallet.getId());
+        verify(balanceEngine, never()).balanceOf(fromWallet.getId());
+
+        assertEquals(Money.of("42.00"), balance.block());
+    }
+
+    @Test
+    void shouldFallBackToDatabaseWhenWalletNotCachedInEngine() {
+        when(balanceEngine.isEnabled()).thenReturn(true);
+        when(balanceEngine.balanceOf(fromWallet.getId())).thenReturn(Optional.empty());
+        when(balanceEngine.balanceOf(-1L)).thenReturn(Optional.empty());
+
+        assertEquals(Money.of("100.00"), service.getBalance(fromWallet.getId()).block());
+        assertThrows(WalletNotFoundException.class, () -> service.getBalance(-1L).block());
+    }
+
+    @Test
+    void shouldReadTransferStatus() {
+        PixKey pixKey = pixKeyRepository.save(PixKey.createEmail("reactive@test.com", toWallet));
+        PixTransfer transfer = PixTransfer.create(fromWallet, toWallet, pixKey, Money.of("10.00"));
+        ReflectionTestUtils.setField(transfer, "createdAt", CREATED_AT);
+        pixTransferRepository.save(transfer);
+
+        PixTransferSummary summary = service.getTransfer(EndToEndIdCodec.format(transfer.getEndToEndId())).block();
+
+        assertNotNull(summary);
+        assertEquals(transfer.getEndToEndId(), summary.endToEndId());
+        assertEquals(Money.of("10.00"), summary.amount());
+        assertEquals(toWallet.getId(), summary.toWalletId());
+        assertEquals(PixTransferStatus.PENDING, summary.status());
+        assertEquals(CREATED_AT, summary.createdAt());
+    }
+
+    @Test
+    void shouldFailWithTransferNotFound() {
+        assertThrows(PixTransferNotFoundException.class,
+                () -> service.getTransfer(EndToEndIdCodec.format(UUID.randomUUID())).block());
+        // Formato inválido: nem chega ao banco
+        assertThrows(PixTransferNotFoundException.class, () -> service.getTransfer("E2E-invalid").block());
+    }
+}
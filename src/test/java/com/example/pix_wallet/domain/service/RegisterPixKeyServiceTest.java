@@ -8,16 +8,19 @@ import com.example.pix_wallet.domain.model.PixKeyType;
 import com.example.pix_wallet.domain.model.Wallet;
 import com.example.pix_wallet.domain.repository.PixKeyRepository;
 import com.example.pix_wallet.domain.repository.WalletRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,9 +32,20 @@ class RegisterPixKeyServiceTest {
     @Mock
     private PixKeyRepository pixKeyRepository;
 
-    @InjectMocks
+    @Mock
+    private PixKeyDirectory pixKeyDirectory;
+
+    @Mock
+    private PixKeyFilter pixKeyFilter;
+
     private RegisterPixKeyService service;
 
+    @BeforeEach
+    void setUp() {
+        service = new RegisterPixKeyService(walletRepository, pixKeyRepository, pixKeyFilter,
+                new PixKeyWriter(pixKeyRepository, pixKeyFilter, pixKeyDirectory));
+    }
+
     @Test
     void shouldRegisterEVPKey() {
         Wallet wallet = WalletTestFactory.validWallet();
@@ -39,7 +53,7 @@ class RegisterPixKeyServiceTest {
         when(walletRepository.findById(1L))
                 .thenReturn(Optional.of(wallet));
 
-        when(pixKeyRepository.save(any(PixKey.class)))
+        when(pixKeyRepository.saveAndFlush(any(PixKey.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
 
         PixKey pixKey = service.registerEVP(1L);
@@ -61,6 +75,7 @@ class RegisterPixKeyServiceTest {
 
     @Test
     void shouldThrowExceptionWhenEmailAlreadyExists() {
+        when(pixKeyFilter.mightContain("user@email.com")).thenReturn(true);
         when(pixKeyRepository.existsByTypeAndValue(
                 PixKeyType.EMAIL,
                 "user@email.com"
@@ -71,4 +86,59 @@ class RegisterPixKeyServiceTest {
                 () -> service.registerEmail(1L, "user@email.com")
         );
     }
+
+    @Test
+    void shouldCheckUniquenessAgainstNormalizedEmail() {
+        when(pixKeyFilter.mightContain("user@email.com")).thenReturn(true);
+        when(pixKeyRepository.existsByTypeAndValue(
+                PixKeyType.EMAIL,
+                "user@email.com"
+        )).thenReturn(true);
+
+        assertThrows(
+                PixKeyAlreadyExistsException.class,
+                () -> service.registerEmail(1L, "User@Email.COM")
+        );
+    }
+
+    @Test
+    void shouldRegisterCpfInCanonicalForm() {
+        when(walletRepository.findById(1L))
+                .thenReturn(Optional.of(WalletTestFactory.validWallet()));
+        when(pixKeyRepository.saveAndFlush(any(PixKey.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        PixKey pixKey = service.registerCpf(1L, "529.982.247-25");
+
+        assertEquals(PixKeyType.CPF, pixKey.getType());
+        assertEquals("52998224725", pixKey.getValue());
+        verify(pixKeyDirectory).invalidate(PixKeyType.CPF, "52998224725");
+        verify(pixKeyFilter).put("52998224725");
+    }
+
+    @Test
+    void shouldSkipExistsQueryWhenFilterRulesKeyOut() {
+        when(walletRepository.findById(1L))
+                .thenReturn(Optional.of(WalletTestFactory.validWallet()));
+        when(pixKeyRepository.saveAndFlush(any(PixKey.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        service.registerEmail(1L, "nova@email.com");
+
+        verify(pixKeyRepository, never()).existsByTypeAndValue(any(), any());
+    }
+
+    @Test
+    void shouldTranslateUniqueViolationWhenFilterSkippedTheCheck() {
+        when(walletRepository.findById(1L))
+                .thenReturn(Optional.of(WalletTestFactory.validWallet()));
+        when(pixKeyRepository.saveAndFlush(any(PixKey.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"));
+
+        assertThrows(
+                PixKeyAlreadyExistsException.class,
+                () -> service.registerEmail(1L, "outra-instancia@email.com")
+        );
+        verify(pixKeyFilter, never()).put(any());
+    }
 }
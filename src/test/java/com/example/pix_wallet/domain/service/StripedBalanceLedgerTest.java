@@ -0,0 +1,125 @@
+package com.example.pix_wallet.domain.service;
+
+import com.example.pix_wallet.domain.engine.BalanceEngine;
+import com.example.pix_wallet.domain.model.Money;
+import com.example.pix_wallet.domain.model.Wallet;
+import com.example.pix_wallet.domain.model.WalletTransaction;
+import com.example.pix_wallet.domain.repository.WalletBalanceSlotRepository;
+import com.example.pix_wallet.domain.repository.WalletRepository;
+import com.example.pix_wallet.domain.repository.WalletTransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:striped-ledger;MODE=PostgreSQL;NON_KEYWORDS=VALUE")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(StripedBalanceService.class)
+// Sem transação de teste: créditos e consolidação concorrem em transações próprias
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StripedBalanceLedgerTest {
+
+    private static final int THREADS = 6;
+    private static final int CREDITS_PER_THREAD = 10;
+
+    @Autowired
+    private StripedBalanceService stripedBalanceService;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private WalletBalanceSlotRepository slotRepository;
+
+    @Autowired
+    private WalletTransactionRepository transactionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private BalanceEngine balanceEngine;
+
+    @AfterEach
+    void cleanUp() {
+        transactionRepository.deleteAll();
+        slotRepository.deleteAll();
+        walletRepository.deleteAll();
+    }
+
+    @Test
+    void shouldKeepBalanceAfterConsistentUnderConcurrentSlotCredits() throws Exception {
+        Long walletId = walletRepository.save(Wallet.create()).getId();
+        stripedBalanceService.changeSlotCount(walletId, 4);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        AtomicBoolean crediting = new AtomicBoolean(true);
+        try {
+            Future<?> consolidator = executor.submit(() -> {
+                while (crediting.get()) {
+                    retrying(() -> stripedBalanceService.consolidate(walletId));
+                }
+            });
+
+            List<Future<?>> creditors = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                creditors.add(executor.submit(() -> {
+                    for (int i = 0; i < CREDITS_PER_THREAD; i++) {
+                        retrying(() -> transaction.executeWithoutResult(status -> stripedBalanceService.credit(
+                                walletRepository.findById(walletId).orElseThrow(), Money.of("1.00"))));
+                    }
+                }));
+            }
+            for (Future<?> creditor : creditors) {
+                creditor.get();
+            }
+            crediting.set(false);
+            consolidator.get();
+        } finally {
+            executor.shutdownNow();
+        }
+        stripedBalanceService.consolidate(walletId);
+
+        List<WalletTransaction> ledger = transactionRepository.findAll().stream()
+                .sorted(Comparator.comparing(WalletTransaction::getCreatedAt).thenComparing(WalletTransaction::getId))
+                .toList();
+        assertEquals(THREADS * CREDITS_PER_THREAD, ledger.size());
+
+        Money expected = Money.ZERO;
+        for (WalletTransaction entry : ledger) {
+            expected = expected.plus(entry.getAmount());
+            assertEquals(expected, entry.getBalanceAfter());
+        }
+        assertEquals(Money.of("60.00"), walletRepository.findById(walletId).orElseThrow().getBalance());
+    }
+
+    private static void retrying(Runnable operation) {
+        while (true) {
+            try {
+                operation.run();
+                return;
+            } catch (ConcurrencyFailureException e) {
+                // Conflito de versão ou de lock com outro crédito/consolidação: repete
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.pix_wallet.domain.service;
+
+import com.example.pix_wallet.domain.engine.BalanceEngine;
+import com.example.pix_wallet.domain.model.Money;
+import com.example.pix_wallet.domain.model.Wallet;
+import com.example.pix_wallet.domain.model.WalletBalanceSlot;
+import com.example.pix_wallet.domain.model.WalletTransaction;
+import com.example.pix_wallet.domain.repository.WalletBalanceSlotRepository;
+import com.example.pix_wallet.domain.repository.WalletRepository;
+import com.example.pix_wallet.domain.repository.WalletTransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class StripedBalanceServiceTest {
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @Mock
+    private WalletBalanceSlotRepository slotRepository;
+
+    @Mock
+    private WalletTransactionRepository transactionRepository;
+
+    @Mock
+    private BalanceEngine balanceEngine;
+
+    @InjectMocks
+    private StripedBalanceService stripedBalanceService;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void shouldCreditSlotWithoutTouchingMainBalance() {
+        Wallet wallet = Wallet.create();
+        wallet.credit(Money.of("10.00"));
+        List<WalletBalanceSlot> slots = wallet.changeBalanceSlotCount(1);
+
+        when(slotRepository.findByWalletIdAndSlotIndex(any(), anyInt()))
+                .thenReturn(Optional.of(slots.get(0)));
+
+        Money balanceAfter = stripedBalanceService.credit(wallet, Money.of("5.00"));
+
+        assertEquals(Money.of("15.00"), balanceAfter);
+        assertEquals(Money.of("10.00"), wallet.getBalance());
+        assertEquals(Money.of("5.00"), slots.get(0).getBalance());
+        // Saldo corrente só na consolidação
+        verify(transactionRepository).save(argThat(transaction -> transaction.getBalanceAfter() == null));
+    }
+
+    @Test
+    void shouldAssignBalanceAfterToPendingCreditsWhenConsolidating() {
+        Wallet wallet = Wallet.create();
+        wallet.credit(Money.of("10.00"));
+        List<WalletBalanceSlot> slots = wallet.changeBalanceSlotCount(2);
+        slots.get(0).credit(Money.of("5.00"));
+        slots.get(1).credit(Money.of("2.00"));
+
+        WalletTransaction deposit = WalletTransaction.credit(wallet, Money.of("10.00"), Money.of("10.00"));
+        WalletTransaction first = WalletTransaction.slotCredit(wallet, Money.of("5.00"));
+        WalletTransaction second = WalletTransaction.slotCredit(wallet, Money.of("2.00"));
+
+        when(walletRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(wallet));
+        when(slotRepository.findAllByWalletIdForUpdate(1L)).thenReturn(slots);
+        when(transactionRepository.findFirstByWalletIdAndBalanceAfterIsNullOrderByCreatedAtAscIdAsc(any()))
+                .thenReturn(Optional.of(first));
+        when(transactionRepository.findAllByWalletIdAndCreatedAtGreaterThanEqualOrderByCreatedAtDescIdDesc(any(), any()))
+                .thenReturn(List.of(second, first, deposit));
+
+        stripedBalanceService.consolidate(1L);
+
+        assertEquals(Money.of("17.00"), wallet.getBalance());
+        assertEquals(Money.of("17.00"), second.getBalanceAfter());
+        assertEquals(Money.of("15.00"), first.getBalanceAfter());
+        assertEquals(Money.of("10.00"), deposit.getBalanceAfter());
+    }
+
+    @Test
+    void shouldDrainSlotsWhenMainBalanceIsInsufficient() {
+        Wallet wallet = Wallet.create();
+        List<WalletBalanceSlot> slots = wallet.changeBalanceSlotCount(2);
+        slots.get(0).credit(Money.of("30.00"));
+        slots.get(1).credit(Money.of("30.00"));
+
+        when(slotRepository.findAllByWalletIdForUpdate(any())).thenReturn(slots);
+
+        stripedBalanceService.drainFor(wallet, Money.of("40.00"));
+
+        assertEquals(Money.of("40.00"), wallet.getBalance());
+        assertEquals(Money.of("60.00"), wallet.getTotalBalance());
+    }
+
+    @Test
+    void shouldNotLockSlotsWhenMainBalanceCoversDebit() {
+        Wallet wallet = Wallet.create();
+        wallet.credit(Money.of("50.00"));
+        wallet.changeBalanceSlotCount(2);
+
+        stripedBalanceService.drainFor(wallet, Money.of("40.00"));
+
+        verifyNoInteractions(slotRepository);
+    }
+
+    @Test
+    void shouldRejectSlotsWhenBalanceEngineIsEnabled() {
+        when(balanceEngine.isEnabled()).thenReturn(true);
+
+        assertThrows(
+                IllegalStateException.class,
+                () -> stripedBalanceService.changeSlotCount(1L, 4)
+        );
+        verifyNoInteractions(walletRepository);
+    }
+}
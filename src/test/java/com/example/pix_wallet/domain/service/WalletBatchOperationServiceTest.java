@@ -0,0 +1,163 @@
+package com.example.pix_wallet.domain.service;
+
+import com.example.pix_wallet.domain.dto.BatchMode;
+import com.example.pix_wallet.domain.dto.BatchOperation;
+import com.example.pix_wallet.domain.dto.BatchOperationRequest;
+import com.example.pix_wallet.domain.dto.BatchOperationResponse;
+import com.example.pix_wallet.domain.dto.BatchOperationStatus;
+import com.example.pix_wallet.domain.engine.BalanceEngine;
+import com.example.pix_wallet.domain.factory.WalletTestFactory;
+import com.example.pix_wallet.domain.model.Money;
+import com.example.pix_wallet.domain.model.TransactionType;
+import com.example.pix_wallet.domain.model.Wallet;
+import com.example.pix_wallet.domain.model.WalletTransaction;
+import com.example.pix_wallet.domain.repository.WalletRepository;
+import com.example.pix_wallet.domain.repository.WalletTransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class WalletBatchOperationServiceTest {
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @Mock
+    private WalletTransactionRepository transactionRepository;
+
+    @Mock
+    private BalanceEngine balanceEngine;
+
+    @Mock
+    private StripedBalanceService stripedBalanceService;
+
+    @InjectMocks
+    private WalletBatchOperationService walletBatchOperationService;
+
+    private Wallet walletOne;
+    private Wallet walletTwo;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+
+        walletOne = WalletTestFactory.walletWithId(1L, Money.of("100.00"));
+        walletTwo = WalletTestFactory.walletWithId(2L, Money.of("10.00"));
+        when(walletRepository.findAllByIdInForUpdate(any()))
+                .thenReturn(List.of(walletOne, walletTwo));
+    }
+
+    @Test
+    void shouldApplyNetDeltaAndInsertLedgerInOneBatch() {
+        BatchOperationResponse response = walletBatchOperationService.execute(request(
+                BatchMode.ALL_OR_NOTHING,
+                operation(2L, TransactionType.CREDIT, "5.00"),
+                operation(1L, TransactionType.DEBIT, "30.00"),
+                operation(1L, TransactionType.CREDIT, "10.00")
+        ));
+
+        assertTrue(response.committed());
+        assertEquals(3, response.applied());
+        assertEquals(Money.of("80.00"), walletOne.getBalance());
+        assertEquals(Money.of("15.00"), walletTwo.getBalance());
+
+        // Resultado por linha na ordem do pedido, saldo acumulado por carteira
+        assertEquals(Money.of("15.00"), response.results().get(0).balanceAfter());
+        assertEquals(Money.of("70.00"), response.results().get(1).balanceAfter());
+        assertEquals(Money.of("80.00"), response.results().get(2).balanceAfter());
+
+        assertEquals(3, captureLedger().size());
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldLockWalletsInAscendingIdOrder() {
+        walletBatchOperationService.execute(request(
+                BatchMode.BEST_EFFORT,
+                operation(2L, TransactionType.CREDIT, "1.00"),
+                operation(1L, TransactionType.CREDIT, "1.00")
+        ));
+
+        ArgumentCaptor<Collection<Long>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(walletRepository).findAllByIdInForUpdate(captor.capture());
+        assertEquals(List.of(1L, 2L), List.copyOf(captor.getValue()));
+    }
+
+    @Test
+    void shouldSkipRejectedLinesInBestEffortMode() {
+        BatchOperationResponse response = walletBatchOperationService.execute(request(
+                BatchMode.BEST_EFFORT,
+                operation(2L, TransactionType.DEBIT, "50.00"),
+                operation(2L, TransactionType.CREDIT, "5.00"),
+                operation(3L, TransactionType.CREDIT, "5.00")
+        ));
+
+        assertTrue(response.committed());
+        assertEquals(1, response.applied());
+        assertEquals(2, response.rejected());
+        assertEquals(BatchOperationStatus.REJECTED, response.results().get(0).status());
+        assertEquals(BatchOperationStatus.APPLIED, response.results().get(1).status());
+        assertEquals(BatchOperationStatus.REJECTED, response.results().get(2).status());
+        assertEquals(Money.of("15.00"), walletTwo.getBalance());
+        assertEquals(1, captureLedger().size());
+    }
+
+    @Test
+    void shouldNotWriteAnythingWhenAllOrNothingHasRejectedLine() {
+        BatchOperationResponse response = walletBatchOperationService.execute(request(
+                BatchMode.ALL_OR_NOTHING,
+                operation(1L, TransactionType.CREDIT, "5.00"),
+                operation(2L, TransactionType.DEBIT, "50.00")
+        ));
+
+        assertFalse(response.committed());
+        assertEquals(0, response.applied());
+        assertEquals(BatchOperationStatus.SKIPPED, response.results().get(0).status());
+        assertEquals(BatchOperationStatus.REJECTED, response.results().get(1).status());
+        assertEquals(Money.of("100.00"), walletOne.getBalance());
+        assertEquals(Money.of("10.00"), walletTwo.getBalance());
+        verify(transactionRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void shouldRejectAllOrNothingWhenBalanceEngineIsEnabled() {
+        when(balanceEngine.isEnabled()).thenReturn(true);
+
+        assertThrows(
+                IllegalStateException.class,
+                () -> walletBatchOperationService.execute(request(
+                        BatchMode.ALL_OR_NOTHING,
+                        operation(1L, TransactionType.CREDIT, "5.00")
+                ))
+        );
+        verify(balanceEngine, never()).credit(any(), any());
+    }
+
+    private static BatchOperation operation(Long walletId, TransactionType type, String amount) {
+        return new BatchOperation(walletId, type, new BigDecimal(amount));
+    }
+
+    private static BatchOperationRequest request(BatchMode mode, BatchOperation... operations) {
+        return new BatchOperationRequest(mode, List.of(operations));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<WalletTransaction> captureLedger() {
+        ArgumentCaptor<List<WalletTransaction>> captor = ArgumentCaptor.forClass(List.class);
+        verify(transactionRepository).saveAll(captor.capture());
+        return captor.getValue();
+    }
+}
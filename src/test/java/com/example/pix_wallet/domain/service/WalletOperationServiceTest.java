@@ -1,7 +1,10 @@
 package com.example.pix_wallet.domain.service;
 
+import com.example.pix_wallet.domain.engine.BalanceEngine;
 import com.example.pix_wallet.domain.exception.InsufficientBalanceException;
 import com.example.pix_wallet.domain.exception.WalletNotFoundException;
+import com.example.pix_wallet.domain.factory.WalletTestFactory;
+import com.example.pix_wallet.domain.model.Money;
 import com.example.pix_wallet.domain.model.Wallet;
 import com.example.pix_wallet.domain.repository.WalletRepository;
 import com.example.pix_wallet.domain.repository.WalletTransactionRepository;
@@ -11,7 +14,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
-import java.math.BigDecimal;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -25,6 +27,12 @@ class WalletOperationServiceTest {
     @Mock
     private WalletTransactionRepository transactionRepository;
 
+    @Mock
+    private BalanceEngine balanceEngine;
+
+    @Mock
+    private StripedBalanceService stripedBalanceService;
+
     @InjectMocks
     private WalletOperationService walletOperationService;
 
@@ -40,11 +48,11 @@ class WalletOperationServiceTest {
         when(walletRepository.findById(1L))
                 .thenReturn(Optional.of(wallet));
 
-        BigDecimal newBalance =
-                walletOperationService.credit(1L, new BigDecimal("100.00"));
+        Money newBalance =
+                walletOperationService.credit(1L, Money.of("100.00"));
 
-        assertEquals(new BigDecimal("100.00"), newBalance);
-        assertEquals(new BigDecimal("100.00"), wallet.getBalance());
+        assertEquals(Money.of("100.00"), newBalance);
+        assertEquals(Money.of("100.00"), wallet.getBalance());
 
         verify(walletRepository).findById(1L);
     }
@@ -52,16 +60,16 @@ class WalletOperationServiceTest {
     @Test
     void shouldDebitWallet() {
         Wallet wallet = Wallet.create();
-        wallet.credit(new BigDecimal("200.00"));
+        wallet.credit(Money.of("200.00"));
 
         when(walletRepository.findById(1L))
                 .thenReturn(Optional.of(wallet));
 
-        BigDecimal newBalance =
-                walletOperationService.debit(1L, new BigDecimal("50.00"));
+        Money newBalance =
+                walletOperationService.debit(1L, Money.of("50.00"));
 
-        assertEquals(new BigDecimal("150.00"), newBalance);
-        assertEquals(new BigDecimal("150.00"), wallet.getBalance());
+        assertEquals(Money.of("150.00"), newBalance);
+        assertEquals(Money.of("150.00"), wallet.getBalance());
     }
 
     @Test
@@ -70,7 +78,7 @@ class WalletOperationServiceTest {
 
         assertThrows(
                 WalletNotFoundException.class,
-                () -> walletOperationService.credit(1L, new BigDecimal("10.00"))
+                () -> walletOperationService.credit(1L, Money.of("10.00"))
         );
     }
 
@@ -80,22 +88,55 @@ class WalletOperationServiceTest {
 
         assertThrows(
                 WalletNotFoundException.class,
-                () -> walletOperationService.debit(1L, new BigDecimal("10.00"))
+                () -> walletOperationService.debit(1L, Money.of("10.00"))
         );
     }
 
     @Test
     void shouldThrowExceptionWhenDebitWithInsufficientBalance() {
         Wallet wallet = Wallet.create();
-        wallet.credit(new BigDecimal("20.00"));
+        wallet.credit(Money.of("20.00"));
 
         when(walletRepository.findById(1L)).thenReturn(Optional.of(wallet));
 
         assertThrows(
                 InsufficientBalanceException.class,
-                () -> walletOperationService.debit(1L, new BigDecimal("100.00"))
+                () -> walletOperationService.debit(1L, Money.of("100.00"))
+        );
+
+        assertEquals(Money.of("20.00"), wallet.getBalance());
+    }
+
+    @Test
+    void shouldCreditSourceBackWhenEngineSettlementCreditFails() {
+        Wallet from = WalletTestFactory.walletWithId(1L, Money.ZERO);
+        Wallet to = WalletTestFactory.walletWithId(2L, Money.ZERO);
+        when(balanceEngine.isEnabled()).thenReturn(true);
+        when(balanceEngine.credit(2L, Money.of("10.00"))).thenThrow(new WalletNotFoundException(2L));
+
+        assertThrows(
+                WalletNotFoundException.class,
+                () -> walletOperationService.settle(from, to, Money.of("10.00"))
+        );
+
+        verify(balanceEngine).debit(1L, Money.of("10.00"));
+        verify(balanceEngine).credit(1L, Money.of("10.00"));
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void shouldRejectHeldSettlementInEngineMode() {
+        when(balanceEngine.isEnabled()).thenReturn(true);
+
+        assertThrows(
+                IllegalStateException.class,
+                () -> walletOperationService.settleHeld(
+                        WalletTestFactory.walletWithId(1L, Money.ZERO),
+                        WalletTestFactory.walletWithId(2L, Money.ZERO),
+                        Money.of("10.00"))
         );
 
-        assertEquals(new BigDecimal("20.00"), wallet.getBalance());
+        verifyNoInteractions(walletRepository, transactionRepository);
+        verify(balanceEngine, never()).debit(any(), any());
     }
 }
@@ -0,0 +1,176 @@
+package com.example.pix_wallet.domain.service;
+
+import com.example.pix_wallet.domain.engine.BalanceEngine;
+import com.example.pix_wallet.domain.exception.InsufficientBalanceException;
+import com.example.pix_wallet.domain.model.Money;
+import com.example.pix_wallet.domain.model.TransactionType;
+import com.example.pix_wallet.domain.model.Wallet;
+import com.example.pix_wallet.domain.model.WalletTransaction;
+import com.example.pix_wallet.domain.repository.H2BalanceReturningConfig;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Garante que a liquidação de uma transferência confirmada custa 2 UPDATEs condicionais e 1 lote de INSERT,
+ * com ou sem reserva de saldo na iniciação
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:settlement;MODE=PostgreSQL;NON_KEYWORDS=VALUE",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("batch")
+@Import({WalletOperationService.class, StripedBalanceService.class, H2BalanceReturningConfig.class})
+class WalletSettlementTest {
+
+    @Autowired
+    private WalletOperationService walletOperationService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockBean
+    private BalanceEngine balanceEngine;
+
+    private Statistics statistics;
+    private Long fromId;
+    private Long toId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+
+        Wallet from = Wallet.create();
+        from.credit(Money.of("500.00"));
+        Wallet to = Wallet.create();
+        entityManager.persist(from);
+        entityManager.persist(to);
+        entityManager.flush();
+        entityManager.clear();
+
+        fromId = from.getId();
+        toId = to.getId();
+
+        // Primeira liquidação aquece o bloco de IDs da sequência de wallet_transaction
+        settleAndFlush(fromId, toId, "10.00");
+    }
+
+    @Test
+    void shouldSettleWithConditionalUpdatesAndBatchedLedger() {
+        Wallet from = entityManager.find(Wallet.class, fromId);
+        Wallet to = entityManager.find(Wallet.class, toId);
+        statistics.clear();
+
+        walletOperationService.settle(from, to, Money.of("25.00"));
+        entityManager.flush();
+
+        // 2 UPDATE ... RETURNING + 1 lote de INSERT no ledger; nenhum SELECT nem UPDATE gerado pelo Hibernate
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityUpdateCount());
+        assertEquals(2, statistics.getEntityInsertCount());
+
+        entityManager.clear();
+        assertEquals(Money.of("465.00"), entityManager.find(Wallet.class, fromId).getBalance());
+        assertEquals(Money.of("35.00"), entityManager.find(Wallet.class, toId).getBalance());
+
+        List<WalletTransaction> ledger = lastLedgerEntries();
+        assertEquals(TransactionType.DEBIT, ledger.get(0).getType());
+        assertEquals(Money.of("465.00"), ledger.get(0).getBalanceAfter());
+        assertEquals(TransactionType.CREDIT, ledger.get(1).getType());
+        assertEquals(Money.of("35.00"), ledger.get(1).getBalanceAfter());
+    }
+
+    @Test
+    void shouldGiveSameResultWhenReceiverHasLowerId() {
+        settleAndFlush(toId, fromId, "5.00");
+
+        assertEquals(Money.of("495.00"), entityManager.find(Wallet.class, fromId).getBalance());
+        assertEquals(Money.of("5.00"), entityManager.find(Wallet.class, toId).getBalance());
+    }
+
+    @Test
+    void shouldRejectWhenConditionalDebitMatchesNoRow() {
+        Wallet from = entityManager.find(Wallet.class, toId);
+        Wallet to = entityManager.find(Wallet.class, fromId);
+
+        assertThrows(
+                InsufficientBalanceException.class,
+                () -> walletOperationService.settle(from, to, Money.of("50.00"))
+        );
+
+        entityManager.clear();
+        assertEquals(Money.of("10.00"), entityManager.find(Wallet.class, toId).getBalance());
+    }
+
+    @Test
+    void shouldFinalizeHeldFundsWithSingleRowUpdate() {
+        Wallet from = entityManager.find(Wallet.class, fromId);
+        Wallet to = entityManager.find(Wallet.class, toId);
+        assertTrue(walletOperationService.hold(from, Money.of("100.00")));
+        statistics.clear();
+
+        walletOperationService.settleHeld(from, to, Money.of("100.00"));
+        entityManager.flush();
+
+        assertEquals(3, statistics.getPrepareStatementCount());
+
+        entityManager.clear();
+        Wallet settled = entityManager.find(Wallet.class, fromId);
+        assertEquals(Money.of("390.00"), settled.getBalance());
+        assertEquals(Money.ZERO, settled.getHeldBalance());
+        assertEquals(Money.of("110.00"), entityManager.find(Wallet.class, toId).getBalance());
+    }
+
+    @Test
+    void shouldKeepHeldFundsOutOfReachOfOtherDebits() {
+        Wallet from = entityManager.find(Wallet.class, fromId);
+        Wallet to = entityManager.find(Wallet.class, toId);
+
+        // 490 de saldo: a segunda reserva e o débito comum só enxergam os 90 disponíveis
+        assertTrue(walletOperationService.hold(from, Money.of("400.00")));
+        assertFalse(walletOperationService.hold(from, Money.of("100.00")));
+        assertThrows(
+                InsufficientBalanceException.class,
+                () -> walletOperationService.settle(from, to, Money.of("100.00"))
+        );
+
+        walletOperationService.releaseHold(from, Money.of("400.00"));
+        entityManager.clear();
+        Wallet released = entityManager.find(Wallet.class, fromId);
+        assertEquals(Money.ZERO, released.getHeldBalance());
+        assertEquals(Money.of("490.00"), released.getAvailableBalance());
+    }
+
+    private void settleAndFlush(Long fromWalletId, Long toWalletId, String amount) {
+        walletOperationService.settle(
+                entityManager.find(Wallet.class, fromWalletId),
+                entityManager.find(Wallet.class, toWalletId),
+                Money.of(amount)
+        );
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private List<WalletTransaction> lastLedgerEntries() {
+        List<WalletTransaction> ledger = entityManager.createQuery(
+                        "SELECT t FROM WalletTransaction t ORDER BY t.id DESC", WalletTransaction.class)
+                .setMaxResults(2)
+                .getResultList();
+        return List.of(ledger.get(1), ledger.get(0));
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.pix_wallet.domain.service;
+
+import com.example.pix_wallet.domain.dto.StatementFormat;
+import com.example.pix_wallet.domain.exception.WalletNotFoundException;
+import com.example.pix_wallet.domain.model.Money;
+import com.example.pix_wallet.domain.model.TransactionType;
+import com.example.pix_wallet.domain.model.Wallet;
+import com.example.pix_wallet.domain.model.WalletTransaction;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statement;MODE=PostgreSQL;NON_KEYWORDS=VALUE",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({WalletStatementExportService.class, WalletStatementExportServiceTest.Config.class})
+class WalletStatementExportServiceTest {
+
+    @TestConfiguration
+    @EnableConfigurationProperties(StatementExportProperties.class)
+    static class Config {
+    }
+
+    @Autowired
+    private WalletStatementExportService exportService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Wallet wallet;
+    private long sequence;
+
+    @BeforeEach
+    void setUp() {
+        wallet = Wallet.create();
+        entityManager.persist(wallet);
+
+        ledger(TransactionType.CREDIT, "100.00", "100.00", "2024-01-01T08:00:00Z");
+        ledger(TransactionType.DEBIT, "60.00", "40.00", "2024-01-01T12:00:00Z");
+        ledger(TransactionType.CREDIT, "30.50", "70.50", "2024-01-02T09:00:00Z");
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void shouldStreamNdjsonInChronologicalOrder() throws IOException {
+        String[] lines = export(null, null, StatementFormat.NDJSON).split("\n");
+
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].matches(
+                "\\{\"id\":\\d+,\"type\":\"CREDIT\",\"amount\":100.00,\"balanceAfter\":100.00,"
+                        + "\"createdAt\":\"2024-01-01T08:00:00Z\"}"), lines[0]);
+        assertTrue(lines[1].contains("\"type\":\"DEBIT\",\"amount\":60.00,\"balanceAfter\":40.00"), lines[1]);
+        assertTrue(lines[2].contains("\"createdAt\":\"2024-01-02T09:00:00Z\""), lines[2]);
+    }
+
+    @Test
+    void shouldStreamCsvWithinRange() throws IOException {
+        String[] lines = export(
+                Instant.parse("2024-01-01T10:00:00Z"), Instant.parse("2024-01-03T00:00:00Z"), StatementFormat.CSV
+        ).split("\n");
+
+        assertEquals("id,type,amount,balance_after,created_at", lines[0]);
+        assertEquals(3, lines.length);
+        assertTrue(lines[1].endsWith(",DEBIT,60.00,40.00,2024-01-01T12:00:00Z"), lines[1]);
+        assertTrue(lines[2].endsWith(",CREDIT,30.50,70.50,2024-01-02T09:00:00Z"), lines[2]);
+    }
+
+    @Test
+    void shouldNotLoadEntitiesIntoPersistenceContext() throws IOException {
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        export(null, null, StatementFormat.NDJSON);
+
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void shouldRejectUnknownWalletAndInvalidRange() {
+        assertThrows(WalletNotFoundException.class, () -> exportService.checkExportable(-1L, null, null));
+        assertThrows(IllegalArgumentException.class, () -> exportService.checkExportable(
+                wallet.getId(), Instant.parse("2024-01-02T00:00:00Z"), Instant.parse("2024-01-01T00:00:00Z")));
+        assertThrows(IllegalArgumentException.class, () -> StatementFormat.fromParameter("xml"));
+        assertEquals(StatementFormat.CSV, StatementFormat.fromParameter("csv"));
+    }
+
+    private String export(Instant from, Instant to, StatementFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(wallet.getId(), from, to, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private void ledger(TransactionType type, String amount, String balanceAfter, String createdAt) {
+        entityManager.persist(WalletTransaction.fromJournal(
+                wallet,
+                type,
+                Money.of(amount),
+                Money.of(balanceAfter),
+                Instant.parse(createdAt),
+                ++sequence
+        ));
+    }
+}
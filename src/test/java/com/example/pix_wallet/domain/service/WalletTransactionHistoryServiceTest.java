@@ -0,0 +1,146 @@
+package com.example.pix_wallet.domain.service;
+
+import com.example.pix_wallet.domain.dto.TransactionCursor;
+import com.example.pix_wallet.domain.dto.TransactionHistoryItem;
+import com.example.pix_wallet.domain.dto.TransactionHistoryPage;
+import com.example.pix_wallet.domain.exception.WalletNotFoundException;
+import com.example.pix_wallet.domain.model.Money;
+import com.example.pix_wallet.domain.model.TransactionType;
+import com.example.pix_wallet.domain.model.Wallet;
+import com.example.pix_wallet.domain.model.WalletTransaction;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:history;MODE=PostgreSQL;NON_KEYWORDS=VALUE",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({WalletTransactionHistoryService.class, WalletTransactionHistoryServiceTest.Config.class})
+class WalletTransactionHistoryServiceTest {
+
+    @TestConfiguration
+    @EnableConfigurationProperties(TransactionHistoryProperties.class)
+    static class Config {
+    }
+
+    @Autowired
+    private WalletTransactionHistoryService historyService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Wallet wallet;
+    private long sequence;
+
+    @BeforeEach
+    void setUp() {
+        wallet = Wallet.create();
+        entityManager.persist(wallet);
+
+        // Dois pares com o mesmo created_at: o desempate por id não pode repetir nem pular lançamentos
+        ledger(TransactionType.CREDIT, "100.00", "100.00", "2024-01-01T08:00:00Z");
+        ledger(TransactionType.DEBIT, "10.00", "90.00", "2024-01-01T08:00:00Z");
+        ledger(TransactionType.DEBIT, "20.00", "70.00", "2024-01-01T12:00:00Z");
+        ledger(TransactionType.CREDIT, "5.00", "75.00", "2024-01-02T09:00:00Z");
+        ledger(TransactionType.CREDIT, "5.00", "80.00", "2024-01-02T09:00:00Z");
+        ledger(TransactionType.DEBIT, "60.00", "20.00", "2024-01-02T15:00:00Z");
+        ledger(TransactionType.CREDIT, "1.00", "21.00", "2024-01-03T00:00:00Z");
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void shouldWalkWholeHistoryNewestFirstWithCursor() {
+        List<TransactionHistoryItem> all = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            TransactionHistoryPage page = historyService.getPage(wallet.getId(), cursor, 3);
+            all.addAll(page.items());
+            pageSizes.add(page.items().size());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of(3, 3, 1), pageSizes);
+        assertEquals(
+                List.of("21.00", "20.00", "80.00", "75.00", "70.00", "90.00", "100.00"),
+                all.stream().map(item -> item.balanceAfter().toString()).toList()
+        );
+        assertEquals(7, all.stream().map(TransactionHistoryItem::id).distinct().count());
+    }
+
+    @Test
+    void shouldNotReturnCursorWhenPageIsExactlyTheRest() {
+        TransactionHistoryPage page = historyService.getPage(wallet.getId(), null, 7);
+
+        assertEquals(7, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void shouldServeDeepPageWithSingleQueryAndNoEntities() {
+        TransactionHistoryPage first = historyService.getPage(wallet.getId(), null, 5);
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        TransactionHistoryPage second = historyService.getPage(wallet.getId(), first.nextCursor(), 5);
+
+        assertEquals(2, second.items().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void shouldRoundTripOpaqueCursor() {
+        TransactionCursor cursor = new TransactionCursor(Instant.parse("2024-01-02T09:00:00.123456Z"), 42L);
+
+        String encoded = cursor.encode();
+
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"), encoded);
+        assertEquals(cursor, TransactionCursor.decode(encoded));
+    }
+
+    @Test
+    void shouldRejectInvalidCursorLimitAndUnknownWallet() {
+        assertThrows(IllegalArgumentException.class,
+                () -> historyService.getPage(wallet.getId(), "not a cursor", 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> historyService.getPage(wallet.getId(), "AAAA", 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> historyService.getPage(wallet.getId(), null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> historyService.getPage(wallet.getId(), null, 201));
+        assertThrows(WalletNotFoundException.class,
+                () -> historyService.getPage(-1L, null, null));
+    }
+
+    private void ledger(TransactionType type, String amount, String balanceAfter, String createdAt) {
+        entityManager.persist(WalletTransaction.fromJournal(
+                wallet,
+                type,
+                Money.of(amount),
+                Money.of(balanceAfter),
+                Instant.parse(createdAt),
+                ++sequence
+        ));
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.pix_wallet.domain.service;
+
+import com.example.pix_wallet.domain.engine.BalanceEngine;
+import com.example.pix_wallet.domain.model.Money;
+import com.example.pix_wallet.domain.model.Wallet;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Garante que, com o profile batch, uma transferência gera um único lote de UPDATE e um único lote de INSERT
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:batching;MODE=PostgreSQL;NON_KEYWORDS=VALUE",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("batch")
+@Import({WalletTransferService.class, StripedBalanceService.class})
+class WalletTransferBatchingTest {
+
+    @Autowired
+    private WalletTransferService walletTransferService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockBean
+    private BalanceEngine balanceEngine;
+
+    private Statistics statistics;
+    private Long fromId;
+    private Long toId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+
+        Wallet from = Wallet.create();
+        from.credit(Money.of("500.00"));
+        Wallet to = Wallet.create();
+        entityManager.persist(from);
+        entityManager.persist(to);
+        entityManager.flush();
+        entityManager.clear();
+
+        fromId = from.getId();
+        toId = to.getId();
+
+        // Primeira transferência aquece o bloco de IDs da sequência de wallet_transaction
+        transferAndFlush();
+    }
+
+    @Test
+    void shouldExecuteTransferWithBatchedWrites() {
+        statistics.clear();
+
+        transferAndFlush();
+
+        // 2 SELECTs das carteiras + 1 lote de UPDATE + 1 lote de INSERT no ledger
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getEntityUpdateCount());
+        assertEquals(2, statistics.getEntityInsertCount());
+    }
+
+    private void transferAndFlush() {
+        walletTransferService.transfer(fromId, toId, Money.of("10.00"));
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.pix_wallet.domain.service;
+
+import com.example.pix_wallet.domain.exception.InsufficientBalanceException;
+import com.example.pix_wallet.domain.exception.TransferConflictException;
+import com.example.pix_wallet.domain.model.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class WalletTransferExecutorTest {
+
+    private static final Money AMOUNT = Money.of("10.00");
+
+    @Mock
+    private WalletTransferService walletTransferService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void shouldRetryVersionConflictUntilTransferSucceeds() {
+        doThrow(conflict())
+                .doThrow(conflict())
+                .doNothing()
+                .when(walletTransferService).transfer(1L, 2L, AMOUNT);
+
+        executor(false).transfer(1L, 2L, AMOUNT);
+
+        verify(walletTransferService, times(3)).transfer(1L, 2L, AMOUNT);
+        assertEquals(2.0, meterRegistry.counter("pix_wallet.transfer.retries").count());
+        assertEquals(0.0, meterRegistry.counter("pix_wallet.transfer.give_ups").count());
+    }
+
+    @Test
+    void shouldGiveUpAfterMaxAttempts() {
+        doThrow(conflict()).when(walletTransferService).transfer(1L, 2L, AMOUNT);
+
+        assertThrows(
+                TransferConflictException.class,
+                () -> executor(false).transfer(1L, 2L, AMOUNT)
+        );
+
+        verify(walletTransferService, times(3)).transfer(1L, 2L, AMOUNT);
+        assertEquals(2.0, meterRegistry.counter("pix_wallet.transfer.retries").count());
+        assertEquals(1.0, meterRegistry.counter("pix_wallet.transfer.give_ups").count());
+    }
+
+    @Test
+    void shouldNotRetryBusinessErrors() {
+        doThrow(new InsufficientBalanceException(Money.ZERO, AMOUNT))
+                .when(walletTransferService).transfer(1L, 2L, AMOUNT);
+
+        assertThrows(
+                InsufficientBalanceException.class,
+                () -> executor(false).transfer(1L, 2L, AMOUNT)
+        );
+
+        verify(walletTransferService, times(1)).transfer(1L, 2L, AMOUNT);
+        assertEquals(0.0, meterRegistry.counter("pix_wallet.transfer.retries").count());
+    }
+
+    @Test
+    void shouldSerializeTransfersTouchingSameWalletWhenQueueingIsEnabled() throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        doAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            inFlight.decrementAndGet();
+            return null;
+        }).when(walletTransferService).transfer(any(), any(), any());
+
+        WalletTransferExecutor executor = executor(true);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch done = new CountDownLatch(16);
+        for (int i = 0; i < 16; i++) {
+            boolean reverse = i % 2 == 0;
+            pool.submit(() -> {
+                executor.transfer(reverse ? 2L : 1L, reverse ? 1L : 2L, AMOUNT);
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        pool.shutdown();
+        assertEquals(1, maxInFlight.get());
+    }
+
+    private WalletTransferExecutor executor(boolean walletQueueing) {
+        TransferExecutorProperties properties = new TransferExecutorProperties(
+                3,
+                Duration.ofMillis(1),
+                Duration.ofMillis(2),
+                Duration.ofSeconds(5),
+                walletQueueing,
+                16
+        );
+        return new WalletTransferExecutor(walletTransferService, properties, meterRegistry);
+    }
+
+    private static ObjectOptimisticLockingFailureException conflict() {
+        return new ObjectOptimisticLockingFailureException("Wallet", 1L);
+    }
+}
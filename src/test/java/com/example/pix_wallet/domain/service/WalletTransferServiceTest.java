@@ -1,8 +1,10 @@
 package com.example.pix_wallet.domain.service;
 
+import com.example.pix_wallet.domain.engine.BalanceEngine;
 import com.example.pix_wallet.domain.exception.InsufficientBalanceException;
 import com.example.pix_wallet.domain.exception.InvalidTransferException;
 import com.example.pix_wallet.domain.exception.WalletNotFoundException;
+import com.example.pix_wallet.domain.model.Money;
 import com.example.pix_wallet.domain.model.Wallet;
 import com.example.pix_wallet.domain.model.WalletTransaction;
 import com.example.pix_wallet.domain.repository.WalletRepository;
@@ -13,7 +15,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
-import java.math.BigDecimal;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,6 +28,12 @@ class WalletTransferServiceTest {
     @Mock
     private WalletTransactionRepository walletTransactionRepository;
 
+    @Mock
+    private BalanceEngine balanceEngine;
+
+    @Mock
+    private StripedBalanceService stripedBalanceService;
+
     @InjectMocks
     private WalletTransferService walletTransferService;
 
@@ -38,17 +45,17 @@ class WalletTransferServiceTest {
 //    @Test
 //    void shouldTransferAmountBetweenWallets() {
 //        Wallet from = Wallet.create();
-//        from.credit(new BigDecimal("100.00"));
+//        from.credit(Money.of("100.00"));
 //
 //        Wallet to = Wallet.create();
 //
 //        when(walletRepository.findById(1L)).thenReturn(Optional.of(from));
 //        when(walletRepository.findById(2L)).thenReturn(Optional.of(to));
 //
-//        walletTransferService.transfer(1L, 2L, new BigDecimal("40.00"));
+//        walletTransferService.transfer(1L, 2L, Money.of("40.00"));
 //
-//        assertEquals(new BigDecimal("60.00"), from.getBalance());
-//        assertEquals(new BigDecimal("40.00"), to.getBalance());
+//        assertEquals(Money.of("60.00"), from.getBalance());
+//        assertEquals(Money.of("40.00"), to.getBalance());
 //
 //        verify(walletRepository).findById(1L);
 //        verify(walletRepository).findById(2L);
@@ -57,17 +64,17 @@ class WalletTransferServiceTest {
     @Test
     void shouldTransferAmountBetweenWallets() {
         Wallet from = Wallet.create();
-        from.credit(new BigDecimal("200.00"));
+        from.credit(Money.of("200.00"));
 
         Wallet to = Wallet.create();
 
-        when(walletRepository.findById(1L)).thenReturn(Optional.of(from));
-        when(walletRepository.findById(2L)).thenReturn(Optional.of(to));
+        when(walletRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(from));
+        when(walletRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(to));
 
-        walletTransferService.transfer(1L, 2L, new BigDecimal("50.00"));
+        walletTransferService.transfer(1L, 2L, Money.of("50.00"));
 
-        assertEquals(new BigDecimal("150.00"), from.getBalance());
-        assertEquals(new BigDecimal("50.00"), to.getBalance());
+        assertEquals(Money.of("150.00"), from.getBalance());
+        assertEquals(Money.of("50.00"), to.getBalance());
 
         verify(walletTransactionRepository, times(2))
                 .save(any(WalletTransaction.class));
@@ -77,7 +84,7 @@ class WalletTransferServiceTest {
     void shouldThrowExceptionWhenTransferToSameWallet() {
         assertThrows(
                 InvalidTransferException.class,
-                () -> walletTransferService.transfer(1L, 1L, new BigDecimal("10.00"))
+                () -> walletTransferService.transfer(1L, 1L, Money.of("10.00"))
         );
 
         verifyNoInteractions(walletRepository);
@@ -85,44 +92,44 @@ class WalletTransferServiceTest {
 
     @Test
     void shouldThrowExceptionWhenSourceWalletNotFound() {
-        when(walletRepository.findById(1L)).thenReturn(Optional.empty());
+        when(walletRepository.findByIdForUpdate(1L)).thenReturn(Optional.empty());
 
         assertThrows(
                 WalletNotFoundException.class,
-                () -> walletTransferService.transfer(1L, 2L, new BigDecimal("10.00"))
+                () -> walletTransferService.transfer(1L, 2L, Money.of("10.00"))
         );
     }
 
     @Test
     void shouldThrowExceptionWhenTargetWalletNotFound() {
         Wallet from = Wallet.create();
-        from.credit(new BigDecimal("50.00"));
+        from.credit(Money.of("50.00"));
 
-        when(walletRepository.findById(1L)).thenReturn(Optional.of(from));
-        when(walletRepository.findById(2L)).thenReturn(Optional.empty());
+        when(walletRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(from));
+        when(walletRepository.findByIdForUpdate(2L)).thenReturn(Optional.empty());
 
         assertThrows(
                 WalletNotFoundException.class,
-                () -> walletTransferService.transfer(1L, 2L, new BigDecimal("10.00"))
+                () -> walletTransferService.transfer(1L, 2L, Money.of("10.00"))
         );
     }
 
     @Test
     void shouldThrowExceptionWhenInsufficientBalance() {
         Wallet from = Wallet.create();
-        from.credit(new BigDecimal("20.00"));
+        from.credit(Money.of("20.00"));
 
         Wallet to = Wallet.create();
 
-        when(walletRepository.findById(1L)).thenReturn(Optional.of(from));
-        when(walletRepository.findById(2L)).thenReturn(Optional.of(to));
+        when(walletRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(from));
+        when(walletRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(to));
 
         assertThrows(
                 InsufficientBalanceException.class,
-                () -> walletTransferService.transfer(1L, 2L, new BigDecimal("100.00"))
+                () -> walletTransferService.transfer(1L, 2L, Money.of("100.00"))
         );
 
-        assertEquals(new BigDecimal("20.00"), from.getBalance());
-        assertEquals(BigDecimal.ZERO, to.getBalance());
+        assertEquals(Money.of("20.00"), from.getBalance());
+        assertEquals(Money.ZERO, to.getBalance());
     }
 }
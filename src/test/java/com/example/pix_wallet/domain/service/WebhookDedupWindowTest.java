@@ -0,0 +1,76 @@
+package com.example.pix_wallet.domain.service;
+
+import com.example.pix_wallet.domain.model.PixTransferStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebhookDedupWindowTest {
+
+    private static final Instant TIMESTAMP = Instant.parse("2024-01-01T10:00:00Z");
+
+    private SimpleMeterRegistry meterRegistry;
+    private WebhookDedupWindow dedupWindow;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        dedupWindow = window(true);
+    }
+
+    @Test
+    void shouldMatchOnlyTheExactFingerprint() {
+        dedupWindow.recordApplied("E2E-1", PixTransferStatus.CONFIRMED, TIMESTAMP);
+
+        assertTrue(dedupWindow.isRecentlyApplied("E2E-1", PixTransferStatus.CONFIRMED, TIMESTAMP));
+        assertFalse(dedupWindow.isRecentlyApplied("E2E-1", PixTransferStatus.REJECTED, TIMESTAMP));
+        assertFalse(dedupWindow.isRecentlyApplied("E2E-1", PixTransferStatus.CONFIRMED, TIMESTAMP.plusMillis(1)));
+        assertFalse(dedupWindow.isRecentlyApplied("E2E-2", PixTransferStatus.CONFIRMED, TIMESTAMP));
+
+        assertEquals(0.25, meterRegistry.get("pix_wallet.webhook_dedup.hit_ratio").gauge().value());
+    }
+
+    @Test
+    void shouldRecheckWithoutAffectingHitRatio() {
+        assertFalse(dedupWindow.isRecentlyApplied("E2E-1", PixTransferStatus.CONFIRMED, TIMESTAMP));
+        dedupWindow.recordApplied("E2E-1", PixTransferStatus.CONFIRMED, TIMESTAMP);
+
+        assertTrue(dedupWindow.isStillRecentlyApplied("E2E-1", PixTransferStatus.CONFIRMED, TIMESTAMP));
+        assertFalse(dedupWindow.isStillRecentlyApplied("E2E-2", PixTransferStatus.CONFIRMED, TIMESTAMP));
+
+        assertEquals(0.0, meterRegistry.get("pix_wallet.webhook_dedup.hit_ratio").gauge().value());
+    }
+
+    @Test
+    void shouldRecordOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            dedupWindow.recordApplied("E2E-1", PixTransferStatus.CONFIRMED, TIMESTAMP);
+            assertFalse(dedupWindow.isRecentlyApplied("E2E-1", PixTransferStatus.CONFIRMED, TIMESTAMP));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertTrue(dedupWindow.isRecentlyApplied("E2E-1", PixTransferStatus.CONFIRMED, TIMESTAMP));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldNeverMatchWhenDisabled() {
+        WebhookDedupWindow disabled = window(false);
+        disabled.recordApplied("E2E-1", PixTransferStatus.CONFIRMED, TIMESTAMP);
+
+        assertFalse(disabled.isRecentlyApplied("E2E-1", PixTransferStatus.CONFIRMED, TIMESTAMP));
+    }
+
+    private WebhookDedupWindow window(boolean enabled) {
+        return new WebhookDedupWindow(new WebhookDedupProperties(enabled, 100, Duration.ofMinutes(1)), meterRegistry);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.pix_wallet.domain.service;
+
+import com.example.pix_wallet.domain.dto.WebhookEventOutcome;
+import com.example.pix_wallet.domain.model.PixTransferStatus;
+import com.example.pix_wallet.domain.model.WebhookInboxEvent;
+import com.example.pix_wallet.domain.model.WebhookInboxState;
+import com.example.pix_wallet.domain.repository.WebhookInboxRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:inbox;MODE=PostgreSQL;NON_KEYWORDS=VALUE",
+        "pix-wallet.webhook-inbox.enabled=true",
+        "pix-wallet.webhook-inbox.max-attempts=2"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({WebhookInboxService.class, WebhookInboxServiceTest.Config.class})
+// Sem transação de teste: o serviço abre e confirma as próprias transações, como no worker
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WebhookInboxServiceTest {
+
+    private static final Instant TIMESTAMP = Instant.parse("2024-01-01T12:00:00Z");
+
+    @TestConfiguration
+    @EnableConfigurationProperties(WebhookInboxProperties.class)
+    static class Config {
+    }
+
+    @Autowired
+    private WebhookInboxService webhookInboxService;
+
+    @Autowired
+    private WebhookInboxRepository inboxRepository;
+
+    @MockBean
+    private PixWebhookService pixWebhookService;
+
+    @AfterEach
+    void cleanUp() {
+        inboxRepository.deleteAll();
+    }
+
+    @Test
+    void shouldHideClaimedEventsFromOtherWorkersUntilLeaseExpires() {
+        for (int i = 0; i < 3; i++) {
+            webhookInboxService.enqueue("E2E-" + i, PixTransferStatus.CONFIRMED, TIMESTAMP);
+        }
+
+        List<WebhookInboxEvent> first = webhookInboxService.claim(2);
+        List<WebhookInboxEvent> second = webhookInboxService.claim(2);
+
+        assertEquals(List.of("E2E-0", "E2E-1"), first.stream().map(WebhookInboxEvent::getEndToEndId).toList());
+        assertEquals(List.of("E2E-2"), second.stream().map(WebhookInboxEvent::getEndToEndId).toList());
+        assertTrue(webhookInboxService.claim(2).isEmpty());
+        assertEquals(3, webhookInboxService.stats().depth());
+    }
+
+    @Test
+    void shouldApplyEventAndMarkInbox() {
+        webhookInboxService.enqueue("E2E-OK", PixTransferStatus.CONFIRMED, TIMESTAMP);
+        when(pixWebhookService.processWebhookEvent("E2E-OK", PixTransferStatus.CONFIRMED, TIMESTAMP))
+                .thenReturn(WebhookEventOutcome.APPLIED);
+        WebhookInboxEvent event = webhookInboxService.claim(10).get(0);
+
+        assertEquals(WebhookInboxState.APPLIED, webhookInboxService.process(event));
+
+        verify(pixWebhookService).processWebhookEvent("E2E-OK", PixTransferStatus.CONFIRMED, TIMESTAMP);
+        WebhookInboxEvent stored = inboxRepository.findById(event.getId()).orElseThrow();
+        assertEquals(WebhookInboxState.APPLIED, stored.getState());
+        assertNotNull(stored.getProcessedAt());
+        assertEquals(0, webhookInboxService.stats().depth());
+    }
+
+    @Test
+    void shouldRecordIgnoredAndNotFoundOutcomes() {
+        webhookInboxService.enqueue("E2E-DUP", PixTransferStatus.CONFIRMED, TIMESTAMP);
+        webhookInboxService.enqueue("E2E-MISSING", PixTransferStatus.CONFIRMED, TIMESTAMP);
+        when(pixWebhookService.processWebhookEvent("E2E-DUP", PixTransferStatus.CONFIRMED, TIMESTAMP))
+                .thenReturn(WebhookEventOutcome.DUPLICATE);
+        when(pixWebhookService.processWebhookEvent("E2E-MISSING", PixTransferStatus.CONFIRMED, TIMESTAMP))
+                .thenReturn(WebhookEventOutcome.NOT_FOUND);
+
+        List<WebhookInboxEvent> batch = webhookInboxService.claim(10);
+
+        assertEquals(WebhookInboxState.IGNORED, webhookInboxService.process(batch.get(0)));
+        assertEquals(WebhookInboxState.NOT_FOUND, webhookInboxService.process(batch.get(1)));
+        assertEquals(WebhookInboxState.IGNORED, inboxRepository.findById(batch.get(0).getId()).orElseThrow().getState());
+    }
+
+    @Test
+    void shouldRetryFailuresUntilMaxAttempts() {
+        webhookInboxService.enqueue("E2E-FAIL", PixTransferStatus.CONFIRMED, TIMESTAMP);
+        doThrow(new IllegalStateException("database hiccup"))
+                .when(pixWebhookService).processWebhookEvent(any(), any(), any());
+
+        WebhookInboxEvent event = webhookInboxService.claim(10).get(0);
+        assertEquals(WebhookInboxState.PENDING, webhookInboxService.process(event));
+        assertEquals("database hiccup", inboxRepository.findById(event.getId()).orElseThrow().getLastError());
+
+        // Simula o fim do backoff sem esperar
+        event.claim(Instant.now());
+        assertEquals(WebhookInboxState.FAILED, webhookInboxService.process(event));
+        assertEquals(WebhookInboxState.FAILED, inboxRepository.findById(event.getId()).orElseThrow().getState());
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.pix_wallet.domain.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebhookSequencerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private WebhookSequencer sequencer;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        sequencer = new WebhookSequencer(new WebhookSequencerProperties(true, 4, 100), meterRegistry);
+        sequencer.start();
+        callers = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        sequencer.stop();
+    }
+
+    @Test
+    void shouldRunEventsOfSameTransferOneAfterAnother() throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(16);
+
+        for (int i = 0; i < 16; i++) {
+            callers.submit(() -> {
+                sequencer.execute("E2E-same", () -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    sleep(2);
+                    return inFlight.decrementAndGet();
+                });
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(1, maxInFlight.get());
+    }
+
+    @Test
+    void shouldRunDifferentPartitionsInParallel() throws Exception {
+        String first = "E2E-a";
+        String second = keyOnOtherPartition(first);
+        CountDownLatch bothRunning = new CountDownLatch(2);
+
+        Future<Boolean> a = callers.submit(() -> sequencer.execute(first, () -> awaitBoth(bothRunning)));
+        Future<Boolean> b = callers.submit(() -> sequencer.execute(second, () -> awaitBoth(bothRunning)));
+
+        assertTrue(a.get(5, TimeUnit.SECONDS));
+        assertTrue(b.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldPropagateTaskExceptionsAndExposeQueueDepth() {
+        IllegalStateException thrown = assertThrows(
+                IllegalStateException.class,
+                () -> sequencer.execute("E2E-fail", () -> {
+                    throw new IllegalStateException("boom");
+                })
+        );
+
+        assertEquals("boom", thrown.getMessage());
+        assertEquals(4, meterRegistry.get("pix_wallet.webhook_sequencer.queue_depth").gauges().size());
+    }
+
+    @Test
+    void shouldRunOnCallerThreadWhenNotStarted() {
+        WebhookSequencer stopped = new WebhookSequencer(new WebhookSequencerProperties(false, 4, 100), meterRegistry);
+        Thread caller = Thread.currentThread();
+
+        assertSame(caller, stopped.execute("E2E-inline", Thread::currentThread));
+    }
+
+    private static String keyOnOtherPartition(String key) {
+        int partition = WebhookSequencer.partitionOf(key, 4);
+        for (int i = 0; ; i++) {
+            String candidate = "E2E-" + i;
+            if (WebhookSequencer.partitionOf(candidate, 4) != partition) {
+                return candidate;
+            }
+        }
+    }
+
+    private static boolean awaitBoth(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.pix_wallet.web.controller;
+
+import com.example.pix_wallet.domain.exception.WalletNotFoundException;
+import com.example.pix_wallet.domain.model.EndToEndIdCodec;
+import com.example.pix_wallet.domain.model.Money;
+import com.example.pix_wallet.domain.model.PixKey;
+import com.example.pix_wallet.domain.model.PixKeyType;
+import com.example.pix_wallet.domain.model.PixTransfer;
+import com.example.pix_wallet.domain.model.PixTransferStatus;
+import com.example.pix_wallet.domain.model.Wallet;
+import com.example.pix_wallet.domain.service.PixTransferService;
+import com.example.pix_wallet.web.converter.PixProtobufCodec;
+import com.example.pix_wallet.web.converter.PixProtobufHttpMessageConverter;
+import com.example.pix_wallet.web.dto.PixTransferRequest;
+import com.example.pix_wallet.web.dto.PixTransferResponse;
+import com.example.pix_wallet.web.exception.GlobalExceptionHandler;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(PixTransferController.class)
+@Import(GlobalExceptionHandler.class)
+class PixTransferControllerTest {
+
+    private static final String JSON_REQUEST = """
+            {"fromWalletId": 1, "pixKeyType": "EMAIL", "pixKeyValue": "psp@test.com", "amount": 25.50}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PixTransferService pixTransferService;
+
+    private PixTransfer transfer;
+
+    @BeforeEach
+    void setUp() {
+        Wallet from = Wallet.create();
+        Wallet to = Wallet.create();
+        ReflectionTestUtils.setField(from, "id", 1L);
+        ReflectionTestUtils.setField(to, "id", 2L);
+        transfer = PixTransfer.create(from, to, PixKey.createEmail("psp@test.com", to), Money.of("25.50"));
+
+        when(pixTransferService.transfer(1L, PixKeyType.EMAIL, "psp@test.com", Money.of("25.50")))
+                .thenReturn(transfer);
+    }
+
+    @Test
+    void shouldAnswerJsonByDefault() throws Exception {
+        mockMvc.perform(post("/pix/transfers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(JSON_REQUEST))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.endToEndId").value(EndToEndIdCodec.format(transfer.getEndToEndId())));
+    }
+
+    @Test
+    void shouldNegotiateProtobufRequestAndResponse() throws Exception {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        CodedOutputStream out = CodedOutputStream.newInstance(body);
+        PixProtobufCodec.write(
+                new PixTransferRequest(1L, PixKeyType.EMAIL, "psp@test.com", new BigDecimal("25.50")), out);
+        out.flush();
+
+        byte[] response = mockMvc.perform(post("/pix/transfers")
+                        .contentType(PixProtobufHttpMessageConverter.APPLICATION_PROTOBUF)
+                        .accept(PixProtobufHttpMessageConverter.APPLICATION_PROTOBUF)
+                        .content(body.toByteArray()))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(PixProtobufHttpMessageConverter.APPLICATION_PROTOBUF))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        PixTransferResponse decoded = (PixTransferResponse) PixProtobufCodec.read(
+                PixTransferResponse.class, CodedInputStream.newInstance(response));
+        assertEquals(EndToEndIdCodec.format(transfer.getEndToEndId()), decoded.endToEndId());
+        assertEquals(new BigDecimal("25.50"), decoded.amount());
+        assertEquals(2L, decoded.toWalletId());
+        assertEquals(PixTransferStatus.PENDING, decoded.status());
+        assertEquals(transfer.getCreatedAt(), decoded.createdAt());
+    }
+
+    @Test
+    void shouldAnswerCborWhenAccepted() throws Exception {
+        byte[] response = mockMvc.perform(post("/pix/transfers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(JSON_REQUEST))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode decoded = new CBORMapper().readTree(response);
+        assertEquals(EndToEndIdCodec.format(transfer.getEndToEndId()), decoded.get("endToEndId").asText());
+        assertEquals("PENDING", decoded.get("status").asText());
+    }
+
+    @Test
+    void shouldAnswerExceptionHandlerErrorsInJsonForProtobufOnlyClient() throws Exception {
+        when(pixTransferService.transfer(1L, PixKeyType.EMAIL, "psp@test.com", Money.of("25.50")))
+                .thenThrow(new WalletNotFoundException(1L));
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        CodedOutputStream out = CodedOutputStream.newInstance(body);
+        PixProtobufCodec.write(
+                new PixTransferRequest(1L, PixKeyType.EMAIL, "psp@test.com", new BigDecimal("25.50")), out);
+        out.flush();
+
+        mockMvc.perform(post("/pix/transfers")
+                        .contentType(PixProtobufHttpMessageConverter.APPLICATION_PROTOBUF)
+                        .accept(PixProtobufHttpMessageConverter.APPLICATION_PROTOBUF)
+                        .content(body.toByteArray()))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.status").value(404));
+    }
+}
@@ -1,12 +1,20 @@
 package com.example.pix_wallet.web.controller;
 
-import com.example.pix_wallet.domain.exception.TransferNotFoundException;
-import com.example.pix_wallet.domain.exception.WebhookEventIgnoredException;
+import com.example.pix_wallet.domain.dto.WebhookEventBatchResponse;
+import com.example.pix_wallet.domain.dto.WebhookEventOutcome;
+import com.example.pix_wallet.domain.dto.WebhookEventResult;
 import com.example.pix_wallet.domain.model.PixTransferStatus;
+import com.example.pix_wallet.domain.service.PixWebhookBatchService;
 import com.example.pix_wallet.domain.service.PixWebhookService;
+import com.example.pix_wallet.domain.service.WebhookInboxService;
+import com.example.pix_wallet.web.converter.PixProtobufCodec;
+import com.example.pix_wallet.web.converter.PixProtobufHttpMessageConverter;
+import com.example.pix_wallet.web.dto.PixWebhookEventRequest;
 import com.example.pix_wallet.web.exception.GlobalExceptionHandler;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.google.protobuf.CodedOutputStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,9 +24,12 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayOutputStream;
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -33,6 +44,12 @@ class PixWebhookControllerTest {
     @MockBean
     private PixWebhookService pixWebhookService;
 
+    @MockBean
+    private WebhookInboxService webhookInboxService;
+
+    @MockBean
+    private PixWebhookBatchService pixWebhookBatchService;
+
     private ObjectMapper objectMapper;
 
     @BeforeEach
@@ -52,6 +69,9 @@ class PixWebhookControllerTest {
                 "timestamp", timestamp.toString()
         );
 
+        when(pixWebhookService.processWebhookEvent(endToEndId, PixTransferStatus.CONFIRMED, timestamp))
+                .thenReturn(WebhookEventOutcome.APPLIED);
+
         mockMvc.perform(post("/pix/webhook/events")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
@@ -71,6 +91,9 @@ class PixWebhookControllerTest {
                 "timestamp", timestamp.toString()
         );
 
+        when(pixWebhookService.processWebhookEvent(endToEndId, PixTransferStatus.REJECTED, timestamp))
+                .thenReturn(WebhookEventOutcome.APPLIED);
+
         mockMvc.perform(post("/pix/webhook/events")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
@@ -79,6 +102,74 @@ class PixWebhookControllerTest {
         verify(pixWebhookService).processWebhookEvent(endToEndId, PixTransferStatus.REJECTED, timestamp);
     }
 
+    @Test
+    void shouldReceiveProtobufWebhookEvent() throws Exception {
+        String endToEndId = "E2E-PROTOBUF";
+        Instant timestamp = Instant.parse("2024-01-29T15:30:00.123Z");
+
+        when(pixWebhookService.processWebhookEvent(endToEndId, PixTransferStatus.CONFIRMED, timestamp))
+                .thenReturn(WebhookEventOutcome.APPLIED);
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        CodedOutputStream out = CodedOutputStream.newInstance(body);
+        PixProtobufCodec.write(new PixWebhookEventRequest(endToEndId, PixTransferStatus.CONFIRMED, timestamp), out);
+        out.flush();
+
+        mockMvc.perform(post("/pix/webhook/events")
+                        .contentType(PixProtobufHttpMessageConverter.APPLICATION_PROTOBUF)
+                        .content(body.toByteArray()))
+                .andExpect(status().isOk());
+
+        verify(pixWebhookService).processWebhookEvent(endToEndId, PixTransferStatus.CONFIRMED, timestamp);
+    }
+
+    @Test
+    void shouldReceiveCborWebhookEventAndAnswerErrorsInCbor() throws Exception {
+        String endToEndId = "E2E-CBOR";
+        Instant timestamp = Instant.parse("2024-01-29T15:30:00Z");
+        CBORMapper cborMapper = new CBORMapper();
+
+        when(pixWebhookService.processWebhookEvent(endToEndId, PixTransferStatus.CONFIRMED, timestamp))
+                .thenReturn(WebhookEventOutcome.NOT_FOUND);
+
+        byte[] response = mockMvc.perform(post("/pix/webhook/events")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(Map.of(
+                                "endToEndId", endToEndId,
+                                "status", "CONFIRMED",
+                                "timestamp", timestamp.toString()
+                        ))))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals("Transfer Not Found", cborMapper.readTree(response).get("error").asText());
+    }
+
+    @Test
+    void shouldAnswerProtobufOnlyClientErrorsInJson() throws Exception {
+        String endToEndId = "E2E-PROTOBUF-MISSING";
+        Instant timestamp = Instant.parse("2024-01-29T15:30:00Z");
+
+        when(pixWebhookService.processWebhookEvent(endToEndId, PixTransferStatus.CONFIRMED, timestamp))
+                .thenReturn(WebhookEventOutcome.NOT_FOUND);
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        CodedOutputStream out = CodedOutputStream.newInstance(body);
+        PixProtobufCodec.write(new PixWebhookEventRequest(endToEndId, PixTransferStatus.CONFIRMED, timestamp), out);
+        out.flush();
+
+        // Sem representação Protobuf para o erro: 404 com corpo JSON, não 406
+        mockMvc.perform(post("/pix/webhook/events")
+                        .contentType(PixProtobufHttpMessageConverter.APPLICATION_PROTOBUF)
+                        .accept(PixProtobufHttpMessageConverter.APPLICATION_PROTOBUF)
+                        .content(body.toByteArray()))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.error").value("Transfer Not Found"));
+    }
+
     @Test
     void shouldReturnBadRequestForInvalidPayload() throws Exception {
         Map<String, Object> request = Map.of(
@@ -130,9 +221,8 @@ class PixWebhookControllerTest {
                 "timestamp", timestamp.toString()
         );
 
-        doThrow(new TransferNotFoundException(endToEndId))
-                .when(pixWebhookService)
-                .processWebhookEvent(endToEndId, PixTransferStatus.CONFIRMED, timestamp);
+        when(pixWebhookService.processWebhookEvent(endToEndId, PixTransferStatus.CONFIRMED, timestamp))
+                .thenReturn(WebhookEventOutcome.NOT_FOUND);
 
         mockMvc.perform(post("/pix/webhook/events")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -155,9 +245,8 @@ class PixWebhookControllerTest {
                 "timestamp", timestamp.toString()
         );
 
-        doThrow(new WebhookEventIgnoredException("Duplicate event"))
-                .when(pixWebhookService)
-                .processWebhookEvent(endToEndId, PixTransferStatus.CONFIRMED, timestamp);
+        when(pixWebhookService.processWebhookEvent(endToEndId, PixTransferStatus.CONFIRMED, timestamp))
+                .thenReturn(WebhookEventOutcome.DUPLICATE);
 
         mockMvc.perform(post("/pix/webhook/events")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -165,6 +254,60 @@ class PixWebhookControllerTest {
                 .andExpect(status().isConflict())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.status").value(409))
-                .andExpect(jsonPath("$.error").value("Webhook Event Ignored"));
+                .andExpect(jsonPath("$.error").value("Webhook Event Ignored"))
+                .andExpect(jsonPath("$.message").value("Webhook event ignored: duplicate event for endToEndId: " + endToEndId));
+    }
+
+    @Test
+    void shouldAcceptEventIntoInboxWhenAsyncModeIsEnabled() throws Exception {
+        String endToEndId = "E2E-ASYNC";
+        Instant timestamp = Instant.now();
+        when(webhookInboxService.isEnabled()).thenReturn(true);
+
+        Map<String, Object> request = Map.of(
+                "endToEndId", endToEndId,
+                "status", "CONFIRMED",
+                "timestamp", timestamp.toString()
+        );
+
+        mockMvc.perform(post("/pix/webhook/events")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted());
+
+        verify(webhookInboxService).enqueue(endToEndId, PixTransferStatus.CONFIRMED, timestamp);
+        verifyNoInteractions(pixWebhookService);
+    }
+
+    @Test
+    void shouldReturnPerEventOutcomesForBatch() throws Exception {
+        Instant timestamp = Instant.now();
+        when(pixWebhookBatchService.process(any())).thenReturn(new WebhookEventBatchResponse(1, List.of(
+                WebhookEventResult.of(0, "E2E-1", WebhookEventOutcome.APPLIED),
+                WebhookEventResult.of(1, "E2E-2", WebhookEventOutcome.NOT_FOUND)
+        )));
+
+        Map<String, Object> request = Map.of("events", List.of(
+                Map.of("endToEndId", "E2E-1", "status", "CONFIRMED", "timestamp", timestamp.toString()),
+                Map.of("endToEndId", "E2E-2", "status", "REJECTED", "timestamp", timestamp.toString())
+        ));
+
+        mockMvc.perform(post("/pix/webhook/events:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applied").value(1))
+                .andExpect(jsonPath("$.results[0].outcome").value("APPLIED"))
+                .andExpect(jsonPath("$.results[1].outcome").value("NOT_FOUND"));
+    }
+
+    @Test
+    void shouldReturnBadRequestForEmptyBatch() throws Exception {
+        mockMvc.perform(post("/pix/webhook/events:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("events", List.of()))))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(pixWebhookBatchService);
     }
 }
@@ -0,0 +1,55 @@
+package com.example.pix_wallet.web.controller;
+
+import com.example.pix_wallet.domain.exception.WalletNotFoundException;
+import com.example.pix_wallet.domain.model.Money;
+import com.example.pix_wallet.domain.service.ReactiveWalletQueryService;
+import com.example.pix_wallet.web.exception.GlobalExceptionHandler;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ReactiveReadController.class)
+@Import(GlobalExceptionHandler.class)
+class ReactiveReadControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ReactiveWalletQueryService reactiveWalletQueryService;
+
+    @Test
+    void shouldReturnBalanceAsynchronously() throws Exception {
+        when(reactiveWalletQueryService.getBalance(1L)).thenReturn(Mono.just(Money.of("42.50")));
+
+        MvcResult result = mockMvc.perform(get("/reactive/wallets/1/balance"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(42.50));
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownWallet() throws Exception {
+        when(reactiveWalletQueryService.getBalance(99L)).thenReturn(Mono.error(new WalletNotFoundException(99L)));
+
+        MvcResult result = mockMvc.perform(get("/reactive/wallets/99/balance"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+}
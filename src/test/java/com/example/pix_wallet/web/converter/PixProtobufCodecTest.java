@@ -0,0 +1,80 @@
+package com.example.pix_wallet.web.converter;
+
+import com.example.pix_wallet.domain.model.PixKeyType;
+import com.example.pix_wallet.domain.model.PixTransferStatus;
+import com.example.pix_wallet.web.dto.PixTransferRequest;
+import com.example.pix_wallet.web.dto.PixTransferResponse;
+import com.example.pix_wallet.web.dto.PixWebhookEventRequest;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.Timestamp;
+import com.google.protobuf.UnknownFieldSet;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PixProtobufCodecTest {
+
+    private static final String END_TO_END_ID = "E2E-7f0c1f5e-2d6b-4c47-9a51-3f6a8f2b1c9d";
+    private static final Instant TIMESTAMP = Instant.parse("2024-01-01T12:00:00.123456789Z");
+
+    @Test
+    void shouldRoundTripAllMessages() throws IOException {
+        PixWebhookEventRequest event = new PixWebhookEventRequest(END_TO_END_ID, PixTransferStatus.CONFIRMED, TIMESTAMP);
+        PixTransferRequest request = new PixTransferRequest(7L, PixKeyType.EMAIL, "psp@test.com", new BigDecimal("150.75"));
+        PixTransferResponse response = new PixTransferResponse(
+                END_TO_END_ID, new BigDecimal("150.75"), 42L, PixTransferStatus.EXPIRED, TIMESTAMP);
+
+        assertEquals(event, PixProtobufCodec.read(PixWebhookEventRequest.class, input(encode(event))));
+        assertEquals(request, PixProtobufCodec.read(PixTransferRequest.class, input(encode(request))));
+        assertEquals(response, PixProtobufCodec.read(PixTransferResponse.class, input(encode(response))));
+    }
+
+    @Test
+    void shouldFollowProtoFieldNumbersAndWellKnownTimestamp() throws IOException {
+        byte[] bytes = encode(new PixWebhookEventRequest(END_TO_END_ID, PixTransferStatus.REJECTED, TIMESTAMP));
+
+        UnknownFieldSet fields = UnknownFieldSet.parseFrom(bytes);
+        assertEquals(ByteString.copyFromUtf8(END_TO_END_ID),
+                fields.getField(1).getLengthDelimitedList().get(0));
+        assertEquals(3L, fields.getField(2).getVarintList().get(0));
+
+        Timestamp timestamp = Timestamp.parseFrom(fields.getField(3).getLengthDelimitedList().get(0));
+        assertEquals(TIMESTAMP.getEpochSecond(), timestamp.getSeconds());
+        assertEquals(TIMESTAMP.getNano(), timestamp.getNanos());
+    }
+
+    @Test
+    void shouldSkipUnknownFieldsAndLeaveMissingFieldsNull() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        CodedOutputStream out = CodedOutputStream.newInstance(buffer);
+        out.writeString(99, "future field");
+        out.writeString(1, END_TO_END_ID);
+        out.flush();
+
+        PixWebhookEventRequest event = (PixWebhookEventRequest) PixProtobufCodec.read(
+                PixWebhookEventRequest.class, input(buffer.toByteArray()));
+
+        assertEquals(END_TO_END_ID, event.endToEndId());
+        assertNull(event.status());
+        assertNull(event.timestamp());
+    }
+
+    private static byte[] encode(Object value) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        CodedOutputStream out = CodedOutputStream.newInstance(buffer);
+        PixProtobufCodec.write(value, out);
+        out.flush();
+        return buffer.toByteArray();
+    }
+
+    private static CodedInputStream input(byte[] bytes) {
+        return CodedInputStream.newInstance(bytes);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.pix_wallet.web.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatabaseAdmissionFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void shouldRejectWith503WhenAllPermitsAreInUse() throws Exception {
+        DatabaseAdmissionFilter filter = filter(1);
+        AtomicReference<MockHttpServletResponse> inner = new AtomicReference<>();
+
+        // A requisição externa segura a única vaga enquanto a interna tenta entrar
+        MockHttpServletResponse outer = new MockHttpServletResponse();
+        FilterChain holdingChain = (req, res) -> {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request("/wallets/2"), response, new MockFilterChain());
+            inner.set(response);
+        };
+        filter.doFilter(request("/wallets/1"), outer, holdingChain);
+
+        assertEquals(200, outer.getStatus());
+        assertEquals(503, inner.get().getStatus());
+        assertEquals("1", inner.get().getHeader("Retry-After"));
+        assertTrue(inner.get().getContentAsString().contains("\"path\":\"/wallets/2\""));
+        assertEquals(1.0, meterRegistry.counter("pix_wallet.db_admission.rejected").count());
+        assertEquals(0.0, meterRegistry.get("pix_wallet.db_admission.in_flight").gauge().value());
+    }
+
+    @Test
+    void shouldReleasePermitAfterRequest() throws Exception {
+        DatabaseAdmissionFilter filter = filter(1);
+
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request("/wallets/1"), response, new MockFilterChain());
+            assertEquals(200, response.getStatus());
+        }
+        assertEquals(0.0, meterRegistry.counter("pix_wallet.db_admission.rejected").count());
+    }
+
+    @Test
+    void shouldNotLimitActuator() throws Exception {
+        DatabaseAdmissionFilter filter = filter(0);
+        MockHttpServletResponse health = new MockHttpServletResponse();
+        filter.doFilter(request("/actuator/health"), health, new MockFilterChain());
+        assertEquals(200, health.getStatus());
+    }
+
+    private DatabaseAdmissionFilter filter(int maxConcurrent) {
+        DatabaseAdmissionProperties properties = new DatabaseAdmissionProperties(
+                true, maxConcurrent, Duration.ofMillis(10));
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        return new DatabaseAdmissionFilter(properties, objectMapper, meterRegistry);
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+}